@@ -0,0 +1,69 @@
+package com.example.dependencies.analyzer.benchmarks;
+
+import com.example.dependencies.analyzer.DependencyAnalyzer;
+import com.example.dependencies.analyzer.analyzer.InHouseProjectDetector;
+import com.example.dependencies.analyzer.analyzer.ProjectIssuesAnalyzer;
+import com.example.dependencies.analyzer.migration.MigrationAnalyzer;
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory analysis over the projects of the workspace, parsed once per trial
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmarks.xml")
+public class AnalysisBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Projects {
+        List<Project> projects;
+        ProjectIssuesAnalyzer issuesAnalyzer;
+        MigrationAnalyzer migrationAnalyzer;
+
+        @Setup(Level.Trial)
+        public void parse(WorkspaceState state) {
+            projects = new DependencyAnalyzer().analyzeRepository(state.root);
+            Map<Project, List<Dependency>> dependencyMap = new InHouseProjectDetector(projects).buildInHouseDependencyMap();
+            issuesAnalyzer = new ProjectIssuesAnalyzer(projects, dependencyMap);
+            migrationAnalyzer = new MigrationAnalyzer(projects);
+        }
+    }
+
+    @Benchmark
+    public Map<Project, List<Dependency>> inHouseDependencyMap(Projects projects) {
+        return new InHouseProjectDetector(projects.projects).buildInHouseDependencyMap();
+    }
+
+    @Benchmark
+    public ProjectIssuesAnalyzer.IssuesReport issuesAnalyzeAll(Projects projects) {
+        return projects.issuesAnalyzer.analyzeAll();
+    }
+
+    @Benchmark
+    public Object migrationStronglyConnectedComponents(Projects projects) {
+        return projects.migrationAnalyzer.findStronglyConnectedComponents();
+    }
+
+    @Benchmark
+    public Object migrationCircularDependencies(Projects projects) {
+        return projects.migrationAnalyzer.findCircularDependencies();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.dependencies.analyzer.benchmarks;
+
+import com.example.dependencies.analyzer.cli.DependencyAnalyzerCLI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole CLI run from discovery to the written graph data, with the parse cache and Git change
+ * detection disabled so that every iteration does the full work
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {
+    "-Dlogback.configurationFile=logback-benchmarks.xml",
+    "-Danalyzer.cache.enabled=false",
+    "-Danalyzer.incremental.enabled=false"
+})
+@State(Scope.Benchmark)
+public class CliBenchmark {
+    private Path outputFile;
+
+    @Setup(Level.Trial)
+    public void createOutput() throws IOException {
+        outputFile = Files.createTempFile("dependencies-analysis", ".json");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteOutput() throws IOException {
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public void analyzeDependencies(WorkspaceState state) throws IOException {
+        new DependencyAnalyzerCLI().analyzeDependencies(state.root.toString(), outputFile.toString());
+    }
+}
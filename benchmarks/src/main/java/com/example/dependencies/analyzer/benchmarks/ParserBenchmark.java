@@ -0,0 +1,64 @@
+package com.example.dependencies.analyzer.benchmarks;
+
+import com.example.dependencies.analyzer.parser.BuildFileSource;
+import com.example.dependencies.analyzer.parser.GradleBuildParser;
+import com.example.dependencies.analyzer.parser.GradleScripts;
+import com.example.dependencies.analyzer.parser.MavenPomParser;
+import com.example.dependencies.analyzer.parser.PomModels;
+import com.example.dependencies.analyzer.scanner.WorkspaceCrawler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discovery and single-threaded parsing of every build file in the workspace, with fresh per-run
+ * memos as the parse pipeline creates them
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmarks.xml")
+public class ParserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PomReaderState {
+        @Param({"FULL", "STREAMING"})
+        public MavenPomParser.PomReader pomReader;
+    }
+
+    @Benchmark
+    public Object discovery(WorkspaceState state) throws IOException {
+        return new WorkspaceCrawler().crawl(state.root);
+    }
+
+    @Benchmark
+    public void mavenPomParser(WorkspaceState state, PomReaderState reader, Blackhole blackhole) {
+        MavenPomParser parser = new MavenPomParser(reader.pomReader);
+        PomModels models = parser.newModels(BuildFileSource.FILE_SYSTEM, state.pomFiles);
+        for (Path pomFile : state.pomFiles) {
+            blackhole.consume(parser.parse(pomFile, models));
+        }
+    }
+
+    @Benchmark
+    public void gradleBuildParser(WorkspaceState state, Blackhole blackhole) {
+        GradleBuildParser parser = new GradleBuildParser();
+        GradleScripts scripts = new GradleScripts(BuildFileSource.FILE_SYSTEM);
+        for (Path buildFile : state.gradleFiles) {
+            blackhole.consume(parser.parse(buildFile, scripts));
+        }
+    }
+}
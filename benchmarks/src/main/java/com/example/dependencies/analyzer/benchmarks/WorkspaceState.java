@@ -0,0 +1,77 @@
+package com.example.dependencies.analyzer.benchmarks;
+
+import com.example.dependencies.analyzer.scanner.DiscoveredRepository;
+import com.example.dependencies.analyzer.scanner.WorkspaceCrawler;
+import com.example.dependencies.analyzer.synthetic.SyntheticWorkspaceGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A synthetic workspace written once per trial and shared by the benchmarks; its shape is chosen
+ * with -p repositories=N -p modules=M and the other parameters on the JMH command line
+ */
+@State(Scope.Benchmark)
+public class WorkspaceState {
+    @Param({"20", "200"})
+    public int repositories;
+
+    @Param({"5"})
+    public int modules;
+
+    @Param({"0.5"})
+    public double mavenRatio;
+
+    @Param({"3"})
+    public double edgeDensity;
+
+    @Param({"0.01"})
+    public double duplicateRate;
+
+    @Param({"0.02"})
+    public double cycleRate;
+
+    @Param({"0.2"})
+    public double bomRate;
+
+    @Param({"1"})
+    public int nestingDepth;
+
+    @Param({"42"})
+    public long seed;
+
+    Path root;
+    List<Path> pomFiles = new ArrayList<>();
+    List<Path> gradleFiles = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        root = Files.createTempDirectory("synthetic-workspace");
+        new SyntheticWorkspaceGenerator(new SyntheticWorkspaceGenerator.Options(repositories, modules, mavenRatio,
+            edgeDensity, duplicateRate, cycleRate, bomRate, nestingDepth, seed)).generate(root);
+        for (DiscoveredRepository repository : new WorkspaceCrawler().crawl(root).getRepositories()) {
+            pomFiles.addAll(repository.getPomFiles());
+            gradleFiles.addAll(repository.getGradleFiles());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -3,11 +3,18 @@ package com.example.dependencies.analyzer;
 import com.example.dependencies.analyzer.analyzer.InHouseProjectDetector;
 import com.example.dependencies.analyzer.analyzer.DuplicateProjectHandler;
 import com.example.dependencies.analyzer.analyzer.ProjectIssuesAnalyzer;
+import com.example.dependencies.analyzer.cache.ParseCache;
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.graph.EdgeResolver;
+import com.example.dependencies.analyzer.metrics.AnalysisMetrics;
+import com.example.dependencies.analyzer.model.CoordinateTable;
 import com.example.dependencies.analyzer.model.Dependency;
 import com.example.dependencies.analyzer.model.Project;
-import com.example.dependencies.analyzer.model.ProjectType;
-import com.example.dependencies.analyzer.parser.GradleBuildParser;
-import com.example.dependencies.analyzer.parser.MavenPomParser;
+import com.example.dependencies.analyzer.output.AnalysisJsonWriter;
+import com.example.dependencies.analyzer.scanner.DiscoveredRepository;
+import com.example.dependencies.analyzer.scanner.ParsePipeline;
+import com.example.dependencies.analyzer.scanner.WorkspaceCrawler;
+import com.example.dependencies.analyzer.scanner.WorkspaceScan;
 import com.example.dependencies.analyzer.visualizer.DependencyGraphVisualizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,19 +26,15 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import java.net.URI;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import java.util.HashMap;
 
 public class DependencyAnalyzer {
     private static final Logger logger = LoggerFactory.getLogger(DependencyAnalyzer.class);
+    private static final String OUTPUT_FILE = "dependencies-analysis.json";
     
-    private final MavenPomParser mavenParser = new MavenPomParser();
-    private final GradleBuildParser gradleParser = new GradleBuildParser();
+    private final WorkspaceCrawler crawler = new WorkspaceCrawler();
+    private final ParsePipeline parsePipeline = ParsePipeline.fromSystemProperties();
     
     public void analyze(String directoryPath) throws IOException {
         Path rootPath = Paths.get(directoryPath);
@@ -41,284 +44,155 @@ public class DependencyAnalyzer {
         }
         
         logger.info("Scanning for Git repositories in: {}", directoryPath);
+        AnalysisMetrics metrics = AnalysisMetrics.fromSystemProperties();
+        // Coordinate ids start from zero for every analysis run in this JVM
+        CoordinateTable.resetShared();
         
-        List<Path> gitRepositories = findGitRepositories(rootPath);
+        WorkspaceScan scan;
+        try (AnalysisMetrics.Phase phase = metrics.start(AnalysisMetrics.DISCOVERY)) {
+            scan = crawler.crawl(rootPath);
+            scan.getRepositories().forEach(repository -> phase.addFiles(repository.getBuildFileCount()));
+        }
+        List<DiscoveredRepository> gitRepositories = scan.getRepositories();
         logger.info("Found {} Git repositories", gitRepositories.size());
         
-        // Collect all projects
-        List<Project> allProjects = new ArrayList<>();
-        
         // If no git repositories found, analyze the root directory itself
         if (gitRepositories.isEmpty()) {
             logger.info("No Git repositories found, analyzing directory as a single repository");
-            allProjects = analyzeRepository(rootPath);
-        } else {
-            for (Path repo : gitRepositories) {
-                List<Project> repoProjects = analyzeRepository(repo);
-                allProjects.addAll(repoProjects);
-            }
         }
+        List<DiscoveredRepository> repositories =
+            gitRepositories.isEmpty() ? List.of(scan.asSingleRepository()) : gitRepositories;
+        
+        // Parse all build files and collect projects in repository order
+        ParseCache parseCache = ParseCache.fromSystemProperties(Paths.get(OUTPUT_FILE), false);
+        List<Project> allProjects = metrics.time(AnalysisMetrics.PARSE,
+            () -> parsePipeline.parse(repositories, parseCache, Map.of(), metrics));
+        metrics.time(AnalysisMetrics.AGGREGATION, () -> {
+            scan.getRepositoryIndex().attach(allProjects);
+            if (parseCache != null) {
+                try {
+                    parseCache.save();
+                } catch (IOException e) {
+                    logger.warn("Failed to save parse cache: {}", parseCache.getCacheFile(), e);
+                }
+            }
+        });
         
         logger.info("Total projects found: {}", allProjects.size());
+        metrics.setCounter("projects", allProjects.size());
         
         // Detect in-house dependencies
-        InHouseProjectDetector detector = new InHouseProjectDetector(allProjects);
-        Map<Project, List<Dependency>> inHouseDependencies = detector.buildInHouseDependencyMap();
+        Map<Project, List<Dependency>> inHouseDependencies = metrics.time(AnalysisMetrics.IN_HOUSE_DETECTION,
+            () -> InHouseProjectDetector.fromSystemProperties(allProjects).buildInHouseDependencyMap());
         
         // Visualize dependencies - Console output
         DependencyGraphVisualizer textVisualizer = new DependencyGraphVisualizer();
         String visualization = textVisualizer.visualize(inHouseDependencies);
         System.out.println(visualization);
         
+        // Use DuplicateProjectHandler to manage unique IDs and to pick between duplicate targets
+        DuplicateProjectHandler duplicateHandler = DuplicateProjectHandler.fromSystemProperties();
+        DependencyGraph graph = metrics.time(AnalysisMetrics.DUPLICATE_PROCESSING, () -> {
+            duplicateHandler.processDuplicates(allProjects);
+            return DependencyGraph.build(allProjects, inHouseDependencies::get,
+                EdgeResolver.single((source, dep) -> duplicateHandler.resolveDependency(dep, source)));
+        });
+        DuplicateProjectHandler.ResolutionMetrics resolution = duplicateHandler.getResolutionMetrics();
+        logger.info("Duplicate resolution: {}", resolution);
+        metrics.setCounter("duplicateResolutionTableHits", resolution.getTableHits());
+        metrics.setCounter("duplicateResolutionTableMisses", resolution.getTableMisses());
+        
         // Save analysis data as JSON
         try {
-            saveAnalysisDataAsJson(inHouseDependencies, allProjects);
+            saveAnalysisDataAsJson(graph, duplicateHandler, metrics);
         } catch (IOException e) {
             logger.error("Failed to save analysis data as JSON", e);
         }
+        logger.info("Phases: {}", metrics);
+        Path metricsFile = AnalysisMetrics.metricsFileFromSystemProperties();
+        if (metricsFile != null) {
+            try {
+                metrics.save(metricsFile);
+            } catch (IOException e) {
+                logger.warn("Failed to save metrics: {}", metricsFile, e);
+            }
+        }
         
         // Visualization is handled by React frontend
         logger.info("Analysis complete. Run 'cd frontend && npm start' to view results at http://localhost:3030");
     }
     
     public List<Path> findGitRepositories(Path rootPath) throws IOException {
-        try (Stream<Path> paths = Files.walk(rootPath)) {
-            return paths
-                .filter(Files::isDirectory)
-                .filter(path -> Files.exists(path.resolve(".git")))
-                .collect(Collectors.toList());
-        }
+        return crawler.crawl(rootPath).getRepositoryRoots();
     }
     
     public List<Project> analyzeRepository(Path repositoryPath) {
-        logger.info("Analyzing repository: {}", repositoryPath);
-        List<Project> projects = new ArrayList<>();
-        
         try {
-            // Find and parse Maven projects
-            List<Path> pomFiles = findPomFiles(repositoryPath);
-            for (Path pomFile : pomFiles) {
-                try {
-                    Project project = mavenParser.parse(pomFile);
-                    projects.add(project);
-                } catch (Exception e) {
-                    logger.warn("Failed to parse POM file: " + pomFile + ", creating placeholder", e);
-                    // Create a placeholder project for failed parsing
-                    Project placeholder = createPlaceholderProject(pomFile, ProjectType.MAVEN);
-                    projects.add(placeholder);
-                }
-            }
-            
-            // Find and parse Gradle projects
-            List<Path> gradleFiles = findGradleFiles(repositoryPath);
-            for (Path gradleFile : gradleFiles) {
-                try {
-                    Project project = gradleParser.parse(gradleFile);
-                    projects.add(project);
-                } catch (Exception e) {
-                    logger.warn("Failed to parse Gradle file: " + gradleFile + ", creating placeholder", e);
-                    // Create a placeholder project for failed parsing
-                    Project placeholder = createPlaceholderProject(gradleFile, ProjectType.GRADLE);
-                    projects.add(placeholder);
-                }
-            }
-            
-            logger.info("  Found {} Maven projects", pomFiles.size());
-            logger.info("  Found {} Gradle projects", gradleFiles.size());
-            
+            WorkspaceScan scan = crawler.crawl(repositoryPath);
+            List<DiscoveredRepository> repositories = new ArrayList<>();
+            repositories.add(scan.asSingleRepository());
+            // Bare repositories have no files to merge and are read from their object database
+            scan.getRepositories().stream().filter(DiscoveredRepository::isBare).forEach(repositories::add);
+            List<Project> projects = parsePipeline.parse(repositories);
+            scan.getRepositoryIndex().attach(projects);
+            return projects;
         } catch (IOException e) {
             logger.error("Error analyzing repository: " + repositoryPath, e);
-        }
-        
-        return projects;
-    }
-    
-    private List<Path> findPomFiles(Path repositoryPath) throws IOException {
-        try (Stream<Path> paths = Files.walk(repositoryPath)) {
-            return paths
-                .filter(Files::isRegularFile)
-                .filter(path -> path.getFileName().toString().equals("pom.xml"))
-                .collect(Collectors.toList());
+            return new ArrayList<>();
         }
     }
     
-    private List<Path> findGradleFiles(Path repositoryPath) throws IOException {
-        try (Stream<Path> paths = Files.walk(repositoryPath)) {
-            return paths
-                .filter(Files::isRegularFile)
-                .filter(path -> {
-                    String fileName = path.getFileName().toString();
-                    return fileName.equals("build.gradle") || fileName.equals("build.gradle.kts");
-                })
-                .collect(Collectors.toList());
-        }
-    }
-    
-    private Project createPlaceholderProject(Path buildFile, ProjectType type) {
-        String fileName = buildFile.getFileName().toString();
-        Path projectDir = buildFile.getParent();
-        String artifactId = projectDir.getFileName().toString();
-        
-        // Try to guess group ID from parent directories
-        String groupId = "unknown.group";
-        if (projectDir.getParent() != null) {
-            String parentName = projectDir.getParent().getFileName().toString();
-            groupId = "com.example." + parentName;
-        }
-        
-        Project project = new Project(groupId, artifactId, "unknown", buildFile, type);
-        
-        // Set packaging based on file type
-        if (type == ProjectType.MAVEN) {
-            project.setPackaging("jar"); // Default for Maven
-        } else if (type == ProjectType.GRADLE) {
-            project.setPackaging("jar"); // Default for Gradle
-        }
-        
-        logger.warn("Created placeholder project for: {} - {}", buildFile, project.getFullName());
-        return project;
-    }
-    
-    private void saveAnalysisDataAsJson(Map<Project, List<Dependency>> inHouseDependencies, List<Project> allProjects) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode root = mapper.createObjectNode();
-        
-        // Use DuplicateProjectHandler to manage unique IDs
-        DuplicateProjectHandler duplicateHandler = new DuplicateProjectHandler();
-        duplicateHandler.processDuplicates(allProjects);
-        
-        // Create nodes array with unique IDs for duplicates
-        ArrayNode nodes = mapper.createArrayNode();
-        
-        for (Project project : allProjects) {
-            String uniqueId = duplicateHandler.getUniqueId(project);
-            
-            ObjectNode node = mapper.createObjectNode();
-            node.put("id", uniqueId);
-            node.put("name", project.getArtifactId());
-            node.put("version", project.getVersion());
-            node.put("group", project.getGroupId());
-            node.put("type", project.getType().toString());
-            node.put("packaging", project.getPackaging());
-            
-            // Determine repository from path
-            String repository = determineRepository(project);
-            node.put("nodeGroup", repository);
-            
-            nodes.add(node);
-        }
-        
-        // Create links array using unique IDs
-        ArrayNode links = mapper.createArrayNode();
-        
-        for (Map.Entry<Project, List<Dependency>> entry : inHouseDependencies.entrySet()) {
-            Project source = entry.getKey();
-            String sourceId = duplicateHandler.getUniqueId(source);
-            
-            for (Dependency dep : entry.getValue()) {
-                // Use DuplicateProjectHandler to resolve dependency to correct project
-                String targetId = duplicateHandler.resolveDependencyId(dep, source);
+    private void saveAnalysisDataAsJson(DependencyGraph graph, DuplicateProjectHandler duplicateHandler,
+                                        AnalysisMetrics metrics) throws IOException {
+        Path requestedFile = Paths.get(OUTPUT_FILE);
+        AnalysisJsonWriter.Options options = AnalysisJsonWriter.Options.fromSystemProperties(requestedFile);
+        Path targetFile = options.resolveTarget(requestedFile);
+        
+        ProjectIssuesAnalyzer.IssuesReport issues = metrics.time(AnalysisMetrics.ISSUE_ANALYSIS,
+            () -> new ProjectIssuesAnalyzer(graph).analyzeAll(metrics));
+        
+        try (AnalysisJsonWriter writer = AnalysisJsonWriter.open(targetFile, options, null)) {
+            metrics.time(AnalysisMetrics.SERIALIZATION, () -> {
+                // Create nodes array with unique IDs for duplicates
+                writer.startNodes();
+                for (Project project : graph.nodes()) {
+                    writer.writeNode(
+                        duplicateHandler.getUniqueId(project),
+                        project.getArtifactId(),
+                        project.getVersion(),
+                        project.getGroupId(),
+                        project.getType().toString(),
+                        project.getPackaging(),
+                        project.getRepository()
+                    );
+                }
+                writer.endNodes();
                 
-                // Check if the target project exists
-                if (duplicateHandler.getProjectByUniqueId(targetId) != null) {
-                    ObjectNode link = mapper.createObjectNode();
-                    link.put("source", sourceId);
-                    link.put("target", targetId);
-                    link.put("value", 1);
-                    links.add(link);
+                // Create links array using unique IDs
+                writer.startLinks();
+                for (int v = 0; v < graph.nodeCount(); v++) {
+                    String sourceId = duplicateHandler.getUniqueId(graph.node(v));
+                    for (int i = 0; i < graph.outDegree(v); i++) {
+                        writer.writeLink(sourceId, duplicateHandler.getUniqueId(graph.node(graph.successor(v, i))), 1);
+                    }
                 }
+                writer.endLinks();
+                
+                // Add statistics
+                writer.writeStats(graph.nodeCount(), writer.getLinkCount());
+                
+                // Add issues analysis
+                writer.writeIssues(issues, duplicateHandler::getUniqueId);
+                
+                // Add metadata
+                writer.writeMetadata(new java.util.Date().toString(), "1.0");
+            });
+            metrics.setCounter("dependencies", writer.getLinkCount());
+            if (options.isMetrics()) {
+                writer.writeMetrics(metrics);
             }
+            writer.commit();
         }
-        
-        // Add to root
-        root.set("nodes", nodes);
-        root.set("links", links);
-        
-        // Add statistics
-        ObjectNode stats = mapper.createObjectNode();
-        stats.put("totalProjects", allProjects.size());
-        stats.put("totalDependencies", links.size());
-        root.set("stats", stats);
-        
-        // Add issues analysis
-        ProjectIssuesAnalyzer issuesAnalyzer = new ProjectIssuesAnalyzer(allProjects, inHouseDependencies);
-        ProjectIssuesAnalyzer.IssuesReport issuesReport = issuesAnalyzer.analyzeAll();
-        
-        ObjectNode issues = mapper.createObjectNode();
-        
-        // Circular references
-        ArrayNode circularRefs = mapper.createArrayNode();
-        for (List<String> cycle : issuesReport.getCircularReferences()) {
-            ArrayNode cycleArray = mapper.createArrayNode();
-            cycle.forEach(cycleArray::add);
-            circularRefs.add(cycleArray);
-        }
-        issues.set("circularReferences", circularRefs);
-        
-        // Unreferenced projects
-        ArrayNode unreferencedProjects = mapper.createArrayNode();
-        for (Project project : issuesReport.getUnreferencedProjects()) {
-            unreferencedProjects.add(duplicateHandler.getUniqueId(project));
-        }
-        issues.set("unreferencedProjects", unreferencedProjects);
-        
-        // Duplicate artifact IDs
-        ObjectNode duplicateArtifactIds = mapper.createObjectNode();
-        for (Map.Entry<String, List<Project>> entry : issuesReport.getDuplicateArtifactIds().entrySet()) {
-            ArrayNode projectIds = mapper.createArrayNode();
-            for (Project project : entry.getValue()) {
-                projectIds.add(duplicateHandler.getUniqueId(project));
-            }
-            duplicateArtifactIds.set(entry.getKey(), projectIds);
-        }
-        issues.set("duplicateArtifactIds", duplicateArtifactIds);
-        
-        // Duplicate GAVs
-        ObjectNode duplicateGAVs = mapper.createObjectNode();
-        for (Map.Entry<String, List<Project>> entry : issuesReport.getDuplicateGAVs().entrySet()) {
-            ArrayNode projectIds = mapper.createArrayNode();
-            for (Project project : entry.getValue()) {
-                projectIds.add(duplicateHandler.getUniqueId(project));
-            }
-            duplicateGAVs.set(entry.getKey(), projectIds);
-        }
-        issues.set("duplicateGAVs", duplicateGAVs);
-        
-        root.set("issues", issues);
-        
-        // Add metadata
-        root.put("analysisDate", new java.util.Date().toString());
-        root.put("version", "1.0");
-        
-        // Write to file
-        mapper.writerWithDefaultPrettyPrinter().writeValue(
-            Files.newOutputStream(Paths.get("dependencies-analysis.json")), 
-            root
-        );
-        logger.info("Analysis data saved to dependencies-analysis.json");
-    }
-    
-    private String determineRepository(Project project) {
-        Path projectPath = project.getProjectPath();
-        if (projectPath == null) return "unknown";
-        
-        try {
-            // Find the git repository root
-            Path currentPath = projectPath;
-            while (currentPath != null && !Files.exists(currentPath.resolve(".git"))) {
-                currentPath = currentPath.getParent();
-            }
-            
-            if (currentPath != null) {
-                // Return the repository directory name
-                return currentPath.getFileName().toString();
-            }
-            
-            // If no git repository found, use the project directory name
-            return projectPath.getFileName().toString();
-        } catch (Exception e) {
-            logger.warn("Failed to determine repository for project: " + project.getArtifactId(), e);
-            return "unknown";
-        }
+        logger.info("Analysis data saved to {}", targetFile);
     }
-}
\ No newline at end of file
+}
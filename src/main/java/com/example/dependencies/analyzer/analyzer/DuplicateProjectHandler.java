@@ -1,39 +1,87 @@
 package com.example.dependencies.analyzer.analyzer;
 
+import com.example.dependencies.analyzer.model.Coordinate;
+import com.example.dependencies.analyzer.model.CoordinateTable;
 import com.example.dependencies.analyzer.model.Project;
 import com.example.dependencies.analyzer.model.Dependency;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Handles duplicate projects (same groupId:artifactId) across different repositories
+ * Handles duplicate projects (same groupId:artifactId) across different repositories. A chain of
+ * {@link DuplicateResolutionStrategy strategies} picks between duplicates; as the choice usually depends
+ * only on the dependency's version and the depending project's repository, processDuplicates precomputes
+ * a table keyed by (dependency GAV, repository) for every dependency on a duplicated artifact, and
+ * edges are resolved with two lookups. When a strategy also looks at the depending project itself,
+ * such as path-prefix, the table is keyed by (dependency GAV, depending project) instead.
  */
 public class DuplicateProjectHandler {
     private static final Logger logger = LoggerFactory.getLogger(DuplicateProjectHandler.class);
+
+    /** Match reason when only one project has the dependency's groupId:artifactId */
+    public static final String ONLY_CANDIDATE = "only-candidate";
+    /** Match reason when no strategy narrowed the duplicates and the first by repository was taken */
+    public static final String FIRST_CANDIDATE = "first-candidate";
+    /** Match reason when no analyzed project has the dependency's groupId:artifactId */
+    public static final String NOT_FOUND = "not-found";
     
     // Map of original key to list of projects with that key
-    private final Map<String, List<Project>> duplicateProjectsMap = new HashMap<>();
+    private final Map<Coordinate, List<Project>> duplicateProjectsMap = new HashMap<>();
     // Map of original project to its unique ID - using IdentityHashMap to avoid equals/hashCode issues
     private final Map<Project, String> projectToUniqueId = new IdentityHashMap<>();
     // Map of unique ID to project
     private final Map<String, Project> uniqueIdToProject = new HashMap<>();
+    // Dependency GAV -> depending repository (or project) -> resolution, for dependencies on duplicated artifacts
+    private final Map<Coordinate, Map<String, Resolution>> resolutionTable = new ConcurrentHashMap<>();
+    private final List<DuplicateResolutionStrategy> strategies;
+    private final boolean projectScoped;
+    // Match reason -> resolutions; every reason is present from the start
+    private final Map<String, LongAdder> reasonCounts = new LinkedHashMap<>();
+    private final LongAdder tableHits = new LongAdder();
+    private final LongAdder tableMisses = new LongAdder();
     
+    /**
+     * Resolves duplicates with the default strategy chain
+     */
+    public DuplicateProjectHandler() {
+        this(DuplicateResolutionStrategies.defaults());
+    }
+
+    public DuplicateProjectHandler(List<DuplicateResolutionStrategy> strategies) {
+        this.strategies = List.copyOf(strategies);
+        this.projectScoped = this.strategies.stream().anyMatch(strategy -> !strategy.isRepositoryScoped());
+        reasonCounts.put(ONLY_CANDIDATE, new LongAdder());
+        for (DuplicateResolutionStrategy strategy : this.strategies) {
+            reasonCounts.put(strategy.getName(), new LongAdder());
+        }
+        reasonCounts.put(FIRST_CANDIDATE, new LongAdder());
+        reasonCounts.put(NOT_FOUND, new LongAdder());
+    }
+
+    /**
+     * Uses the strategy chain configured by analyzer.duplicates.strategies and analyzer.duplicates.mapping-file
+     */
+    public static DuplicateProjectHandler fromSystemProperties() throws IOException {
+        return new DuplicateProjectHandler(DuplicateResolutionStrategies.fromSystemProperties());
+    }
+
     /**
      * Process all projects and assign unique IDs to duplicates
      */
     public void processDuplicates(Collection<Project> projects) {
         // Group projects by their key
         for (Project project : projects) {
-            String key = project.getGroupId() + ":" + project.getArtifactId();
-            duplicateProjectsMap.computeIfAbsent(key, k -> new ArrayList<>()).add(project);
+            duplicateProjectsMap.computeIfAbsent(project.getArtifactCoordinate(), k -> new ArrayList<>()).add(project);
         }
         
         // Assign unique IDs to duplicates
-        for (Map.Entry<String, List<Project>> entry : duplicateProjectsMap.entrySet()) {
-            String key = entry.getKey();
+        for (Map.Entry<Coordinate, List<Project>> entry : duplicateProjectsMap.entrySet()) {
+            String key = entry.getKey().getKey();
             List<Project> projectList = entry.getValue();
             
             if (projectList.size() == 1) {
@@ -62,14 +110,43 @@ public class DuplicateProjectHandler {
                 }
             }
         }
+        
+        List<List<Project>> duplicateGroups = new ArrayList<>();
+        for (List<Project> projectList : duplicateProjectsMap.values()) {
+            if (projectList.size() > 1) {
+                duplicateGroups.add(projectList);
+            }
+        }
+        for (DuplicateResolutionStrategy strategy : strategies) {
+            strategy.prepare(duplicateGroups);
+        }
+        buildResolutionTable(projects);
+    }
+    
+    /**
+     * Resolves every dependency on a duplicated artifact once per (GAV, depending repository or project)
+     */
+    private void buildResolutionTable(Collection<Project> projects) {
+        resolutionTable.clear();
+        for (Project project : projects) {
+            for (Dependency dependency : project.getDependencies()) {
+                List<Project> candidates = duplicateProjectsMap.get(dependency.getArtifactCoordinate());
+                if (candidates != null && candidates.size() > 1) {
+                    resolutionTable
+                        .computeIfAbsent(dependency.getVersionCoordinate(), k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(dependingKey(project), r -> resolveBestMatch(dependency, project, candidates));
+                }
+            }
+        }
+        logger.debug("Precomputed {} duplicate resolutions for {} dependency versions",
+            resolutionTable.values().stream().mapToInt(Map::size).sum(), resolutionTable.size());
     }
     
     /**
      * Get the unique ID for a project
      */
     public String getUniqueId(Project project) {
-        return projectToUniqueId.getOrDefault(project, 
-            project.getGroupId() + ":" + project.getArtifactId());
+        return projectToUniqueId.getOrDefault(project, project.getArtifactCoordinate().getKey());
     }
     
     /**
@@ -83,22 +160,64 @@ public class DuplicateProjectHandler {
      * Resolve a dependency to its unique ID based on the depending project
      */
     public String resolveDependencyId(Dependency dependency, Project dependingProject) {
-        String key = dependency.getGroupId() + ":" + dependency.getArtifactId();
-        List<Project> candidates = duplicateProjectsMap.get(key);
+        Project resolved = resolveDependency(dependency, dependingProject);
+        // No matching project found
+        return resolved != null ? getUniqueId(resolved) : dependency.getArtifactCoordinate().getKey();
+    }
+    
+    /**
+     * Resolve a dependency to the project it refers to, or null when no scanned project matches
+     */
+    public Project resolveDependency(Dependency dependency, Project dependingProject) {
+        List<Project> candidates = duplicateProjectsMap.get(dependency.getArtifactCoordinate());
         
         if (candidates == null || candidates.isEmpty()) {
-            // No matching project found
-            return key;
+            reasonCounts.get(NOT_FOUND).increment();
+            return null;
         }
         
         if (candidates.size() == 1) {
-            // Only one candidate, return its unique ID
-            return getUniqueId(candidates.get(0));
+            // Only one candidate
+            reasonCounts.get(ONLY_CANDIDATE).increment();
+            return candidates.get(0);
         }
         
-        // Multiple candidates - try to resolve based on version or repository proximity
-        Project resolved = resolveBestMatch(dependency, dependingProject, candidates);
-        return getUniqueId(resolved);
+        // Multiple candidates - served from the table, or resolved and added for dependencies it has not seen
+        Map<String, Resolution> byRepository = resolutionTable.get(dependency.getVersionCoordinate());
+        Resolution resolution = byRepository != null ? byRepository.get(dependingKey(dependingProject)) : null;
+        if (resolution != null) {
+            tableHits.increment();
+        } else {
+            tableMisses.increment();
+            resolution = resolutionTable
+                .computeIfAbsent(dependency.getVersionCoordinate(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(dependingKey(dependingProject), r -> resolveBestMatch(dependency, dependingProject, candidates));
+        }
+        reasonCounts.get(resolution.reason).increment();
+        return resolution.project;
+    }
+    
+    /**
+     * Depending side of a table key: the repository, or the project's path when a strategy looks past its repository
+     */
+    private String dependingKey(Project dependingProject) {
+        if (projectScoped && dependingProject.getProjectPath() != null) {
+            return dependingProject.getRepository() + "|" + dependingProject.getProjectPath().toAbsolutePath().normalize();
+        }
+        return dependingProject.getRepository();
+    }
+    
+    /**
+     * Counts of resolutions by reason and of table lookups since processDuplicates
+     */
+    public ResolutionMetrics getResolutionMetrics() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        reasonCounts.forEach((reason, count) -> counts.put(reason, count.sum()));
+        int entries = 0;
+        for (Map<String, Resolution> byRepository : resolutionTable.values()) {
+            entries += byRepository.size();
+        }
+        return new ResolutionMetrics(counts, entries, tableHits.sum(), tableMisses.sum());
     }
     
     /**
@@ -106,8 +225,7 @@ public class DuplicateProjectHandler {
      * This returns all matching projects, not just the best match
      */
     public List<String> resolveAllDependencyIds(Dependency dependency) {
-        String key = dependency.getGroupId() + ":" + dependency.getArtifactId();
-        List<Project> candidates = duplicateProjectsMap.get(key);
+        List<Project> candidates = duplicateProjectsMap.get(dependency.getArtifactCoordinate());
         
         if (candidates == null || candidates.isEmpty()) {
             // No matching project found
@@ -134,115 +252,25 @@ public class DuplicateProjectHandler {
     }
     
     /**
-     * Resolve the best matching project for a dependency
+     * Applies the strategies in order, each narrowing what the previous ones left, and takes the first
+     * remaining candidate; the reason is the last strategy that narrowed the candidates
      */
-    private Project resolveBestMatch(Dependency dependency, Project dependingProject, List<Project> candidates) {
-        // If the depending project is in the same repository as one of the candidates, prefer that
-        for (Project candidate : candidates) {
-            if (candidate.getRepository().equals(dependingProject.getRepository())) {
-                logger.debug("Resolved {} to {} by same repository", 
-                    dependency.getGroupId() + ":" + dependency.getArtifactId(), 
-                    candidate.getRepository());
-                return candidate;
-            }
-        }
-        
-        // If version is specified, try exact version match
-        if (dependency.getVersion() != null && !dependency.getVersion().isEmpty()) {
-            List<Project> versionMatches = new ArrayList<>();
-            for (Project candidate : candidates) {
-                if (dependency.getVersion().equals(candidate.getVersion())) {
-                    versionMatches.add(candidate);
+    private Resolution resolveBestMatch(Dependency dependency, Project dependingProject, List<Project> candidates) {
+        List<Project> remaining = candidates;
+        String reason = FIRST_CANDIDATE;
+        for (DuplicateResolutionStrategy strategy : strategies) {
+            List<Project> selected = strategy.select(dependency, dependingProject, remaining);
+            if (!selected.isEmpty() && selected.size() < remaining.size()) {
+                remaining = selected;
+                reason = strategy.getName();
+                if (remaining.size() == 1) {
+                    break;
                 }
             }
-            
-            if (!versionMatches.isEmpty()) {
-                // If multiple version matches, use repository name similarity
-                Project best = findBestByRepositorySimilarity(versionMatches, dependingProject);
-                logger.debug("Resolved {} to {} by version match and repository similarity", 
-                    dependency.getGroupId() + ":" + dependency.getArtifactId(), 
-                    best.getRepository());
-                return best;
-            }
         }
-        
-        // Use repository name similarity as final tiebreaker
-        Project selected = findBestByRepositorySimilarity(candidates, dependingProject);
-        logger.debug("Resolved {} to {} by repository similarity", 
-            dependency.getGroupId() + ":" + dependency.getArtifactId(), 
-            selected.getRepository());
-        return selected;
-    }
-    
-    /**
-     * Find the best candidate based on repository name similarity
-     */
-    private Project findBestByRepositorySimilarity(List<Project> candidates, Project dependingProject) {
-        String depRepo = dependingProject.getRepository();
-        Project best = candidates.get(0);
-        int bestScore = 0;
-        
-        for (Project candidate : candidates) {
-            int score = calculateSimilarityScore(depRepo, candidate.getRepository());
-            if (score > bestScore) {
-                bestScore = score;
-                best = candidate;
-            }
-        }
-        
-        return best;
-    }
-    
-    /**
-     * Calculate similarity score between two repository names
-     */
-    private int calculateSimilarityScore(String repo1, String repo2) {
-        // Exact match
-        if (repo1.equals(repo2)) {
-            return 1000;
-        }
-        
-        // Special case for config-service distribution
-        // Route mobile and notification to repo2, others to repo1
-        if (repo2.contains("config-service")) {
-            if (repo1.contains("mobile") || repo1.contains("notification")) {
-                return repo2.endsWith("2") ? 100 : 0;
-            } else {
-                return repo2.endsWith("1") ? 100 : 0;
-            }
-        }
-        
-        // Check for common patterns
-        String[] parts1 = repo1.split("[-_]");
-        String[] parts2 = repo2.split("[-_]");
-        
-        int score = 0;
-        
-        // Count matching parts
-        for (String part1 : parts1) {
-            for (String part2 : parts2) {
-                if (part1.equalsIgnoreCase(part2)) {
-                    score += 10;
-                }
-            }
-        }
-        
-        // Bonus for similar endings (e.g., -v1, -v2, -repo1, -repo2)
-        if (repo1.endsWith("1") && repo2.endsWith("1")) score += 5;
-        if (repo1.endsWith("2") && repo2.endsWith("2")) score += 5;
-        
-        // Bonus for common prefixes
-        int commonPrefixLength = 0;
-        for (int i = 0; i < Math.min(repo1.length(), repo2.length()); i++) {
-            if (repo1.charAt(i) == repo2.charAt(i)) {
-                commonPrefixLength++;
-            } else {
-                break;
-            }
-        }
-        score += commonPrefixLength;
-        
-        return score;
+        Project selected = remaining.get(0);
+        logger.debug("Resolved {} to {} by {}", dependency.getArtifactCoordinate(), selected.getRepository(), reason);
+        return new Resolution(selected, reason);
     }
     
     /**
@@ -256,8 +284,7 @@ public class DuplicateProjectHandler {
      * Check if a project has duplicates
      */
     public boolean hasDuplicates(Project project) {
-        String key = project.getGroupId() + ":" + project.getArtifactId();
-        List<Project> projects = duplicateProjectsMap.get(key);
+        List<Project> projects = duplicateProjectsMap.get(project.getArtifactCoordinate());
         return projects != null && projects.size() > 1;
     }
     
@@ -265,7 +292,69 @@ public class DuplicateProjectHandler {
      * Get all projects with the same groupId:artifactId
      */
     public List<Project> getDuplicates(String groupId, String artifactId) {
-        String key = groupId + ":" + artifactId;
+        Coordinate key = CoordinateTable.shared().artifact(groupId, artifactId);
         return duplicateProjectsMap.getOrDefault(key, Collections.emptyList());
     }
-}
\ No newline at end of file
+
+    private static final class Resolution {
+        private final Project project;
+        private final String reason;
+
+        Resolution(Project project, String reason) {
+            this.project = project;
+            this.reason = reason;
+        }
+    }
+
+    /**
+     * Snapshot of duplicate resolution counts
+     */
+    public static final class ResolutionMetrics {
+        private final Map<String, Long> reasonCounts;
+        private final int tableEntries;
+        private final long tableHits;
+        private final long tableMisses;
+
+        ResolutionMetrics(Map<String, Long> reasonCounts, int tableEntries, long tableHits, long tableMisses) {
+            this.reasonCounts = Collections.unmodifiableMap(reasonCounts);
+            this.tableEntries = tableEntries;
+            this.tableHits = tableHits;
+            this.tableMisses = tableMisses;
+        }
+
+        /**
+         * Resolutions by match reason: only-candidate, the strategy names in chain order,
+         * first-candidate and not-found, every reason present
+         */
+        public Map<String, Long> getReasonCounts() {
+            return reasonCounts;
+        }
+
+        /**
+         * (dependency GAV, repository or depending project) pairs in the resolution table
+         */
+        public int getTableEntries() {
+            return tableEntries;
+        }
+
+        /**
+         * Lookups of duplicated artifacts answered from the precomputed table
+         */
+        public long getTableHits() {
+            return tableHits;
+        }
+
+        /**
+         * Lookups of duplicated artifacts that had to be resolved on the spot
+         */
+        public long getTableMisses() {
+            return tableMisses;
+        }
+
+        @Override
+        public String toString() {
+            return "reasons=" + reasonCounts + ", tableEntries=" + tableEntries
+                + ", tableHits=" + tableHits + ", tableMisses=" + tableMisses;
+        }
+    }
+}
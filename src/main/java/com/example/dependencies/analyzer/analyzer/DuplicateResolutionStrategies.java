@@ -0,0 +1,412 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.model.Coordinate;
+import com.example.dependencies.analyzer.model.CoordinateTable;
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Built-in duplicate resolution strategies and the configured chain
+ */
+public final class DuplicateResolutionStrategies {
+    public static final String SAME_REPOSITORY = "same-repository";
+    public static final String EXACT_VERSION = "exact-version";
+    public static final String SEMVER_NEAREST = "semver-nearest";
+    public static final String PATH_PREFIX = "path-prefix";
+    public static final String REPOSITORY_NAME = "repository-name";
+    public static final String MAPPING = "mapping";
+
+    /**
+     * Chain used when none is configured; the mapping strategy only takes part when a mapping file is given
+     */
+    public static final String DEFAULT_CHAIN =
+        MAPPING + "," + SAME_REPOSITORY + "," + EXACT_VERSION + "," + REPOSITORY_NAME;
+
+    private DuplicateResolutionStrategies() {
+    }
+
+    /**
+     * Reads analyzer.duplicates.strategies, a comma-separated chain of built-in names or strategy
+     * class names (default: {@value #DEFAULT_CHAIN}), and analyzer.duplicates.mapping-file
+     */
+    public static List<DuplicateResolutionStrategy> fromSystemProperties() throws IOException {
+        String mappingFile = System.getProperty("analyzer.duplicates.mapping-file");
+        return chain(System.getProperty("analyzer.duplicates.strategies", DEFAULT_CHAIN),
+            mappingFile != null && !mappingFile.isBlank() ? Path.of(mappingFile) : null);
+    }
+
+    /**
+     * The default chain without a mapping file
+     */
+    public static List<DuplicateResolutionStrategy> defaults() {
+        try {
+            return chain(DEFAULT_CHAIN, null);
+        } catch (IOException e) {
+            throw new IllegalStateException("Default strategies read no files", e);
+        }
+    }
+
+    /**
+     * Builds a chain from comma-separated names
+     *
+     * @param mappingFile file for the mapping strategy; without one, mapping is left out of the chain
+     * @throws IllegalArgumentException for names that are neither built in nor a loadable strategy class
+     */
+    public static List<DuplicateResolutionStrategy> chain(String names, Path mappingFile) throws IOException {
+        List<DuplicateResolutionStrategy> strategies = new ArrayList<>();
+        for (String name : names.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            switch (name) {
+                case SAME_REPOSITORY:
+                    strategies.add(sameRepository());
+                    break;
+                case EXACT_VERSION:
+                    strategies.add(exactVersion());
+                    break;
+                case SEMVER_NEAREST:
+                    strategies.add(semverNearest());
+                    break;
+                case PATH_PREFIX:
+                    strategies.add(pathPrefix());
+                    break;
+                case REPOSITORY_NAME:
+                    strategies.add(repositoryName());
+                    break;
+                case MAPPING:
+                    if (mappingFile != null) {
+                        strategies.add(mapping(mappingFile));
+                    }
+                    break;
+                default:
+                    strategies.add(instantiate(name));
+                    break;
+            }
+        }
+        return strategies;
+    }
+
+    /**
+     * Prefers candidates in the depending project's repository
+     */
+    public static DuplicateResolutionStrategy sameRepository() {
+        return new Filter(SAME_REPOSITORY) {
+            @Override
+            boolean accepts(Dependency dependency, Project dependingProject, Project candidate) {
+                return candidate.getRepository().equals(dependingProject.getRepository());
+            }
+        };
+    }
+
+    /**
+     * Prefers candidates whose version equals the dependency's
+     */
+    public static DuplicateResolutionStrategy exactVersion() {
+        return new Filter(EXACT_VERSION) {
+            @Override
+            boolean accepts(Dependency dependency, Project dependingProject, Project candidate) {
+                return dependency.getVersion() != null && dependency.getVersion().equals(candidate.getVersion());
+            }
+        };
+    }
+
+    /**
+     * Prefers candidates whose numeric major.minor.patch is closest to the dependency's, comparing
+     * major first; candidates without a numeric version are never preferred
+     */
+    public static DuplicateResolutionStrategy semverNearest() {
+        return new Scored(SEMVER_NEAREST) {
+            private final Map<Project, int[]> versions = new IdentityHashMap<>();
+
+            @Override
+            public void prepare(Collection<List<Project>> duplicateGroups) {
+                for (List<Project> group : duplicateGroups) {
+                    for (Project candidate : group) {
+                        versions.put(candidate, numericVersion(candidate.getVersion()));
+                    }
+                }
+            }
+
+            @Override
+            Object context(Dependency dependency, Project dependingProject) {
+                return numericVersion(dependency.getVersion());
+            }
+
+            @Override
+            long score(Object context, Project candidate) {
+                int[] wanted = (int[]) context;
+                int[] version = versions.containsKey(candidate) ? versions.get(candidate)
+                    : numericVersion(candidate.getVersion());
+                if (wanted == null || version == null) {
+                    return Long.MIN_VALUE;
+                }
+                // Closer major beats any minor and patch distance, and so on
+                long distance = 0;
+                for (int i = 0; i < 3; i++) {
+                    distance = distance * 100_000L + Math.min(99_999, Math.abs(wanted[i] - version[i]));
+                }
+                return -distance;
+            }
+        };
+    }
+
+    /**
+     * Prefers candidates sharing the longest leading path with the depending project
+     */
+    public static DuplicateResolutionStrategy pathPrefix() {
+        return new Scored(PATH_PREFIX) {
+            private final Map<Project, Path> paths = new IdentityHashMap<>();
+
+            @Override
+            public void prepare(Collection<List<Project>> duplicateGroups) {
+                for (List<Project> group : duplicateGroups) {
+                    for (Project candidate : group) {
+                        paths.put(candidate, absolutePath(candidate));
+                    }
+                }
+            }
+
+            @Override
+            public boolean isRepositoryScoped() {
+                return false;
+            }
+
+            @Override
+            Object context(Dependency dependency, Project dependingProject) {
+                return absolutePath(dependingProject);
+            }
+
+            @Override
+            long score(Object context, Project candidate) {
+                Path from = (Path) context;
+                Path to = paths.containsKey(candidate) ? paths.get(candidate) : absolutePath(candidate);
+                if (from == null || to == null) {
+                    return Long.MIN_VALUE;
+                }
+                int common = 0;
+                int length = Math.min(from.getNameCount(), to.getNameCount());
+                while (common < length && from.getName(common).equals(to.getName(common))) {
+                    common++;
+                }
+                return common;
+            }
+        };
+    }
+
+    /**
+     * Prefers candidates whose repository name is most like the depending project's: shared '-' or
+     * '_' separated parts, the same trailing 1 or 2 as in -v1/-repo2, and a common prefix
+     */
+    public static DuplicateResolutionStrategy repositoryName() {
+        return new Scored(REPOSITORY_NAME) {
+            private final Map<String, String[]> parts = new HashMap<>();
+
+            @Override
+            public void prepare(Collection<List<Project>> duplicateGroups) {
+                for (List<Project> group : duplicateGroups) {
+                    for (Project candidate : group) {
+                        parts.computeIfAbsent(candidate.getRepository(), repository -> repository.split("[-_]"));
+                    }
+                }
+            }
+
+            @Override
+            Object context(Dependency dependency, Project dependingProject) {
+                return dependingProject.getRepository();
+            }
+
+            @Override
+            long score(Object context, Project candidate) {
+                String repo1 = (String) context;
+                String repo2 = candidate.getRepository();
+                if (repo1.equals(repo2)) {
+                    return 1000;
+                }
+                String[] parts2 = parts.containsKey(repo2) ? parts.get(repo2) : repo2.split("[-_]");
+                long score = 0;
+                for (String part1 : repo1.split("[-_]")) {
+                    for (String part2 : parts2) {
+                        if (part1.equalsIgnoreCase(part2)) {
+                            score += 10;
+                        }
+                    }
+                }
+                if (repo1.endsWith("1") && repo2.endsWith("1")) score += 5;
+                if (repo1.endsWith("2") && repo2.endsWith("2")) score += 5;
+                int commonPrefixLength = 0;
+                while (commonPrefixLength < Math.min(repo1.length(), repo2.length())
+                        && repo1.charAt(commonPrefixLength) == repo2.charAt(commonPrefixLength)) {
+                    commonPrefixLength++;
+                }
+                // No resemblance at all is no preference
+                return score + commonPrefixLength > 0 ? score + commonPrefixLength : Long.MIN_VALUE;
+            }
+        };
+    }
+
+    /**
+     * Routes dependencies to the repository named in a mapping file. Each non-blank line that does
+     * not start with # reads
+     * <pre>groupId:artifactId  depending-repository|*  target-repository</pre>
+     * Rules for a specific depending repository win over * rules.
+     */
+    public static DuplicateResolutionStrategy mapping(Path mappingFile) throws IOException {
+        // Artifact -> depending repository or "*" -> target repository
+        Map<Coordinate, Map<String, String>> rules = new HashMap<>();
+        List<String> lines = Files.readAllLines(mappingFile);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            int colon = fields[0].indexOf(':');
+            if (fields.length != 3 || colon <= 0) {
+                throw new IllegalArgumentException(String.format(
+                    "%s:%d: expected 'groupId:artifactId depending-repository|* target-repository'", mappingFile, i + 1));
+            }
+            Coordinate artifact = CoordinateTable.shared()
+                .artifact(fields[0].substring(0, colon), fields[0].substring(colon + 1));
+            rules.computeIfAbsent(artifact, k -> new HashMap<>()).put(fields[1], fields[2]);
+        }
+        return new Filter(MAPPING) {
+            @Override
+            public List<Project> select(Dependency dependency, Project dependingProject, List<Project> candidates) {
+                Map<String, String> byRepository = rules.get(dependency.getArtifactCoordinate());
+                return byRepository != null ? super.select(dependency, dependingProject, candidates) : List.of();
+            }
+
+            @Override
+            boolean accepts(Dependency dependency, Project dependingProject, Project candidate) {
+                Map<String, String> byRepository = rules.get(dependency.getArtifactCoordinate());
+                String target = byRepository.getOrDefault(dependingProject.getRepository(), byRepository.get("*"));
+                return candidate.getRepository().equals(target);
+            }
+        };
+    }
+
+    static int[] numericVersion(String version) {
+        if (version == null) {
+            return null;
+        }
+        int[] parts = new int[3];
+        int part = 0;
+        int digits = 0;
+        for (int i = 0; i < version.length() && part < 3; i++) {
+            char c = version.charAt(i);
+            if (c >= '0' && c <= '9') {
+                parts[part] = (int) Math.min(Integer.MAX_VALUE / 10, parts[part] * 10L + (c - '0'));
+                digits++;
+            } else if (c == '.' && digits > 0) {
+                part++;
+                digits = 0;
+            } else {
+                break;
+            }
+        }
+        return part == 0 && digits == 0 ? null : parts;
+    }
+
+    private static Path absolutePath(Project project) {
+        return project.getProjectPath() != null ? project.getProjectPath().toAbsolutePath().normalize() : null;
+    }
+
+    private static DuplicateResolutionStrategy instantiate(String className) {
+        try {
+            Class<?> type = Class.forName(className);
+            if (!DuplicateResolutionStrategy.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException(className + " is not a DuplicateResolutionStrategy");
+            }
+            return (DuplicateResolutionStrategy) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unknown duplicate resolution strategy: " + className, e);
+        }
+    }
+
+    /**
+     * Keeps the candidates a predicate accepts
+     */
+    private abstract static class Filter implements DuplicateResolutionStrategy {
+        private final String name;
+
+        Filter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<Project> select(Dependency dependency, Project dependingProject, List<Project> candidates) {
+            List<Project> selected = null;
+            for (Project candidate : candidates) {
+                if (accepts(dependency, dependingProject, candidate)) {
+                    if (selected == null) {
+                        selected = new ArrayList<>(2);
+                    }
+                    selected.add(candidate);
+                }
+            }
+            return selected != null ? selected : Collections.emptyList();
+        }
+
+        abstract boolean accepts(Dependency dependency, Project dependingProject, Project candidate);
+    }
+
+    /**
+     * Keeps the candidates with the highest score; Long.MIN_VALUE means not preferred at all
+     */
+    private abstract static class Scored implements DuplicateResolutionStrategy {
+        private final String name;
+
+        Scored(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<Project> select(Dependency dependency, Project dependingProject, List<Project> candidates) {
+            Object context = context(dependency, dependingProject);
+            long best = Long.MIN_VALUE;
+            List<Project> selected = new ArrayList<>(2);
+            for (Project candidate : candidates) {
+                long score = score(context, candidate);
+                if (score == Long.MIN_VALUE || score < best) {
+                    continue;
+                }
+                if (score > best) {
+                    best = score;
+                    selected.clear();
+                }
+                selected.add(candidate);
+            }
+            return selected;
+        }
+
+        /**
+         * Per-lookup data computed once for all candidates, such as the parsed dependency version
+         */
+        abstract Object context(Dependency dependency, Project dependingProject);
+
+        abstract long score(Object context, Project candidate);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One step in choosing between projects that share a dependency's groupId:artifactId.
+ * {@link DuplicateProjectHandler} applies its strategies in order, each narrowing the candidates
+ * left by the previous ones, and takes the first candidate that remains. A strategy is consulted
+ * once per (dependency version, depending repository), not once per edge, unless a strategy in the
+ * chain is not {@link #isRepositoryScoped() repository scoped}.
+ * Implementations named by class in analyzer.duplicates.strategies need a public no-argument constructor.
+ */
+public interface DuplicateResolutionStrategy {
+
+    /**
+     * Name used in analyzer.duplicates.strategies and reported as the match reason
+     */
+    String getName();
+
+    /**
+     * Called once per analysis with every group of duplicates before anything is resolved, so that
+     * per-candidate work such as parsing versions or paths is done once
+     */
+    default void prepare(Collection<List<Project>> duplicateGroups) {
+    }
+
+    /**
+     * True if the choice depends on no more of the depending project than its repository, so that one
+     * resolution serves every project in that repository. When any strategy in the chain returns false,
+     * duplicates are resolved once per (dependency version, depending project) instead.
+     */
+    default boolean isRepositoryScoped() {
+        return true;
+    }
+
+    /**
+     * The candidates this strategy prefers, in their given order, or an empty list when it has no preference
+     *
+     * @param candidates two or more projects with the dependency's groupId:artifactId, ordered by repository
+     */
+    List<Project> select(Dependency dependency, Project dependingProject, List<Project> candidates);
+}
@@ -0,0 +1,73 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports projects with many distinct in-house dependents (fan-in) or dependencies (fan-out),
+ * highest fan-in first
+ */
+public class HotspotDetector implements IssueDetector {
+    public static final String NAME = "hotspots";
+    public static final String CATEGORY = "hotspots";
+    public static final int DEFAULT_FAN_IN = 20;
+    public static final int DEFAULT_FAN_OUT = 20;
+
+    private final int fanInThreshold;
+    private final int fanOutThreshold;
+
+    /**
+     * Reads analyzer.issues.hotspots.fan-in and analyzer.issues.hotspots.fan-out
+     */
+    public HotspotDetector() {
+        this(Integer.getInteger("analyzer.issues.hotspots.fan-in", DEFAULT_FAN_IN),
+            Integer.getInteger("analyzer.issues.hotspots.fan-out", DEFAULT_FAN_OUT));
+    }
+
+    /**
+     * @param fanInThreshold  smallest fan-in reported
+     * @param fanOutThreshold smallest fan-out reported
+     */
+    public HotspotDetector(int fanInThreshold, int fanOutThreshold) {
+        if (fanInThreshold < 1 || fanOutThreshold < 1) {
+            throw new IllegalArgumentException("Hotspot thresholds must be positive: " + fanInThreshold + ", " + fanOutThreshold);
+        }
+        this.fanInThreshold = fanInThreshold;
+        this.fanOutThreshold = fanOutThreshold;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void detect(IssueContext context, ProjectIssuesAnalyzer.IssuesReport report) {
+        DependencyGraph graph = context.getSimpleGraph();
+        List<int[]> hotspots = new ArrayList<>();
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (graph.inDegree(v) >= fanInThreshold || graph.outDegree(v) >= fanOutThreshold) {
+                hotspots.add(new int[] {v, graph.inDegree(v), graph.outDegree(v)});
+            }
+        }
+        hotspots.sort(Comparator.<int[]>comparingInt(h -> -h[1]).thenComparingInt(h -> -h[2]));
+
+        List<Issue> issues = new ArrayList<>(hotspots.size());
+        for (int[] hotspot : hotspots) {
+            Project project = graph.node(hotspot[0]);
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("fanIn", hotspot[1]);
+            details.put("fanOut", hotspot[2]);
+            issues.add(new Issue(project.getFullName(), "Fan-in " + hotspot[1] + ", fan-out " + hotspot[2],
+                Collections.singletonList(project), details));
+        }
+        report.addIssues(CATEGORY, issues);
+    }
+}
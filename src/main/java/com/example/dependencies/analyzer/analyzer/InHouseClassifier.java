@@ -0,0 +1,206 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.model.CoordinateTable;
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decides whether a dependency is in-house, built once per analysis. A dependency is in-house when
+ * its groupId:artifactId is one of the analyzed projects, or when its groupId matches a group rule.
+ * Group rules are either configured prefixes, which match the group and every group below it by
+ * whole segments ("com.example" matches "com.example.billing" but not "com.examples"), or, without
+ * configuration, exactly the groups of the analyzed projects. Dependencies of the analyzed projects
+ * are classified up front and answered from a table indexed by coordinate id; others walk a trie
+ * over groupId segments. Neither path allocates for coordinates of the analysis' own table.
+ * Safe for concurrent use once built.
+ */
+public final class InHouseClassifier {
+
+    public enum Classification {
+        /** groupId:artifactId of an analyzed project */
+        ARTIFACT,
+        /** groupId matching a group rule */
+        GROUP,
+        EXTERNAL;
+
+        public boolean isInHouse() {
+            return this != EXTERNAL;
+        }
+    }
+
+    private static final Classification[] CLASSIFICATIONS = Classification.values();
+
+    private final CoordinateTable table;
+    private final BitSet projectArtifacts;
+    private final GroupTrie groups;
+    // Artifact coordinate id -> Classification ordinal + 1; 0 when not classified up front
+    private final byte[] classified;
+
+    private InHouseClassifier(CoordinateTable table, BitSet projectArtifacts, GroupTrie groups, byte[] classified) {
+        this.table = table;
+        this.projectArtifacts = projectArtifacts;
+        this.groups = groups;
+        this.classified = classified;
+    }
+
+    /**
+     * Builds the classifier over the analyzed projects
+     *
+     * @param groupPrefixes group prefixes that are in-house; when empty, the projects' own groups are
+     */
+    public static InHouseClassifier build(Collection<Project> projects, List<String> groupPrefixes) {
+        // Sized by the coordinates in use rather than everything the table has interned
+        CoordinateTable table = CoordinateTable.shared();
+        int artifactIds = 0;
+        for (Project project : projects) {
+            artifactIds = Math.max(artifactIds, table.artifactId(project) + 1);
+            for (Dependency dependency : project.getDependencies()) {
+                artifactIds = Math.max(artifactIds, table.artifactId(dependency) + 1);
+            }
+        }
+
+        BitSet projectArtifacts = new BitSet(artifactIds);
+        GroupTrie groups = new GroupTrie();
+        for (Project project : projects) {
+            projectArtifacts.set(table.artifactId(project));
+            if (groupPrefixes.isEmpty() && project.getGroupId() != null) {
+                groups.add(project.getGroupId(), false);
+            }
+        }
+        for (String prefix : groupPrefixes) {
+            groups.add(prefix, true);
+        }
+
+        byte[] classified = new byte[artifactIds];
+        InHouseClassifier classifier = new InHouseClassifier(table, projectArtifacts, groups, classified);
+        for (Project project : projects) {
+            for (Dependency dependency : project.getDependencies()) {
+                int id = table.artifactId(dependency);
+                if (id < classified.length && classified[id] == 0) {
+                    classified[id] = (byte) (classifier.compute(id, dependency).ordinal() + 1);
+                }
+            }
+        }
+        return classifier;
+    }
+
+    /**
+     * Splits a comma-separated list of group prefixes, ignoring blanks
+     */
+    public static List<String> parseGroupPrefixes(String value) {
+        List<String> prefixes = new ArrayList<>();
+        if (value != null) {
+            for (String prefix : value.split(",")) {
+                if (!prefix.isBlank()) {
+                    prefixes.add(prefix.trim());
+                }
+            }
+        }
+        return prefixes;
+    }
+
+    public Classification classify(Dependency dependency) {
+        int id = table.artifactId(dependency);
+        if (id < classified.length && classified[id] != 0) {
+            return CLASSIFICATIONS[classified[id] - 1];
+        }
+        return compute(id, dependency);
+    }
+
+    public boolean isInHouse(Dependency dependency) {
+        return classify(dependency).isInHouse();
+    }
+
+    private Classification compute(int id, Dependency dependency) {
+        if (projectArtifacts.get(id)) {
+            return Classification.ARTIFACT;
+        }
+        return groups.matches(dependency.getGroupId()) ? Classification.GROUP : Classification.EXTERNAL;
+    }
+
+    /**
+     * Trie over dot-separated groupId segments. Children are kept in small parallel arrays and
+     * compared in place with regionMatches, so lookups do not split or copy the groupId.
+     */
+    private static final class GroupTrie {
+        private final Node root = new Node();
+
+        void add(String group, boolean prefix) {
+            Node node = root;
+            int start = 0;
+            while (start <= group.length()) {
+                int end = segmentEnd(group, start);
+                node = node.childOrCreate(group, start, end);
+                start = end + 1;
+            }
+            if (prefix) {
+                node.prefix = true;
+            } else {
+                node.group = true;
+            }
+        }
+
+        boolean matches(String group) {
+            if (group == null) {
+                return false;
+            }
+            Node node = root;
+            int start = 0;
+            while (start <= group.length()) {
+                int end = segmentEnd(group, start);
+                node = node.child(group, start, end);
+                if (node == null) {
+                    return false;
+                }
+                if (node.prefix) {
+                    return true;
+                }
+                start = end + 1;
+            }
+            return node.group;
+        }
+
+        private static int segmentEnd(String group, int start) {
+            int dot = group.indexOf('.', start);
+            return dot < 0 ? group.length() : dot;
+        }
+    }
+
+    private static final class Node {
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+        // This exact group is in-house
+        private boolean group;
+        // This group and all groups below it are in-house
+        private boolean prefix;
+
+        Node child(String group, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.length() == length && group.regionMatches(start, segment, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(String group, int start, int end) {
+            Node child = child(group, start, end);
+            if (child == null) {
+                child = new Node();
+                segments = Arrays.copyOf(segments, segments.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                segments[segments.length - 1] = group.substring(start, end);
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -1,31 +1,40 @@
 package com.example.dependencies.analyzer.analyzer;
 
+import com.example.dependencies.analyzer.model.Coordinate;
 import com.example.dependencies.analyzer.model.Dependency;
 import com.example.dependencies.analyzer.model.Project;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class InHouseProjectDetector {
     private static final Logger logger = LoggerFactory.getLogger(InHouseProjectDetector.class);
     
-    private final Map<String, Project> projectMap;
-    private final Map<String, List<Project>> duplicateProjectsMap;
+    private final Map<Coordinate, Project> projectMap;
+    private final Map<Coordinate, List<Project>> duplicateProjectsMap;
     private final List<Project> allProjects;
-    private final Set<String> inHouseGroupIds;
+    private final InHouseClassifier classifier;
 
+    /**
+     * Treats the groups of the analyzed projects as in-house
+     */
     public InHouseProjectDetector(List<Project> allProjects) {
+        this(allProjects, Collections.emptyList());
+    }
+
+    /**
+     * @param groupPrefixes group prefixes that are in-house; when empty, the groups of the analyzed projects are
+     */
+    public InHouseProjectDetector(List<Project> allProjects, List<String> groupPrefixes) {
         this.allProjects = new ArrayList<>(allProjects);
         this.projectMap = new HashMap<>();
         this.duplicateProjectsMap = new HashMap<>();
-        this.inHouseGroupIds = new HashSet<>();
         
-        // Build project map and collect in-house group IDs
+        // Build project map
         // Store all duplicate projects separately
         for (Project project : allProjects) {
-            String key = project.getGroupId() + ":" + project.getArtifactId();
+            Coordinate key = project.getArtifactCoordinate();
             
             // Add to duplicate projects map
             duplicateProjectsMap.computeIfAbsent(key, k -> new ArrayList<>()).add(project);
@@ -35,51 +44,69 @@ public class InHouseProjectDetector {
                     key, projectMap.get(key).getProjectPath(), project.getProjectPath());
             }
             projectMap.put(key, project);
-            inHouseGroupIds.add(project.getGroupId());
         }
+        this.classifier = InHouseClassifier.build(this.allProjects, groupPrefixes);
         
-        logger.info("Detected {} in-house projects with group IDs: {}", 
-                   allProjects.size(), inHouseGroupIds);
+        logger.info("Detected {} in-house projects; in-house groups: {}", allProjects.size(),
+                   groupPrefixes.isEmpty() ? "groups of the analyzed projects" : groupPrefixes + " and below");
+    }
+
+    /**
+     * Reads in-house group prefixes from analyzer.inhouse.group-prefixes, a comma-separated list
+     */
+    public static InHouseProjectDetector fromSystemProperties(List<Project> allProjects) {
+        return new InHouseProjectDetector(allProjects,
+            InHouseClassifier.parseGroupPrefixes(System.getProperty("analyzer.inhouse.group-prefixes")));
     }
 
     public boolean isInHouseProject(Dependency dependency) {
-        // Check if dependency matches any known in-house project
-        String key = dependency.getGroupId() + ":" + dependency.getArtifactId();
-        return projectMap.containsKey(key) || inHouseGroupIds.contains(dependency.getGroupId());
+        return classifier.isInHouse(dependency);
     }
 
+    public InHouseClassifier getClassifier() {
+        return classifier;
+    }
+
+    /**
+     * In-house dependencies of the project in declaration order; a shared empty list when it has none
+     */
     public List<Dependency> filterInHouseDependencies(Project project) {
-        return project.getDependencies().stream()
-            .filter(this::isInHouseProject)
-            .collect(Collectors.toList());
+        List<Dependency> inHouse = null;
+        for (Dependency dependency : project.getDependencies()) {
+            if (classifier.isInHouse(dependency)) {
+                if (inHouse == null) {
+                    inHouse = new ArrayList<>();
+                }
+                inHouse.add(dependency);
+            }
+        }
+        return inHouse != null ? inHouse : Collections.emptyList();
     }
 
+    /**
+     * In-house dependencies of every analyzed project, including those that have none
+     */
     public Map<Project, List<Dependency>> buildInHouseDependencyMap() {
         // Use IdentityHashMap to handle duplicate projects with same groupId:artifactId:version
-        Map<Project, List<Dependency>> dependencyMap = new IdentityHashMap<>();
+        Map<Project, List<Dependency>> dependencyMap = new IdentityHashMap<>(allProjects.size() * 2);
         
         // Use allProjects to preserve duplicates
         for (Project project : allProjects) {
             List<Dependency> inHouseDeps = filterInHouseDependencies(project);
-            if (!inHouseDeps.isEmpty() || allProjects.size() < 50) {
-                // Include projects with dependencies or all projects if small set
-                dependencyMap.put(project, inHouseDeps);
-                logger.debug("Project {} has {} in-house dependencies", 
-                           project.getFullName(), inHouseDeps.size());
-            }
+            dependencyMap.put(project, inHouseDeps);
+            logger.debug("Project {} has {} in-house dependencies", 
+                       project.getFullName(), inHouseDeps.size());
         }
         
         return dependencyMap;
     }
 
     public Project findProject(Dependency dependency) {
-        String key = dependency.getGroupId() + ":" + dependency.getArtifactId();
-        return projectMap.get(key);
+        return projectMap.get(dependency.getArtifactCoordinate());
     }
     
     public List<Project> findAllProjects(Dependency dependency) {
-        String key = dependency.getGroupId() + ":" + dependency.getArtifactId();
-        return duplicateProjectsMap.getOrDefault(key, Collections.emptyList());
+        return duplicateProjectsMap.getOrDefault(dependency.getArtifactCoordinate(), Collections.emptyList());
     }
 
     public Collection<Project> getAllProjects() {
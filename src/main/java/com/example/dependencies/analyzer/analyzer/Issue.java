@@ -0,0 +1,56 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One finding of an issue detector, written to the issues section under the detector's category
+ */
+public final class Issue {
+    private final String subject;
+    private final String message;
+    private final List<Project> projects;
+    private final Map<String, Object> details;
+
+    public Issue(String subject, String message, List<Project> projects) {
+        this(subject, message, projects, Collections.emptyMap());
+    }
+
+    /**
+     * @param subject  what the issue is about, such as a groupId:artifactId or an edge
+     * @param projects the projects involved, written as node ids
+     * @param details  further values: strings, numbers, booleans, projects, and lists or maps of these
+     */
+    public Issue(String subject, String message, List<Project> projects, Map<String, Object> details) {
+        this.subject = subject;
+        this.message = message;
+        this.projects = Collections.unmodifiableList(new ArrayList<>(projects));
+        this.details = Collections.unmodifiableMap(new LinkedHashMap<>(details));
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
+    @Override
+    public String toString() {
+        return subject + ": " + message;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.model.Coordinate;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only snapshot shared by the issue detectors of one analysis. Lookups that several detectors
+ * need are built on first use, once, whichever detector asks first.
+ */
+public final class IssueContext {
+    private final DependencyGraph graph;
+    private DependencyGraph simpleGraph;
+    private String[] repositories;
+    private Map<Coordinate, List<Project>> projectsByArtifact;
+
+    public IssueContext(DependencyGraph graph) {
+        this.graph = graph;
+    }
+
+    public DependencyGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * The graph's nodes in index order
+     */
+    public List<Project> getProjects() {
+        return graph.nodes();
+    }
+
+    /**
+     * The graph with parallel edges collapsed, for checks that count distinct neighbours
+     */
+    public synchronized DependencyGraph getSimpleGraph() {
+        if (simpleGraph == null) {
+            simpleGraph = graph.withoutParallelEdges();
+        }
+        return simpleGraph;
+    }
+
+    /**
+     * Repository name of node v
+     */
+    public String getRepository(int v) {
+        return repositories()[v];
+    }
+
+    /**
+     * The projects with the given groupId:artifactId, in node order; empty for external artifacts
+     */
+    public List<Project> getProjects(Coordinate artifactCoordinate) {
+        return projectsByArtifact().getOrDefault(artifactCoordinate, Collections.emptyList());
+    }
+
+    private synchronized String[] repositories() {
+        // Cached by node so that detectors do not repeat the lookup for every edge
+        if (repositories == null) {
+            String[] names = new String[graph.nodeCount()];
+            for (int v = 0; v < names.length; v++) {
+                names[v] = graph.node(v).getRepository();
+            }
+            repositories = names;
+        }
+        return repositories;
+    }
+
+    private synchronized Map<Coordinate, List<Project>> projectsByArtifact() {
+        if (projectsByArtifact == null) {
+            Map<Coordinate, List<Project>> groups = new HashMap<>();
+            for (Project project : graph.nodes()) {
+                groups.computeIfAbsent(project.getArtifactCoordinate(), k -> new ArrayList<>(1)).add(project);
+            }
+            projectsByArtifact = groups;
+        }
+        return projectsByArtifact;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.dependencies.analyzer.analyzer;
+
+/**
+ * One check run by {@link ProjectIssuesAnalyzer#analyzeAll()}. Detectors run concurrently over the
+ * same {@link IssueContext}, so they must only read the graph and its projects, and each must set
+ * report fields or add an issue category no other detector uses.
+ * Implementations found through {@link IssueDetectors#fromSystemProperties} need a public no-argument constructor.
+ */
+public interface IssueDetector {
+
+    /**
+     * Name used in logs and in the per-detector metrics phase
+     */
+    String getName();
+
+    /**
+     * Runs the check and stores what it found in the report, usually with
+     * {@link ProjectIssuesAnalyzer.IssuesReport#addIssues}
+     */
+    void detect(IssueContext context, ProjectIssuesAnalyzer.IssuesReport report);
+}
@@ -0,0 +1,154 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.graph.CycleDetector;
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.model.Coordinate;
+import com.example.dependencies.analyzer.model.CoordinateTable;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Built-in issue detectors and the configured set. Further detectors are found with
+ * {@link ServiceLoader}: list their classes in META-INF/services/{@code IssueDetector}'s full name.
+ */
+public final class IssueDetectors {
+    public static final String CIRCULAR_REFERENCES = "circular-references";
+    public static final String PROJECT_GROUPS = "project-groups";
+
+    private IssueDetectors() {
+    }
+
+    /**
+     * The defaults followed by every detector on the class path, less those named in
+     * analyzer.issues.disabled (comma-separated)
+     *
+     * @throws IllegalArgumentException when two detectors have the same name
+     */
+    public static List<IssueDetector> fromSystemProperties(CycleDetector.Options cycleOptions) {
+        Set<String> disabled = new HashSet<>();
+        for (String name : System.getProperty("analyzer.issues.disabled", "").split(",")) {
+            disabled.add(name.trim());
+        }
+        List<IssueDetector> detectors = new ArrayList<>(defaults(cycleOptions));
+        for (IssueDetector detector : ServiceLoader.load(IssueDetector.class)) {
+            detectors.add(detector);
+        }
+        Set<String> names = new HashSet<>();
+        List<IssueDetector> enabled = new ArrayList<>();
+        for (IssueDetector detector : detectors) {
+            if (!names.add(detector.getName())) {
+                throw new IllegalArgumentException("Two issue detectors are named " + detector.getName());
+            }
+            if (!disabled.contains(detector.getName())) {
+                enabled.add(detector);
+            }
+        }
+        return enabled;
+    }
+
+    /**
+     * The detectors behind the fixed IssuesReport fields, the costliest first
+     */
+    public static List<IssueDetector> defaults(CycleDetector.Options cycleOptions) {
+        List<IssueDetector> detectors = new ArrayList<>();
+        detectors.add(circularReferences(cycleOptions));
+        detectors.add(projectGroups());
+        return detectors;
+    }
+
+    /**
+     * Finds dependency cycles within the given limits and sets circularReferences and circularReferencesTruncated
+     */
+    public static IssueDetector circularReferences(CycleDetector.Options cycleOptions) {
+        return new IssueDetector() {
+            @Override
+            public String getName() {
+                return CIRCULAR_REFERENCES;
+            }
+
+            @Override
+            public void detect(IssueContext context, ProjectIssuesAnalyzer.IssuesReport report) {
+                DependencyGraph graph = context.getGraph();
+                CycleDetector.Cycles found = CycleDetector.find(graph, cycleOptions);
+                List<List<String>> cycles = new ArrayList<>(found.getCycles().size());
+                for (int[] cycle : found.getCycles()) {
+                    List<String> names = new ArrayList<>(cycle.length);
+                    for (int v : cycle) {
+                        names.add(graph.node(v).getFullName());
+                    }
+                    cycles.add(names);
+                }
+                report.setCircularReferences(cycles);
+                report.setCircularReferencesTruncated(found.isTruncated());
+            }
+        };
+    }
+
+    /**
+     * Sets unreferencedProjects, duplicateArtifactIds and duplicateGAVs from a single pass over the projects
+     */
+    public static IssueDetector projectGroups() {
+        return new IssueDetector() {
+            @Override
+            public String getName() {
+                return PROJECT_GROUPS;
+            }
+
+            @Override
+            public void detect(IssueContext context, ProjectIssuesAnalyzer.IssuesReport report) {
+                DependencyGraph graph = context.getGraph();
+                // A reference to any project with the same groupId:artifactId counts, whichever duplicate it resolved to.
+                // Coordinate ids are dense, so a bit set indexed by id holds the referenced keys.
+                CoordinateTable table = CoordinateTable.shared();
+                BitSet referenced = new BitSet();
+                Map<String, List<Project>> artifactIdGroups = new HashMap<>();
+                // Grouped in order of first appearance
+                Map<Coordinate, List<Project>> gavGroups = new LinkedHashMap<>();
+                for (int v = 0; v < graph.nodeCount(); v++) {
+                    Project project = graph.node(v);
+                    if (graph.inDegree(v) > 0) {
+                        referenced.set(table.artifactId(project));
+                    }
+                    artifactIdGroups.computeIfAbsent(project.getArtifactId(), k -> new ArrayList<>(1)).add(project);
+                    gavGroups.computeIfAbsent(project.getVersionCoordinate(), k -> new ArrayList<>(1)).add(project);
+                }
+
+                List<Project> unreferenced = new ArrayList<>();
+                for (int v = 0; v < graph.nodeCount(); v++) {
+                    Project project = graph.node(v);
+                    if (!referenced.get(table.artifactId(project))) {
+                        unreferenced.add(project);
+                    }
+                }
+
+                Map<String, List<Project>> duplicateArtifactIds = new LinkedHashMap<>();
+                for (Map.Entry<String, List<Project>> group : artifactIdGroups.entrySet()) {
+                    if (group.getValue().size() > 1) {
+                        duplicateArtifactIds.put(group.getKey(), group.getValue());
+                    }
+                }
+                // Key strings are only needed for the duplicates
+                Map<String, List<Project>> duplicateGAVs = new LinkedHashMap<>();
+                for (Map.Entry<Coordinate, List<Project>> group : gavGroups.entrySet()) {
+                    if (group.getValue().size() > 1) {
+                        duplicateGAVs.put(group.getKey().getKey(), group.getValue());
+                    }
+                }
+
+                report.setUnreferencedProjects(unreferenced);
+                report.setDuplicateArtifactIds(duplicateArtifactIds);
+                report.setDuplicateGAVs(duplicateGAVs);
+            }
+        };
+    }
+}
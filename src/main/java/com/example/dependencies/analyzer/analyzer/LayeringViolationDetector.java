@@ -0,0 +1,131 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Reports dependencies from a lower architectural layer on a higher one. Layers are listed top
+ * first; a project belongs to the first layer whose pattern matches its groupId:artifactId, and
+ * projects in no layer are not checked. Without layers the detector reports nothing.
+ */
+public class LayeringViolationDetector implements IssueDetector {
+    public static final String NAME = "layering-violations";
+    public static final String CATEGORY = "layeringViolations";
+
+    private final List<Layer> layers;
+
+    /**
+     * Reads analyzer.issues.layers, e.g. {@code web=.*-web;service=.*-service;common=.*-(common|util)}
+     */
+    public LayeringViolationDetector() {
+        this(parse(System.getProperty("analyzer.issues.layers", "")));
+    }
+
+    public LayeringViolationDetector(List<Layer> layers) {
+        this.layers = new ArrayList<>(layers);
+    }
+
+    /**
+     * Parses semicolon-separated name=regex layers, top first
+     *
+     * @throws IllegalArgumentException for entries without a name or with an invalid pattern
+     */
+    public static List<Layer> parse(String layers) {
+        List<Layer> result = new ArrayList<>();
+        for (String entry : layers.split(";")) {
+            entry = entry.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Layer must be name=regex: " + entry);
+            }
+            try {
+                result.add(new Layer(entry.substring(0, separator).trim(), Pattern.compile(entry.substring(separator + 1).trim())));
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid pattern for layer " + entry, e);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void detect(IssueContext context, ProjectIssuesAnalyzer.IssuesReport report) {
+        List<Issue> issues = new ArrayList<>();
+        if (layers.isEmpty()) {
+            report.addIssues(CATEGORY, issues);
+            return;
+        }
+        DependencyGraph graph = context.getSimpleGraph();
+        int[] layerOf = new int[graph.nodeCount()];
+        Arrays.fill(layerOf, -1);
+        for (int v = 0; v < layerOf.length; v++) {
+            String key = graph.node(v).getArtifactCoordinate().getKey();
+            for (int i = 0; i < layers.size(); i++) {
+                if (layers.get(i).getPattern().matcher(key).matches()) {
+                    layerOf[v] = i;
+                    break;
+                }
+            }
+        }
+
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (layerOf[v] < 0) {
+                continue;
+            }
+            for (int i = 0; i < graph.outDegree(v); i++) {
+                int target = graph.successor(v, i);
+                if (layerOf[target] < 0 || layerOf[target] >= layerOf[v]) {
+                    continue;
+                }
+                Project source = graph.node(v);
+                Project dependency = graph.node(target);
+                String from = layers.get(layerOf[v]).getName();
+                String to = layers.get(layerOf[target]).getName();
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("fromLayer", from);
+                details.put("toLayer", to);
+                issues.add(new Issue(source.getFullName() + " -> " + dependency.getFullName(),
+                    "Layer " + from + " depends on higher layer " + to, Arrays.asList(source, dependency), details));
+            }
+        }
+        report.addIssues(CATEGORY, issues);
+    }
+
+    public static final class Layer {
+        private final String name;
+        private final Pattern pattern;
+
+        public Layer(String name, Pattern pattern) {
+            this.name = name;
+            this.pattern = pattern;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + pattern;
+        }
+    }
+}
@@ -1,187 +1,171 @@
 package com.example.dependencies.analyzer.analyzer;
 
+import com.example.dependencies.analyzer.graph.CycleDetector;
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.graph.EdgeResolver;
+import com.example.dependencies.analyzer.metrics.AnalysisMetrics;
 import com.example.dependencies.analyzer.model.Dependency;
 import com.example.dependencies.analyzer.model.Project;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 public class ProjectIssuesAnalyzer {
     private static final Logger logger = LoggerFactory.getLogger(ProjectIssuesAnalyzer.class);
     
-    private final List<Project> allProjects;
-    private final Map<String, Project> projectMap;
-    private final Map<Project, List<Dependency>> dependencyMap;
+    private final IssueContext context;
+    private final CycleDetector.Options cycleOptions;
+    private final List<IssueDetector> detectors;
+    private boolean circularReferencesTruncated;
     
     public ProjectIssuesAnalyzer(List<Project> projects, Map<Project, List<Dependency>> dependencyMap) {
-        this.allProjects = new ArrayList<>(projects);
-        this.projectMap = new HashMap<>();
-        this.dependencyMap = dependencyMap;
-        
-        // Build project map
-        for (Project project : projects) {
-            String key = project.getGroupId() + ":" + project.getArtifactId();
-            projectMap.put(key, project);
-        }
+        this(DependencyGraph.build(projects, dependencyMap::get, EdgeResolver.byArtifact(projects)));
+    }
+    
+    public ProjectIssuesAnalyzer(DependencyGraph graph) {
+        this(graph, CycleDetector.Options.fromSystemProperties());
+    }
+    
+    public ProjectIssuesAnalyzer(DependencyGraph graph, CycleDetector.Options cycleOptions) {
+        this(graph, cycleOptions, IssueDetectors.fromSystemProperties(cycleOptions));
+    }
+    
+    /**
+     * analyzeAll は指定された検出器を実行する（detect* メソッドは常に組み込みの検出器を使う）
+     */
+    public ProjectIssuesAnalyzer(DependencyGraph graph, CycleDetector.Options cycleOptions, List<IssueDetector> detectors) {
+        this.context = new IssueContext(graph);
+        this.cycleOptions = cycleOptions;
+        this.detectors = new ArrayList<>(detectors);
     }
     
     /**
-     * 循環参照を検出
+     * 循環参照を検出（上限に達した場合は isCircularReferencesTruncated が true になる）
      */
     public List<List<String>> detectCircularReferences() {
-        List<List<String>> cycles = new ArrayList<>();
-        Set<Project> visited = new HashSet<>();
-        
-        for (Project project : allProjects) {
-            if (!visited.contains(project)) {
-                Set<Project> currentPath = new LinkedHashSet<>();
-                detectCycles(project, visited, currentPath, cycles);
-            }
-        }
-        
-        return cycles;
+        IssuesReport report = run(IssueDetectors.circularReferences(cycleOptions));
+        circularReferencesTruncated = report.isCircularReferencesTruncated();
+        warnIfTruncated(report);
+        return report.getCircularReferences();
     }
     
-    private void detectCycles(Project project, Set<Project> visited, Set<Project> currentPath, List<List<String>> cycles) {
-        if (currentPath.contains(project)) {
-            // Found a cycle
-            List<String> cycle = new ArrayList<>();
-            boolean inCycle = false;
-            for (Project p : currentPath) {
-                if (p.equals(project)) {
-                    inCycle = true;
-                }
-                if (inCycle) {
-                    cycle.add(p.getFullName());
-                }
-            }
-            cycle.add(project.getFullName());
-            cycles.add(cycle);
-            return;
-        }
-        
-        if (visited.contains(project)) {
-            return;
-        }
-        
-        currentPath.add(project);
-        
-        List<Dependency> deps = dependencyMap.get(project);
-        if (deps != null) {
-            for (Dependency dep : deps) {
-                String depKey = dep.getGroupId() + ":" + dep.getArtifactId();
-                Project depProject = projectMap.get(depKey);
-                if (depProject != null) {
-                    detectCycles(depProject, visited, currentPath, cycles);
-                }
-            }
-        }
-        
-        currentPath.remove(project);
-        visited.add(project);
+    /**
+     * 直前の detectCircularReferences または analyzeAll が上限により打ち切られたか
+     */
+    public boolean isCircularReferencesTruncated() {
+        return circularReferencesTruncated;
     }
     
     /**
      * 参照されていないプロジェクトを検出
      */
     public List<Project> detectUnreferencedProjects() {
-        Set<String> referencedProjects = new HashSet<>();
-        
-        // Collect all referenced projects
-        for (List<Dependency> deps : dependencyMap.values()) {
-            for (Dependency dep : deps) {
-                String key = dep.getGroupId() + ":" + dep.getArtifactId();
-                referencedProjects.add(key);
-            }
-        }
-        
-        // Find projects that are not referenced
-        List<Project> unreferenced = new ArrayList<>();
-        for (Project project : allProjects) {
-            String key = project.getGroupId() + ":" + project.getArtifactId();
-            if (!referencedProjects.contains(key)) {
-                unreferenced.add(project);
-            }
-        }
-        
-        return unreferenced;
+        return run(IssueDetectors.projectGroups()).getUnreferencedProjects();
     }
     
     /**
      * 同じartifactIdを持つプロジェクトを検出
      */
     public Map<String, List<Project>> detectDuplicateArtifactIds() {
-        Map<String, List<Project>> artifactIdGroups = new HashMap<>();
-        
-        // Group projects by artifactId
-        for (Project project : allProjects) {
-            artifactIdGroups
-                .computeIfAbsent(project.getArtifactId(), k -> new ArrayList<>())
-                .add(project);
-        }
-        
-        // Filter to keep only duplicates
-        return artifactIdGroups.entrySet().stream()
-            .filter(entry -> entry.getValue().size() > 1)
-            .collect(Collectors.toMap(
-                Map.Entry::getKey,
-                Map.Entry::getValue,
-                (e1, e2) -> e1,
-                LinkedHashMap::new
-            ));
+        return run(IssueDetectors.projectGroups()).getDuplicateArtifactIds();
     }
     
     /**
      * 同じGAV（GroupId、ArtifactId、Version）を持つプロジェクトを検出
      */
     public Map<String, List<Project>> detectDuplicateGAVs() {
-        Map<String, List<Project>> gavGroups = new HashMap<>();
-        
-        // Group projects by GAV
-        for (Project project : allProjects) {
-            String gav = project.getGroupId() + ":" + project.getArtifactId() + ":" + project.getVersion();
-            gavGroups
-                .computeIfAbsent(gav, k -> new ArrayList<>())
-                .add(project);
-        }
-        
-        // Filter to keep only duplicates
-        return gavGroups.entrySet().stream()
-            .filter(entry -> entry.getValue().size() > 1)
-            .collect(Collectors.toMap(
-                Map.Entry::getKey,
-                Map.Entry::getValue,
-                (e1, e2) -> e1,
-                LinkedHashMap::new
-            ));
+        return run(IssueDetectors.projectGroups()).getDuplicateGAVs();
     }
     
     /**
      * 全ての問題を分析
      */
     public IssuesReport analyzeAll() {
+        return analyzeAll(null);
+    }
+    
+    /**
+     * 全ての問題を分析。検出器は共有の読み取り専用グラフ上で並行に実行され、
+     * metrics があれば検出器ごとに issueAnalysis.&lt;name&gt; フェーズとして時間を記録する
+     */
+    public IssuesReport analyzeAll(AnalysisMetrics metrics) {
         IssuesReport report = new IssuesReport();
         
-        report.setCircularReferences(detectCircularReferences());
-        report.setUnreferencedProjects(detectUnreferencedProjects());
-        report.setDuplicateArtifactIds(detectDuplicateArtifactIds());
-        report.setDuplicateGAVs(detectDuplicateGAVs());
+        // The first detector runs on this thread, the others on the common pool
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        for (int i = 1; i < detectors.size(); i++) {
+            IssueDetector detector = detectors.get(i);
+            running.add(CompletableFuture.runAsync(() -> detect(detector, report, metrics), ForkJoinPool.commonPool()));
+        }
+        try {
+            if (!detectors.isEmpty()) {
+                detect(detectors.get(0), report, metrics);
+            }
+            for (CompletableFuture<Void> detector : running) {
+                detector.join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
         
+        circularReferencesTruncated = report.isCircularReferencesTruncated();
+        warnIfTruncated(report);
         logger.info("Found {} circular references", report.getCircularReferences().size());
         logger.info("Found {} unreferenced projects", report.getUnreferencedProjects().size());
         logger.info("Found {} duplicate artifact IDs", report.getDuplicateArtifactIds().size());
         logger.info("Found {} duplicate GAVs", report.getDuplicateGAVs().size());
+        for (Map.Entry<String, List<Issue>> category : report.getIssues().entrySet()) {
+            logger.info("Found {} {}", category.getValue().size(), category.getKey());
+        }
         
         return report;
     }
     
+    private void detect(IssueDetector detector, IssuesReport report, AnalysisMetrics metrics) {
+        long start = System.nanoTime();
+        if (metrics == null) {
+            detector.detect(context, report);
+        } else {
+            metrics.time(AnalysisMetrics.ISSUE_ANALYSIS + "." + detector.getName(), () -> detector.detect(context, report));
+        }
+        logger.debug("Issue detector {} took {} ms", detector.getName(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+    
+    private IssuesReport run(IssueDetector detector) {
+        IssuesReport report = new IssuesReport();
+        detector.detect(context, report);
+        return report;
+    }
+    
+    private static void warnIfTruncated(IssuesReport report) {
+        if (report.isCircularReferencesTruncated()) {
+            logger.warn("Circular reference search stopped at its limits after {} cycles",
+                report.getCircularReferences().size());
+        }
+    }
+    
     public static class IssuesReport {
+        /**
+         * 組み込みのフィールド名。addIssues のカテゴリには使えない
+         */
+        public static final Set<String> FIXED_CATEGORIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "circularReferences", "circularReferencesTruncated", "unreferencedProjects", "duplicateArtifactIds", "duplicateGAVs")));
+        
         private List<List<String>> circularReferences = new ArrayList<>();
+        private boolean circularReferencesTruncated;
         private List<Project> unreferencedProjects = new ArrayList<>();
         private Map<String, List<Project>> duplicateArtifactIds = new LinkedHashMap<>();
         private Map<String, List<Project>> duplicateGAVs = new LinkedHashMap<>();
+        private final Map<String, List<Issue>> issues = new TreeMap<>();
         
         public List<List<String>> getCircularReferences() {
             return circularReferences;
@@ -191,6 +175,14 @@ public class ProjectIssuesAnalyzer {
             this.circularReferences = circularReferences;
         }
         
+        public boolean isCircularReferencesTruncated() {
+            return circularReferencesTruncated;
+        }
+        
+        public void setCircularReferencesTruncated(boolean circularReferencesTruncated) {
+            this.circularReferencesTruncated = circularReferencesTruncated;
+        }
+        
         public List<Project> getUnreferencedProjects() {
             return unreferencedProjects;
         }
@@ -214,5 +206,24 @@ public class ProjectIssuesAnalyzer {
         public void setDuplicateGAVs(Map<String, List<Project>> duplicateGAVs) {
             this.duplicateGAVs = duplicateGAVs;
         }
+        
+        /**
+         * 追加の検出器が見つけた問題をカテゴリ名で登録（並行に呼び出してよい）
+         *
+         * @throws IllegalArgumentException カテゴリが組み込みのフィールド名か、既に登録済みの場合
+         */
+        public synchronized void addIssues(String category, List<Issue> found) {
+            if (FIXED_CATEGORIES.contains(category) || issues.containsKey(category)) {
+                throw new IllegalArgumentException("Issue category already in use: " + category);
+            }
+            issues.put(category, Collections.unmodifiableList(new ArrayList<>(found)));
+        }
+        
+        /**
+         * 追加の検出器の問題（カテゴリ名順）
+         */
+        public synchronized Map<String, List<Issue>> getIssues() {
+            return Collections.unmodifiableMap(new TreeMap<>(issues));
+        }
     }
-}
\ No newline at end of file
+}
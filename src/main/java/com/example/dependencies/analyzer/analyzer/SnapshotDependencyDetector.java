@@ -0,0 +1,60 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.model.Coordinate;
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reports dependencies on a SNAPSHOT version of an in-house project that only exists in other
+ * repositories, which ties the build to whatever that repository last published
+ */
+public class SnapshotDependencyDetector implements IssueDetector {
+    public static final String NAME = "cross-repository-snapshots";
+    public static final String CATEGORY = "crossRepositorySnapshots";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void detect(IssueContext context, ProjectIssuesAnalyzer.IssuesReport report) {
+        List<Issue> issues = new ArrayList<>();
+        for (int v = 0; v < context.getGraph().nodeCount(); v++) {
+            Project project = context.getGraph().node(v);
+            String repository = context.getRepository(v);
+            Set<Coordinate> seen = new HashSet<>();
+            for (Dependency dependency : project.getDependencies()) {
+                String version = dependency.getVersion();
+                if (version == null || !version.endsWith("-SNAPSHOT") || !seen.add(dependency.getVersionCoordinate())) {
+                    continue;
+                }
+                List<Project> targets = context.getProjects(dependency.getArtifactCoordinate());
+                Set<String> targetRepositories = new LinkedHashSet<>();
+                for (Project target : targets) {
+                    targetRepositories.add(context.getRepository(context.getGraph().indexOf(target)));
+                }
+                if (targets.isEmpty() || targetRepositories.contains(repository)) {
+                    continue;
+                }
+                List<Project> involved = new ArrayList<>(targets.size() + 1);
+                involved.add(project);
+                involved.addAll(targets);
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("repository", repository);
+                details.put("targetRepositories", new ArrayList<>(targetRepositories));
+                issues.add(new Issue(project.getFullName() + " -> " + dependency.getFullName(),
+                    "Depends on a SNAPSHOT from " + String.join(", ", targetRepositories), involved, details));
+            }
+        }
+        report.addIssues(CATEGORY, issues);
+    }
+}
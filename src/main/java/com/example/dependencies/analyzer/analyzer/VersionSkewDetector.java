@@ -0,0 +1,72 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.model.Coordinate;
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reports in-house groupId:artifactIds that projects depend on at more than one version.
+ * Dependencies without a version, with an unresolved property, or with the parsers' "unknown"
+ * placeholder are not counted.
+ */
+public class VersionSkewDetector implements IssueDetector {
+    public static final String NAME = "version-skew";
+    public static final String CATEGORY = "versionSkew";
+    /** Version the parsers record when a dependency declares none and none is managed */
+    static final String UNKNOWN_VERSION = "unknown";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void detect(IssueContext context, ProjectIssuesAnalyzer.IssuesReport report) {
+        // Consumers per version per artifact, in order of first appearance
+        Map<Coordinate, Map<String, Set<Project>>> consumers = new LinkedHashMap<>();
+        for (Project project : context.getProjects()) {
+            for (Dependency dependency : project.getDependencies()) {
+                String version = dependency.getVersion();
+                if (version == null || version.contains("${") || UNKNOWN_VERSION.equals(version)
+                        || context.getProjects(dependency.getArtifactCoordinate()).isEmpty()) {
+                    continue;
+                }
+                consumers.computeIfAbsent(dependency.getArtifactCoordinate(), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(version, k -> new LinkedHashSet<>())
+                    .add(project);
+            }
+        }
+
+        List<Issue> issues = new ArrayList<>();
+        for (Map.Entry<Coordinate, Map<String, Set<Project>>> artifact : consumers.entrySet()) {
+            Map<String, Set<Project>> versions = artifact.getValue();
+            if (versions.size() < 2) {
+                continue;
+            }
+            Set<Project> involved = new LinkedHashSet<>();
+            Map<String, Object> byVersion = new LinkedHashMap<>();
+            for (Map.Entry<String, Set<Project>> version : versions.entrySet()) {
+                involved.addAll(version.getValue());
+                byVersion.put(version.getKey(), new ArrayList<>(version.getValue()));
+            }
+            List<String> built = new ArrayList<>();
+            for (Project project : context.getProjects(artifact.getKey())) {
+                built.add(project.getVersion());
+            }
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("versions", byVersion);
+            details.put("projectVersions", built);
+            issues.add(new Issue(artifact.getKey().getKey(),
+                "Consumed at " + versions.size() + " versions: " + String.join(", ", versions.keySet()),
+                new ArrayList<>(involved), details));
+        }
+        report.addIssues(CATEGORY, issues);
+    }
+}
@@ -0,0 +1,574 @@
+package com.example.dependencies.analyzer.cache;
+
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.model.ProjectType;
+import com.example.dependencies.analyzer.parser.GradleBuildParser;
+import com.example.dependencies.analyzer.parser.MavenPomParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * On-disk cache of parsed projects keyed by build file.
+ * An entry is reused when every file the parser read (the build file itself plus, for Gradle,
+ * settings and parent scripts) still has the recorded size and modification time, or the same
+ * content hash if only the timestamp moved. Entries written by a different parser version are
+ * discarded on load. A POM that looked up a parent or BOM by GAV without finding it is also tied to
+ * the set of workspace POMs: its entry is only reused while no POM was added, removed or modified.
+ */
+public class ParseCache {
+    private static final Logger logger = LoggerFactory.getLogger(ParseCache.class);
+    private static final ObjectMapper mapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    static final int FORMAT_VERSION = 1;
+
+    private final Path cacheFile;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private Collection<Path> workspacePoms = List.of();
+    private String pomIndex;
+
+    private ParseCache(Path cacheFile, Map<String, Entry> previous) {
+        this.cacheFile = cacheFile;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the cache file, starting empty if it is missing, unreadable or from another format version
+     */
+    public static ParseCache load(Path cacheFile) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                CacheFile stored = mapper.readValue(cacheFile.toFile(), CacheFile.class);
+                if (stored.getFormatVersion() == FORMAT_VERSION && stored.getEntries() != null) {
+                    for (Map.Entry<String, Entry> entry : stored.getEntries().entrySet()) {
+                        if (entry.getValue().hasCurrentParserVersion()) {
+                            entries.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                } else {
+                    logger.info("Ignoring parse cache with format version {}: {}", stored.getFormatVersion(), cacheFile);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not read parse cache, starting with an empty cache: {}", cacheFile, e);
+            }
+        }
+        logger.info("Loaded {} parse cache entries from {}", entries.size(), cacheFile);
+        return new ParseCache(cacheFile, entries);
+    }
+
+    /**
+     * Opens the cache configured through analyzer.cache.* system properties, or returns null when caching is disabled
+     */
+    public static ParseCache fromSystemProperties(Path outputFile, boolean enabledByDefault) {
+        return fromSystemProperties(outputFile, enabledByDefault, true);
+    }
+
+    /**
+     * As above; with {@code reuseEntries} false the previous cache contents are ignored and overwritten on save
+     */
+    public static ParseCache fromSystemProperties(Path outputFile, boolean enabledByDefault, boolean reuseEntries) {
+        String enabled = System.getProperty("analyzer.cache.enabled", String.valueOf(enabledByDefault));
+        if (!Boolean.parseBoolean(enabled)) {
+            return null;
+        }
+        String configuredFile = System.getProperty("analyzer.cache.file");
+        Path cacheFile = configuredFile != null ? Path.of(configuredFile) : cacheFileFor(outputFile);
+        return reuseEntries ? load(cacheFile) : new ParseCache(cacheFile, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Cache file placed next to the analysis output, e.g. dependencies-analysis.parse-cache.json
+     */
+    public static Path cacheFileFor(Path outputFile) {
+        String fileName = outputFile.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return outputFile.resolveSibling(baseName + ".parse-cache.json");
+    }
+
+    /**
+     * Sets the POM files searched by GAV for parents and BOMs during this run
+     */
+    public synchronized void setWorkspacePoms(Collection<Path> pomFiles) {
+        this.workspacePoms = List.copyOf(pomFiles);
+        this.pomIndex = null;
+    }
+
+    /**
+     * Returns the cached project for the build file if none of its inputs changed, otherwise null
+     */
+    public Project lookup(Path buildFile, ProjectType type) {
+        return lookup(buildFile, type, file -> false);
+    }
+
+    /**
+     * Like {@link #lookup(Path, ProjectType)}, but trusts inputs for which {@code knownUnchanged}
+     * holds (e.g. files Git reports as untouched) without reading their attributes
+     */
+    public Project lookup(Path buildFile, ProjectType type, Predicate<Path> knownUnchanged) {
+        String key = keyOf(buildFile);
+        Entry entry = previous.get(key);
+        if (entry == null || !type.name().equals(entry.getType())) {
+            misses.incrementAndGet();
+            return null;
+        }
+        for (FileFingerprint input : entry.getInputs()) {
+            if (!knownUnchanged.test(Path.of(input.getPath())) && !input.matchesCurrentFile()) {
+                misses.incrementAndGet();
+                return null;
+            }
+        }
+        if (entry.getPomIndex() != null && !entry.getPomIndex().equals(pomIndex())) {
+            misses.incrementAndGet();
+            return null;
+        }
+        current.put(key, entry);
+        hits.incrementAndGet();
+        return entry.toProject(buildFile);
+    }
+
+    /**
+     * Records a freshly parsed project together with the files its parser read
+     */
+    public void store(Path buildFile, List<Path> inputFiles, Project project) {
+        store(buildFile, inputFiles, Set.of(), project);
+    }
+
+    /**
+     * As above, for a POM whose parent or BOM lookups by GAV missed the given coordinates
+     */
+    public void store(Path buildFile, List<Path> inputFiles, Set<String> unresolvedGavs, Project project) {
+        if (project.getProjectPath() == null || !project.getProjectPath().equals(buildFile.getParent())) {
+            // Only regular parse results are cached; placeholders are retried on the next run
+            return;
+        }
+        try {
+            List<FileFingerprint> inputs = new ArrayList<>(inputFiles.size());
+            for (Path inputFile : inputFiles) {
+                inputs.add(FileFingerprint.of(inputFile));
+            }
+            Entry entry = Entry.of(project, inputs);
+            if (!unresolvedGavs.isEmpty()) {
+                entry.setUnresolvedGavs(new ArrayList<>(unresolvedGavs));
+                entry.setPomIndex(pomIndex());
+            }
+            current.put(keyOf(buildFile), entry);
+        } catch (IOException e) {
+            logger.debug("Could not fingerprint inputs of {}, not caching it", buildFile, e);
+        }
+    }
+
+    /**
+     * Writes the entries used by this run, dropping build files that no longer exist
+     */
+    public void save() throws IOException {
+        CacheFile file = new CacheFile();
+        file.setFormatVersion(FORMAT_VERSION);
+        file.setEntries(new TreeMap<>(current));
+
+        Path directory = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // Not createTempFile, whose 0600 mode would carry over to the cache file
+        Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try {
+            mapper.writeValue(tempFile.toFile(), file);
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        logger.info("Parse cache: {} hits, {} misses, {} entries saved to {}",
+            hits.get(), misses.get(), current.size(), cacheFile);
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public Path getCacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * Hash of the paths, sizes and modification times of the workspace POMs, computed once per run
+     */
+    private synchronized String pomIndex() {
+        if (pomIndex == null) {
+            List<String> lines = new ArrayList<>(workspacePoms.size());
+            for (Path pomFile : workspacePoms) {
+                String line = keyOf(pomFile);
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(pomFile, BasicFileAttributes.class);
+                    line += "|" + attrs.size() + "|" + attrs.lastModifiedTime().toMillis();
+                } catch (IOException e) {
+                    line += "|missing";
+                }
+                lines.add(line);
+            }
+            Collections.sort(lines);
+            pomIndex = sha256(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        }
+        return pomIndex;
+    }
+
+    private static String keyOf(Path buildFile) {
+        return buildFile.toAbsolutePath().normalize().toString();
+    }
+
+    static int parserVersionOf(String type) {
+        return ProjectType.GRADLE.name().equals(type) ? GradleBuildParser.PARSER_VERSION : MavenPomParser.PARSER_VERSION;
+    }
+
+    static String sha256(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    static String sha256(byte[] content) {
+        return hex(newDigest().digest(content));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    public static class CacheFile {
+        private int formatVersion;
+        private Map<String, Entry> entries;
+
+        public int getFormatVersion() {
+            return formatVersion;
+        }
+
+        public void setFormatVersion(int formatVersion) {
+            this.formatVersion = formatVersion;
+        }
+
+        public Map<String, Entry> getEntries() {
+            return entries;
+        }
+
+        public void setEntries(Map<String, Entry> entries) {
+            this.entries = entries;
+        }
+    }
+
+    public static class Entry {
+        private String type;
+        private int parserVersion;
+        private List<FileFingerprint> inputs = new ArrayList<>();
+        private String groupId;
+        private String artifactId;
+        private String version;
+        private String packaging;
+        private List<CachedDependency> dependencies = new ArrayList<>();
+        private List<String> unresolvedGavs;
+        private String pomIndex;
+
+        static Entry of(Project project, List<FileFingerprint> inputs) {
+            Entry entry = new Entry();
+            entry.type = project.getType().name();
+            entry.parserVersion = parserVersionOf(entry.type);
+            entry.inputs = inputs;
+            entry.groupId = project.getGroupId();
+            entry.artifactId = project.getArtifactId();
+            entry.version = project.getVersion();
+            entry.packaging = project.getPackaging();
+            for (Dependency dependency : project.getDependencies()) {
+                entry.dependencies.add(CachedDependency.of(dependency));
+            }
+            return entry;
+        }
+
+        Project toProject(Path buildFile) {
+            Project project = new Project(groupId, artifactId, version, buildFile.getParent(), ProjectType.valueOf(type));
+            project.setPackaging(packaging);
+            for (CachedDependency dependency : dependencies) {
+                project.addDependency(dependency.toDependency());
+            }
+            return project;
+        }
+
+        boolean hasCurrentParserVersion() {
+            return type != null && parserVersion == parserVersionOf(type);
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public int getParserVersion() {
+            return parserVersion;
+        }
+
+        public void setParserVersion(int parserVersion) {
+            this.parserVersion = parserVersion;
+        }
+
+        /**
+         * Parent and BOM GAVs the POM looked up without finding them, or null when all were found
+         */
+        public List<String> getUnresolvedGavs() {
+            return unresolvedGavs;
+        }
+
+        public void setUnresolvedGavs(List<String> unresolvedGavs) {
+            this.unresolvedGavs = unresolvedGavs;
+        }
+
+        /**
+         * Workspace POM hash the entry is valid for, set only together with unresolvedGavs
+         */
+        public String getPomIndex() {
+            return pomIndex;
+        }
+
+        public void setPomIndex(String pomIndex) {
+            this.pomIndex = pomIndex;
+        }
+
+        public List<FileFingerprint> getInputs() {
+            return inputs;
+        }
+
+        public void setInputs(List<FileFingerprint> inputs) {
+            this.inputs = inputs;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public void setGroupId(String groupId) {
+            this.groupId = groupId;
+        }
+
+        public String getArtifactId() {
+            return artifactId;
+        }
+
+        public void setArtifactId(String artifactId) {
+            this.artifactId = artifactId;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public void setVersion(String version) {
+            this.version = version;
+        }
+
+        public String getPackaging() {
+            return packaging;
+        }
+
+        public void setPackaging(String packaging) {
+            this.packaging = packaging;
+        }
+
+        public List<CachedDependency> getDependencies() {
+            return dependencies;
+        }
+
+        public void setDependencies(List<CachedDependency> dependencies) {
+            this.dependencies = dependencies;
+        }
+    }
+
+    public static class CachedDependency {
+        private String groupId;
+        private String artifactId;
+        private String version;
+        private String scope;
+
+        static CachedDependency of(Dependency dependency) {
+            CachedDependency cached = new CachedDependency();
+            cached.groupId = dependency.getGroupId();
+            cached.artifactId = dependency.getArtifactId();
+            cached.version = dependency.getVersion();
+            cached.scope = dependency.getScope();
+            return cached;
+        }
+
+        Dependency toDependency() {
+            return new Dependency(groupId, artifactId, version, scope);
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public void setGroupId(String groupId) {
+            this.groupId = groupId;
+        }
+
+        public String getArtifactId() {
+            return artifactId;
+        }
+
+        public void setArtifactId(String artifactId) {
+            this.artifactId = artifactId;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public void setVersion(String version) {
+            this.version = version;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public void setScope(String scope) {
+            this.scope = scope;
+        }
+    }
+
+    /**
+     * Size, modification time and content hash of one parser input; absent files are recorded too
+     * so that creating e.g. a settings file later invalidates the entry
+     */
+    public static class FileFingerprint {
+        private String path;
+        private boolean exists;
+        private long size;
+        private long lastModified;
+        private String hash;
+
+        static FileFingerprint of(Path file) throws IOException {
+            FileFingerprint fingerprint = new FileFingerprint();
+            fingerprint.path = file.toAbsolutePath().normalize().toString();
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                fingerprint.exists = true;
+                fingerprint.size = attrs.size();
+                fingerprint.lastModified = attrs.lastModifiedTime().toMillis();
+                fingerprint.hash = sha256(file);
+            } catch (NoSuchFileException e) {
+                fingerprint.exists = false;
+            }
+            return fingerprint;
+        }
+
+        boolean matchesCurrentFile() {
+            Path file = Path.of(path);
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return !exists;
+            } catch (IOException e) {
+                return false;
+            }
+            if (!exists || attrs.size() != size) {
+                return false;
+            }
+            long modified = attrs.lastModifiedTime().toMillis();
+            if (modified == lastModified) {
+                return true;
+            }
+            // Timestamp moved (checkout, touch); fall back to comparing content
+            try {
+                if (sha256(file).equals(hash)) {
+                    lastModified = modified;
+                    return true;
+                }
+            } catch (IOException e) {
+                logger.debug("Could not hash {}", file, e);
+            }
+            return false;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public boolean isExists() {
+            return exists;
+        }
+
+        public void setExists(boolean exists) {
+            this.exists = exists;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public void setLastModified(long lastModified) {
+            this.lastModified = lastModified;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+    }
+}
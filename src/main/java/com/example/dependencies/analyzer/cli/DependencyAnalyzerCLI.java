@@ -3,16 +3,23 @@ package com.example.dependencies.analyzer.cli;
 import com.example.dependencies.analyzer.analyzer.InHouseProjectDetector;
 import com.example.dependencies.analyzer.analyzer.DuplicateProjectHandler;
 import com.example.dependencies.analyzer.analyzer.ProjectIssuesAnalyzer;
+import com.example.dependencies.analyzer.cache.ParseCache;
+import com.example.dependencies.analyzer.git.GitChangeDetector;
+import com.example.dependencies.analyzer.git.GitTreeSource;
+import com.example.dependencies.analyzer.git.RepositoryChanges;
+import com.example.dependencies.analyzer.git.RepositoryStateStore;
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.graph.EdgeResolver;
+import com.example.dependencies.analyzer.metrics.AnalysisMetrics;
+import com.example.dependencies.analyzer.model.CoordinateTable;
 import com.example.dependencies.analyzer.model.Dependency;
 import com.example.dependencies.analyzer.model.Project;
-import com.example.dependencies.analyzer.model.ProjectType;
-import com.example.dependencies.analyzer.parser.GradleBuildParser;
-import com.example.dependencies.analyzer.parser.MavenPomParser;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.example.dependencies.analyzer.output.AnalysisJsonWriter;
+import com.example.dependencies.analyzer.output.GraphValidator;
+import com.example.dependencies.analyzer.scanner.DiscoveredRepository;
+import com.example.dependencies.analyzer.scanner.ParsePipeline;
+import com.example.dependencies.analyzer.scanner.WorkspaceCrawler;
+import com.example.dependencies.analyzer.scanner.WorkspaceScan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ch.qos.logback.classic.Level;
@@ -29,15 +36,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class DependencyAnalyzerCLI {
     private static final Logger logger;
-    private static final ObjectMapper mapper = new ObjectMapper();
     
-    private final MavenPomParser mavenParser = new MavenPomParser();
-    private final GradleBuildParser gradleParser = new GradleBuildParser();
+    private final WorkspaceCrawler crawler = new WorkspaceCrawler();
+    private final ParsePipeline parsePipeline = ParsePipeline.fromSystemProperties();
+    private final GitChangeDetector changeDetector = new GitChangeDetector();
+    private boolean fullRescan = Boolean.getBoolean("analyzer.incremental.full-rescan");
     
     static {
         // Configure logging for CLI mode BEFORE logger initialization
@@ -45,8 +51,6 @@ public class DependencyAnalyzerCLI {
         
         // Initialize logger after configuration
         logger = LoggerFactory.getLogger(DependencyAnalyzerCLI.class);
-        
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
     }
     
     private static void configureLoggingLevel() {
@@ -108,21 +112,62 @@ public class DependencyAnalyzerCLI {
     }
     
     public static void main(String[] args) {
-        if (args.length < 1 || args.length > 2) {
-            System.err.println("Usage: java -jar dependencies-analyzer.jar <directory-path> [output-file]");
+        List<String> positional = new ArrayList<>();
+        boolean fullRescanFlag = false;
+        for (String arg : args) {
+            if ("--full-rescan".equals(arg)) {
+                fullRescanFlag = true;
+            } else {
+                positional.add(arg);
+            }
+        }
+        
+        if (positional.size() < 1 || positional.size() > 2) {
+            System.err.println("Usage: java -jar dependencies-analyzer.jar [--full-rescan] <directory-path> [output-file]");
             System.err.println("Options:");
             System.err.println("  directory-path                  Directory to analyze");
             System.err.println("  output-file                     Output JSON file (default: dependencies-analysis.json)");
+            System.err.println("  --full-rescan                   Ignore cached results and Git state, re-parse every build file");
             System.err.println("  -Danalyzer.output.directory=DIR Set output directory (default: ./frontend/public)");
             System.err.println("  -Danalyzer.output.filename=FILE Set output filename (default: dependencies-analysis.json)");
+            System.err.println("  -Danalyzer.output.pretty=BOOL   Indent the output JSON (default: true)");
+            System.err.println("  -Danalyzer.output.gzip=BOOL     Gzip the output and add a .gz suffix (default: false)");
+            System.err.println("  -Danalyzer.parse.threads=N      Number of parser threads (default: available processors)");
+            System.err.println("  -Danalyzer.parse.executor=KIND  Parser executor: platform or virtual (default: platform)");
+            System.err.println("  -Danalyzer.parse.queue-capacity=N Maximum queued build files (default: 256)");
+            System.err.println("  -Danalyzer.maven.pom-reader=KIND POM reader: full or streaming (default: full)");
+            System.err.println("  -Danalyzer.cache.enabled=BOOL   Reuse parse results of unchanged build files (default: true)");
+            System.err.println("  -Danalyzer.cache.file=FILE      Parse cache location (default: next to the output file)");
+            System.err.println("  -Danalyzer.incremental.enabled=BOOL Skip crawling and verifying repositories whose tracked");
+            System.err.println("                                  build files Git reports unchanged (default: false)");
+            System.err.println("  -Danalyzer.incremental.full-rescan=BOOL Same as --full-rescan (default: false)");
+            System.err.println("  -Danalyzer.inhouse.group-prefixes=LIST Comma-separated in-house group prefixes");
+            System.err.println("                                  (default: the groups of the analyzed projects)");
+            System.err.println("  -Danalyzer.duplicates.strategies=LIST Chain choosing between duplicate projects: same-repository,");
+            System.err.println("                                  exact-version, semver-nearest, path-prefix, repository-name,");
+            System.err.println("                                  mapping or strategy class names");
+            System.err.println("                                  (default: mapping,same-repository,exact-version,repository-name)");
+            System.err.println("  -Danalyzer.duplicates.mapping-file=FILE Lines of 'groupId:artifactId depending-repo|* target-repo'");
+            System.err.println("  -Danalyzer.output.metrics=BOOL  Add phase timings and the slowest build files to the output (default: true)");
+            System.err.println("  -Danalyzer.metrics.file=FILE    Also write the metrics to this JSON file");
+            System.err.println("  -Danalyzer.metrics.slowest-files=N Number of slowest build files reported (default: 10)");
+            System.err.println("  -Danalyzer.issues.disabled=LIST Issue detectors to skip, e.g. hotspots,version-skew");
+            System.err.println("  -Danalyzer.issues.layers=LAYERS Layers top first as name=regex;... on groupId:artifactId");
+            System.err.println("  -Danalyzer.issues.hotspots.fan-in=N  Smallest fan-in reported as a hotspot (default: 20)");
+            System.err.println("  -Danalyzer.issues.hotspots.fan-out=N Smallest fan-out reported as a hotspot (default: 20)");
+            System.err.println("  -Danalyzer.git.ref=REF          Read build files from this branch, tag or commit instead of");
+            System.err.println("                                  the working tree (bare repositories: default HEAD)");
             System.err.println("  -Dlogging.level.root=<LEVEL>    Set root log level (TRACE, DEBUG, INFO, WARN, ERROR, OFF)");
             System.err.println("  -Dlogging.level.com.example.dependencies.analyzer=<LEVEL>  Set package log level");
             System.exit(1);
         }
         
-        String directoryPath = args[0];
-        String outputFile = args.length > 1 ? args[1] : null;
+        String directoryPath = positional.get(0);
+        String outputFile = positional.size() > 1 ? positional.get(1) : null;
         DependencyAnalyzerCLI analyzer = new DependencyAnalyzerCLI();
+        if (fullRescanFlag) {
+            analyzer.setFullRescan(true);
+        }
         
         try {
             analyzer.analyzeDependencies(directoryPath, outputFile);
@@ -132,6 +177,10 @@ public class DependencyAnalyzerCLI {
         }
     }
     
+    public void setFullRescan(boolean fullRescan) {
+        this.fullRescan = fullRescan;
+    }
+    
     public void analyzeDependencies(String directoryPath) throws IOException {
         analyzeDependencies(directoryPath, null);
     }
@@ -150,364 +199,196 @@ public class DependencyAnalyzerCLI {
         }
         
         logger.info("Scanning for Git repositories in: {}", directoryPath);
+        AnalysisMetrics metrics = AnalysisMetrics.fromSystemProperties();
+        // Coordinate ids start from zero for every analysis run in this JVM
+        CoordinateTable.resetShared();
+        
+        // Git state of the previous run tells which repositories need not be crawled or verified again
+        Path resolvedOutput = resolveOutputFile(outputFile).toPath();
+        ParseCache parseCache = ParseCache.fromSystemProperties(resolvedOutput, true, !fullRescan);
+        Path stateFile = RepositoryStateStore.stateFileFor(resolvedOutput);
+        boolean incremental = parseCache != null
+            && Boolean.parseBoolean(System.getProperty("analyzer.incremental.enabled", "false"));
+        RepositoryStateStore currentState = incremental ? RepositoryStateStore.empty(stateFile) : null;
+        Map<Path, RepositoryChanges> changes = Map.of();
+        Map<Path, List<String>> unchangedRepositories = Map.of();
+        if (incremental) {
+            try (AnalysisMetrics.Phase phase = metrics.start(AnalysisMetrics.CHANGE_DETECTION)) {
+                if (!fullRescan) {
+                    RepositoryStateStore previousState = RepositoryStateStore.load(stateFile);
+                    changes = changeDetector.detectChanges(previousState.getRepositoryRoots(), previousState, currentState);
+                    unchangedRepositories = changeDetector.reusableRepositories(changes, previousState);
+                }
+                changes.values().forEach(change -> phase.addFiles(change.getTrackedBuildFiles().size()));
+            }
+        } else {
+            // Recorded state would not describe a cache written without it
+            Files.deleteIfExists(stateFile);
+        }
         
-        List<Path> gitRepositories = findGitRepositories(rootPath);
+        WorkspaceScan scan;
+        try (AnalysisMetrics.Phase phase = metrics.start(AnalysisMetrics.DISCOVERY)) {
+            scan = crawler.crawl(rootPath, unchangedRepositories);
+            scan.getRepositories().forEach(repository -> phase.addFiles(repository.getBuildFileCount()));
+        }
+        List<DiscoveredRepository> gitRepositories = scan.getRepositories();
         logger.info("Found {} Git repositories", gitRepositories.size());
         
-        // Collect all projects
-        List<Project> allProjects = new ArrayList<>();
-        
-        for (Path repo : gitRepositories) {
-            List<Project> repoProjects = analyzeRepository(repo);
-            allProjects.addAll(repoProjects);
-        }
+        // Parse all build files and collect projects in repository order
+        Map<Path, RepositoryChanges> detectedChanges = changes;
+        List<Project> allProjects = metrics.time(AnalysisMetrics.PARSE,
+            () -> parsePipeline.parse(gitRepositories, parseCache, detectedChanges, metrics));
+        metrics.time(AnalysisMetrics.AGGREGATION, () -> {
+            scan.getRepositoryIndex().attach(allProjects);
+            if (saveParseCache(parseCache) && incremental) {
+                saveRepositoryState(changeDetector.recordState(gitRepositories, currentState, stateFile));
+            }
+        });
         
         logger.info("Total projects found: {}", allProjects.size());
+        metrics.setCounter("projects", allProjects.size());
         
         // Detect in-house dependencies
-        InHouseProjectDetector detector = new InHouseProjectDetector(allProjects);
-        Map<Project, List<Dependency>> inHouseDependencies = detector.buildInHouseDependencyMap();
-        
-        // Generate and save analysis result
-        Map<String, Object> analysisResult = generateAnalysisResult(allProjects, inHouseDependencies);
-        saveAnalysisResult(analysisResult, outputFile);
+        Map<Project, List<Dependency>> inHouseDependencies = metrics.time(AnalysisMetrics.IN_HOUSE_DETECTION,
+            () -> InHouseProjectDetector.fromSystemProperties(allProjects).buildInHouseDependencyMap());
+        
+        // Use DuplicateProjectHandler to manage unique IDs and to pick between duplicate targets
+        DuplicateProjectHandler duplicateHandler = DuplicateProjectHandler.fromSystemProperties();
+        DependencyGraph graph = metrics.time(AnalysisMetrics.DUPLICATE_PROCESSING, () -> {
+            duplicateHandler.processDuplicates(allProjects);
+            return DependencyGraph.build(allProjects, inHouseDependencies::get,
+                EdgeResolver.single((source, dep) -> duplicateHandler.resolveDependency(dep, source)));
+        });
+        DuplicateProjectHandler.ResolutionMetrics resolution = duplicateHandler.getResolutionMetrics();
+        logger.info("Duplicate resolution: {}", resolution);
+        metrics.setCounter("duplicateResolutionTableHits", resolution.getTableHits());
+        metrics.setCounter("duplicateResolutionTableMisses", resolution.getTableMisses());
+        
+        // Stream the analysis result to the output file
+        int totalDependencies = writeAnalysisResult(graph, duplicateHandler, outputFile, metrics);
+        logger.info("Phases: {}", metrics);
+        saveMetrics(metrics);
         
         // Print summary
-        printSummary(analysisResult);
+        printSummary(allProjects.size(), totalDependencies);
     }
     
-    private List<Path> findGitRepositories(Path rootPath) throws IOException {
-        try (Stream<Path> paths = Files.walk(rootPath)) {
-            return paths
-                .filter(Files::isDirectory)
-                .filter(path -> Files.exists(path.resolve(".git")))
-                .collect(Collectors.toList());
+    private void saveMetrics(AnalysisMetrics metrics) {
+        Path metricsFile = AnalysisMetrics.metricsFileFromSystemProperties();
+        if (metricsFile == null) {
+            return;
         }
-    }
-    
-    private List<Project> analyzeRepository(Path repositoryPath) {
-        logger.info("Analyzing repository: {}", repositoryPath);
-        List<Project> projects = new ArrayList<>();
-        
         try {
-            // Find and parse Maven projects
-            List<Path> pomFiles = findPomFiles(repositoryPath);
-            for (Path pomFile : pomFiles) {
-                try {
-                    Project project = mavenParser.parse(pomFile);
-                    projects.add(project);
-                } catch (Exception e) {
-                    logger.warn("Failed to parse POM file: " + pomFile + ", creating placeholder", e);
-                    // Create a placeholder project for failed parsing
-                    Project placeholder = createPlaceholderProject(pomFile, ProjectType.MAVEN);
-                    projects.add(placeholder);
-                }
-            }
-            
-            // Find and parse Gradle projects
-            List<Path> gradleFiles = findGradleFiles(repositoryPath);
-            for (Path gradleFile : gradleFiles) {
-                try {
-                    Project project = gradleParser.parse(gradleFile);
-                    projects.add(project);
-                } catch (Exception e) {
-                    logger.warn("Failed to parse Gradle file: " + gradleFile + ", creating placeholder", e);
-                    // Create a placeholder project for failed parsing
-                    Project placeholder = createPlaceholderProject(gradleFile, ProjectType.GRADLE);
-                    projects.add(placeholder);
-                }
-            }
-            
-            logger.info("  Found {} Maven projects", pomFiles.size());
-            logger.info("  Found {} Gradle projects", gradleFiles.size());
-            
+            metrics.save(metricsFile);
+            logger.info("Metrics saved to: {}", metricsFile.toAbsolutePath());
         } catch (IOException e) {
-            logger.error("Error analyzing repository: " + repositoryPath, e);
+            logger.warn("Failed to save metrics: {}", metricsFile, e);
         }
-        
-        return projects;
     }
     
-    private List<Path> findPomFiles(Path repositoryPath) throws IOException {
-        try (Stream<Path> paths = Files.walk(repositoryPath)) {
-            return paths
-                .filter(Files::isRegularFile)
-                .filter(path -> path.getFileName().toString().equals("pom.xml"))
-                .collect(Collectors.toList());
+    private boolean saveParseCache(ParseCache parseCache) {
+        if (parseCache == null) {
+            return false;
         }
-    }
-    
-    private List<Path> findGradleFiles(Path repositoryPath) throws IOException {
-        try (Stream<Path> paths = Files.walk(repositoryPath)) {
-            return paths
-                .filter(Files::isRegularFile)
-                .filter(path -> {
-                    String fileName = path.getFileName().toString();
-                    return fileName.equals("build.gradle") || fileName.equals("build.gradle.kts");
-                })
-                .collect(Collectors.toList());
+        try {
+            parseCache.save();
+            return true;
+        } catch (IOException e) {
+            // A missing cache only costs time on the next run
+            logger.warn("Failed to save parse cache: {}", parseCache.getCacheFile(), e);
+            return false;
         }
     }
     
-    private Project createPlaceholderProject(Path buildFile, ProjectType type) {
-        String fileName = buildFile.getFileName().toString();
-        Path projectDir = buildFile.getParent();
-        String artifactId = projectDir.getFileName().toString();
-        
-        // Try to guess group ID from parent directories
-        String groupId = "unknown.group";
-        if (projectDir.getParent() != null) {
-            String parentName = projectDir.getParent().getFileName().toString();
-            groupId = "com.example." + parentName;
-        }
-        
-        Project project = new Project(groupId, artifactId, "unknown", buildFile, type);
-        
-        // Set packaging based on file type
-        if (type == ProjectType.MAVEN) {
-            project.setPackaging("jar"); // Default for Maven
-        } else if (type == ProjectType.GRADLE) {
-            project.setPackaging("jar"); // Default for Gradle
+    private void saveRepositoryState(RepositoryStateStore state) {
+        try {
+            state.save();
+        } catch (IOException e) {
+            logger.warn("Failed to save repository state: {}", state.getStateFile(), e);
         }
-        
-        logger.warn("Created placeholder project for: {} - {}", buildFile, project.getFullName());
-        return project;
     }
     
-    private Map<String, Object> generateAnalysisResult(List<Project> allProjects, Map<Project, List<Dependency>> dependencyMap) {
-        Map<String, Object> result = new HashMap<>();
-        
-        // Add metadata
-        result.put("analysisDate", new Date().toString());
-        result.put("version", "1.0");
-        
-        // Generate graph data
-        Map<String, Object> graphData = generateGraphData(allProjects, dependencyMap);
-        result.putAll(graphData);
-        
-        // Add issues analysis
-        ProjectIssuesAnalyzer issuesAnalyzer = new ProjectIssuesAnalyzer(allProjects, dependencyMap);
-        ProjectIssuesAnalyzer.IssuesReport issuesReport = issuesAnalyzer.analyzeAll();
+    /**
+     * Writes nodes, links, stats and issues as they are produced and returns the number of links written.
+     * The metrics section comes last and covers serialization up to that point.
+     */
+    private int writeAnalysisResult(DependencyGraph graph, DuplicateProjectHandler duplicateHandler,
+                                    String outputFile, AnalysisMetrics metrics) throws IOException {
+        Path requestedFile = resolveOutputFile(outputFile).toPath();
+        AnalysisJsonWriter.Options options = AnalysisJsonWriter.Options.fromSystemProperties(requestedFile);
+        File targetFile = options.resolveTarget(requestedFile).toFile();
+        
+        ProjectIssuesAnalyzer.IssuesReport issues = metrics.time(AnalysisMetrics.ISSUE_ANALYSIS,
+            () -> new ProjectIssuesAnalyzer(graph).analyzeAll(metrics));
         
-        Map<String, Object> issues = new HashMap<>();
-        
-        // Circular references
-        issues.put("circularReferences", issuesReport.getCircularReferences());
-        
-        // Unreferenced projects
-        List<String> unreferencedProjectIds = new ArrayList<>();
-        DuplicateProjectHandler duplicateHandler = new DuplicateProjectHandler();
-        duplicateHandler.processDuplicates(allProjects);
-        for (Project project : issuesReport.getUnreferencedProjects()) {
-            unreferencedProjectIds.add(duplicateHandler.getUniqueId(project));
-        }
-        issues.put("unreferencedProjects", unreferencedProjectIds);
-        
-        // Duplicate artifact IDs
-        Map<String, List<String>> duplicateArtifactIds = new HashMap<>();
-        for (Map.Entry<String, List<Project>> entry : issuesReport.getDuplicateArtifactIds().entrySet()) {
-            List<String> projectIds = new ArrayList<>();
-            for (Project project : entry.getValue()) {
-                projectIds.add(duplicateHandler.getUniqueId(project));
-            }
-            duplicateArtifactIds.put(entry.getKey(), projectIds);
-        }
-        issues.put("duplicateArtifactIds", duplicateArtifactIds);
-        
-        // Duplicate GAVs
-        Map<String, List<String>> duplicateGAVs = new HashMap<>();
-        for (Map.Entry<String, List<Project>> entry : issuesReport.getDuplicateGAVs().entrySet()) {
-            List<String> projectIds = new ArrayList<>();
-            for (Project project : entry.getValue()) {
-                projectIds.add(duplicateHandler.getUniqueId(project));
+        logger.info("Validating graph data...");
+        try (AnalysisJsonWriter writer = AnalysisJsonWriter.open(targetFile.toPath(), options, new GraphValidator())) {
+            metrics.time(AnalysisMetrics.SERIALIZATION, () -> {
+                writeNodes(writer, graph.nodes(), duplicateHandler);
+                writeLinks(writer, graph, duplicateHandler);
+                
+                // Add statistics
+                writer.writeStats(graph.nodeCount(), writer.getLinkCount());
+                
+                // Add issues analysis
+                writer.writeIssues(issues, duplicateHandler::getUniqueId);
+                
+                // Add metadata
+                writer.writeMetadata(new Date().toString(), "1.0");
+            });
+            metrics.setCounter("dependencies", writer.getLinkCount());
+            if (options.isMetrics()) {
+                writer.writeMetrics(metrics);
             }
-            duplicateGAVs.put(entry.getKey(), projectIds);
+            
+            prepareOutputLocation(targetFile, outputFile == null);
+            writer.commit();
+            logger.info("Analysis result saved to: {}", targetFile.getAbsolutePath());
+            return writer.getLinkCount();
         }
-        issues.put("duplicateGAVs", duplicateGAVs);
-        
-        result.put("issues", issues);
-        
-        return result;
     }
     
-    private Map<String, Object> generateGraphData(List<Project> allProjects, Map<Project, List<Dependency>> dependencyMap) {
-        Map<String, Object> result = new HashMap<>();
-        ArrayNode nodes = mapper.createArrayNode();
-        ArrayNode links = mapper.createArrayNode();
-        
-        // Use DuplicateProjectHandler to manage unique IDs
-        DuplicateProjectHandler duplicateHandler = new DuplicateProjectHandler();
-        duplicateHandler.processDuplicates(allProjects);
+    private void writeNodes(AnalysisJsonWriter writer, List<Project> allProjects,
+                            DuplicateProjectHandler duplicateHandler) throws IOException {
+        writer.startNodes();
         
         // Create nodes with unique IDs
         for (Project project : allProjects) {
             String uniqueId = duplicateHandler.getUniqueId(project);
             
-            // Debug logging for duplicate projects
-            if (project.getGroupId() != null && 
-                project.getGroupId().equals("com.example.config") && 
-                project.getArtifactId() != null &&
-                project.getArtifactId().equals("config-service")) {
-                logger.info("Creating node for config-service: uniqueId={}, repository={}", 
-                    uniqueId, project.getRepository());
-            }
-            
-            ObjectNode node = mapper.createObjectNode();
-            node.put("id", uniqueId);
-            node.put("name", project.getArtifactId() != null ? project.getArtifactId() : "");
-            node.put("version", project.getVersion() != null ? project.getVersion() : "");
-            node.put("group", project.getGroupId());
-            node.put("type", project.getType() != null ? project.getType().getDisplayName() : "Unknown");
-            node.put("packaging", project.getPackaging() != null ? project.getPackaging() : "jar");
-            
             // Determine node group for coloring
             String nodeGroup = determineNodeGroup(project);
             if (nodeGroup == null || nodeGroup.isEmpty()) {
                 nodeGroup = "default";
             }
-            node.put("nodeGroup", nodeGroup);
-            
-            nodes.add(node);
-        }
-        
-        // Create links
-        boolean linkToAllDuplicates = false; // Set to true to create links to all duplicate projects
-        
-        for (Map.Entry<Project, List<Dependency>> entry : dependencyMap.entrySet()) {
-            Project source = entry.getKey();
-            String sourceId = duplicateHandler.getUniqueId(source);
             
-            for (Dependency dep : entry.getValue()) {
-                if (linkToAllDuplicates) {
-                    // Create links to all matching projects
-                    List<String> targetIds = duplicateHandler.resolveAllDependencyIds(dep);
-                    for (String targetId : targetIds) {
-                        ObjectNode link = mapper.createObjectNode();
-                        link.put("source", sourceId);
-                        link.put("target", targetId);
-                        link.put("value", 1);
-                        links.add(link);
-                    }
-                } else {
-                    // Use DuplicateProjectHandler to resolve dependency to correct project
-                    String targetId = duplicateHandler.resolveDependencyId(dep, source);
-                    
-                    // Check if the target project exists
-                    if (duplicateHandler.getProjectByUniqueId(targetId) != null) {
-                        ObjectNode link = mapper.createObjectNode();
-                        link.put("source", sourceId);
-                        link.put("target", targetId);
-                        link.put("value", 1);
-                        links.add(link);
-                    }
-                }
-            }
+            writer.writeNode(
+                uniqueId,
+                project.getArtifactId() != null ? project.getArtifactId() : "",
+                project.getVersion() != null ? project.getVersion() : "",
+                project.getGroupId(),
+                project.getType() != null ? project.getType().getDisplayName() : "Unknown",
+                project.getPackaging() != null ? project.getPackaging() : "jar",
+                nodeGroup
+            );
         }
         
-        result.put("nodes", nodes);
-        result.put("links", links);
-        
-        // Add statistics
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalProjects", allProjects.size());
-        stats.put("totalDependencies", links.size());
-        result.put("stats", stats);
-        
-        // Validate the generated data before returning
-        validateGraphData(nodes, links);
-        
-        return result;
+        writer.endNodes();
     }
     
-    private void validateGraphData(ArrayNode nodes, ArrayNode links) {
-        logger.info("Validating graph data...");
-        
-        // Track validation issues
-        List<String> errors = new ArrayList<>();
-        List<String> warnings = new ArrayList<>();
-        
-        // Create node ID set for link validation
-        Set<String> nodeIds = new HashSet<>();
-        Map<String, Integer> nodeIndexMap = new HashMap<>();
-        
-        // Validate nodes
-        for (int i = 0; i < nodes.size(); i++) {
-            JsonNode node = nodes.get(i);
-            String nodeId = node.get("id") != null ? node.get("id").asText() : null;
-            
-            // Check required fields
-            if (nodeId == null || nodeId.isEmpty()) {
-                errors.add(String.format("Node at index %d has no id", i));
-            } else {
-                if (nodeIds.contains(nodeId)) {
-                    warnings.add(String.format("Duplicate node id: %s", nodeId));
-                }
-                nodeIds.add(nodeId);
-                nodeIndexMap.put(nodeId, i);
-            }
-            
-            if (node.get("name") == null || node.get("name").asText().isEmpty()) {
-                errors.add(String.format("Node %s has no name", nodeId != null ? nodeId : "at index " + i));
-            }
-            
-            if (node.get("version") == null || node.get("version").asText().isEmpty()) {
-                warnings.add(String.format("Node %s has no version", nodeId != null ? nodeId : "at index " + i));
-            }
-            
-            if (node.get("group") != null && node.get("group").isNull()) {
-                warnings.add(String.format("Node %s has null group", nodeId != null ? nodeId : "at index " + i));
-            }
-            
-            if (node.get("nodeGroup") == null || node.get("nodeGroup").asText().isEmpty()) {
-                errors.add(String.format("Node %s has no nodeGroup", nodeId != null ? nodeId : "at index " + i));
+    private void writeLinks(AnalysisJsonWriter writer, DependencyGraph graph,
+                            DuplicateProjectHandler duplicateHandler) throws IOException {
+        writer.startLinks();
+        
+        // One link per resolved dependency; targets were chosen among duplicates when the graph was built
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            String sourceId = duplicateHandler.getUniqueId(graph.node(v));
+            for (int i = 0; i < graph.outDegree(v); i++) {
+                writer.writeLink(sourceId, duplicateHandler.getUniqueId(graph.node(graph.successor(v, i))), 1);
             }
         }
         
-        // Validate links
-        for (int i = 0; i < links.size(); i++) {
-            JsonNode link = links.get(i);
-            String source = link.get("source") != null ? link.get("source").asText() : null;
-            String target = link.get("target") != null ? link.get("target").asText() : null;
-            
-            if (source == null || source.isEmpty()) {
-                errors.add(String.format("Link at index %d has no source", i));
-            } else if (!nodeIds.contains(source)) {
-                errors.add(String.format("Link at index %d has invalid source: %s", i, source));
-            }
-            
-            if (target == null || target.isEmpty()) {
-                errors.add(String.format("Link at index %d has no target", i));
-            } else if (!nodeIds.contains(target)) {
-                errors.add(String.format("Link at index %d has invalid target: %s", i, target));
-            }
-            
-            // Check for self-referencing links
-            if (source != null && source.equals(target)) {
-                warnings.add(String.format("Link at index %d is self-referencing: %s -> %s", i, source, target));
-            }
-        }
-        
-        // Log validation results
-        logger.info("Validation complete: {} nodes, {} links", nodes.size(), links.size());
-        
-        if (!warnings.isEmpty()) {
-            logger.warn("Validation warnings ({}):", warnings.size());
-            for (String warning : warnings) {
-                logger.warn("  - {}", warning);
-            }
-        }
-        
-        if (!errors.isEmpty()) {
-            logger.error("Validation errors ({}):", errors.size());
-            for (String error : errors) {
-                logger.error("  - {}", error);
-            }
-            throw new IllegalStateException(
-                String.format("Graph data validation failed with %d errors. See logs for details.", errors.size())
-            );
-        }
-        
-        logger.info("Graph data validation passed successfully");
+        writer.endLinks();
     }
     
     private String determineNodeGroup(Project project) {
@@ -587,14 +468,10 @@ public class DependencyAnalyzerCLI {
             return null;
         }
         
-        Path repoPath = project.getProjectPath();
-        // Find the git repository root
-        while (repoPath != null && !Files.exists(repoPath.resolve(".git"))) {
-            repoPath = repoPath.getParent();
-        }
-        
+        // The git repository root, or a bare repository whose tree was analyzed
+        Path repoPath = project.getRepositoryRoot();
         if (repoPath != null) {
-            return repoPath.getFileName().toString();
+            return GitTreeSource.repositoryName(repoPath);
         }
         return null;
     }
@@ -633,53 +510,46 @@ public class DependencyAnalyzerCLI {
         return genericDirs.contains(lowerDirName);
     }
     
-    private void saveAnalysisResult(Map<String, Object> analysisResult) throws IOException {
-        saveAnalysisResult(analysisResult, null);
+    private File resolveOutputFile(String outputFile) {
+        if (outputFile != null) {
+            // Use explicit output file path
+            return new File(outputFile);
+        }
+        
+        // Use configuration from system properties or defaults
+        String outputDir = System.getProperty("analyzer.output.directory", "./frontend/public");
+        String outputFilename = System.getProperty("analyzer.output.filename", "dependencies-analysis.json");
+        return new File(outputDir, outputFilename);
     }
     
-    private void saveAnalysisResult(Map<String, Object> analysisResult, String outputFile) throws IOException {
-        File targetFile;
+    private void prepareOutputLocation(File targetFile, boolean defaultLocation) throws IOException {
+        if (!defaultLocation) {
+            return;
+        }
         
-        if (outputFile != null) {
-            // Use explicit output file path
-            targetFile = new File(outputFile);
-        } else {
-            // Use configuration from system properties or defaults
-            String outputDir = System.getProperty("analyzer.output.directory", "./frontend/public");
-            String outputFilename = System.getProperty("analyzer.output.filename", "dependencies-analysis.json");
-            
-            // Create output directory if it doesn't exist
-            File dir = new File(outputDir);
-            if (!dir.exists()) {
-                boolean created = dir.mkdirs();
-                if (created) {
-                    logger.info("Created output directory: {}", dir.getAbsolutePath());
-                }
-            }
-            
-            targetFile = new File(dir, outputFilename);
-            
-            // Handle backup if enabled
-            String createBackup = System.getProperty("analyzer.output.create-backup", "true");
-            if ("true".equalsIgnoreCase(createBackup) && targetFile.exists()) {
-                String backupName = outputFilename + ".backup." + System.currentTimeMillis();
-                File backupFile = new File(dir, backupName);
-                Files.copy(targetFile.toPath(), backupFile.toPath());
-                logger.info("Created backup: {}", backupFile.getAbsolutePath());
+        // Create output directory if it doesn't exist
+        File dir = targetFile.getParentFile();
+        if (!dir.exists()) {
+            boolean created = dir.mkdirs();
+            if (created) {
+                logger.info("Created output directory: {}", dir.getAbsolutePath());
             }
         }
         
-        mapper.writeValue(targetFile, analysisResult);
-        logger.info("Analysis result saved to: {}", targetFile.getAbsolutePath());
+        // Handle backup if enabled
+        String createBackup = System.getProperty("analyzer.output.create-backup", "true");
+        if ("true".equalsIgnoreCase(createBackup) && targetFile.exists()) {
+            String backupName = targetFile.getName() + ".backup." + System.currentTimeMillis();
+            File backupFile = new File(dir, backupName);
+            Files.copy(targetFile.toPath(), backupFile.toPath());
+            logger.info("Created backup: {}", backupFile.getAbsolutePath());
+        }
     }
     
-    private void printSummary(Map<String, Object> analysisResult) {
-        @SuppressWarnings("unchecked")
-        Map<String, Object> stats = (Map<String, Object>) analysisResult.get("stats");
-        
+    private void printSummary(int totalProjects, int totalDependencies) {
         System.out.println("\n=== Analysis Summary ===");
-        System.out.println("Total projects found: " + stats.get("totalProjects"));
-        System.out.println("Total in-house dependencies: " + stats.get("totalDependencies"));
+        System.out.println("Total projects found: " + totalProjects);
+        System.out.println("Total in-house dependencies: " + totalDependencies);
         System.out.println("\nTo visualize the results:");
         System.out.println("1. cd frontend");
         System.out.println("2. npm start");
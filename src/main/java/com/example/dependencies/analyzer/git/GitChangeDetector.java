@@ -0,0 +1,314 @@
+package com.example.dependencies.analyzer.git;
+
+import com.example.dependencies.analyzer.scanner.DiscoveredRepository;
+import com.example.dependencies.analyzer.scanner.WorkspaceCrawler;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.dircache.DirCacheIterator;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.WorkingTreeIterator;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.OrTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathSuffixFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uses JGit to find out which repositories, and which build files in them, changed since the previous analysis.
+ * Like {@code git diff-index}, build files in HEAD and the index are compared, and their working tree copies
+ * are checked against the size and modification time recorded in the index. The working tree is also walked
+ * the way discovery walks it, so that a new untracked build file or nested repository makes the repository
+ * count as changed. Untracked build files are never reported as unchanged themselves.
+ */
+public class GitChangeDetector {
+    private static final Logger logger = LoggerFactory.getLogger(GitChangeDetector.class);
+
+    /**
+     * POMs, Gradle scripts and version catalogs, the only files the parse cache records as inputs
+     */
+    static final TreeFilter BUILD_FILES = OrTreeFilter.create(new TreeFilter[] {
+        PathSuffixFilter.create("pom.xml"),
+        PathSuffixFilter.create(".gradle"),
+        PathSuffixFilter.create(".gradle.kts"),
+        PathSuffixFilter.create(".toml")
+    });
+
+    /**
+     * Reads the current state of the given repository roots into {@code next} and compares it with
+     * {@code previous}; the result is keyed by absolute, normalized root
+     */
+    public Map<Path, RepositoryChanges> detectChanges(Collection<Path> roots,
+                                                     RepositoryStateStore previous,
+                                                     RepositoryStateStore next) {
+        Map<Path, RepositoryChanges> changes = new ConcurrentHashMap<>();
+        roots.parallelStream().forEach(repositoryRoot -> {
+            Path root = repositoryRoot.toAbsolutePath().normalize();
+            RepositoryState current = readState(root);
+            if (current != null) {
+                next.put(root, current);
+            }
+            RepositoryState last = previous != null ? previous.get(root) : null;
+            changes.put(root, detectChanges(root, last, current));
+        });
+
+        long unchanged = changes.values().stream().filter(RepositoryChanges::isUnchanged).count();
+        logger.info("{} of {} repositories unchanged since the previous analysis", unchanged, roots.size());
+        return changes;
+    }
+
+    public RepositoryChanges detectChanges(Path root, RepositoryState previous, RepositoryState current) {
+        if (previous == null || current == null || previous.getHead() == null || current.getHead() == null) {
+            return RepositoryChanges.UNKNOWN;
+        }
+        Set<String> trackedBuildFiles = new HashSet<>(current.getTrackedBuildFiles());
+        boolean sameHead = previous.getHead().equals(current.getHead());
+        boolean sameLayout = previous.getUntrackedBuildFiles().equals(current.getUntrackedBuildFiles())
+            && previous.getNestedRepositories().equals(current.getNestedRepositories());
+        if (sameHead && sameLayout && previous.isClean() && current.isClean()) {
+            logger.debug("Repository {} unchanged at {}", root, current.getHead());
+            return RepositoryChanges.unchanged(root, trackedBuildFiles);
+        }
+
+        // Files dirty in either run may differ from what was parsed last time
+        Set<String> changedPaths = new HashSet<>(previous.getDirtyPaths());
+        changedPaths.addAll(current.getDirtyPaths());
+        if (!sameHead) {
+            Set<String> committed = diffTrees(root, previous.getHead(), current.getHead());
+            if (committed == null) {
+                return RepositoryChanges.UNKNOWN;
+            }
+            changedPaths.addAll(committed);
+        }
+        logger.debug("Repository {} has {} changed paths", root, changedPaths.size());
+        return RepositoryChanges.changed(root, changedPaths, trackedBuildFiles);
+    }
+
+    /**
+     * Unchanged repositories whose build files can be taken from the previous discovery instead of crawling them,
+     * keyed by absolute root. Repositories with another known repository below them are left to the crawler so
+     * that the nested one is still found.
+     */
+    public Map<Path, List<String>> reusableRepositories(Map<Path, RepositoryChanges> changes,
+                                                        RepositoryStateStore previous) {
+        Set<Path> withNestedRepository = new HashSet<>();
+        for (Path root : changes.keySet()) {
+            for (Path parent = root.getParent(); parent != null; parent = parent.getParent()) {
+                if (changes.containsKey(parent)) {
+                    withNestedRepository.add(parent);
+                }
+            }
+        }
+
+        Map<Path, List<String>> reusable = new HashMap<>();
+        changes.forEach((root, repositoryChanges) -> {
+            RepositoryState state = previous.get(root);
+            if (!repositoryChanges.isUnchanged() || withNestedRepository.contains(root)
+                    || state == null || state.getDiscoveredBuildFiles() == null) {
+                return;
+            }
+            // Same HEAD, index state and untracked build files, so discovery would find the same files
+            reusable.put(root, state.getDiscoveredBuildFiles());
+        });
+        logger.info("Reusing the build file lists of {} unchanged repositories", reusable.size());
+        return reusable;
+    }
+
+    /**
+     * State to save for the next run: one entry per discovered working tree repository with the build files
+     * discovery found in it, taken from {@code current} where {@link #detectChanges} already read it
+     */
+    public RepositoryStateStore recordState(List<DiscoveredRepository> repositories,
+                                            RepositoryStateStore current, Path stateFile) {
+        RepositoryStateStore recorded = RepositoryStateStore.empty(stateFile);
+        repositories.parallelStream()
+            .filter(repository -> !repository.isBare())
+            .forEach(repository -> {
+                Path root = repository.getRoot().toAbsolutePath().normalize();
+                RepositoryState state = current != null ? current.get(root) : null;
+                if (state == null) {
+                    state = readState(root);
+                }
+                if (state == null) {
+                    return;
+                }
+                List<String> buildFiles = new ArrayList<>();
+                repository.getPomFiles().forEach(file -> buildFiles.add(relativize(root, file)));
+                repository.getGradleFiles().forEach(file -> buildFiles.add(relativize(root, file)));
+                repository.getSettingsFiles().forEach(file -> buildFiles.add(relativize(root, file)));
+                state.setDiscoveredBuildFiles(buildFiles);
+                recorded.put(root, state);
+            });
+        return recorded;
+    }
+
+    /**
+     * Current HEAD, the state of the build files in the index and the untracked build files and nested
+     * repositories of the working tree, or null if the directory cannot be opened as a Git repository.
+     * A build file is dirty if it differs between HEAD and the index, or if its working tree copy is
+     * missing or does not match the size and modification time recorded in the index.
+     */
+    public RepositoryState readState(Path root) {
+        try (Repository repository = open(root);
+             ObjectReader reader = repository.newObjectReader();
+             RevWalk revWalk = new RevWalk(reader);
+             TreeWalk treeWalk = new TreeWalk(reader)) {
+            ObjectId head = repository.resolve(Constants.HEAD);
+            DirCache index = repository.readDirCache();
+            FileTime indexTime = Files.getLastModifiedTime(repository.getIndexFile().toPath());
+
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(BUILD_FILES);
+            if (head != null) {
+                treeWalk.addTree(revWalk.parseCommit(head).getTree());
+            } else {
+                treeWalk.addTree(new EmptyTreeIterator());
+            }
+            int indexTree = treeWalk.addTree(new DirCacheIterator(index));
+
+            Set<String> trackedBuildFiles = new TreeSet<>();
+            Set<String> dirtyPaths = new TreeSet<>();
+            while (treeWalk.next()) {
+                String path = treeWalk.getPathString();
+                DirCacheIterator indexEntry = treeWalk.getTree(indexTree, DirCacheIterator.class);
+                if (indexEntry == null) {
+                    // Removed from the index
+                    dirtyPaths.add(path);
+                    continue;
+                }
+                trackedBuildFiles.add(path);
+                DirCacheEntry entry = indexEntry.getDirCacheEntry();
+                if (entry.getStage() != DirCacheEntry.STAGE_0 || !treeWalk.idEqual(0, indexTree)
+                        || !matchesIndex(root.resolve(path), entry, indexTime)) {
+                    dirtyPaths.add(path);
+                }
+            }
+
+            Set<String> untrackedBuildFiles = new TreeSet<>();
+            Set<String> nestedRepositories = new TreeSet<>();
+            readWorkingTree(repository, index, root, untrackedBuildFiles, nestedRepositories);
+
+            return new RepositoryState(head != null ? head.name() : null, dirtyPaths.isEmpty(),
+                new ArrayList<>(dirtyPaths), new ArrayList<>(trackedBuildFiles),
+                new ArrayList<>(untrackedBuildFiles), new ArrayList<>(nestedRepositories));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read Git state of {}", root, e);
+            return null;
+        }
+    }
+
+    /**
+     * Walks the working tree like discovery does: directories with an ignored name are not entered, .gitignore
+     * is not consulted, and a directory holding a repository of its own is recorded instead of entered
+     */
+    private static void readWorkingTree(Repository repository, DirCache index, Path root,
+                                        Set<String> untrackedBuildFiles, Set<String> nestedRepositories)
+            throws IOException {
+        try (TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.setRecursive(false);
+            int indexTree = treeWalk.addTree(new DirCacheIterator(index));
+            int workingTree = treeWalk.addTree(new FileTreeIterator(repository));
+
+            while (treeWalk.next()) {
+                if (treeWalk.getTree(workingTree, WorkingTreeIterator.class) == null) {
+                    // Only in the index; missing tracked build files are dirty already
+                    continue;
+                }
+                String path = treeWalk.getPathString();
+                FileMode mode = treeWalk.getFileMode(workingTree);
+                if (FileMode.GITLINK.equals(mode)) {
+                    // Clones, worktrees and initialized submodules
+                    nestedRepositories.add(path);
+                } else if (FileMode.TREE.equals(mode)) {
+                    if (GitTreeSource.isBareRepository(root.resolve(path))) {
+                        nestedRepositories.add(path);
+                    } else if (!WorkspaceCrawler.DEFAULT_IGNORED_DIRECTORIES.contains(treeWalk.getNameString())) {
+                        treeWalk.enterSubtree();
+                    }
+                } else if ((mode.getBits() & FileMode.TYPE_MASK) == FileMode.TYPE_FILE
+                        && treeWalk.getTree(indexTree, DirCacheIterator.class) == null
+                        && WorkspaceCrawler.isBuildFile(treeWalk.getNameString())) {
+                    untrackedBuildFiles.add(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Same size and modification time as the index entry. Files modified no earlier than the index was
+     * written may have changed within the timestamp resolution, so their content is compared instead, as Git does.
+     */
+    private static boolean matchesIndex(Path file, DirCacheEntry entry, FileTime indexTime) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (!attributes.isRegularFile() || attributes.size() != entry.getLength()) {
+            return false;
+        }
+        if (attributes.lastModifiedTime().compareTo(indexTime) >= 0) {
+            ObjectId contentId = new ObjectInserter.Formatter().idFor(Constants.OBJ_BLOB, Files.readAllBytes(file));
+            return contentId.equals(entry.getObjectId());
+        }
+        Instant modified = attributes.lastModifiedTime().toInstant();
+        Instant indexed = entry.getLastModifiedInstant();
+        // Indexes written without nanoseconds only record whole seconds
+        return modified.equals(indexed)
+            || (indexed.getNano() == 0 && modified.getEpochSecond() == indexed.getEpochSecond());
+    }
+
+    private Set<String> diffTrees(Path root, String oldCommit, String newCommit) {
+        try (Repository repository = open(root);
+             ObjectReader reader = repository.newObjectReader();
+             RevWalk revWalk = new RevWalk(reader);
+             TreeWalk treeWalk = new TreeWalk(reader)) {
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(AndTreeFilter.create(BUILD_FILES, TreeFilter.ANY_DIFF));
+            treeWalk.addTree(revWalk.parseCommit(ObjectId.fromString(oldCommit)).getTree());
+            treeWalk.addTree(revWalk.parseCommit(ObjectId.fromString(newCommit)).getTree());
+
+            Set<String> changed = new HashSet<>();
+            while (treeWalk.next()) {
+                changed.add(treeWalk.getPathString());
+            }
+            return changed;
+        } catch (IOException | RuntimeException e) {
+            // e.g. the previous HEAD was garbage collected after a force push
+            logger.debug("Could not diff {}..{} in {}", oldCommit, newCommit, root, e);
+            return null;
+        }
+    }
+
+    private static String relativize(Path root, Path file) {
+        return RepositoryChanges.toGitPath(root.relativize(file.toAbsolutePath().normalize()));
+    }
+
+    private Repository open(Path root) throws IOException {
+        return new FileRepositoryBuilder()
+            .setWorkTree(root.toFile())
+            .setMustExist(true)
+            .build();
+    }
+}
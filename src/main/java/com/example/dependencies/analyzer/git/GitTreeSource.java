@@ -0,0 +1,197 @@
+package com.example.dependencies.analyzer.git;
+
+import com.example.dependencies.analyzer.parser.BuildFileSource;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.OrTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathSuffixFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Build files of one commit, read straight from a Git object database without checking it out.
+ * Files are addressed as if the commit were checked out in the repository directory, so a bare
+ * mirror at /mirrors/app.git yields e.g. /mirrors/app.git/service/pom.xml. TOML files can be read
+ * as well, since settings may name any of them as a version catalog in from(files(...)).
+ */
+public class GitTreeSource implements BuildFileSource, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(GitTreeSource.class);
+
+    public static final String DEFAULT_REF = Constants.HEAD;
+
+    private static final String POM_FILE = "pom.xml";
+    private static final Set<String> GRADLE_BUILD_FILES = Set.of("build.gradle", "build.gradle.kts");
+    private static final Set<String> GRADLE_SETTINGS_FILES = Set.of("settings.gradle", "settings.gradle.kts");
+    private static final String VERSION_CATALOG_SUFFIX = ".toml";
+
+    private final Path root;
+    private final Repository repository;
+    private final ObjectId commitId;
+    private final Map<Path, ObjectId> blobs = new HashMap<>();
+    private final List<Path> pomFiles = new ArrayList<>();
+    private final List<Path> gradleFiles = new ArrayList<>();
+    private final List<Path> settingsFiles = new ArrayList<>();
+
+    private GitTreeSource(Path root, Repository repository, ObjectId commitId) {
+        this.root = root;
+        this.repository = repository;
+        this.commitId = commitId;
+    }
+
+    /**
+     * Lists the build files of {@code ref} (branch, tag or commit id) in a bare or non-bare repository,
+     * skipping subtrees whose name is in {@code ignoredDirectories}
+     */
+    public static GitTreeSource open(Path repositoryDir, boolean bare, String ref, Set<String> ignoredDirectories)
+            throws IOException {
+        FileRepositoryBuilder builder = new FileRepositoryBuilder().setMustExist(true);
+        if (bare) {
+            builder.setGitDir(repositoryDir.toFile());
+        } else {
+            builder.setWorkTree(repositoryDir.toFile());
+        }
+        Repository repository = builder.build();
+        try {
+            ObjectId commitId = repository.resolve(ref + "^{commit}");
+            if (commitId == null) {
+                throw new IOException("Cannot resolve " + ref + " in " + repositoryDir);
+            }
+            GitTreeSource source = new GitTreeSource(repositoryDir, repository, commitId);
+            source.listBuildFiles(ignoredDirectories);
+            return source;
+        } catch (IOException | RuntimeException e) {
+            repository.close();
+            throw e;
+        }
+    }
+
+    /**
+     * True if the directory looks like a bare repository (HEAD file plus objects and refs directories)
+     */
+    public static boolean isBareRepository(Path directory) {
+        return Files.isRegularFile(directory.resolve("HEAD"))
+            && Files.isDirectory(directory.resolve("objects"))
+            && Files.isDirectory(directory.resolve("refs"));
+    }
+
+    /**
+     * Repository name for a repository root, without the conventional .git suffix of bare mirrors
+     */
+    public static String repositoryName(Path repositoryRoot) {
+        String name = repositoryRoot.getFileName().toString();
+        return name.endsWith(".git") && name.length() > 4 ? name.substring(0, name.length() - 4) : name;
+    }
+
+    private void listBuildFiles(Set<String> ignoredDirectories) throws IOException {
+        TreeFilter buildFileFilter = OrTreeFilter.create(new TreeFilter[] {
+            PathSuffixFilter.create(POM_FILE),
+            PathSuffixFilter.create("build.gradle"),
+            PathSuffixFilter.create("build.gradle.kts"),
+            PathSuffixFilter.create("settings.gradle"),
+            PathSuffixFilter.create("settings.gradle.kts"),
+            PathSuffixFilter.create(VERSION_CATALOG_SUFFIX)
+        });
+
+        try (RevWalk revWalk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+            RevCommit commit = revWalk.parseCommit(commitId);
+            treeWalk.addTree(commit.getTree());
+            treeWalk.setFilter(buildFileFilter);
+            // Walk level by level so that ignored subtrees are never read
+            treeWalk.setRecursive(false);
+
+            while (treeWalk.next()) {
+                String name = treeWalk.getNameString();
+                if (treeWalk.isSubtree()) {
+                    if (!ignoredDirectories.contains(name)) {
+                        treeWalk.enterSubtree();
+                    }
+                    continue;
+                }
+                // Suffix filters also match e.g. "mypom.xml"; submodules and symlinks are skipped
+                if (!isRegularFile(treeWalk.getFileMode(0))) {
+                    continue;
+                }
+                Path file = root.resolve(treeWalk.getPathString());
+                if (POM_FILE.equals(name)) {
+                    pomFiles.add(file);
+                } else if (GRADLE_BUILD_FILES.contains(name)) {
+                    gradleFiles.add(file);
+                } else if (GRADLE_SETTINGS_FILES.contains(name)) {
+                    settingsFiles.add(file);
+                } else if (!name.endsWith(VERSION_CATALOG_SUFFIX)) {
+                    continue;
+                }
+                // Catalogs are in no list; they are only read when a build refers to them
+                blobs.put(keyOf(file), treeWalk.getObjectId(0));
+            }
+        }
+
+        Collections.sort(pomFiles);
+        Collections.sort(gradleFiles);
+        Collections.sort(settingsFiles);
+        logger.debug("Listed {} build files of {} at {}", blobs.size(), root, commitId.name());
+    }
+
+    private static Path keyOf(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    private static boolean isRegularFile(FileMode mode) {
+        // Covers both regular and executable files
+        return (mode.getBits() & FileMode.TYPE_MASK) == FileMode.TYPE_FILE;
+    }
+
+    @Override
+    public boolean exists(Path file) {
+        return blobs.containsKey(keyOf(file));
+    }
+
+    @Override
+    public InputStream open(Path file) throws IOException {
+        ObjectId blobId = blobs.get(keyOf(file));
+        if (blobId == null) {
+            throw new NoSuchFileException(file.toString(), null, "not in " + commitId.name());
+        }
+        return repository.open(blobId, Constants.OBJ_BLOB).openStream();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public String getCommitId() {
+        return commitId.name();
+    }
+
+    public List<Path> getPomFiles() {
+        return Collections.unmodifiableList(pomFiles);
+    }
+
+    public List<Path> getGradleFiles() {
+        return Collections.unmodifiableList(gradleFiles);
+    }
+
+    public List<Path> getSettingsFiles() {
+        return Collections.unmodifiableList(settingsFiles);
+    }
+
+    @Override
+    public void close() {
+        repository.close();
+    }
+}
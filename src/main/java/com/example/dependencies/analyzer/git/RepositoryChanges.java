@@ -0,0 +1,75 @@
+package com.example.dependencies.analyzer.git;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * What is known about changes in one repository since the previous analysis.
+ * A file is "known unchanged" only if it is a build file tracked in the repository's index and Git
+ * reports no change for it; everything else, including ignored and untracked files, must be
+ * verified by the parse cache as usual.
+ */
+public class RepositoryChanges {
+    /**
+     * Nothing is known, every cached entry is verified against the file system
+     */
+    public static final RepositoryChanges UNKNOWN = new RepositoryChanges(null, false, Set.of(), Set.of());
+
+    private final Path root;
+    private final boolean unchanged;
+    private final Set<String> changedPaths;
+    private final Set<String> trackedBuildFiles;
+
+    private RepositoryChanges(Path root, boolean unchanged, Set<String> changedPaths, Set<String> trackedBuildFiles) {
+        this.root = root;
+        this.unchanged = unchanged;
+        this.changedPaths = changedPaths;
+        this.trackedBuildFiles = trackedBuildFiles;
+    }
+
+    static RepositoryChanges unchanged(Path root, Set<String> trackedBuildFiles) {
+        return new RepositoryChanges(root.toAbsolutePath().normalize(), true, Set.of(), trackedBuildFiles);
+    }
+
+    static RepositoryChanges changed(Path root, Set<String> changedPaths, Set<String> trackedBuildFiles) {
+        return new RepositoryChanges(root.toAbsolutePath().normalize(), false, changedPaths, trackedBuildFiles);
+    }
+
+    /**
+     * True if HEAD did not move and the tracked build files were clean in both runs
+     */
+    public boolean isUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * Build files tracked in HEAD or the index when the repository was checked
+     */
+    public Set<String> getTrackedBuildFiles() {
+        return trackedBuildFiles;
+    }
+
+    public Set<String> getChangedPaths() {
+        return changedPaths;
+    }
+
+    public boolean isKnownUnchanged(Path file) {
+        if (root == null) {
+            return false;
+        }
+        Path absolute = file.toAbsolutePath().normalize();
+        if (!absolute.startsWith(root)) {
+            return false;
+        }
+        String path = toGitPath(root.relativize(absolute));
+        return isTracked(path) && !changedPaths.contains(path);
+    }
+
+    boolean isTracked(String path) {
+        return trackedBuildFiles.contains(path);
+    }
+
+    static String toGitPath(Path relativePath) {
+        return relativePath.toString().replace('\\', '/');
+    }
+}
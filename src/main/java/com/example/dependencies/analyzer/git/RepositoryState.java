@@ -0,0 +1,102 @@
+package com.example.dependencies.analyzer.git;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HEAD commit, build file state, working tree layout and discovered build files of a repository at the
+ * time it was analyzed
+ */
+public class RepositoryState {
+    private String head;
+    private boolean clean;
+    private List<String> dirtyPaths = new ArrayList<>();
+    private List<String> trackedBuildFiles = new ArrayList<>();
+    private List<String> untrackedBuildFiles = new ArrayList<>();
+    private List<String> nestedRepositories = new ArrayList<>();
+    private List<String> discoveredBuildFiles;
+
+    public RepositoryState() {
+    }
+
+    public RepositoryState(String head, boolean clean, List<String> dirtyPaths, List<String> trackedBuildFiles,
+                           List<String> untrackedBuildFiles, List<String> nestedRepositories) {
+        this.head = head;
+        this.clean = clean;
+        this.dirtyPaths = dirtyPaths;
+        this.trackedBuildFiles = trackedBuildFiles;
+        this.untrackedBuildFiles = untrackedBuildFiles;
+        this.nestedRepositories = nestedRepositories;
+    }
+
+    public String getHead() {
+        return head;
+    }
+
+    public void setHead(String head) {
+        this.head = head;
+    }
+
+    public boolean isClean() {
+        return clean;
+    }
+
+    public void setClean(boolean clean) {
+        this.clean = clean;
+    }
+
+    /**
+     * Repository-relative build files that differed from HEAD (modified, staged, removed or conflicting)
+     */
+    public List<String> getDirtyPaths() {
+        return dirtyPaths;
+    }
+
+    public void setDirtyPaths(List<String> dirtyPaths) {
+        this.dirtyPaths = dirtyPaths;
+    }
+
+    /**
+     * Repository-relative build files in the index
+     */
+    public List<String> getTrackedBuildFiles() {
+        return trackedBuildFiles;
+    }
+
+    public void setTrackedBuildFiles(List<String> trackedBuildFiles) {
+        this.trackedBuildFiles = trackedBuildFiles;
+    }
+
+    /**
+     * Repository-relative build files in the working tree but not in the index, sorted
+     */
+    public List<String> getUntrackedBuildFiles() {
+        return untrackedBuildFiles;
+    }
+
+    public void setUntrackedBuildFiles(List<String> untrackedBuildFiles) {
+        this.untrackedBuildFiles = untrackedBuildFiles;
+    }
+
+    /**
+     * Repository-relative directories in the working tree that are repositories of their own, sorted
+     */
+    public List<String> getNestedRepositories() {
+        return nestedRepositories;
+    }
+
+    public void setNestedRepositories(List<String> nestedRepositories) {
+        this.nestedRepositories = nestedRepositories;
+    }
+
+    /**
+     * Repository-relative build files found by discovery, or null if the repository was not discovered
+     */
+    public List<String> getDiscoveredBuildFiles() {
+        return discoveredBuildFiles;
+    }
+
+    public void setDiscoveredBuildFiles(List<String> discoveredBuildFiles) {
+        this.discoveredBuildFiles = discoveredBuildFiles;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.dependencies.analyzer.git;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-repository Git state recorded by the previous analysis, stored next to the analysis output
+ */
+public class RepositoryStateStore {
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryStateStore.class);
+    private static final ObjectMapper mapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    static final int FORMAT_VERSION = 3;
+
+    private final Path stateFile;
+    private final Map<String, RepositoryState> states;
+
+    private RepositoryStateStore(Path stateFile, Map<String, RepositoryState> states) {
+        this.stateFile = stateFile;
+        this.states = states;
+    }
+
+    public static RepositoryStateStore empty(Path stateFile) {
+        return new RepositoryStateStore(stateFile, new ConcurrentHashMap<>());
+    }
+
+    public static RepositoryStateStore load(Path stateFile) {
+        Map<String, RepositoryState> states = new ConcurrentHashMap<>();
+        if (Files.isRegularFile(stateFile)) {
+            try {
+                StateFile stored = mapper.readValue(stateFile.toFile(), StateFile.class);
+                if (stored.getFormatVersion() == FORMAT_VERSION && stored.getRepositories() != null) {
+                    states.putAll(stored.getRepositories());
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not read repository state, falling back to a full scan: {}", stateFile, e);
+            }
+        }
+        return new RepositoryStateStore(stateFile, states);
+    }
+
+    /**
+     * State file placed next to the analysis output, e.g. dependencies-analysis.git-state.json
+     */
+    public static Path stateFileFor(Path outputFile) {
+        String fileName = outputFile.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return outputFile.resolveSibling(baseName + ".git-state.json");
+    }
+
+    /**
+     * Absolute roots of all recorded repositories
+     */
+    public List<Path> getRepositoryRoots() {
+        List<Path> roots = new ArrayList<>(states.size());
+        states.keySet().forEach(key -> roots.add(Paths.get(key)));
+        return roots;
+    }
+
+    public RepositoryState get(Path repositoryRoot) {
+        return states.get(keyOf(repositoryRoot));
+    }
+
+    public void put(Path repositoryRoot, RepositoryState state) {
+        states.put(keyOf(repositoryRoot), state);
+    }
+
+    public Path getStateFile() {
+        return stateFile;
+    }
+
+    public void save() throws IOException {
+        StateFile file = new StateFile();
+        file.setFormatVersion(FORMAT_VERSION);
+        file.setRepositories(new TreeMap<>(states));
+
+        Path directory = stateFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try {
+            mapper.writeValue(tempFile.toFile(), file);
+            Files.move(tempFile, stateFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        logger.info("Saved state of {} repositories to {}", states.size(), stateFile);
+    }
+
+    private static String keyOf(Path repositoryRoot) {
+        return repositoryRoot.toAbsolutePath().normalize().toString();
+    }
+
+    public static class StateFile {
+        private int formatVersion;
+        private Map<String, RepositoryState> repositories;
+
+        public int getFormatVersion() {
+            return formatVersion;
+        }
+
+        public void setFormatVersion(int formatVersion) {
+            this.formatVersion = formatVersion;
+        }
+
+        public Map<String, RepositoryState> getRepositories() {
+            return repositories;
+        }
+
+        public void setRepositories(Map<String, RepositoryState> repositories) {
+            this.repositories = repositories;
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.example.dependencies.analyzer.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reports dependency cycles of a {@link DependencyGraph}, either every elementary cycle within
+ * configurable bounds (Johnson's algorithm) or only the cycles closed by depth-first back edges.
+ * Both searches run on explicit stacks. Cycles are returned as node paths with the first node
+ * repeated at the end.
+ */
+public final class CycleDetector {
+    // How many search steps pass between checks of the time budget
+    private static final int CLOCK_CHECK_INTERVAL = 4096;
+
+    private CycleDetector() {
+    }
+
+    /**
+     * Finds cycles as configured by the options
+     */
+    public static Cycles find(DependencyGraph graph, Options options) {
+        if (options.getMode() == Mode.BACK_EDGE) {
+            return new Cycles(findCycles(graph), false);
+        }
+        return findElementaryCycles(graph, options);
+    }
+
+    /**
+     * Enumerates elementary cycles with Johnson's algorithm, run per strongly connected component
+     * and ordered by their lowest node. Parallel edges are ignored so that each cycle is reported
+     * once. Enumeration stops early, marking the result truncated, once the cycle cap or time budget
+     * is reached; paths cut off by the length cap also mark the result truncated.
+     */
+    public static Cycles findElementaryCycles(DependencyGraph graph, Options options) {
+        return new ElementaryCycleSearch(graph.withoutParallelEdges(), options).run();
+    }
+
+    private static boolean hasSelfLoop(DependencyGraph graph, int v) {
+        for (int i = 0; i < graph.outDegree(v); i++) {
+            if (graph.successor(v, i) == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One cycle per back edge, as the path from the re-entered node to the edge's source followed
+     * by the re-entered node again; a self-dependency yields [v, v]
+     */
+    public static List<int[]> findCycles(DependencyGraph graph) {
+        int n = graph.nodeCount();
+        List<int[]> cycles = new ArrayList<>();
+        boolean[] visited = new boolean[n];
+        // Position of each node on the current path, -1 when it is not on it
+        int[] pathIndex = new int[n];
+        Arrays.fill(pathIndex, -1);
+        int[] path = new int[n];
+        int[] nextEdge = new int[n];
+
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            pathIndex[root] = 0;
+            path[0] = root;
+            nextEdge[0] = 0;
+            int depth = 1;
+
+            while (depth > 0) {
+                int v = path[depth - 1];
+                if (nextEdge[depth - 1] < graph.outDegree(v)) {
+                    int w = graph.successor(v, nextEdge[depth - 1]++);
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        pathIndex[w] = depth;
+                        path[depth] = w;
+                        nextEdge[depth] = 0;
+                        depth++;
+                    } else if (pathIndex[w] >= 0) {
+                        int start = pathIndex[w];
+                        int[] cycle = Arrays.copyOfRange(path, start, depth + 1);
+                        cycle[cycle.length - 1] = w;
+                        cycles.add(cycle);
+                    }
+                    continue;
+                }
+                pathIndex[v] = -1;
+                depth--;
+            }
+        }
+
+        return cycles;
+    }
+
+    /**
+     * Johnson's algorithm on explicit stacks. For each start node s, the strongly connected
+     * components of the nodes not below s are recomputed within s's original component, and the
+     * circuit search runs in the component of the least node that still lies on a cycle.
+     * Per-start state is invalidated by bumping a run number instead of clearing arrays.
+     */
+    private static final class ElementaryCycleSearch {
+        private final DependencyGraph graph;
+        private final Options options;
+        private final long deadline;
+        private final List<int[]> cycles = new ArrayList<>();
+        private boolean truncated;
+        private boolean stopped;
+        private int steps;
+        private int run;
+
+        // Tarjan state for the restricted components
+        private final int[] index;
+        private final int[] lowlink;
+        private final int[] visitedRun;
+        private final boolean[] onStack;
+        private final int[] stack;
+        private final int[] frames;
+        private final int[] localComponent;
+        private final int[] localSize;
+
+        // Circuit search state
+        private final int[] blockedRun;
+        private final int[] blockedByRun;
+        private final int[][] blockedBy;
+        private final int[] blockedBySize;
+        private final int[] path;
+        private final int[] nextEdge;
+        private final boolean[] closed;
+        private final int[] unblockStack;
+
+        ElementaryCycleSearch(DependencyGraph graph, Options options) {
+            int n = graph.nodeCount();
+            this.graph = graph;
+            this.options = options;
+            this.deadline = System.nanoTime() + options.getTimeBudgetMillis() * 1_000_000L;
+            this.index = new int[n];
+            this.lowlink = new int[n];
+            this.visitedRun = new int[n];
+            this.onStack = new boolean[n];
+            this.stack = new int[n];
+            this.frames = new int[n];
+            this.localComponent = new int[n];
+            this.localSize = new int[n];
+            this.blockedRun = new int[n];
+            this.blockedByRun = new int[n];
+            this.blockedBy = new int[n][];
+            this.blockedBySize = new int[n];
+            this.path = new int[n];
+            this.nextEdge = new int[n];
+            this.closed = new boolean[n];
+            this.unblockStack = new int[n];
+        }
+
+        Cycles run() {
+            StronglyConnectedComponents components = StronglyConnectedComponents.of(graph);
+            for (int c = 0; c < components.componentCount() && !stopped; c++) {
+                int[] members = new int[components.size(c)];
+                for (int i = 0; i < members.length; i++) {
+                    members[i] = components.member(c, i);
+                }
+                if (members.length == 1 && !hasSelfLoop(graph, members[0])) {
+                    continue;
+                }
+                Arrays.sort(members);
+                searchComponent(members);
+            }
+            // Components complete in Tarjan order; report cycles by their lowest node
+            cycles.sort((a, b) -> Integer.compare(a[0], b[0]));
+            return new Cycles(cycles, truncated);
+        }
+
+        private boolean tick() {
+            if (++steps % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                truncated = true;
+                stopped = true;
+            }
+            return stopped;
+        }
+
+        private void searchComponent(int[] members) {
+            int position = 0;
+            while (position < members.length && !stopped) {
+                run++;
+                int start = members[position];
+                computeLocalComponents(members, position);
+                if (stopped) {
+                    return;
+                }
+
+                // The least node that is still on a cycle among nodes >= start
+                int next = -1;
+                for (int i = position; i < members.length; i++) {
+                    int v = members[i];
+                    if (localSize[localComponent[v]] > 1 || hasSelfLoop(graph, v)) {
+                        next = i;
+                        break;
+                    }
+                }
+                if (next < 0) {
+                    return;
+                }
+                circuit(members[next], localComponent[members[next]], start);
+                position = next + 1;
+            }
+        }
+
+        private boolean inLocal(int w, int component, int start) {
+            return w >= start && visitedRun[w] == run && localComponent[w] == component;
+        }
+
+        /**
+         * Tarjan over members[from..] with edges restricted to those nodes
+         */
+        private void computeLocalComponents(int[] members, int from) {
+            int start = members[from];
+            int counter = 0;
+            int componentCount = 0;
+            int stackSize = 0;
+            for (int r = from; r < members.length; r++) {
+                int root = members[r];
+                if (visitedRun[root] == run) {
+                    continue;
+                }
+                visitedRun[root] = run;
+                index[root] = lowlink[root] = counter++;
+                localComponent[root] = -1;
+                stack[stackSize++] = root;
+                onStack[root] = true;
+                frames[0] = root;
+                nextEdge[0] = 0;
+                int depth = 1;
+
+                while (depth > 0) {
+                    if (tick()) {
+                        return;
+                    }
+                    int v = frames[depth - 1];
+                    if (nextEdge[depth - 1] < graph.outDegree(v)) {
+                        int w = graph.successor(v, nextEdge[depth - 1]++);
+                        // Nodes of other original components are never reachable back, so they are skipped by rank
+                        if (w < start || Arrays.binarySearch(members, from, members.length, w) < 0) {
+                            continue;
+                        }
+                        if (visitedRun[w] != run) {
+                            visitedRun[w] = run;
+                            index[w] = lowlink[w] = counter++;
+                            localComponent[w] = -1;
+                            stack[stackSize++] = w;
+                            onStack[w] = true;
+                            frames[depth] = w;
+                            nextEdge[depth] = 0;
+                            depth++;
+                        } else if (onStack[w]) {
+                            lowlink[v] = Math.min(lowlink[v], index[w]);
+                        }
+                        continue;
+                    }
+                    depth--;
+                    if (lowlink[v] == index[v]) {
+                        int size = 0;
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            localComponent[w] = componentCount;
+                            size++;
+                        } while (w != v);
+                        localSize[componentCount++] = size;
+                    }
+                    if (depth > 0) {
+                        int parent = frames[depth - 1];
+                        lowlink[parent] = Math.min(lowlink[parent], lowlink[v]);
+                    }
+                }
+            }
+        }
+
+        private void circuit(int s, int component, int start) {
+            blockedRun[s] = run;
+            path[0] = s;
+            nextEdge[0] = 0;
+            closed[0] = false;
+            int depth = 1;
+
+            while (depth > 0) {
+                if (tick()) {
+                    return;
+                }
+                int v = path[depth - 1];
+                if (nextEdge[depth - 1] < graph.outDegree(v)) {
+                    int w = graph.successor(v, nextEdge[depth - 1]++);
+                    if (!inLocal(w, component, start)) {
+                        continue;
+                    }
+                    if (w == s) {
+                        int[] cycle = Arrays.copyOf(path, depth + 1);
+                        cycle[depth] = s;
+                        cycles.add(cycle);
+                        closed[depth - 1] = true;
+                        if (cycles.size() >= options.getMaxCycles()) {
+                            truncated = true;
+                            stopped = true;
+                            return;
+                        }
+                    } else if (blockedRun[w] != run) {
+                        if (depth >= options.getMaxLength()) {
+                            // Treated like a closed cycle so v is unblocked and can be reached by a shorter path
+                            truncated = true;
+                            closed[depth - 1] = true;
+                        } else {
+                            blockedRun[w] = run;
+                            path[depth] = w;
+                            nextEdge[depth] = 0;
+                            closed[depth] = false;
+                            depth++;
+                        }
+                    }
+                    continue;
+                }
+
+                // All successors done: unblock v if a cycle went through it, otherwise wait on its successors
+                boolean vClosed = closed[depth - 1];
+                if (vClosed) {
+                    unblock(v);
+                } else {
+                    for (int i = 0; i < graph.outDegree(v); i++) {
+                        int w = graph.successor(v, i);
+                        if (inLocal(w, component, start)) {
+                            addBlockedBy(w, v);
+                        }
+                    }
+                }
+                depth--;
+                if (vClosed && depth > 0) {
+                    closed[depth - 1] = true;
+                }
+            }
+        }
+
+        private void unblock(int v) {
+            int top = 0;
+            unblockStack[top++] = v;
+            blockedRun[v] = 0;
+            while (top > 0) {
+                int u = unblockStack[--top];
+                if (blockedByRun[u] != run) {
+                    continue;
+                }
+                for (int i = 0; i < blockedBySize[u]; i++) {
+                    int x = blockedBy[u][i];
+                    if (blockedRun[x] == run) {
+                        // Cleared when pushed so x is pushed at most once
+                        blockedRun[x] = 0;
+                        unblockStack[top++] = x;
+                    }
+                }
+                blockedBySize[u] = 0;
+            }
+        }
+
+        /**
+         * Records that v waits on w, ignoring repeats
+         */
+        private void addBlockedBy(int w, int v) {
+            if (blockedByRun[w] != run) {
+                blockedByRun[w] = run;
+                blockedBySize[w] = 0;
+            }
+            int[] list = blockedBy[w];
+            for (int i = 0; i < blockedBySize[w]; i++) {
+                if (list[i] == v) {
+                    return;
+                }
+            }
+            if (list == null) {
+                list = blockedBy[w] = new int[4];
+            } else if (blockedBySize[w] == list.length) {
+                list = blockedBy[w] = Arrays.copyOf(list, list.length * 2);
+            }
+            list[blockedBySize[w]++] = v;
+        }
+    }
+
+    public enum Mode {
+        /** Every elementary cycle, within the configured bounds */
+        ELEMENTARY,
+        /** One cycle per depth-first back edge; fast but may miss cycles through visited nodes */
+        BACK_EDGE
+    }
+
+    /**
+     * Cycle search settings
+     */
+    public static class Options {
+        public static final int DEFAULT_MAX_CYCLES = 1000;
+        public static final int DEFAULT_MAX_LENGTH = 50;
+        public static final long DEFAULT_TIME_BUDGET_MILLIS = 10_000;
+
+        private final Mode mode;
+        private final int maxCycles;
+        private final int maxLength;
+        private final long timeBudgetMillis;
+
+        public Options(Mode mode, int maxCycles, int maxLength, long timeBudgetMillis) {
+            if (maxCycles < 1 || maxLength < 1 || timeBudgetMillis < 0) {
+                throw new IllegalArgumentException("Cycle limits must be positive");
+            }
+            this.mode = mode;
+            this.maxCycles = maxCycles;
+            this.maxLength = maxLength;
+            this.timeBudgetMillis = timeBudgetMillis;
+        }
+
+        /**
+         * Reads analyzer.cycles.mode (elementary or back-edge), analyzer.cycles.max-count,
+         * analyzer.cycles.max-length and analyzer.cycles.time-budget-ms
+         */
+        public static Options fromSystemProperties() {
+            String mode = System.getProperty("analyzer.cycles.mode", "elementary");
+            return new Options(
+                Mode.valueOf(mode.toUpperCase(Locale.ROOT).replace('-', '_')),
+                Integer.getInteger("analyzer.cycles.max-count", DEFAULT_MAX_CYCLES),
+                Integer.getInteger("analyzer.cycles.max-length", DEFAULT_MAX_LENGTH),
+                Long.getLong("analyzer.cycles.time-budget-ms", DEFAULT_TIME_BUDGET_MILLIS));
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public int getMaxCycles() {
+            return maxCycles;
+        }
+
+        /**
+         * Longest cycle reported, counted in distinct projects
+         */
+        public int getMaxLength() {
+            return maxLength;
+        }
+
+        public long getTimeBudgetMillis() {
+            return timeBudgetMillis;
+        }
+    }
+
+    /**
+     * Cycles found, and whether limits cut the search short
+     */
+    public static class Cycles {
+        private final List<int[]> cycles;
+        private final boolean truncated;
+
+        public Cycles(List<int[]> cycles, boolean truncated) {
+            this.cycles = cycles;
+            this.truncated = truncated;
+        }
+
+        public List<int[]> getCycles() {
+            return cycles;
+        }
+
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
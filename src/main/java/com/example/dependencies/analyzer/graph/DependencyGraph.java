@@ -0,0 +1,174 @@
+package com.example.dependencies.analyzer.graph;
+
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Immutable project dependency graph shared by the analyzers and exporters. Nodes are the projects
+ * in list order, identified by index; edges are held in compressed sparse row form in both
+ * directions, so the successors and predecessors of a node are contiguous int ranges. One edge is
+ * kept per resolved dependency, in declaration order.
+ */
+public final class DependencyGraph {
+    private final Project[] nodes;
+    private final Map<Project, Integer> indices;
+    private final int[] forwardOffsets;
+    private final int[] forwardTargets;
+    private final int[] reverseOffsets;
+    private final int[] reverseSources;
+
+    private DependencyGraph(Project[] nodes, Map<Project, Integer> indices, int[] forwardOffsets, int[] forwardTargets) {
+        this.nodes = nodes;
+        this.indices = indices;
+        this.forwardOffsets = forwardOffsets;
+        this.forwardTargets = forwardTargets;
+        this.reverseOffsets = new int[nodes.length + 1];
+        this.reverseSources = new int[forwardTargets.length];
+
+        // Counting sort by target keeps each predecessor range ordered by source
+        for (int target : forwardTargets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int v = 0; v < nodes.length; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] fill = Arrays.copyOf(reverseOffsets, nodes.length);
+        for (int v = 0; v < nodes.length; v++) {
+            for (int e = forwardOffsets[v]; e < forwardOffsets[v + 1]; e++) {
+                reverseSources[fill[forwardTargets[e]]++] = v;
+            }
+        }
+    }
+
+    /**
+     * Builds the graph over projects; dependencies may return null for projects without any.
+     * Targets that are not among the projects are dropped.
+     */
+    public static DependencyGraph build(List<Project> projects, Function<Project, List<Dependency>> dependencies,
+                                        EdgeResolver resolver) {
+        Project[] nodes = projects.toArray(new Project[0]);
+        // Projects are matched by identity, as equal GAVs may come from different repositories
+        Map<Project, Integer> indices = new IdentityHashMap<>(nodes.length * 2);
+        for (int v = 0; v < nodes.length; v++) {
+            indices.putIfAbsent(nodes[v], v);
+        }
+
+        int[] offsets = new int[nodes.length + 1];
+        EdgeBuffer edges = new EdgeBuffer(indices, Math.max(16, nodes.length * 2));
+        for (int v = 0; v < nodes.length; v++) {
+            offsets[v] = edges.size;
+            List<Dependency> deps = dependencies.apply(nodes[v]);
+            if (deps != null) {
+                for (Dependency dep : deps) {
+                    resolver.resolve(nodes[v], dep, edges);
+                }
+            }
+        }
+        offsets[nodes.length] = edges.size;
+
+        return new DependencyGraph(nodes, indices, offsets, Arrays.copyOf(edges.targets, edges.size));
+    }
+
+    /**
+     * A copy of this graph with repeated edges between the same two nodes collapsed into one
+     */
+    public DependencyGraph withoutParallelEdges() {
+        int[] offsets = new int[nodes.length + 1];
+        int[] targets = new int[forwardTargets.length];
+        int[] lastSource = new int[nodes.length];
+        Arrays.fill(lastSource, -1);
+        int size = 0;
+        for (int v = 0; v < nodes.length; v++) {
+            offsets[v] = size;
+            for (int e = forwardOffsets[v]; e < forwardOffsets[v + 1]; e++) {
+                int target = forwardTargets[e];
+                if (lastSource[target] != v) {
+                    lastSource[target] = v;
+                    targets[size++] = target;
+                }
+            }
+        }
+        offsets[nodes.length] = size;
+        return new DependencyGraph(nodes, indices, offsets, Arrays.copyOf(targets, size));
+    }
+
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    public int edgeCount() {
+        return forwardTargets.length;
+    }
+
+    public Project node(int v) {
+        return nodes[v];
+    }
+
+    /**
+     * Read-only view of the nodes in index order
+     */
+    public List<Project> nodes() {
+        return Collections.unmodifiableList(Arrays.asList(nodes));
+    }
+
+    /**
+     * Index of the given project instance, or -1 if it is not a node
+     */
+    public int indexOf(Project project) {
+        Integer index = indices.get(project);
+        return index != null ? index : -1;
+    }
+
+    public int outDegree(int v) {
+        return forwardOffsets[v + 1] - forwardOffsets[v];
+    }
+
+    /**
+     * The i-th node that v depends on
+     */
+    public int successor(int v, int i) {
+        return forwardTargets[forwardOffsets[v] + i];
+    }
+
+    public int inDegree(int v) {
+        return reverseOffsets[v + 1] - reverseOffsets[v];
+    }
+
+    /**
+     * The i-th node that depends on v, in ascending index order
+     */
+    public int predecessor(int v, int i) {
+        return reverseSources[reverseOffsets[v] + i];
+    }
+
+    private static final class EdgeBuffer implements Consumer<Project> {
+        private final Map<Project, Integer> indices;
+        private int[] targets;
+        private int size;
+
+        EdgeBuffer(Map<Project, Integer> indices, int capacity) {
+            this.indices = indices;
+            this.targets = new int[capacity];
+        }
+
+        @Override
+        public void accept(Project target) {
+            Integer index = indices.get(target);
+            if (index == null) {
+                return;
+            }
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            targets[size++] = index;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.dependencies.analyzer.graph;
+
+import com.example.dependencies.analyzer.model.Coordinate;
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Decides which projects a dependency points to when a {@link DependencyGraph} is built
+ */
+@FunctionalInterface
+public interface EdgeResolver {
+
+    /**
+     * Passes every project the dependency of source resolves to; nothing when it is external
+     */
+    void resolve(Project source, Dependency dependency, Consumer<Project> targets);
+
+    /**
+     * Adapts a resolver that picks at most one project, returning null for none
+     */
+    static EdgeResolver single(BiFunction<Project, Dependency, Project> resolver) {
+        return (source, dependency, targets) -> {
+            Project target = resolver.apply(source, dependency);
+            if (target != null) {
+                targets.accept(target);
+            }
+        };
+    }
+
+    /**
+     * Resolves to the last of the given projects with the dependency's groupId:artifactId
+     */
+    static EdgeResolver byArtifact(Collection<Project> projects) {
+        Map<Coordinate, Project> projectMap = new HashMap<>();
+        for (Project project : projects) {
+            projectMap.put(project.getArtifactCoordinate(), project);
+        }
+        return single((source, dependency) -> projectMap.get(dependency.getArtifactCoordinate()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.dependencies.analyzer.graph;
+
+import java.util.Arrays;
+
+/**
+ * Strongly connected components of a {@link DependencyGraph}, computed with Tarjan's algorithm on
+ * an explicit stack so that deep dependency chains cannot overflow the thread stack. Components are
+ * numbered in the order Tarjan's algorithm completes them, visiting roots in node order.
+ */
+public final class StronglyConnectedComponents {
+    private final int[] componentOf;
+    private final int[] memberOffsets;
+    private final int[] members;
+
+    private StronglyConnectedComponents(int[] componentOf, int[] memberOffsets, int[] members) {
+        this.componentOf = componentOf;
+        this.memberOffsets = memberOffsets;
+        this.members = members;
+    }
+
+    public static StronglyConnectedComponents of(DependencyGraph graph) {
+        int n = graph.nodeCount();
+        int[] index = new int[n];
+        int[] lowlink = new int[n];
+        int[] componentOf = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(index, -1);
+
+        // Tarjan's stack, and the DFS call stack with the next successor to visit per frame
+        int[] stack = new int[n];
+        int stackSize = 0;
+        int[] frames = new int[n];
+        int[] nextEdge = new int[n];
+        int depth = 0;
+
+        // Members are written component by component as they complete
+        int[] members = new int[n];
+        int[] memberOffsets = new int[n + 1];
+        int memberCount = 0;
+        int componentCount = 0;
+        int counter = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            index[root] = lowlink[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            frames[0] = root;
+            nextEdge[0] = 0;
+            depth = 1;
+
+            while (depth > 0) {
+                int v = frames[depth - 1];
+                if (nextEdge[depth - 1] < graph.outDegree(v)) {
+                    int w = graph.successor(v, nextEdge[depth - 1]++);
+                    if (index[w] < 0) {
+                        index[w] = lowlink[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        frames[depth] = w;
+                        nextEdge[depth] = 0;
+                        depth++;
+                    } else if (onStack[w]) {
+                        lowlink[v] = Math.min(lowlink[v], index[w]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (lowlink[v] == index[v]) {
+                    memberOffsets[componentCount] = memberCount;
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        componentOf[w] = componentCount;
+                        members[memberCount++] = w;
+                    } while (w != v);
+                    componentCount++;
+                }
+                if (depth > 0) {
+                    int parent = frames[depth - 1];
+                    lowlink[parent] = Math.min(lowlink[parent], lowlink[v]);
+                }
+            }
+        }
+        memberOffsets[componentCount] = memberCount;
+
+        return new StronglyConnectedComponents(componentOf, Arrays.copyOf(memberOffsets, componentCount + 1), members);
+    }
+
+    public int componentCount() {
+        return memberOffsets.length - 1;
+    }
+
+    public int componentOf(int v) {
+        return componentOf[v];
+    }
+
+    public int size(int component) {
+        return memberOffsets[component + 1] - memberOffsets[component];
+    }
+
+    /**
+     * The i-th node of the component, in the order Tarjan's stack released them
+     */
+    public int member(int component, int i) {
+        return members[memberOffsets[component] + i];
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.dependencies.analyzer.metrics;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wall time, throughput and allocation of the phases of one analysis run, and the slowest build
+ * files. A phase is timed on the thread that starts it; build files recorded while it is open,
+ * typically by parser threads, add their files, bytes and allocation to it. Allocation is measured
+ * per thread and left out where the JVM cannot report it. Safe for concurrent use.
+ */
+public class AnalysisMetrics {
+    public static final int DEFAULT_SLOWEST_FILES = 10;
+
+    public static final String DISCOVERY = "discovery";
+    public static final String CHANGE_DETECTION = "changeDetection";
+    public static final String PARSE = "parse";
+    public static final String AGGREGATION = "aggregation";
+    public static final String IN_HOUSE_DETECTION = "inHouseDetection";
+    public static final String DUPLICATE_PROCESSING = "duplicateProcessing";
+    public static final String ISSUE_ANALYSIS = "issueAnalysis";
+    public static final String MIGRATION_ANALYSIS = "migrationAnalysis";
+    public static final String SERIALIZATION = "serialization";
+
+    private static final JsonFactory factory = new JsonFactory();
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final int slowestFileCount;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final List<PhaseResult> phases = new ArrayList<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+    // Fastest of the slowest files at the head
+    private final PriorityQueue<FileResult> slowestFiles =
+        new PriorityQueue<>(Comparator.comparingLong(FileResult::getNanos));
+    private final LongAdder files = new LongAdder();
+    private final LongAdder cachedFiles = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder fileAllocatedBytes = new LongAdder();
+
+    public AnalysisMetrics() {
+        this(DEFAULT_SLOWEST_FILES);
+    }
+
+    public AnalysisMetrics(int slowestFileCount) {
+        if (slowestFileCount < 0) {
+            throw new IllegalArgumentException("Slowest file count must not be negative: " + slowestFileCount);
+        }
+        this.slowestFileCount = slowestFileCount;
+    }
+
+    /**
+     * Reads analyzer.metrics.slowest-files
+     */
+    public static AnalysisMetrics fromSystemProperties() {
+        return new AnalysisMetrics(Integer.getInteger("analyzer.metrics.slowest-files", DEFAULT_SLOWEST_FILES));
+    }
+
+    /**
+     * The metrics file named by analyzer.metrics.file, or null when none is configured
+     */
+    public static Path metricsFileFromSystemProperties() {
+        String file = System.getProperty("analyzer.metrics.file");
+        return file == null || file.isEmpty() ? null : Paths.get(file);
+    }
+
+    /**
+     * Starts timing a phase on the calling thread; closing the phase records it
+     */
+    public Phase start(String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Runs the action as a phase on the calling thread and returns its result
+     */
+    public <T, E extends Exception> T time(String name, PhaseAction<T, E> action) throws E {
+        Phase phase = start(name);
+        try {
+            return action.get();
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Runs the task as a phase on the calling thread
+     */
+    public <E extends Exception> void time(String name, PhaseTask<E> task) throws E {
+        Phase phase = start(name);
+        try {
+            task.run();
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Records one build file, parsed or served from the parse cache
+     *
+     * @param bytes          size of the build file read, or 0 when it was not read from disk
+     * @param allocatedBytes allocation of the thread while handling the file, or -1 when unknown
+     */
+    public void recordFile(Path file, long nanos, long bytes, long allocatedBytes, boolean cached) {
+        files.increment();
+        if (cached) {
+            cachedFiles.increment();
+        }
+        bytesRead.add(bytes);
+        if (allocatedBytes > 0) {
+            fileAllocatedBytes.add(allocatedBytes);
+        }
+        if (slowestFileCount == 0) {
+            return;
+        }
+        synchronized (slowestFiles) {
+            if (slowestFiles.size() < slowestFileCount) {
+                slowestFiles.add(new FileResult(file, nanos, bytes, cached));
+            } else if (slowestFiles.peek().getNanos() < nanos) {
+                slowestFiles.poll();
+                slowestFiles.add(new FileResult(file, nanos, bytes, cached));
+            }
+        }
+    }
+
+    /**
+     * Sets a named count reported with the phases, such as the number of projects
+     */
+    public void setCounter(String name, long value) {
+        synchronized (counters) {
+            counters.put(name, value);
+        }
+    }
+
+    /**
+     * Allocation of the calling thread so far, or -1 when the JVM does not measure it
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threads;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    public List<PhaseResult> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    public PhaseResult getPhase(String name) {
+        for (PhaseResult phase : getPhases()) {
+            if (phase.getName().equals(name)) {
+                return phase;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The slowest recorded build files, slowest first
+     */
+    public List<FileResult> getSlowestFiles() {
+        List<FileResult> result;
+        synchronized (slowestFiles) {
+            result = new ArrayList<>(slowestFiles);
+        }
+        result.sort(Comparator.comparingLong(FileResult::getNanos).reversed());
+        return result;
+    }
+
+    public Map<String, Long> getCounters() {
+        synchronized (counters) {
+            return new LinkedHashMap<>(counters);
+        }
+    }
+
+    public long getFiles() {
+        return files.sum();
+    }
+
+    public long getCachedFiles() {
+        return cachedFiles.sum();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * Writes the metrics as one JSON object at the generator's current position
+     */
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("startedAt", startedAt.toString());
+        generator.writeNumberField("totalMillis", millis(System.nanoTime() - startNanos));
+
+        generator.writeArrayFieldStart("phases");
+        for (PhaseResult phase : getPhases()) {
+            generator.writeStartObject();
+            generator.writeStringField("name", phase.getName());
+            generator.writeNumberField("wallMillis", millis(phase.getNanos()));
+            if (phase.getFiles() > 0) {
+                generator.writeNumberField("files", phase.getFiles());
+                generator.writeNumberField("filesPerSecond", Math.round(phase.getFilesPerSecond() * 10) / 10.0);
+            }
+            if (phase.getBytesRead() > 0) {
+                generator.writeNumberField("bytesRead", phase.getBytesRead());
+            }
+            if (phase.getAllocatedBytes() >= 0) {
+                generator.writeNumberField("allocatedBytes", phase.getAllocatedBytes());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeObjectFieldStart("buildFiles");
+        generator.writeNumberField("files", getFiles());
+        generator.writeNumberField("cachedFiles", getCachedFiles());
+        generator.writeNumberField("bytesRead", getBytesRead());
+        generator.writeEndObject();
+
+        generator.writeArrayFieldStart("slowestFiles");
+        for (FileResult file : getSlowestFiles()) {
+            generator.writeStartObject();
+            generator.writeStringField("path", file.getPath().toString());
+            generator.writeNumberField("millis", millis(file.getNanos()));
+            generator.writeNumberField("bytes", file.getBytes());
+            if (file.isCached()) {
+                generator.writeBooleanField("cached", true);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeObjectFieldStart("counters");
+        for (Map.Entry<String, Long> counter : getCounters().entrySet()) {
+            generator.writeNumberField(counter.getKey(), counter.getValue());
+        }
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the metrics to a JSON file of their own, replacing it
+     */
+    public void save(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        try (JsonGenerator generator = factory.createGenerator(Files.newOutputStream(file), JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            write(generator);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (PhaseResult phase : getPhases()) {
+            if (result.length() > 0) {
+                result.append(", ");
+            }
+            result.append(phase.getName()).append(' ').append(Math.round(millis(phase.getNanos()))).append(" ms");
+            if (phase.getFiles() > 0) {
+                result.append(" (").append(Math.round(phase.getFilesPerSecond())).append(" files/s)");
+            }
+        }
+        return result.toString();
+    }
+
+    private static double millis(long nanos) {
+        // Three decimals are enough and keep the JSON short
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    @FunctionalInterface
+    public interface PhaseAction<T, E extends Exception> {
+        T get() throws E;
+    }
+
+    @FunctionalInterface
+    public interface PhaseTask<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * A running phase; close it on the thread that started it
+     */
+    public final class Phase implements AutoCloseable {
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final long startAllocated = currentThreadAllocatedBytes();
+        private final long startFiles = files.sum();
+        private final long startBytes = bytesRead.sum();
+        private final long startFileAllocated = fileAllocatedBytes.sum();
+        private long addedFiles;
+        private boolean closed;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Counts files handled by the phase itself rather than recorded through recordFile()
+         */
+        public void addFiles(long count) {
+            addedFiles += count;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long endAllocated = currentThreadAllocatedBytes();
+            long allocated = startAllocated < 0 || endAllocated < 0 ? -1
+                : endAllocated - startAllocated + fileAllocatedBytes.sum() - startFileAllocated;
+            PhaseResult result = new PhaseResult(name, System.nanoTime() - startNanos,
+                files.sum() - startFiles + addedFiles, bytesRead.sum() - startBytes, allocated);
+            synchronized (phases) {
+                phases.add(result);
+            }
+        }
+    }
+
+    public static final class PhaseResult {
+        private final String name;
+        private final long nanos;
+        private final long files;
+        private final long bytesRead;
+        private final long allocatedBytes;
+
+        PhaseResult(String name, long nanos, long files, long bytesRead, long allocatedBytes) {
+            this.name = name;
+            this.nanos = nanos;
+            this.files = files;
+            this.bytesRead = bytesRead;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getFiles() {
+            return files;
+        }
+
+        public double getFilesPerSecond() {
+            return nanos == 0 ? 0 : files * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * Bytes allocated by the phase's thread and by the build files recorded during it, or -1 when unknown
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    public static final class FileResult {
+        private final Path path;
+        private final long nanos;
+        private final long bytes;
+        private final boolean cached;
+
+        FileResult(Path path, long nanos, long bytes, boolean cached) {
+            this.path = path;
+            this.nanos = nanos;
+            this.bytes = bytes;
+            this.cached = cached;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public boolean isCached() {
+            return cached;
+        }
+    }
+}
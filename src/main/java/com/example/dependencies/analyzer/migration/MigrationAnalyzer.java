@@ -1,5 +1,10 @@
 package com.example.dependencies.analyzer.migration;
 
+import com.example.dependencies.analyzer.graph.CycleDetector;
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.graph.EdgeResolver;
+import com.example.dependencies.analyzer.graph.StronglyConnectedComponents;
+import com.example.dependencies.analyzer.model.Coordinate;
 import com.example.dependencies.analyzer.model.Project;
 import com.example.dependencies.analyzer.model.Dependency;
 import org.slf4j.Logger;
@@ -15,31 +20,44 @@ public class MigrationAnalyzer {
     private static final Logger logger = LoggerFactory.getLogger(MigrationAnalyzer.class);
     
     private final Map<String, Project> projectMap;
-    private final Map<String, Set<String>> dependencyGraph;
-    private final Map<String, Set<String>> reverseDependencyGraph;
+    private final Map<Coordinate, Project> projectsByVersion;
+    private final Map<Coordinate, Project> projectsByArtifact;
+    // One node per distinct full name; parallel edges are collapsed
+    private final DependencyGraph graph;
+    private final Map<String, Integer> nodeIndex;
     
     public MigrationAnalyzer(List<Project> projects) {
         this.projectMap = new HashMap<>();
+        this.projectsByVersion = new LinkedHashMap<>();
+        this.projectsByArtifact = new HashMap<>();
         // フルネームとバージョンなしの両方でプロジェクトをマップに追加
         // 同じgroupId:artifactIdが複数ある場合は、最初に見つかったものを優先
-        Map<String, Project> versionlessMap = new HashMap<>();
         for (Project p : projects) {
-            projectMap.put(p.getFullName(), p);
-            String versionlessKey = p.getGroupId() + ":" + p.getArtifactId();
+            projectsByVersion.put(p.getVersionCoordinate(), p);
+            Coordinate versionlessKey = p.getArtifactCoordinate();
             // 同じキーが既に存在する場合はログ出力
-            if (versionlessMap.containsKey(versionlessKey)) {
+            Project existing = projectsByArtifact.putIfAbsent(versionlessKey, p);
+            if (existing != null) {
                 logger.warn("Duplicate groupId:artifactId found: {} in {} and {}", 
                     versionlessKey, 
-                    versionlessMap.get(versionlessKey).getProjectPath(), 
+                    existing.getProjectPath(), 
                     p.getProjectPath());
-            } else {
-                versionlessMap.put(versionlessKey, p);
             }
         }
+        for (Map.Entry<Coordinate, Project> entry : projectsByVersion.entrySet()) {
+            projectMap.put(entry.getKey().getKey(), entry.getValue());
+        }
         // versionlessMapの内容をprojectMapに追加
-        projectMap.putAll(versionlessMap);
-        this.dependencyGraph = buildDependencyGraph(projects);
-        this.reverseDependencyGraph = buildReverseDependencyGraph();
+        for (Map.Entry<Coordinate, Project> entry : projectsByArtifact.entrySet()) {
+            projectMap.put(entry.getKey().getKey(), entry.getValue());
+        }
+        
+        this.graph = DependencyGraph.build(new ArrayList<>(projectsByVersion.values()), Project::getDependencies,
+            EdgeResolver.single((source, dep) -> resolveDependency(dep))).withoutParallelEdges();
+        this.nodeIndex = new HashMap<>();
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            nodeIndex.put(graph.node(v).getFullName(), v);
+        }
     }
     
     /**
@@ -52,9 +70,10 @@ public class MigrationAnalyzer {
         int externalConnections = 0;
         
         for (String project : projectGroup) {
-            Set<String> dependencies = dependencyGraph.getOrDefault(project, new HashSet<>());
-            for (String dep : dependencies) {
-                if (projectGroup.contains(dep)) {
+            Integer v = nodeIndex.get(project);
+            if (v == null) continue;
+            for (int i = 0; i < graph.outDegree(v); i++) {
+                if (projectGroup.contains(graph.node(graph.successor(v, i)).getFullName())) {
                     internalConnections++;
                 } else {
                     externalConnections++;
@@ -73,47 +92,42 @@ public class MigrationAnalyzer {
      * Low coupling = few dependencies between groups
      */
     public double calculateCoupling(Set<String> group1, Set<String> group2) {
-        int connectionCount = 0;
+        int connectionCount = countConnections(group1, group2) + countConnections(group2, group1);
         
-        for (String project : group1) {
-            Set<String> dependencies = dependencyGraph.getOrDefault(project, new HashSet<>());
-            for (String dep : dependencies) {
-                if (group2.contains(dep)) {
-                    connectionCount++;
-                }
-            }
-        }
+        int maxPossibleConnections = group1.size() * group2.size() * 2;
+        if (maxPossibleConnections == 0) return 0.0;
         
-        for (String project : group2) {
-            Set<String> dependencies = dependencyGraph.getOrDefault(project, new HashSet<>());
-            for (String dep : dependencies) {
-                if (group1.contains(dep)) {
+        return (double) connectionCount / maxPossibleConnections;
+    }
+    
+    private int countConnections(Set<String> from, Set<String> to) {
+        int connectionCount = 0;
+        for (String project : from) {
+            Integer v = nodeIndex.get(project);
+            if (v == null) continue;
+            for (int i = 0; i < graph.outDegree(v); i++) {
+                if (to.contains(graph.node(graph.successor(v, i)).getFullName())) {
                     connectionCount++;
                 }
             }
         }
-        
-        int maxPossibleConnections = group1.size() * group2.size() * 2;
-        if (maxPossibleConnections == 0) return 0.0;
-        
-        return (double) connectionCount / maxPossibleConnections;
+        return connectionCount;
     }
     
     /**
      * Finds strongly connected components (potential repository boundaries)
      */
     public List<Set<String>> findStronglyConnectedComponents() {
-        // Using Tarjan's algorithm for SCC
-        Map<String, Integer> index = new HashMap<>();
-        Map<String, Integer> lowlink = new HashMap<>();
-        Map<String, Boolean> onStack = new HashMap<>();
-        Stack<String> stack = new Stack<>();
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(graph);
         List<Set<String>> sccs = new ArrayList<>();
-        int[] indexCounter = {0};
         
-        for (String project : projectMap.keySet()) {
-            if (!index.containsKey(project)) {
-                strongConnect(project, index, lowlink, onStack, stack, sccs, indexCounter);
+        for (int c = 0; c < components.componentCount(); c++) {
+            if (components.size(c) > 1) { // Only interested in non-trivial SCCs
+                Set<String> scc = new HashSet<>();
+                for (int i = 0; i < components.size(c); i++) {
+                    scc.add(graph.node(components.member(c, i)).getFullName());
+                }
+                sccs.add(scc);
             }
         }
         
@@ -126,12 +140,10 @@ public class MigrationAnalyzer {
     public Set<String> findUnusedProjects() {
         Set<String> unused = new HashSet<>();
         
+        // groupId:artifactId aliases are not graph nodes and never have dependents
         for (String project : projectMap.keySet()) {
-            Set<String> dependents = reverseDependencyGraph.getOrDefault(project, new HashSet<>());
-            // Remove self-dependencies
-            dependents.remove(project);
-            
-            if (dependents.isEmpty() && !isRootProject(project)) {
+            Integer v = nodeIndex.get(project);
+            if (!hasDependents(v) && !isRootProject(project)) {
                 unused.add(project);
             }
         }
@@ -139,48 +151,36 @@ public class MigrationAnalyzer {
         return unused;
     }
     
+    private boolean hasDependents(Integer v) {
+        if (v == null) return false;
+        for (int i = 0; i < graph.inDegree(v); i++) {
+            // Ignore self-dependencies
+            if (graph.predecessor(v, i) != v) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     
     /**
      * Identifies circular dependencies that need to be resolved before migration
      */
     public List<List<String>> findCircularDependencies() {
-        List<List<String>> cycles = new ArrayList<>();
-        Set<String> visited = new HashSet<>();
-        Set<String> recursionStack = new HashSet<>();
-        
-        for (String project : projectMap.keySet()) {
-            if (!visited.contains(project)) {
-                List<String> currentPath = new ArrayList<>();
-                findCyclesUtil(project, visited, recursionStack, currentPath, cycles);
-            }
+        CycleDetector.Cycles found = CycleDetector.find(graph, CycleDetector.Options.fromSystemProperties());
+        if (found.isTruncated()) {
+            logger.warn("Circular dependency search stopped at its limits after {} cycles", found.getCycles().size());
         }
         
-        return cycles;
-    }
-    
-    private void findCyclesUtil(String node, Set<String> visited, Set<String> recursionStack,
-                                List<String> currentPath, List<List<String>> cycles) {
-        visited.add(node);
-        recursionStack.add(node);
-        currentPath.add(node);
-        
-        Set<String> dependencies = dependencyGraph.getOrDefault(node, new HashSet<>());
-        for (String dep : dependencies) {
-            if (!visited.contains(dep)) {
-                findCyclesUtil(dep, visited, recursionStack, currentPath, cycles);
-            } else if (recursionStack.contains(dep)) {
-                // Found cycle
-                int cycleStart = currentPath.indexOf(dep);
-                if (cycleStart != -1) {
-                    List<String> cycle = new ArrayList<>(currentPath.subList(cycleStart, currentPath.size()));
-                    cycle.add(dep); // Complete the cycle
-                    cycles.add(cycle);
-                }
+        List<List<String>> cycles = new ArrayList<>();
+        for (int[] cycle : found.getCycles()) {
+            List<String> names = new ArrayList<>(cycle.length);
+            for (int v : cycle) {
+                names.add(graph.node(v).getFullName());
             }
+            cycles.add(names);
         }
-        
-        currentPath.remove(currentPath.size() - 1);
-        recursionStack.remove(node);
+        return cycles;
     }
     
     
@@ -202,80 +202,18 @@ public class MigrationAnalyzer {
                artifactId.equals("app");
     }
     
-    private void strongConnect(String v, Map<String, Integer> index, Map<String, Integer> lowlink,
-                              Map<String, Boolean> onStack, Stack<String> stack, 
-                              List<Set<String>> sccs, int[] indexCounter) {
-        index.put(v, indexCounter[0]);
-        lowlink.put(v, indexCounter[0]);
-        indexCounter[0]++;
-        stack.push(v);
-        onStack.put(v, true);
-        
-        Set<String> dependencies = dependencyGraph.getOrDefault(v, new HashSet<>());
-        for (String w : dependencies) {
-            if (!index.containsKey(w)) {
-                strongConnect(w, index, lowlink, onStack, stack, sccs, indexCounter);
-                lowlink.put(v, Math.min(lowlink.get(v), lowlink.get(w)));
-            } else if (onStack.getOrDefault(w, false)) {
-                lowlink.put(v, Math.min(lowlink.get(v), index.get(w)));
-            }
-        }
-        
-        if (lowlink.get(v).equals(index.get(v))) {
-            Set<String> scc = new HashSet<>();
-            String w;
-            do {
-                w = stack.pop();
-                onStack.put(w, false);
-                scc.add(w);
-            } while (!v.equals(w));
-            
-            if (scc.size() > 1) { // Only interested in non-trivial SCCs
-                sccs.add(scc);
-            }
-        }
-    }
-    
-    private Map<String, Set<String>> buildDependencyGraph(List<Project> projects) {
-        Map<String, Set<String>> graph = new HashMap<>();
-        
-        for (Project project : projects) {
-            String projectName = project.getFullName();
-            Set<String> deps = new HashSet<>();
-            
-            for (Dependency dep : project.getDependencies()) {
-                // まずバージョン付きで探す
-                String depFullName = dep.getGroupId() + ":" + dep.getArtifactId() + ":" + dep.getVersion();
-                Project depProject = projectMap.get(depFullName);
-                
-                // バージョン付きで見つからない場合はバージョンなしで探す
-                if (depProject == null) {
-                    String depNameWithoutVersion = dep.getGroupId() + ":" + dep.getArtifactId();
-                    depProject = projectMap.get(depNameWithoutVersion);
-                }
-                
-                if (depProject != null) {
-                    // グラフにはフルネーム（バージョン付き）を追加
-                    deps.add(depProject.getFullName());
-                }
-            }
-            
-            graph.put(projectName, deps);
-        }
-        
-        return graph;
-    }
-    
-    private Map<String, Set<String>> buildReverseDependencyGraph() {
-        Map<String, Set<String>> reverseGraph = new HashMap<>();
-        
-        for (Map.Entry<String, Set<String>> entry : dependencyGraph.entrySet()) {
-            String project = entry.getKey();
-            for (String dep : entry.getValue()) {
-                reverseGraph.computeIfAbsent(dep, k -> new HashSet<>()).add(project);
+    /**
+     * まずバージョン付きで探し、見つからない場合はバージョンなしで探す。
+     * グラフのノードはフルネームごとに1つなので、同じフルネームの最後のプロジェクトに寄せる。
+     */
+    private Project resolveDependency(Dependency dep) {
+        Project depProject = projectsByVersion.get(dep.getVersionCoordinate());
+        if (depProject == null) {
+            Project versionless = projectsByArtifact.get(dep.getArtifactCoordinate());
+            if (versionless != null) {
+                depProject = projectsByVersion.get(versionless.getVersionCoordinate());
             }
         }
-        
-        return reverseGraph;
+        return depProject;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.example.dependencies.analyzer.model;
+
+/**
+ * An interned groupId:artifactId or groupId:artifactId:version coordinate. Instances come from
+ * {@link CoordinateTable} and are unique per coordinate within their table. Coordinates are equal
+ * when their keys are, also across tables, so projects and dependencies created before
+ * {@link CoordinateTable#resetShared()} still compare equal to new ones.
+ */
+public final class Coordinate {
+    final CoordinateTable table;
+    private final int id;
+    private final String key;
+
+    Coordinate(CoordinateTable table, int id, String key) {
+        this.table = table;
+        this.id = id;
+        this.key = key;
+    }
+
+    /**
+     * Dense id, unique among coordinates of the same kind in the table that interned this one.
+     * Only an array index: ids of different tables are unrelated, see {@link CoordinateTable#artifactId(Project)}.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * The formatted coordinate, e.g. "com.example:app" or "com.example:app:1.0"
+     */
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Coordinate)) return false;
+        // Interned, so only coordinates of different tables get here with equal keys
+        Coordinate that = (Coordinate) o;
+        return table != that.table && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
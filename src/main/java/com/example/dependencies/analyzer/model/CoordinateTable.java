@@ -0,0 +1,121 @@
+package com.example.dependencies.analyzer.model;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Symbol table that interns Maven coordinates. groupId:artifactId pairs and their versioned forms
+ * each get a dense int id and a formatted key that is built once, so analyzers can key maps on
+ * {@link Coordinate} instead of concatenating and hashing strings per lookup. Safe for use from
+ * the parser threads.
+ */
+public final class CoordinateTable {
+    private static volatile CoordinateTable shared = new CoordinateTable();
+
+    private final ConcurrentHashMap<Pair, Coordinate> artifacts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Pair, Coordinate> versions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextArtifactId = new AtomicInteger();
+    private final AtomicInteger nextVersionId = new AtomicInteger();
+
+    /**
+     * The table used by {@link Project} and {@link Dependency} in the current analysis
+     */
+    public static CoordinateTable shared() {
+        return shared;
+    }
+
+    /**
+     * Starts a new shared table, so that ids and the arrays indexed by them do not grow with every
+     * analysis run in the same JVM. Called by the entry points before an analysis creates any project.
+     * Coordinates from earlier analyses still equal new ones with the same key; code that indexes
+     * arrays by id goes through {@link #artifactId(Project)} and {@link #artifactId(Dependency)}.
+     */
+    public static void resetShared() {
+        shared = new CoordinateTable();
+    }
+
+    /**
+     * The coordinate for groupId:artifactId; null parts are formatted as "null" like before
+     */
+    public Coordinate artifact(String groupId, String artifactId) {
+        Pair pair = new Pair(groupId, artifactId);
+        Coordinate coordinate = artifacts.get(pair);
+        if (coordinate != null) {
+            return coordinate;
+        }
+        return artifacts.computeIfAbsent(pair,
+            p -> new Coordinate(this, nextArtifactId.getAndIncrement(), groupId + ":" + artifactId));
+    }
+
+    /**
+     * The coordinate for groupId:artifactId:version
+     */
+    public Coordinate version(Coordinate artifact, String version) {
+        Pair pair = new Pair(artifact, version);
+        Coordinate coordinate = versions.get(pair);
+        if (coordinate != null) {
+            return coordinate;
+        }
+        return versions.computeIfAbsent(pair,
+            p -> new Coordinate(this, nextVersionId.getAndIncrement(), artifact.getKey() + ":" + version));
+    }
+
+    /**
+     * Id of the project's groupId:artifactId in this table, interning it when the project was
+     * created against another table
+     */
+    public int artifactId(Project project) {
+        Coordinate artifact = project.getArtifactCoordinate();
+        return artifact.table == this ? artifact.getId() : artifact(project.getGroupId(), project.getArtifactId()).getId();
+    }
+
+    /**
+     * Id of the dependency's groupId:artifactId in this table, interning it when the dependency was
+     * created against another table
+     */
+    public int artifactId(Dependency dependency) {
+        Coordinate artifact = dependency.getArtifactCoordinate();
+        return artifact.table == this ? artifact.getId()
+            : artifact(dependency.getGroupId(), dependency.getArtifactId()).getId();
+    }
+
+    /**
+     * Number of groupId:artifactId coordinates interned so far; ids are below this value
+     */
+    public int artifactCount() {
+        return nextArtifactId.get();
+    }
+
+    /**
+     * Number of versioned coordinates interned so far; ids are below this value
+     */
+    public int versionCount() {
+        return nextVersionId.get();
+    }
+
+    private static final class Pair {
+        private final Object first;
+        private final String second;
+        private final int hash;
+
+        Pair(Object first, String second) {
+            this.first = first;
+            this.second = second;
+            this.hash = 31 * Objects.hashCode(first) + Objects.hashCode(second);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Pair)) return false;
+            Pair that = (Pair) o;
+            return hash == that.hash && Objects.equals(first, that.first) && Objects.equals(second, that.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -7,12 +7,18 @@ public class Dependency {
     private final String artifactId;
     private final String version;
     private final String scope;
+    private final Coordinate artifactCoordinate;
+    private final Coordinate versionCoordinate;
+    private final int hash;
 
     public Dependency(String groupId, String artifactId, String version, String scope) {
         this.groupId = groupId;
         this.artifactId = artifactId;
         this.version = version;
         this.scope = scope;
+        this.artifactCoordinate = CoordinateTable.shared().artifact(groupId, artifactId);
+        this.versionCoordinate = CoordinateTable.shared().version(artifactCoordinate, version);
+        this.hash = Objects.hash(groupId, artifactId);
     }
 
     public String getGroupId() {
@@ -31,8 +37,22 @@ public class Dependency {
         return scope;
     }
 
+    /**
+     * Interned groupId:artifactId, the key used to match dependencies to projects
+     */
+    public Coordinate getArtifactCoordinate() {
+        return artifactCoordinate;
+    }
+
+    /**
+     * Interned groupId:artifactId:version
+     */
+    public Coordinate getVersionCoordinate() {
+        return versionCoordinate;
+    }
+
     public String getFullName() {
-        return groupId + ":" + artifactId + ":" + version;
+        return versionCoordinate.getKey();
     }
 
     @Override
@@ -40,13 +60,12 @@ public class Dependency {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Dependency that = (Dependency) o;
-        return Objects.equals(groupId, that.groupId) && 
-               Objects.equals(artifactId, that.artifactId);
+        return artifactCoordinate.equals(that.artifactCoordinate);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(groupId, artifactId);
+        return hash;
     }
 
     @Override
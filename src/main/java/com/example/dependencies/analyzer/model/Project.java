@@ -1,8 +1,8 @@
 package com.example.dependencies.analyzer.model;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -14,6 +14,11 @@ public class Project {
     private final ProjectType type;
     private String packaging;
     private final List<Dependency> dependencies;
+    private final Coordinate artifactCoordinate;
+    private final Coordinate versionCoordinate;
+    private final int hash;
+    private Path repositoryRoot;
+    private String repository;
 
     public Project(String groupId, String artifactId, String version, Path projectPath, ProjectType type) {
         this.groupId = groupId;
@@ -22,6 +27,9 @@ public class Project {
         this.projectPath = projectPath;
         this.type = type;
         this.dependencies = new ArrayList<>();
+        this.artifactCoordinate = CoordinateTable.shared().artifact(groupId, artifactId);
+        this.versionCoordinate = CoordinateTable.shared().version(artifactCoordinate, version);
+        this.hash = Objects.hash(groupId, artifactId, version);
     }
 
     public void addDependency(Dependency dependency) {
@@ -48,8 +56,11 @@ public class Project {
         return type;
     }
 
+    /**
+     * Read-only view of the dependencies; use addDependency to add more
+     */
     public List<Dependency> getDependencies() {
-        return new ArrayList<>(dependencies);
+        return Collections.unmodifiableList(dependencies);
     }
     
     public String getPackaging() {
@@ -60,29 +71,50 @@ public class Project {
         this.packaging = packaging;
     }
 
+    /**
+     * Interned groupId:artifactId, the key used to match dependencies to projects
+     */
+    public Coordinate getArtifactCoordinate() {
+        return artifactCoordinate;
+    }
+
+    /**
+     * Interned groupId:artifactId:version
+     */
+    public Coordinate getVersionCoordinate() {
+        return versionCoordinate;
+    }
+
     public String getFullName() {
-        return groupId + ":" + artifactId + ":" + version;
+        return versionCoordinate.getKey();
     }
     
+    /**
+     * Records the enclosing repository root and its name as found at discovery time; a null root when there is none
+     */
+    public void setRepository(Path repositoryRoot, String repository) {
+        this.repositoryRoot = repositoryRoot;
+        this.repository = repository;
+    }
+    
+    /**
+     * The enclosing Git repository root attached at discovery time, or null
+     */
+    public Path getRepositoryRoot() {
+        return repositoryRoot;
+    }
+    
+    /**
+     * The attached repository name; the project directory name when none was attached
+     */
     public String getRepository() {
-        if (projectPath == null) return "unknown";
-        
-        try {
-            // Find the git repository root
-            Path currentPath = projectPath;
-            while (currentPath != null) {
-                if (Files.exists(currentPath.resolve(".git"))) {
-                    // Return the repository directory name
-                    return currentPath.getFileName().toString();
-                }
-                currentPath = currentPath.getParent();
-            }
-            
-            // If no git repository found, use the project directory name
-            return projectPath.getFileName().toString();
-        } catch (Exception e) {
+        if (repository != null) {
+            return repository;
+        }
+        if (projectPath == null || projectPath.getFileName() == null) {
             return "unknown";
         }
+        return projectPath.getFileName().toString();
     }
 
     @Override
@@ -90,14 +122,12 @@ public class Project {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Project project = (Project) o;
-        return Objects.equals(groupId, project.groupId) && 
-               Objects.equals(artifactId, project.artifactId) && 
-               Objects.equals(version, project.version);
+        return versionCoordinate.equals(project.versionCoordinate);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(groupId, artifactId, version);
+        return hash;
     }
 
     @Override
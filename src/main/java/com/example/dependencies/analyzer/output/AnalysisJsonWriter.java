@@ -0,0 +1,330 @@
+package com.example.dependencies.analyzer.output;
+
+import com.example.dependencies.analyzer.analyzer.Issue;
+import com.example.dependencies.analyzer.analyzer.ProjectIssuesAnalyzer;
+import com.example.dependencies.analyzer.metrics.AnalysisMetrics;
+import com.example.dependencies.analyzer.model.Project;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams dependencies-analysis.json section by section with a JsonGenerator instead of building
+ * the whole tree in memory. Sections are written in the order nodes, links, stats, issues,
+ * analysisDate, version and, when run metrics are included, metrics. Output goes to a temporary file that replaces the target only after
+ * the document is complete and, if a validator is given, the graph passed validation.
+ */
+public class AnalysisJsonWriter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisJsonWriter.class);
+    private static final JsonFactory factory = new JsonFactory();
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final Path target;
+    private final Path tempFile;
+    private final JsonGenerator generator;
+    private final GraphValidator validator;
+    private int nodeCount;
+    private int linkCount;
+    private boolean committed;
+
+    private AnalysisJsonWriter(Path target, Path tempFile, JsonGenerator generator, GraphValidator validator) {
+        this.target = target;
+        this.tempFile = tempFile;
+        this.generator = generator;
+        this.validator = validator;
+    }
+
+    /**
+     * Starts writing the document; validator may be null to skip validation
+     */
+    public static AnalysisJsonWriter open(Path target, Options options, GraphValidator validator) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // A plain sibling file, so the published report gets the usual permissions rather than createTempFile's 0600
+        Path tempFile = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            OutputStream out = Files.newOutputStream(tempFile);
+            if (options.isGzip()) {
+                out = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            }
+            JsonGenerator generator = factory.createGenerator(out, JsonEncoding.UTF8);
+            if (options.isPretty()) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartObject();
+            return new AnalysisJsonWriter(target, tempFile, generator, validator);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    public void startNodes() throws IOException {
+        generator.writeArrayFieldStart("nodes");
+    }
+
+    public void writeNode(String id, String name, String version, String group, String type,
+                          String packaging, String nodeGroup) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", id);
+        generator.writeStringField("name", name);
+        generator.writeStringField("version", version);
+        generator.writeStringField("group", group);
+        generator.writeStringField("type", type);
+        generator.writeStringField("packaging", packaging);
+        generator.writeStringField("nodeGroup", nodeGroup);
+        generator.writeEndObject();
+        nodeCount++;
+        if (validator != null) {
+            validator.acceptNode(id, name, version, group, nodeGroup);
+        }
+    }
+
+    public void endNodes() throws IOException {
+        generator.writeEndArray();
+    }
+
+    public void startLinks() throws IOException {
+        generator.writeArrayFieldStart("links");
+    }
+
+    public void writeLink(String source, String target, int value) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("source", source);
+        generator.writeStringField("target", target);
+        generator.writeNumberField("value", value);
+        generator.writeEndObject();
+        linkCount++;
+        if (validator != null) {
+            validator.acceptLink(source, target);
+        }
+    }
+
+    public void endLinks() throws IOException {
+        generator.writeEndArray();
+    }
+
+    public void writeStats(int totalProjects, int totalDependencies) throws IOException {
+        generator.writeObjectFieldStart("stats");
+        generator.writeNumberField("totalProjects", totalProjects);
+        generator.writeNumberField("totalDependencies", totalDependencies);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the issues section, referring to projects by the ids produced by idOf
+     */
+    public void writeIssues(ProjectIssuesAnalyzer.IssuesReport report, Function<Project, String> idOf) throws IOException {
+        generator.writeObjectFieldStart("issues");
+
+        generator.writeArrayFieldStart("circularReferences");
+        for (List<String> cycle : report.getCircularReferences()) {
+            generator.writeStartArray();
+            for (String member : cycle) {
+                generator.writeString(member);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+        // Only present when the cycle search hit its limits
+        if (report.isCircularReferencesTruncated()) {
+            generator.writeBooleanField("circularReferencesTruncated", true);
+        }
+
+        generator.writeArrayFieldStart("unreferencedProjects");
+        for (Project project : report.getUnreferencedProjects()) {
+            generator.writeString(idOf.apply(project));
+        }
+        generator.writeEndArray();
+
+        writeProjectGroups("duplicateArtifactIds", report.getDuplicateArtifactIds(), idOf);
+        writeProjectGroups("duplicateGAVs", report.getDuplicateGAVs(), idOf);
+
+        // Categories from further detectors, in name order
+        for (Map.Entry<String, List<Issue>> category : report.getIssues().entrySet()) {
+            generator.writeArrayFieldStart(category.getKey());
+            for (Issue issue : category.getValue()) {
+                writeIssue(issue, idOf);
+            }
+            generator.writeEndArray();
+        }
+
+        generator.writeEndObject();
+    }
+
+    private void writeIssue(Issue issue, Function<Project, String> idOf) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("subject", issue.getSubject());
+        generator.writeStringField("message", issue.getMessage());
+        generator.writeArrayFieldStart("projects");
+        for (Project project : issue.getProjects()) {
+            generator.writeString(idOf.apply(project));
+        }
+        generator.writeEndArray();
+        if (!issue.getDetails().isEmpty()) {
+            generator.writeFieldName("details");
+            writeValue(issue.getDetails(), idOf);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeValue(Object value, Function<Project, String> idOf) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Project) {
+            generator.writeString(idOf.apply((Project) value));
+        } else if (value instanceof Integer || value instanceof Long) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue(), idOf);
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Iterable) {
+            generator.writeStartArray();
+            for (Object element : (Iterable<?>) value) {
+                writeValue(element, idOf);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+
+    public void writeMetadata(String analysisDate, String version) throws IOException {
+        generator.writeStringField("analysisDate", analysisDate);
+        generator.writeStringField("version", version);
+    }
+
+    /**
+     * Writes the metrics section with the phases recorded so far
+     */
+    public void writeMetrics(AnalysisMetrics metrics) throws IOException {
+        generator.writeFieldName("metrics");
+        metrics.write(generator);
+    }
+
+    /**
+     * Finishes the document, validates it and moves it into place
+     */
+    public void commit() throws IOException {
+        generator.writeEndObject();
+        // Also finishes the gzip stream
+        generator.close();
+        if (validator != null) {
+            validator.finish();
+        }
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        committed = true;
+        logger.debug("Wrote {} nodes and {} links to {}", nodeCount, linkCount, target);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getLinkCount() {
+        return linkCount;
+    }
+
+    /**
+     * Discards the temporary file unless commit() succeeded; the previous target is left untouched
+     */
+    @Override
+    public void close() throws IOException {
+        if (committed) {
+            return;
+        }
+        try {
+            generator.close();
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void writeProjectGroups(String fieldName, Map<String, List<Project>> groups,
+                                    Function<Project, String> idOf) throws IOException {
+        generator.writeObjectFieldStart(fieldName);
+        for (Map.Entry<String, List<Project>> entry : groups.entrySet()) {
+            generator.writeArrayFieldStart(entry.getKey());
+            for (Project project : entry.getValue()) {
+                generator.writeString(idOf.apply(project));
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Output format settings
+     */
+    public static class Options {
+        private final boolean pretty;
+        private final boolean gzip;
+        private final boolean metrics;
+
+        public Options(boolean pretty, boolean gzip) {
+            this(pretty, gzip, true);
+        }
+
+        public Options(boolean pretty, boolean gzip, boolean metrics) {
+            this.pretty = pretty;
+            this.gzip = gzip;
+            this.metrics = metrics;
+        }
+
+        /**
+         * Reads analyzer.output.pretty (default true), analyzer.output.gzip (default false) and
+         * analyzer.output.metrics (default true); a target ending in .gz is always compressed
+         */
+        public static Options fromSystemProperties(Path target) {
+            boolean pretty = Boolean.parseBoolean(System.getProperty("analyzer.output.pretty", "true"));
+            boolean gzip = Boolean.parseBoolean(System.getProperty("analyzer.output.gzip", "false"))
+                || target.getFileName().toString().endsWith(".gz");
+            boolean metrics = Boolean.parseBoolean(System.getProperty("analyzer.output.metrics", "true"));
+            return new Options(pretty, gzip, metrics);
+        }
+
+        /**
+         * The target with a .gz suffix added when compressing and not already present
+         */
+        public Path resolveTarget(Path target) {
+            String fileName = target.getFileName().toString();
+            return gzip && !fileName.endsWith(".gz") ? target.resolveSibling(fileName + ".gz") : target;
+        }
+
+        public boolean isPretty() {
+            return pretty;
+        }
+
+        public boolean isGzip() {
+            return gzip;
+        }
+
+        /**
+         * Whether the document ends with the metrics of the run
+         */
+        public boolean isMetrics() {
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.dependencies.analyzer.output;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks graph nodes and links as they are written, so the graph never has to be held in memory.
+ * Nodes must all be seen before the first link; only node ids are retained.
+ */
+public class GraphValidator {
+    private static final Logger logger = LoggerFactory.getLogger(GraphValidator.class);
+
+    private final Set<String> nodeIds = new HashSet<>();
+    private final List<String> errors = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+    private int nodeCount;
+    private int linkCount;
+
+    public void acceptNode(String id, String name, String version, String group, String nodeGroup) {
+        int index = nodeCount++;
+        String label = id != null && !id.isEmpty() ? id : "at index " + index;
+
+        // Check required fields
+        if (id == null || id.isEmpty()) {
+            errors.add(String.format("Node at index %d has no id", index));
+        } else if (!nodeIds.add(id)) {
+            warnings.add(String.format("Duplicate node id: %s", id));
+        }
+
+        if (name == null || name.isEmpty()) {
+            errors.add(String.format("Node %s has no name", label));
+        }
+        if (version == null || version.isEmpty()) {
+            warnings.add(String.format("Node %s has no version", label));
+        }
+        if (group == null) {
+            warnings.add(String.format("Node %s has null group", label));
+        }
+        if (nodeGroup == null || nodeGroup.isEmpty()) {
+            errors.add(String.format("Node %s has no nodeGroup", label));
+        }
+    }
+
+    public void acceptLink(String source, String target) {
+        int index = linkCount++;
+
+        if (source == null || source.isEmpty()) {
+            errors.add(String.format("Link at index %d has no source", index));
+        } else if (!nodeIds.contains(source)) {
+            errors.add(String.format("Link at index %d has invalid source: %s", index, source));
+        }
+
+        if (target == null || target.isEmpty()) {
+            errors.add(String.format("Link at index %d has no target", index));
+        } else if (!nodeIds.contains(target)) {
+            errors.add(String.format("Link at index %d has invalid target: %s", index, target));
+        }
+
+        // Check for self-referencing links
+        if (source != null && source.equals(target)) {
+            warnings.add(String.format("Link at index %d is self-referencing: %s -> %s", index, source, target));
+        }
+    }
+
+    /**
+     * Logs the outcome and throws if any errors were found
+     */
+    public void finish() {
+        logger.info("Validation complete: {} nodes, {} links", nodeCount, linkCount);
+
+        if (!warnings.isEmpty()) {
+            logger.warn("Validation warnings ({}):", warnings.size());
+            for (String warning : warnings) {
+                logger.warn("  - {}", warning);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            logger.error("Validation errors ({}):", errors.size());
+            for (String error : errors) {
+                logger.error("  - {}", error);
+            }
+            throw new IllegalStateException(
+                String.format("Graph data validation failed with %d errors. See logs for details.", errors.size())
+            );
+        }
+
+        logger.info("Graph data validation passed successfully");
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.dependencies.analyzer.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Where parsers read build files from: the working tree, or e.g. a commit in a Git object database.
+ * Paths keep their usual layout in both cases so that projects and sibling files are located the same way.
+ */
+public interface BuildFileSource {
+
+    /**
+     * Reads files directly from the file system
+     */
+    BuildFileSource FILE_SYSTEM = new BuildFileSource() {
+        @Override
+        public boolean exists(Path file) {
+            return Files.exists(file);
+        }
+
+        @Override
+        public InputStream open(Path file) throws IOException {
+            return Files.newInputStream(file);
+        }
+
+        @Override
+        public String readString(Path file) throws IOException {
+            return Files.readString(file);
+        }
+    };
+
+    boolean exists(Path file);
+
+    InputStream open(Path file) throws IOException;
+
+    default String readString(Path file) throws IOException {
+        try (InputStream in = open(file)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
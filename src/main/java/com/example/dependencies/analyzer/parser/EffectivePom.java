@@ -0,0 +1,217 @@
+package com.example.dependencies.analyzer.parser;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A POM together with what it inherits from its parent chain: properties and dependencyManagement
+ * merged top-down, interpolated in this POM's context the way Maven builds an effective model.
+ * Import-scoped BOMs contribute their own effective managed versions without overriding declared ones.
+ * Only the parts the analyzer reads are modelled.
+ */
+final class EffectivePom {
+    private static final int MAX_INTERPOLATION_DEPTH = 16;
+
+    private final Model model;
+    private final String groupId;
+    private final String version;
+    private final Map<String, String> properties;
+    // groupId:artifactId -> uninterpolated managed version, parents first and overridden by children
+    private final Map<String, String> managedVersions;
+    private final List<Path> inputFiles;
+    // Parent and BOM GAVs this model or its ancestors looked up without finding them among the run's POMs
+    private final Set<String> unresolvedGavs;
+    // Managed versions interpolated in this POM's context, built when the POM is first imported as a BOM
+    private volatile Map<String, String> resolvedManagedVersions;
+
+    /**
+     * @param inputFiles this POM and parent locations it tried without success; the inputs of the parent
+     *                   and imported BOMs are added
+     * @param unresolvedGavs parent GAVs looked up among the run's POMs without success; missing BOMs are added
+     * @param boms       finds the effective model of an imported BOM by groupId:artifactId:version, or null
+     */
+    EffectivePom(Model model, EffectivePom parent, List<Path> inputFiles, Set<String> unresolvedGavs,
+                 Function<String, EffectivePom> boms) {
+        this.model = model;
+
+        Parent parentRef = model.getParent();
+        this.groupId = model.getGroupId() != null ? model.getGroupId()
+            : (parentRef != null ? parentRef.getGroupId() : null);
+        this.version = model.getVersion() != null ? model.getVersion()
+            : (parentRef != null ? parentRef.getVersion() : null);
+
+        Map<String, String> merged = parent != null ? new HashMap<>(parent.properties) : new HashMap<>();
+        model.getProperties().forEach((key, value) -> merged.put(key.toString(), value.toString()));
+        this.properties = merged;
+
+        Set<Path> inputs = new LinkedHashSet<>(inputFiles);
+        Set<String> unresolved = new LinkedHashSet<>(unresolvedGavs);
+        if (parent != null) {
+            inputs.addAll(parent.inputFiles);
+            unresolved.addAll(parent.unresolvedGavs);
+        }
+
+        Map<String, String> managed = parent != null ? new HashMap<>(parent.managedVersions) : new HashMap<>();
+        List<Dependency> imports = new ArrayList<>();
+        DependencyManagement management = model.getDependencyManagement();
+        if (management != null) {
+            for (Dependency dep : management.getDependencies()) {
+                if ("import".equals(dep.getScope()) && "pom".equals(dep.getType())) {
+                    imports.add(dep);
+                } else {
+                    managed.put(managementKey(dep.getGroupId(), dep.getArtifactId()), dep.getVersion());
+                }
+            }
+        }
+        this.managedVersions = managed;
+
+        // Declared and inherited entries win over imported ones, and earlier imports over later ones
+        for (Dependency bomImport : imports) {
+            String gav = interpolate(bomImport.getGroupId()) + ":" + interpolate(bomImport.getArtifactId())
+                + ":" + interpolate(bomImport.getVersion());
+            EffectivePom bom = boms.apply(gav);
+            if (bom != null) {
+                bom.getResolvedManagedVersions().forEach(managed::putIfAbsent);
+                inputs.addAll(bom.inputFiles);
+                unresolved.addAll(bom.unresolvedGavs);
+            } else {
+                // Adding the BOM to the workspace later changes the result without touching any input file
+                unresolved.add(gav);
+            }
+        }
+        this.inputFiles = List.copyOf(inputs);
+        this.unresolvedGavs = Collections.unmodifiableSet(unresolved);
+    }
+
+    Model getModel() {
+        return model;
+    }
+
+    String getGroupId() {
+        return interpolate(groupId);
+    }
+
+    String getArtifactId() {
+        return interpolate(model.getArtifactId());
+    }
+
+    String getVersion() {
+        return interpolate(version);
+    }
+
+    /**
+     * Files whose content this effective model depends on, this POM first
+     */
+    List<Path> getInputFiles() {
+        return inputFiles;
+    }
+
+    /**
+     * Parent and BOM GAVs that were looked up among the run's POMs and not found, here or in the parent chain
+     */
+    Set<String> getUnresolvedGavs() {
+        return unresolvedGavs;
+    }
+
+    /**
+     * The version a dependency resolves to: its own, or else the managed one, interpolated; "unknown" when neither exists
+     */
+    String resolveVersion(Dependency dep) {
+        String depVersion = dep.getVersion();
+        if (depVersion == null) {
+            depVersion = managedVersions.get(managementKey(dep.getGroupId(), dep.getArtifactId()));
+        }
+        return depVersion != null ? interpolate(depVersion) : "unknown";
+    }
+
+    /**
+     * Managed versions with references resolved here, as a POM importing this one as a BOM sees them
+     */
+    Map<String, String> getResolvedManagedVersions() {
+        Map<String, String> resolved = resolvedManagedVersions;
+        if (resolved == null) {
+            Map<String, String> table = new HashMap<>(managedVersions.size());
+            managedVersions.forEach((key, value) -> table.put(key, interpolate(value)));
+            resolved = Collections.unmodifiableMap(table);
+            resolvedManagedVersions = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Replaces ${...} references with properties or project values; unknown references are left as they are
+     */
+    String interpolate(String value) {
+        return interpolate(value, new HashSet<>(), 0);
+    }
+
+    private String interpolate(String value, Set<String> resolving, int depth) {
+        if (value == null || value.indexOf("${") < 0 || depth > MAX_INTERPOLATION_DEPTH) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        int from = 0;
+        int start;
+        while ((start = value.indexOf("${", from)) >= 0) {
+            int end = value.indexOf('}', start + 2);
+            if (end < 0) {
+                break;
+            }
+            result.append(value, from, start);
+            String key = value.substring(start + 2, end);
+            // A key that is already being resolved refers to itself and stays as it is
+            String replacement = resolving.add(key) ? lookup(key) : null;
+            if (replacement != null) {
+                result.append(interpolate(replacement, resolving, depth + 1));
+                resolving.remove(key);
+            } else {
+                result.append(value, start, end + 1);
+            }
+            from = end + 1;
+        }
+        result.append(value, from, value.length());
+        return result.toString();
+    }
+
+    private String lookup(String key) {
+        switch (key) {
+            case "project.version":
+            case "pom.version":
+            case "version":
+                return version;
+            case "project.groupId":
+            case "pom.groupId":
+            case "groupId":
+                return groupId;
+            case "project.artifactId":
+            case "pom.artifactId":
+            case "artifactId":
+                return model.getArtifactId();
+            case "project.parent.version":
+            case "parent.version":
+                return model.getParent() != null ? model.getParent().getVersion() : null;
+            case "project.parent.groupId":
+            case "parent.groupId":
+                return model.getParent() != null ? model.getParent().getGroupId() : null;
+            default:
+                return properties.get(key);
+        }
+    }
+
+    private String managementKey(String depGroupId, String depArtifactId) {
+        return interpolate(depGroupId) + ":" + interpolate(depArtifactId);
+    }
+}
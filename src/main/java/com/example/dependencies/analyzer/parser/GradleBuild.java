@@ -0,0 +1,144 @@
+package com.example.dependencies.analyzer.parser;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The project structure a settings.gradle(.kts) declares: the root project, the projects added with
+ * include and their directories after projectDir remapping, the builds added with includeBuild, and
+ * the version catalogs its projects see. Included builds are separate builds with their own settings
+ * and are not part of this one.
+ */
+public final class GradleBuild {
+    private final Path rootDir;
+    private final String rootProjectName;
+    // Project path (":", ":a", ":a:b") to project directory, in declaration order
+    private final Map<String, Path> projectDirs;
+    private final Map<Path, String> projectPaths;
+    private final List<Path> includedBuilds;
+    private final Map<String, Path> versionCatalogs;
+
+    private GradleBuild(Path rootDir, String rootProjectName, Map<String, Path> projectDirs, List<Path> includedBuilds,
+                        Map<String, Path> versionCatalogs) {
+        this.rootDir = rootDir;
+        this.rootProjectName = rootProjectName;
+        this.projectDirs = Collections.unmodifiableMap(projectDirs);
+        Map<Path, String> paths = new HashMap<>();
+        projectDirs.forEach((path, dir) -> paths.putIfAbsent(dir, path));
+        this.projectPaths = paths;
+        this.includedBuilds = Collections.unmodifiableList(includedBuilds);
+        this.versionCatalogs = Collections.unmodifiableMap(versionCatalogs);
+    }
+
+    /**
+     * The default libs catalog of a build directory, gradle/libs.versions.toml
+     */
+    public static Path defaultCatalog(Path rootDir) {
+        return rootDir.resolve("gradle").resolve("libs.versions.toml");
+    }
+
+    /**
+     * Builds the model of a settings script located in settingsDir, the root project's directory
+     */
+    public static GradleBuild of(Path settingsDir, GradleScript settings) {
+        Path rootDir = settingsDir.normalize();
+        Map<String, Path> projectDirs = new LinkedHashMap<>();
+        projectDirs.put(":", rootDir);
+        for (String include : settings.getIncludes()) {
+            String path = absolutePath(":", include);
+            // include 'a:b' also includes ':a'
+            int separator = 0;
+            while ((separator = path.indexOf(':', separator + 1)) > 0) {
+                addProject(projectDirs, rootDir, path.substring(0, separator));
+            }
+            addProject(projectDirs, rootDir, path);
+        }
+        settings.getProjectDirs().forEach((path, dir) -> {
+            String absolute = absolutePath(":", path);
+            if (projectDirs.containsKey(absolute)) {
+                projectDirs.put(absolute, rootDir.resolve(dir).normalize());
+            }
+        });
+
+        List<Path> includedBuilds = new ArrayList<>();
+        for (String includedBuild : settings.getIncludedBuilds()) {
+            includedBuilds.add(rootDir.resolve(includedBuild).normalize());
+        }
+
+        // Gradle creates "libs" from the default file unless the settings declare a catalog of that name
+        Map<String, Path> versionCatalogs = new LinkedHashMap<>();
+        settings.getVersionCatalogs().forEach((name, file) -> versionCatalogs.put(name, rootDir.resolve(file).normalize()));
+        versionCatalogs.putIfAbsent("libs", defaultCatalog(rootDir));
+
+        String rootName = settings.getRootProjectName();
+        if (rootName == null && rootDir.getFileName() != null) {
+            rootName = rootDir.getFileName().toString();
+        }
+        return new GradleBuild(rootDir, rootName, projectDirs, includedBuilds, versionCatalogs);
+    }
+
+    public Path getRootDir() {
+        return rootDir;
+    }
+
+    public String getRootProjectName() {
+        return rootProjectName;
+    }
+
+    /**
+     * Project paths of all projects in this build, the root project first
+     */
+    public List<String> getProjectPaths() {
+        return new ArrayList<>(projectDirs.keySet());
+    }
+
+    public List<Path> getIncludedBuilds() {
+        return includedBuilds;
+    }
+
+    /**
+     * Version catalog files by catalog name, whether or not they exist
+     */
+    public Map<String, Path> getVersionCatalogs() {
+        return versionCatalogs;
+    }
+
+    /**
+     * The path of the project in the given directory, or null when no project of this build lives there
+     */
+    public String projectPathOf(Path projectDir) {
+        return projectPaths.get(projectDir.normalize());
+    }
+
+    /**
+     * The directory of a project, or null when the build has no such project
+     *
+     * @param path project path, relative paths being resolved against fromPath
+     */
+    public Path projectDirOf(String fromPath, String path) {
+        return projectDirs.get(absolutePath(fromPath, path));
+    }
+
+    /**
+     * The project name Gradle derives from a project path: the last segment, or the root project's name
+     */
+    public String projectNameOf(String path) {
+        return ":".equals(path) ? rootProjectName : path.substring(path.lastIndexOf(':') + 1);
+    }
+
+    private static void addProject(Map<String, Path> projectDirs, Path rootDir, String path) {
+        projectDirs.computeIfAbsent(path, p -> rootDir.resolve(p.substring(1).replace(':', '/')).normalize());
+    }
+
+    private static String absolutePath(String fromPath, String path) {
+        if (path.startsWith(":")) {
+            return path;
+        }
+        return ":".equals(fromPath) ? ":" + path : fromPath + ":" + path;
+    }
+}
@@ -7,24 +7,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class GradleBuildParser {
     private static final Logger logger = LoggerFactory.getLogger(GradleBuildParser.class);
     
-    // Patterns for extracting project information
-    private static final Pattern GROUP_PATTERN = Pattern.compile("group\\s*=\\s*['\"]([^'\"]+)['\"]");
-    private static final Pattern VERSION_PATTERN = Pattern.compile("version\\s*=\\s*['\"]([^'\"]+)['\"]");
-    private static final Pattern ARTIFACT_PATTERN = Pattern.compile("rootProject\\.name\\s*=\\s*['\"]([^'\"]+)['\"]");
+    // Bump whenever the parse result for an unchanged build script changes, to invalidate cached results
+    public static final int PARSER_VERSION = 4;
     
-    // Patterns for dependencies
-    private static final Pattern DEPENDENCY_PATTERN = Pattern.compile(
-        "(?:implementation|api|compile|compileOnly|runtimeOnly|testImplementation)\\s*" +
-        "(?:\\()?['\"]([^'\"]+)['\"](?:\\))?"
-    );
+    private static final int PARENT_SEARCH_DEPTH = 3;
+    private static final String[] BUILD_FILES = {"build.gradle", "build.gradle.kts"};
+    private static final String[] SETTINGS_FILES = {"settings.gradle", "settings.gradle.kts"};
     
     // Pattern for parsing dependency notation (group:artifact:version)
     private static final Pattern DEPENDENCY_NOTATION = Pattern.compile(
@@ -32,94 +31,61 @@ public class GradleBuildParser {
     );
 
     public Project parse(Path buildFilePath) {
+        return parse(buildFilePath, BuildFileSource.FILE_SYSTEM);
+    }
+
+    /**
+     * Parses a build script read from the given source; settings and parent scripts come from the same source
+     */
+    public Project parse(Path buildFilePath, BuildFileSource source) {
+        return parse(buildFilePath, new GradleScripts(source));
+    }
+
+    /**
+     * Parses a build script, taking it and its settings and parent scripts from the shared memo.
+     * The project is named by the nearest settings script that includes its directory, and
+     * project(':x') dependencies on other projects of that build become regular dependencies.
+     */
+    public Project parse(Path buildFilePath, GradleScripts scripts) {
         try {
-            String content = Files.readString(buildFilePath);
-            
-            // Try to get artifact name from settings.gradle[.kts]
-            String artifactId = findArtifactId(buildFilePath.getParent());
-            
-            // Extract group and version from build file
-            String groupId = extractPattern(content, GROUP_PATTERN, null);
-            String version = extractPattern(content, VERSION_PATTERN, null);
-            
-            // If group/version not found, try parent build.gradle files
-            if (groupId == null || version == null) {
-                Path currentPath = buildFilePath.getParent();
-                
-                // Search up to 3 levels up for parent build files
-                for (int i = 0; i < 3 && (groupId == null || version == null); i++) {
-                    currentPath = currentPath.getParent();
-                    if (currentPath == null) break;
-                    
-                    Path parentBuildFile = currentPath.resolve("build.gradle");
-                    if (!Files.exists(parentBuildFile)) {
-                        parentBuildFile = currentPath.resolve("build.gradle.kts");
-                    }
-                    
-                    if (Files.exists(parentBuildFile)) {
-                        try {
-                            String parentContent = Files.readString(parentBuildFile);
-                            if (groupId == null) {
-                                String foundGroup = extractPattern(parentContent, GROUP_PATTERN, null);
-                                if (foundGroup != null) {
-                                    groupId = foundGroup;
-                                    logger.debug("Found group {} in parent: {}", groupId, parentBuildFile);
-                                }
-                            }
-                            if (version == null) {
-                                String foundVersion = extractPattern(parentContent, VERSION_PATTERN, null);
-                                if (foundVersion != null) {
-                                    version = foundVersion;
-                                    logger.debug("Found version {} in parent: {}", version, parentBuildFile);
-                                }
-                            }
-                        } catch (IOException e) {
-                            logger.debug("Could not read parent build file: " + parentBuildFile);
-                        }
-                    }
-                }
+            GradleScript script = scripts.get(buildFilePath);
+            if (script == null) {
+                throw new NoSuchFileException(buildFilePath.toString());
             }
+            Path projectDir = buildFilePath.getParent();
             
-            // Final defaults
-            if (groupId == null) groupId = "unknown.group";
-            if (version == null) version = "unknown";
-            
-            // If artifact ID not found in settings, use directory name
+            // Name the project after its path in the build; outside any build use the directory name
+            GradleBuild build = findBuild(projectDir, scripts, null);
+            String projectPath = build != null ? build.projectPathOf(projectDir) : null;
+            String artifactId = projectPath != null ? build.projectNameOf(projectPath) : null;
             if (artifactId == null) {
-                artifactId = buildFilePath.getParent().getFileName().toString();
+                artifactId = projectDir.getFileName().toString();
             }
+            
+            // Group and version from the build file, or else from parent build files
+            String[] groupAndVersion = groupAndVersion(projectDir, script, scripts);
 
             Project project = new Project(
-                groupId,
+                groupAndVersion[0],
                 artifactId,
-                version,
-                buildFilePath.getParent(),
+                groupAndVersion[1],
+                projectDir,
                 ProjectType.GRADLE
             );
             
-            // Detect packaging type from plugins
-            if (content.contains("war") || content.contains("'war'") || 
-                content.contains("\"war\"") || content.contains("id 'war'") ||
-                content.contains("id \"war\"") || content.contains("apply plugin: 'war'") ||
-                content.contains("apply plugin: \"war\"")) {
+            // The war plugin, or Spring Boot's bootWar task, produces a WAR; anything else a JAR
+            if (script.getPluginIds().contains("war") || script.referencesBootWar()) {
                 project.setPackaging("war");
-            }
-            // Check for Spring Boot plugin which can create executable JARs
-            else if (content.contains("org.springframework.boot") || 
-                     content.contains("bootJar") || content.contains("bootWar")) {
-                // If bootWar task is used, it's a WAR
-                if (content.contains("bootWar")) {
-                    project.setPackaging("war");
-                } else {
-                    project.setPackaging("jar");
-                }
             } else {
-                // Default to jar if no specific packaging is detected
                 project.setPackaging("jar");
             }
 
             // Parse dependencies
-            parseDependencies(content, project);
+            parseDependencies(script, project);
+            parseCatalogDependencies(script, build, projectDir, scripts, project, null);
+            if (projectPath != null) {
+                parseProjectDependencies(script, build, projectPath, scripts, project, null);
+            }
 
             logger.debug("Parsed Gradle project: {}", project.getFullName());
             return project;
@@ -130,66 +96,212 @@ public class GradleBuildParser {
         }
     }
 
-    private String findArtifactId(Path projectDir) {
-        // Check settings.gradle or settings.gradle.kts
-        Path settingsGradle = projectDir.resolve("settings.gradle");
-        Path settingsGradleKts = projectDir.resolve("settings.gradle.kts");
-        
-        Path settingsFile = Files.exists(settingsGradle) ? settingsGradle : 
-                           (Files.exists(settingsGradleKts) ? settingsGradleKts : null);
+    /**
+     * All files that parse() may read for this build file, whether or not they currently exist:
+     * settings scripts up to the owning build, parent scripts, the version catalogs it references,
+     * and the scripts of projects it depends on
+     */
+    public List<Path> getInputFiles(Path buildFilePath, GradleScripts scripts) {
+        List<Path> inputs = new ArrayList<>();
+        inputs.add(buildFilePath);
+        Path projectDir = buildFilePath.getParent();
+        try {
+            GradleBuild build = findBuild(projectDir, scripts, inputs);
+            GradleScript script = scripts.get(buildFilePath);
+            collectParentInputs(projectDir, inputs);
+            if (script != null) {
+                parseCatalogDependencies(script, build, projectDir, scripts, null, inputs);
+            }
+            String projectPath = build != null ? build.projectPathOf(projectDir) : null;
+            if (script != null && projectPath != null) {
+                parseProjectDependencies(script, build, projectPath, scripts, null, inputs);
+            }
+        } catch (IOException e) {
+            logger.debug("Could not list inputs of {}", buildFilePath, e);
+        }
+        return inputs;
+    }
+
+    /**
+     * The build of the nearest settings script at or above projectDir, or null
+     *
+     * @param inputs collects the settings locations looked at, when not null
+     */
+    private GradleBuild findBuild(Path projectDir, GradleScripts scripts, List<Path> inputs) throws IOException {
+        for (Path dir = projectDir; dir != null; dir = dir.getParent()) {
+            for (String name : SETTINGS_FILES) {
+                Path settingsFile = dir.resolve(name);
+                if (inputs != null) {
+                    inputs.add(settingsFile);
+                }
+                GradleBuild build = scripts.build(settingsFile);
+                if (build != null) {
+                    return build;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Group and version of the project in projectDir, taking what its own script does not set from
+     * up to three parent build files; unset values default to "unknown.group" and "unknown"
+     *
+     * @param script the project's own script, or null when it has none
+     */
+    private String[] groupAndVersion(Path projectDir, GradleScript script, GradleScripts scripts) {
+        String groupId = script != null ? script.getGroup() : null;
+        String version = script != null ? script.getVersion() : null;
         
-        if (settingsFile != null) {
+        // If group/version not found, try parent build.gradle files
+        Path currentPath = projectDir;
+        for (int i = 0; i < PARENT_SEARCH_DEPTH && (groupId == null || version == null); i++) {
+            currentPath = currentPath.getParent();
+            if (currentPath == null) break;
+            
             try {
-                String content = Files.readString(settingsFile);
-                return extractPattern(content, ARTIFACT_PATTERN, null);
+                GradleScript parent = findBuildScript(currentPath, scripts);
+                if (parent == null) {
+                    continue;
+                }
+                if (groupId == null && parent.getGroup() != null) {
+                    groupId = parent.getGroup();
+                    logger.debug("Found group {} in parent: {}", groupId, currentPath);
+                }
+                if (version == null && parent.getVersion() != null) {
+                    version = parent.getVersion();
+                    logger.debug("Found version {} in parent: {}", version, currentPath);
+                }
             } catch (IOException e) {
-                logger.warn("Could not read settings file: " + settingsFile);
+                logger.debug("Could not read parent build file in: " + currentPath);
             }
         }
         
+        // Final defaults
+        return new String[] {
+            groupId != null ? groupId : "unknown.group",
+            version != null ? version : "unknown"
+        };
+    }
+
+    private void collectParentInputs(Path projectDir, List<Path> inputs) {
+        Path currentPath = projectDir;
+        for (int i = 0; i < PARENT_SEARCH_DEPTH; i++) {
+            currentPath = currentPath.getParent();
+            if (currentPath == null) break;
+            for (String name : BUILD_FILES) {
+                inputs.add(currentPath.resolve(name));
+            }
+        }
+    }
+
+    private GradleScript findBuildScript(Path dir, GradleScripts scripts) throws IOException {
+        for (String name : BUILD_FILES) {
+            GradleScript script = scripts.get(dir.resolve(name));
+            if (script != null) {
+                return script;
+            }
+        }
         return null;
     }
 
-    private String extractPattern(String content, Pattern pattern, String defaultValue) {
-        Matcher matcher = pattern.matcher(content);
-        if (matcher.find()) {
-            return matcher.group(1);
+    /**
+     * Adds project(':x') dependencies on projects of the same build to the project, or only collects
+     * the files that resolving them reads into inputs when project is null
+     */
+    private void parseProjectDependencies(GradleScript script, GradleBuild build, String projectPath,
+                                          GradleScripts scripts, Project project, List<Path> inputs) throws IOException {
+        for (String dependencyPath : script.getProjectDependencies()) {
+            Path targetDir = build.projectDirOf(projectPath, dependencyPath);
+            if (targetDir == null) {
+                logger.debug("Project {} referenced from {} is not part of the build in {}",
+                    dependencyPath, projectPath, build.getRootDir());
+                continue;
+            }
+            if (inputs != null) {
+                for (String name : BUILD_FILES) {
+                    inputs.add(targetDir.resolve(name));
+                }
+                collectParentInputs(targetDir, inputs);
+            }
+            if (project != null) {
+                String[] groupAndVersion = groupAndVersion(targetDir, findBuildScript(targetDir, scripts), scripts);
+                project.addDependency(new Dependency(
+                    groupAndVersion[0],
+                    build.projectNameOf(build.projectPathOf(targetDir)),
+                    groupAndVersion[1],
+                    "compile"
+                ));
+            }
         }
-        return defaultValue;
     }
 
-    private void parseDependencies(String content, Project project) {
-        Matcher matcher = DEPENDENCY_PATTERN.matcher(content);
-        
-        while (matcher.find()) {
-            String dependencyNotation = matcher.group(1);
-            
-            // Parse dependency notation (group:artifact:version)
-            Matcher notationMatcher = DEPENDENCY_NOTATION.matcher(dependencyNotation);
-            if (notationMatcher.matches()) {
-                String groupId = notationMatcher.group(1);
-                String artifactId = notationMatcher.group(2);
-                String version = notationMatcher.group(3) != null ? notationMatcher.group(3) : "unknown";
-                
-                // Skip Gradle/Kotlin specific dependencies
-                if (isGradleInternalDependency(groupId)) {
-                    continue;
+    /**
+     * Adds dependencies declared through version catalog accessors like libs.foo.bar, or only collects
+     * the catalog files they read into inputs when project is null. Outside any build only the default
+     * libs catalog next to the project is known.
+     */
+    private void parseCatalogDependencies(GradleScript script, GradleBuild build, Path projectDir,
+                                          GradleScripts scripts, Project project, List<Path> inputs) throws IOException {
+        if (script.getCatalogReferences().isEmpty()) {
+            return;
+        }
+        Map<String, Path> catalogFiles = build != null ? build.getVersionCatalogs()
+            : Map.of("libs", GradleBuild.defaultCatalog(projectDir));
+        for (String reference : script.getCatalogReferences()) {
+            int dot = reference.indexOf('.');
+            Path catalogFile = catalogFiles.get(reference.substring(0, dot));
+            if (catalogFile == null) {
+                continue;
+            }
+            if (inputs != null && !inputs.contains(catalogFile)) {
+                inputs.add(catalogFile);
+            }
+            if (project != null) {
+                VersionCatalog catalog = scripts.catalog(catalogFile);
+                List<String> notations = catalog != null ? catalog.resolve(reference.substring(dot + 1)) : List.of();
+                if (notations.isEmpty()) {
+                    logger.debug("Version catalog reference {} in {} not found in {}", reference, projectDir, catalogFile);
+                }
+                for (String notation : notations) {
+                    addDependency(notation, project);
                 }
-                
-                Dependency dependency = new Dependency(
-                    groupId,
-                    artifactId,
-                    version,
-                    "compile" // Gradle doesn't expose scope in the same way
-                );
-                project.addDependency(dependency);
             }
         }
     }
 
+    private void parseDependencies(GradleScript script, Project project) {
+        for (String dependencyNotation : script.getDependencyNotations()) {
+            addDependency(dependencyNotation, project);
+        }
+    }
+
+    private void addDependency(String dependencyNotation, Project project) {
+        // Parse dependency notation (group:artifact:version)
+        Matcher notationMatcher = DEPENDENCY_NOTATION.matcher(dependencyNotation);
+        if (notationMatcher.matches()) {
+            String groupId = notationMatcher.group(1);
+            String artifactId = notationMatcher.group(2);
+            String version = notationMatcher.group(3) != null ? notationMatcher.group(3) : "unknown";
+            
+            // Skip Gradle/Kotlin specific dependencies
+            if (isGradleInternalDependency(groupId)) {
+                return;
+            }
+            
+            Dependency dependency = new Dependency(
+                groupId,
+                artifactId,
+                version,
+                "compile" // Gradle doesn't expose scope in the same way
+            );
+            project.addDependency(dependency);
+        }
+    }
+
     private boolean isGradleInternalDependency(String groupId) {
         return groupId.startsWith("org.gradle") || 
                groupId.startsWith("org.jetbrains.kotlin") ||
                groupId.equals("kotlin");
     }
-}
\ No newline at end of file
+}
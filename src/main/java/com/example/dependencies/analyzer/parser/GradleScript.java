@@ -0,0 +1,132 @@
+package com.example.dependencies.analyzer.parser;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the analyzer reads from a Groovy or Kotlin DSL build or settings script
+ */
+public final class GradleScript {
+    private final String group;
+    private final String version;
+    private final String rootProjectName;
+    private final List<String> pluginIds;
+    private final List<String> dependencyNotations;
+    private final boolean referencesBootWar;
+    private final List<String> projectDependencies;
+    private final List<String> includes;
+    private final List<String> includedBuilds;
+    private final Map<String, String> projectDirs;
+    private final List<String> catalogReferences;
+    private final Map<String, String> versionCatalogs;
+
+    GradleScript(String group, String version, String rootProjectName, List<String> pluginIds,
+                 List<String> dependencyNotations, boolean referencesBootWar, List<String> projectDependencies,
+                 List<String> includes, List<String> includedBuilds, Map<String, String> projectDirs,
+                 List<String> catalogReferences, Map<String, String> versionCatalogs) {
+        this.group = group;
+        this.version = version;
+        this.rootProjectName = rootProjectName;
+        this.pluginIds = Collections.unmodifiableList(pluginIds);
+        this.dependencyNotations = Collections.unmodifiableList(dependencyNotations);
+        this.referencesBootWar = referencesBootWar;
+        this.projectDependencies = Collections.unmodifiableList(projectDependencies);
+        this.includes = Collections.unmodifiableList(includes);
+        this.includedBuilds = Collections.unmodifiableList(includedBuilds);
+        this.projectDirs = Collections.unmodifiableMap(projectDirs);
+        this.catalogReferences = Collections.unmodifiableList(catalogReferences);
+        this.versionCatalogs = Collections.unmodifiableMap(versionCatalogs);
+    }
+
+    /**
+     * Scans script source in a single pass, ignoring comments and the contents of unrelated strings
+     */
+    public static GradleScript scan(String content) {
+        return new GradleScriptScanner(content).scan();
+    }
+
+    /**
+     * First literal assigned to group or project.group, or null
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * First literal assigned to version or project.version, or null
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * First literal assigned to rootProject.name, or null
+     */
+    public String getRootProjectName() {
+        return rootProjectName;
+    }
+
+    /**
+     * Plugin ids from the plugins block and from apply plugin statements, in declaration order
+     */
+    public List<String> getPluginIds() {
+        return pluginIds;
+    }
+
+    /**
+     * String notations declared on the supported dependency configurations, in declaration order
+     */
+    public List<String> getDependencyNotations() {
+        return dependencyNotations;
+    }
+
+    /**
+     * Whether the script configures Spring Boot's bootWar task
+     */
+    public boolean referencesBootWar() {
+        return referencesBootWar;
+    }
+
+    /**
+     * Project paths of project(':x') dependencies on the supported configurations, as written
+     */
+    public List<String> getProjectDependencies() {
+        return projectDependencies;
+    }
+
+    /**
+     * Project paths passed to include in a settings script, as written
+     */
+    public List<String> getIncludes() {
+        return includes;
+    }
+
+    /**
+     * Directories passed to includeBuild in a settings script, relative to the settings directory
+     */
+    public List<String> getIncludedBuilds() {
+        return includedBuilds;
+    }
+
+    /**
+     * project(':x').projectDir assignments in a settings script: project path to directory, as written
+     */
+    public Map<String, String> getProjectDirs() {
+        return projectDirs;
+    }
+
+    /**
+     * Version catalog accessors like libs.foo.bar or libs.bundles.foo on the supported configurations, as written
+     */
+    public List<String> getCatalogReferences() {
+        return catalogReferences;
+    }
+
+    /**
+     * Catalogs imported with from(files(...)) in a settings script: catalog name to file, as written
+     */
+    public Map<String, String> getVersionCatalogs() {
+        return versionCatalogs;
+    }
+}
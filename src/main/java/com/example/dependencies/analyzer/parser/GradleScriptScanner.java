@@ -0,0 +1,390 @@
+package com.example.dependencies.analyzer.parser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass lexer for Groovy and Kotlin DSL build scripts. Comments are skipped and string
+ * literals become single tokens, so nothing inside them is mistaken for code. Each token is matched
+ * against the few statement shapes the analyzer cares about using a short window of preceding tokens.
+ */
+final class GradleScriptScanner {
+    private static final Set<String> CONFIGURATIONS = Set.of(
+        "implementation", "api", "compile", "compileOnly", "runtimeOnly", "testImplementation");
+
+    private static final int IDENT = 1;
+    private static final int STRING = 2;
+    private static final int NUMBER = 3;
+    private static final int SYMBOL = 4;
+
+    // Settings calls whose string arguments are collected until the statement ends
+    private static final int NO_CALL = 0;
+    private static final int INCLUDE = 1;
+    private static final int INCLUDE_BUILD = 2;
+
+    // Window of the most recent tokens; index 0 is the newest
+    private static final int WINDOW = 5;
+
+    private final String text;
+    private final int length;
+    private int pos;
+
+    private final int[] kinds = new int[WINDOW];
+    private final int[] starts = new int[WINDOW];
+    private final int[] ends = new int[WINDOW];
+    private int newest = -1;
+    private int tokenCount;
+
+    private boolean newLine = true;
+    private int depth;
+    private int pluginsDepth = -1;
+    // A bare identifier in the plugins block (Kotlin accessors like war or `java-library`), pending until the next token
+    private int barePluginStart = -1;
+    private int barePluginEnd;
+    private int settingsCall = NO_CALL;
+    // The last project(':path') reference and the token count at its string, to spot project(...).projectDir = ...
+    private String projectReference;
+    private int projectReferenceToken = -1;
+    private String projectDirTarget;
+    // A catalog accessor like libs.foo.bar after a configuration, extended while '.' and identifiers alternate
+    private StringBuilder catalogReference;
+    private boolean catalogReferenceDot;
+    // Name of the innermost block opened last, naming the catalog of from(files(...)) in versionCatalogs
+    private String blockName;
+
+    private String group;
+    private String version;
+    private String rootProjectName;
+    private final List<String> pluginIds = new ArrayList<>();
+    private final List<String> dependencyNotations = new ArrayList<>();
+    private final List<String> projectDependencies = new ArrayList<>();
+    private final List<String> catalogReferences = new ArrayList<>();
+    private final Map<String, String> versionCatalogs = new LinkedHashMap<>();
+    private final List<String> includes = new ArrayList<>();
+    private final List<String> includedBuilds = new ArrayList<>();
+    private final Map<String, String> projectDirs = new LinkedHashMap<>();
+    private boolean referencesBootWar;
+
+    GradleScriptScanner(String text) {
+        this.text = text;
+        this.length = text.length();
+    }
+
+    GradleScript scan() {
+        while (pos < length) {
+            char c = text.charAt(pos);
+            if (c == '\n') {
+                newLine = true;
+                pos++;
+            } else if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == '/' && pos + 1 < length && text.charAt(pos + 1) == '/') {
+                skipLineComment();
+            } else if (c == '/' && pos + 1 < length && text.charAt(pos + 1) == '*') {
+                skipBlockComment();
+            } else if (c == '\'' || c == '"') {
+                int start = pos;
+                pos = skipString(pos);
+                int quotes = isTripleQuote(start) ? 3 : 1;
+                emit(STRING, start + quotes, Math.max(start + quotes, pos - quotes));
+            } else if (c == '`') {
+                int start = ++pos;
+                while (pos < length && text.charAt(pos) != '`' && text.charAt(pos) != '\n') {
+                    pos++;
+                }
+                emit(IDENT, start, pos);
+                if (pos < length && text.charAt(pos) == '`') {
+                    pos++;
+                }
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = pos++;
+                while (pos < length && Character.isJavaIdentifierPart(text.charAt(pos))) {
+                    pos++;
+                }
+                emit(IDENT, start, pos);
+            } else if (Character.isDigit(c)) {
+                int start = pos++;
+                while (pos < length && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_'
+                        || (text.charAt(pos) == '.' && pos + 1 < length && Character.isDigit(text.charAt(pos + 1))))) {
+                    pos++;
+                }
+                emit(NUMBER, start, pos);
+            } else {
+                int start = pos++;
+                // Keep ==, !=, <=, += and the like apart from a plain assignment
+                if (pos < length && text.charAt(pos) == '=' && "=!<>+-*/%&|^?:".indexOf(c) >= 0) {
+                    pos++;
+                } else if (c == '=' && pos < length && text.charAt(pos) == '~') {
+                    pos++;
+                }
+                emit(SYMBOL, start, pos);
+            }
+        }
+        flushBarePlugin();
+        flushCatalogReference();
+        return new GradleScript(group, version, rootProjectName, pluginIds, dependencyNotations, referencesBootWar,
+            projectDependencies, includes, includedBuilds, projectDirs, catalogReferences, versionCatalogs);
+    }
+
+    private void emit(int kind, int start, int end) {
+        // A line break after a comma, opening parenthesis, assignment or dot continues the statement
+        boolean continued = isSymbol(0, ',') || isSymbol(0, '(') || isSymbol(0, '=') || isSymbol(0, '.');
+        boolean statementStart = (newLine && !continued) || tokenCount == 0
+            || isSymbol(0, '{') || isSymbol(0, '}') || isSymbol(0, ';');
+        newLine = false;
+        if (statementStart) {
+            settingsCall = NO_CALL;
+            projectDirTarget = null;
+        }
+        newest = (newest + 1) % WINDOW;
+        kinds[newest] = kind;
+        starts[newest] = start;
+        ends[newest] = end;
+        tokenCount++;
+
+        if (barePluginStart >= 0) {
+            if (!isSymbol(0, '(') && !isSymbol(0, '.') && !isSymbol(0, '{') && !isSymbol(0, '=') && kind != STRING) {
+                flushBarePlugin();
+            }
+            barePluginStart = -1;
+        }
+
+        if (catalogReference != null) {
+            if (!catalogReferenceDot && isSymbol(0, '.')) {
+                catalogReferenceDot = true;
+                return;
+            } else if (catalogReferenceDot && kind == IDENT) {
+                catalogReference.append('.').append(token(0));
+                catalogReferenceDot = false;
+                return;
+            }
+            flushCatalogReference();
+        }
+
+        if (kind == STRING) {
+            matchString();
+        } else if (kind == IDENT) {
+            if (is(0, IDENT, "bootWar")) {
+                referencesBootWar = true;
+            } else if (statementStart && is(0, IDENT, "include")) {
+                settingsCall = INCLUDE;
+            } else if (statementStart && is(0, IDENT, "includeBuild")) {
+                settingsCall = INCLUDE_BUILD;
+            } else if (is(0, IDENT, "projectDir") && tokenCount == projectReferenceToken + 3
+                    && isSymbol(1, '.') && isSymbol(2, ')')) {
+                projectDirTarget = projectReference;
+            } else if (isConfiguration(1) || (isSymbol(1, '(') && isConfiguration(2))) {
+                // implementation libs.foo or implementation(libs.bundles.foo)
+                catalogReference = new StringBuilder(token(0));
+            }
+            if (statementStart && depth == pluginsDepth) {
+                barePluginStart = start;
+                barePluginEnd = end;
+            }
+        } else if (isSymbol(0, '{')) {
+            // create("libs") { or libs {
+            if (isSymbol(1, ')') && kind(2) == STRING && isSymbol(3, '(') && is(4, IDENT, "create")) {
+                blockName = token(2);
+            } else if (kind(1) == IDENT) {
+                blockName = token(1);
+            }
+            depth++;
+            if (is(1, IDENT, "plugins") && pluginsDepth < 0) {
+                pluginsDepth = depth;
+            }
+        } else if (isSymbol(0, '}')) {
+            if (depth == pluginsDepth) {
+                pluginsDepth = -1;
+            }
+            depth = Math.max(0, depth - 1);
+        }
+    }
+
+    /**
+     * Matches the statement shapes that end in a string literal
+     */
+    private void matchString() {
+        // include 'a', 'b:c' / include("a") / includeBuild("../other")
+        if (settingsCall != NO_CALL && (isSymbol(1, ',') || isSymbol(1, '(') || kind(1) == IDENT)) {
+            (settingsCall == INCLUDE ? includes : includedBuilds).add(token(0));
+        }
+
+        // from(files("gradle/libs.versions.toml")) in a versionCatalogs block
+        if (blockName != null && isSymbol(1, '(') && is(2, IDENT, "files") && isSymbol(3, '(') && is(4, IDENT, "from")) {
+            versionCatalogs.putIfAbsent(blockName, token(0));
+        }
+
+        // project(':x').projectDir = file('dir') or new File(settingsDir, 'dir')
+        if (projectDirTarget != null) {
+            projectDirs.putIfAbsent(projectDirTarget, token(0));
+            projectDirTarget = null;
+        }
+
+        // name = 'value' or qualifier.name = 'value'
+        if (isSymbol(1, '=') && kind(2) == IDENT) {
+            String target = isSymbol(3, '.') && kind(4) == IDENT ? token(4) + "." + token(2) : token(2);
+            switch (target) {
+                case "group":
+                case "project.group":
+                    if (group == null) group = token(0);
+                    break;
+                case "version":
+                case "project.version":
+                    if (version == null) version = token(0);
+                    break;
+                case "rootProject.name":
+                    if (rootProjectName == null) rootProjectName = token(0);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        // Calls like implementation 'g:a:v', implementation("g:a:v") or id("war"); the callee is at 1 or 2
+        int callee = isSymbol(1, '(') ? 2 : 1;
+        if (kind(callee) == IDENT && !isSymbol(callee + 1, '.')) {
+            String name = token(callee);
+            if (CONFIGURATIONS.contains(name)) {
+                dependencyNotations.add(token(0));
+            } else if ("project".equals(name) && callee == 2) {
+                projectReference = token(0);
+                projectReferenceToken = tokenCount;
+                // implementation project(':x') or implementation(project(":x"))
+                if (isConfiguration(3) || (isSymbol(3, '(') && isConfiguration(4))) {
+                    projectDependencies.add(token(0));
+                }
+            } else if (pluginsDepth > 0 && "id".equals(name)) {
+                pluginIds.add(token(0));
+            } else if (pluginsDepth > 0 && "kotlin".equals(name) && callee == 2) {
+                pluginIds.add("org.jetbrains.kotlin." + token(0));
+            }
+        }
+
+        // apply plugin: 'war' or apply(plugin = "war")
+        if ((isSymbol(1, ':') || isSymbol(1, '=')) && is(2, IDENT, "plugin")
+                && (is(3, IDENT, "apply") || (isSymbol(3, '(') && is(4, IDENT, "apply")))) {
+            pluginIds.add(token(0));
+        }
+    }
+
+    private boolean isConfiguration(int back) {
+        return kind(back) == IDENT && CONFIGURATIONS.contains(token(back));
+    }
+
+    private void flushCatalogReference() {
+        if (catalogReference != null) {
+            String reference = catalogReference.toString();
+            // libs.foo.get() in Kotlin DSL is the same reference
+            if (reference.endsWith(".get")) {
+                reference = reference.substring(0, reference.length() - ".get".length());
+            }
+            if (reference.indexOf('.') > 0) {
+                catalogReferences.add(reference);
+            }
+            catalogReference = null;
+            catalogReferenceDot = false;
+        }
+    }
+
+    private void flushBarePlugin() {
+        if (barePluginStart >= 0) {
+            pluginIds.add(text.substring(barePluginStart, barePluginEnd));
+            barePluginStart = -1;
+        }
+    }
+
+    private int kind(int back) {
+        return back < Math.min(tokenCount, WINDOW) ? kinds[slot(back)] : 0;
+    }
+
+    private boolean is(int back, int kind, String value) {
+        if (kind(back) != kind) {
+            return false;
+        }
+        int slot = slot(back);
+        return ends[slot] - starts[slot] == value.length() && text.startsWith(value, starts[slot]);
+    }
+
+    private boolean isSymbol(int back, char symbol) {
+        if (kind(back) != SYMBOL) {
+            return false;
+        }
+        int slot = slot(back);
+        return ends[slot] - starts[slot] == 1 && text.charAt(starts[slot]) == symbol;
+    }
+
+    private String token(int back) {
+        int slot = slot(back);
+        return text.substring(starts[slot], ends[slot]);
+    }
+
+    private int slot(int back) {
+        return (newest - back + WINDOW) % WINDOW;
+    }
+
+    private void skipLineComment() {
+        while (pos < length && text.charAt(pos) != '\n') {
+            pos++;
+        }
+    }
+
+    private void skipBlockComment() {
+        int end = text.indexOf("*/", pos + 2);
+        pos = end < 0 ? length : end + 2;
+    }
+
+    private boolean isTripleQuote(int at) {
+        char quote = text.charAt(at);
+        return at + 2 < length && text.charAt(at + 1) == quote && text.charAt(at + 2) == quote;
+    }
+
+    /**
+     * Returns the position just past the string literal starting at the given quote. Unterminated
+     * single-line strings end at the line break so that one stray quote cannot swallow the script.
+     */
+    private int skipString(int at) {
+        char quote = text.charAt(at);
+        boolean triple = isTripleQuote(at);
+        int p = at + (triple ? 3 : 1);
+        while (p < length) {
+            char c = text.charAt(p);
+            if (c == '\\') {
+                p += 2;
+            } else if (c == quote && (!triple || isTripleQuote(p))) {
+                return p + (triple ? 3 : 1);
+            } else if (c == '\n' && !triple) {
+                return p;
+            } else if (c == '$' && quote == '"' && p + 1 < length && text.charAt(p + 1) == '{') {
+                p = skipInterpolation(p + 2);
+            } else {
+                p++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns the position just past the brace closing a ${...} expression, skipping nested strings
+     */
+    private int skipInterpolation(int at) {
+        int braces = 1;
+        int p = at;
+        while (p < length) {
+            char c = text.charAt(p);
+            if (c == '\'' || c == '"') {
+                p = skipString(p);
+                continue;
+            }
+            if (c == '{') {
+                braces++;
+            } else if (c == '}' && --braces == 0) {
+                return p + 1;
+            }
+            p++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.dependencies.analyzer.parser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scanned Gradle scripts, settings models and version catalogs of one build file source, memoized by
+ * path. Sibling modules share their parent, root and settings scripts and their catalogs, and builds
+ * may share a catalog file, so one instance should span all modules parsed in a run; a new run needs
+ * a new instance to see edited files. Safe for concurrent use.
+ */
+public final class GradleScripts {
+    private static final Logger logger = LoggerFactory.getLogger(GradleScripts.class);
+
+    private final BuildFileSource source;
+    private final Map<Path, Optional<GradleScript>> scripts = new ConcurrentHashMap<>();
+    private final Map<Path, GradleBuild> builds = new ConcurrentHashMap<>();
+    private final Map<Path, Optional<VersionCatalog>> catalogs = new ConcurrentHashMap<>();
+
+    public GradleScripts(BuildFileSource source) {
+        this.source = source;
+    }
+
+    public BuildFileSource getSource() {
+        return source;
+    }
+
+    /**
+     * The scanned script at the given path, or null when there is no such file
+     */
+    public GradleScript get(Path file) throws IOException {
+        try {
+            return scripts.computeIfAbsent(file, this::load).orElse(null);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The build declared by a settings script, or null when there is no such file
+     */
+    public GradleBuild build(Path settingsFile) throws IOException {
+        GradleBuild build = builds.get(settingsFile);
+        if (build == null) {
+            GradleScript settings = get(settingsFile);
+            if (settings == null) {
+                return null;
+            }
+            build = builds.computeIfAbsent(settingsFile, file -> GradleBuild.of(file.getParent(), settings));
+        }
+        return build;
+    }
+
+    /**
+     * The version catalog in the given TOML file, or null when there is no such file. A malformed
+     * catalog is logged and read as empty, leaving its references unresolved.
+     */
+    public VersionCatalog catalog(Path catalogFile) throws IOException {
+        try {
+            return catalogs.computeIfAbsent(catalogFile, this::loadCatalog).orElse(null);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Optional<VersionCatalog> loadCatalog(Path file) {
+        if (!source.exists(file)) {
+            return Optional.empty();
+        }
+        String content;
+        try {
+            content = source.readString(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            return Optional.of(VersionCatalog.parse(content));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring malformed version catalog {}: {}", file, e.getMessage());
+            return Optional.of(VersionCatalog.EMPTY);
+        }
+    }
+
+    private Optional<GradleScript> load(Path file) {
+        if (!source.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(GradleScript.scan(source.readString(file)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -8,92 +8,150 @@ import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.util.Properties;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 public class MavenPomParser {
     private static final Logger logger = LoggerFactory.getLogger(MavenPomParser.class);
+    
+    // Bump whenever the parse result for an unchanged pom.xml changes, to invalidate cached results
+    public static final int PARSER_VERSION = 6;
+
+    public enum PomReader {
+        /** MavenXpp3Reader building the complete maven-model */
+        FULL,
+        /** StAX reader pulling only what the analyzer uses */
+        STREAMING
+    }
+
+    private final PomReader pomReader;
+
+    public MavenPomParser() {
+        this(PomReader.FULL);
+    }
+
+    public MavenPomParser(PomReader pomReader) {
+        this.pomReader = pomReader;
+    }
+
+    /**
+     * Creates a parser whose POM reader is chosen by the analyzer.maven.pom-reader system property
+     */
+    public static MavenPomParser fromSystemProperties() {
+        String reader = System.getProperty("analyzer.maven.pom-reader", "full");
+        return new MavenPomParser(PomReader.valueOf(reader.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Creates the parent and property resolution memo for one parse run over a source
+     *
+     * @param pomFiles POM files of the run, searched by GAV for imported BOMs and for parents that relativePath does not locate
+     */
+    public PomModels newModels(BuildFileSource source, Collection<Path> pomFiles) {
+        return new PomModels(source, this::readModel, pomFiles);
+    }
 
     public Project parse(Path pomPath) {
-        try (FileReader reader = new FileReader(pomPath.toFile())) {
-            MavenXpp3Reader mavenReader = new MavenXpp3Reader();
-            Model model = mavenReader.read(reader);
-
-            // Handle parent POM values
-            String groupId = model.getGroupId();
-            String version = model.getVersion();
-            
-            if (groupId == null && model.getParent() != null) {
-                groupId = model.getParent().getGroupId();
-            }
-            if (version == null && model.getParent() != null) {
-                version = model.getParent().getVersion();
-            }
+        return parse(pomPath, BuildFileSource.FILE_SYSTEM);
+    }
 
-            Project project = new Project(
-                groupId,
-                model.getArtifactId(),
-                version,
-                pomPath.getParent(),
-                ProjectType.MAVEN
-            );
-            
-            // Set packaging type (default is jar if not specified)
-            String packaging = model.getPackaging();
-            if (packaging != null && !packaging.isEmpty()) {
-                project.setPackaging(packaging);
-            } else {
-                project.setPackaging("jar"); // Default to jar
-            }
+    public Project parse(Path pomPath, BuildFileSource source) {
+        return parse(pomPath, newModels(source, List.of()));
+    }
 
-            // Parse dependencies
-            if (model.getDependencies() != null) {
-                for (org.apache.maven.model.Dependency dep : model.getDependencies()) {
-                    String depVersion = resolveVersion(dep.getVersion(), model);
-                    Dependency dependency = new Dependency(
-                        dep.getGroupId(),
-                        dep.getArtifactId(),
-                        depVersion,
-                        dep.getScope() != null ? dep.getScope() : "compile"
-                    );
-                    project.addDependency(dependency);
-                }
+    /**
+     * Parses a POM with properties and dependencyManagement inherited from its parents and imported BOMs,
+     * resolved through the memo
+     */
+    public Project parse(Path pomPath, PomModels models) {
+        EffectivePom pom;
+        try {
+            if (models.model(pomPath) == null) {
+                throw new NoSuchFileException(pomPath.toString());
             }
+            pom = models.effective(pomPath);
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Error reading POM file: " + pomPath, e);
+            throw new RuntimeException("Failed to read POM file: " + pomPath, e);
+        } catch (RuntimeException e) {
+            logger.error("Error parsing POM file: " + pomPath, e);
+            throw new RuntimeException("Failed to parse POM file: " + pomPath, e);
+        }
+        return toProject(pomPath, pom);
+    }
 
-            logger.debug("Parsed Maven project: {}", project.getFullName());
-            return project;
-
+    /**
+     * Parses POM content read from any source; pomPath only determines the project location.
+     * Without a source to look parents and BOMs up in, only the POM's own properties are resolved.
+     */
+    public Project parse(Path pomPath, InputStream content) {
+        try {
+            return toProject(pomPath, new EffectivePom(readModel(content), null, List.of(pomPath), Set.of(), gav -> null));
         } catch (Exception e) {
             logger.error("Error parsing POM file: " + pomPath, e);
             throw new RuntimeException("Failed to parse POM file: " + pomPath, e);
         }
     }
 
-    private String resolveVersion(String version, Model model) {
-        if (version == null) {
-            return "unknown";
-        }
+    /**
+     * All files the parse result depends on: the POM, its parents and BOMs, and parent locations it tried
+     */
+    public List<Path> getInputFiles(Path pomPath, PomModels models) {
+        return models.effective(pomPath).getInputFiles();
+    }
+
+    /**
+     * Parent and BOM GAVs the parse result looked up among the run's POMs without finding them;
+     * the result changes if one of them is added to the workspace
+     */
+    public Set<String> getUnresolvedReferences(Path pomPath, PomModels models) {
+        return models.effective(pomPath).getUnresolvedGavs();
+    }
+
+    private Model readModel(InputStream content) throws Exception {
+        // Reading bytes lets the XML prolog decide the encoding
+        return pomReader == PomReader.STREAMING
+            ? StreamingPomReader.read(content)
+            : new MavenXpp3Reader().read(content);
+    }
+
+    private Project toProject(Path pomPath, EffectivePom pom) {
+        Model model = pom.getModel();
+        Project project = new Project(
+            pom.getGroupId(),
+            pom.getArtifactId(),
+            pom.getVersion(),
+            pomPath.getParent(),
+            ProjectType.MAVEN
+        );
         
-        // Handle property placeholders like ${project.version}
-        if (version.startsWith("${") && version.endsWith("}")) {
-            String propertyName = version.substring(2, version.length() - 1);
-            
-            // Check common properties
-            if ("project.version".equals(propertyName) || "version".equals(propertyName)) {
-                return model.getVersion() != null ? model.getVersion() : 
-                       (model.getParent() != null ? model.getParent().getVersion() : "unknown");
-            }
-            
-            // Check properties section
-            Properties properties = model.getProperties();
-            if (properties != null && properties.containsKey(propertyName)) {
-                return properties.getProperty(propertyName);
-            }
-            
-            return version; // Return as-is if can't resolve
+        // Set packaging type (default is jar if not specified)
+        String packaging = model.getPackaging();
+        if (packaging != null && !packaging.isEmpty()) {
+            project.setPackaging(packaging);
+        } else {
+            project.setPackaging("jar"); // Default to jar
         }
-        
-        return version;
+
+        // Parse dependencies
+        for (org.apache.maven.model.Dependency dep : model.getDependencies()) {
+            Dependency dependency = new Dependency(
+                pom.interpolate(dep.getGroupId()),
+                pom.interpolate(dep.getArtifactId()),
+                pom.resolveVersion(dep),
+                dep.getScope() != null ? dep.getScope() : "compile"
+            );
+            project.addDependency(dependency);
+        }
+
+        logger.debug("Parsed Maven project: {}", project.getFullName());
+        return project;
     }
-}
\ No newline at end of file
+}
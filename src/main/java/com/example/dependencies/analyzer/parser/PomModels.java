@@ -0,0 +1,246 @@
+package com.example.dependencies.analyzer.parser;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read and effective POM models of one build file source, memoized by path so that a parent or BOM
+ * shared by many modules is read and resolved once. Parents are found through relativePath first and
+ * then by GAV among the POM files given at construction; imported BOMs by GAV only. The GAV index is
+ * built on first use from the coordinates of each file, without keeping their models. One instance
+ * should span a whole parse run; a new run needs a new instance to see edited files. Safe for
+ * concurrent use.
+ */
+public final class PomModels {
+    private static final Logger logger = LoggerFactory.getLogger(PomModels.class);
+
+    private static final int MAX_PARENT_DEPTH = 32;
+
+    @FunctionalInterface
+    interface ModelReader {
+        Model read(InputStream content) throws Exception;
+    }
+
+    private final BuildFileSource source;
+    private final ModelReader reader;
+    private final List<Path> pomFiles;
+    private final Map<Path, Optional<Model>> models = new ConcurrentHashMap<>();
+    private final Map<Path, EffectivePom> effective = new ConcurrentHashMap<>();
+    // GAV -> position in pomFiles of the first POM with that GAV
+    private final Map<String, Integer> pomsByGav = new ConcurrentHashMap<>();
+    private final AtomicInteger nextToIndex = new AtomicInteger();
+    private final CountDownLatch unindexed;
+
+    PomModels(BuildFileSource source, ModelReader reader, Collection<Path> pomFiles) {
+        this.source = source;
+        this.reader = reader;
+        this.pomFiles = List.copyOf(pomFiles);
+        this.unindexed = new CountDownLatch(this.pomFiles.size());
+    }
+
+    public BuildFileSource getSource() {
+        return source;
+    }
+
+    /**
+     * The POM at the given path as read, or null when there is no such file
+     *
+     * @throws UncheckedIOException when the file cannot be read
+     * @throws IllegalArgumentException when the file is not a readable POM
+     */
+    Model model(Path pomFile) {
+        return models.computeIfAbsent(pomFile, this::load).orElse(null);
+    }
+
+    /**
+     * The effective model of an existing POM; unresolvable parents are left out of the chain
+     */
+    EffectivePom effective(Path pomFile) {
+        return effective(pomFile, Objects.requireNonNull(model(pomFile), pomFile::toString), 0);
+    }
+
+    private EffectivePom effective(Path pomFile, Model model, int depth) {
+        // Not computeIfAbsent: resolving the parent recurses into this map
+        EffectivePom known = effective.get(pomFile);
+        if (known != null) {
+            return known;
+        }
+
+        List<Path> inputs = new ArrayList<>();
+        inputs.add(pomFile);
+        Set<String> unresolved = new LinkedHashSet<>();
+        EffectivePom parent = null;
+        Parent parentRef = model.getParent();
+        if (parentRef != null) {
+            if (depth >= MAX_PARENT_DEPTH) {
+                logger.warn("Parent chain of {} is deeper than {} POMs, possibly circular; ignoring further parents",
+                    pomFile, MAX_PARENT_DEPTH);
+            } else {
+                Path parentFile = locateParent(pomFile, parentRef, inputs, unresolved);
+                if (parentFile != null) {
+                    parent = effective(parentFile, model(parentFile), depth + 1);
+                }
+            }
+        }
+
+        EffectivePom result = new EffectivePom(model, parent, inputs, unresolved,
+            gav -> importedBom(pomFile, gav, depth + 1));
+        EffectivePom raced = effective.putIfAbsent(pomFile, result);
+        return raced != null ? raced : result;
+    }
+
+    private EffectivePom importedBom(Path importer, String gav, int depth) {
+        Path bomFile = pomByGav(gav);
+        if (bomFile == null || bomFile.equals(importer)) {
+            logger.debug("BOM {} imported by {} not found among the analyzed POMs", gav, importer);
+            return null;
+        }
+        if (depth >= MAX_PARENT_DEPTH) {
+            logger.warn("BOM imports of {} nest deeper than {} POMs, possibly circular; ignoring {}",
+                importer, MAX_PARENT_DEPTH, gav);
+            return null;
+        }
+        Model bom = readQuietly(bomFile);
+        return bom != null ? effective(bomFile, bom, depth) : null;
+    }
+
+    /**
+     * Finds the parent's POM file. A relativePath location that is not the parent is still added to inputs,
+     * and a GAV not found among the run's POMs to unresolved, since creating or fixing either would change the result.
+     */
+    private Path locateParent(Path pomFile, Parent parentRef, List<Path> inputs, Set<String> unresolved) {
+        String relativePath = parentRef.getRelativePath();
+        if (relativePath != null && !relativePath.isEmpty()) {
+            Path candidate = pomFile.getParent().resolve(relativePath).normalize();
+            if (!relativePath.endsWith(".xml")) {
+                candidate = candidate.resolve("pom.xml");
+            }
+            if (!candidate.equals(pomFile)) {
+                Model candidateModel = readQuietly(candidate);
+                if (candidateModel != null && isParent(candidateModel, parentRef)) {
+                    return candidate;
+                }
+                inputs.add(candidate);
+            }
+        }
+
+        String parentGav = gav(parentRef.getGroupId(), parentRef.getArtifactId(), parentRef.getVersion());
+        Path byGav = pomByGav(parentGav);
+        if (byGav != null && !byGav.equals(pomFile) && readQuietly(byGav) != null) {
+            return byGav;
+        }
+        unresolved.add(parentGav);
+        logger.debug("Parent {}:{}:{} of {} not found among the analyzed POMs",
+            parentRef.getGroupId(), parentRef.getArtifactId(), parentRef.getVersion(), pomFile);
+        return null;
+    }
+
+    private boolean isParent(Model candidate, Parent parentRef) {
+        return Objects.equals(groupIdOf(candidate), parentRef.getGroupId())
+            && Objects.equals(candidate.getArtifactId(), parentRef.getArtifactId());
+    }
+
+    private Path pomByGav(String gav) {
+        if (unindexed.getCount() > 0) {
+            index();
+        }
+        Integer position = pomsByGav.get(gav);
+        return position != null ? pomFiles.get(position) : null;
+    }
+
+    /**
+     * Every thread that needs the index reads the coordinates of POMs no other thread has claimed
+     * yet and then waits for the ones still being read, so the parser threads build it together
+     */
+    private void index() {
+        for (int i = nextToIndex.getAndIncrement(); i < pomFiles.size(); i = nextToIndex.getAndIncrement()) {
+            try {
+                String gav = readGav(pomFiles.get(i));
+                if (gav != null) {
+                    pomsByGav.merge(gav, i, Math::min);
+                }
+            } finally {
+                unindexed.countDown();
+            }
+        }
+        try {
+            unindexed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while indexing POMs by GAV", e);
+        }
+    }
+
+    private String readGav(Path pomFile) {
+        Optional<Model> known = models.get(pomFile);
+        Model model = known != null ? known.orElse(null) : readCoordinates(pomFile);
+        return model != null ? gav(groupIdOf(model), model.getArtifactId(), versionOf(model)) : null;
+    }
+
+    private Model readCoordinates(Path pomFile) {
+        try (InputStream content = source.open(pomFile)) {
+            return StreamingPomReader.readCoordinates(content);
+        } catch (Exception e) {
+            logger.debug("Could not read POM {} while indexing by GAV", pomFile, e);
+            return null;
+        }
+    }
+
+    private Model readQuietly(Path pomFile) {
+        try {
+            return model(pomFile);
+        } catch (RuntimeException e) {
+            logger.debug("Could not read POM {} while resolving parents", pomFile, e);
+            return null;
+        }
+    }
+
+    private Optional<Model> load(Path pomFile) {
+        if (!source.exists(pomFile)) {
+            return Optional.empty();
+        }
+        InputStream content;
+        try {
+            content = source.open(pomFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (content) {
+            return Optional.of(reader.read(content));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Not a readable POM: " + pomFile, e);
+        }
+    }
+
+    private static String groupIdOf(Model model) {
+        return model.getGroupId() != null ? model.getGroupId()
+            : (model.getParent() != null ? model.getParent().getGroupId() : null);
+    }
+
+    private static String versionOf(Model model) {
+        return model.getVersion() != null ? model.getVersion()
+            : (model.getParent() != null ? model.getParent().getVersion() : null);
+    }
+
+    private static String gav(String groupId, String artifactId, String version) {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+}
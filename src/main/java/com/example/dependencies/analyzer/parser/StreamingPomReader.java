@@ -0,0 +1,222 @@
+package com.example.dependencies.analyzer.parser;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Pull-parses only the parts of a POM the analyzer uses: coordinates, parent, packaging, properties,
+ * dependencies and dependencyManagement. Everything else (build, reporting, profiles, ...)
+ * is skipped without building model objects. Values are trimmed the same way MavenXpp3Reader does.
+ */
+final class StreamingPomReader {
+    private static final XMLInputFactory factory = createFactory();
+
+    private StreamingPomReader() {
+    }
+
+    /**
+     * Reads bytes so that a byte order mark or the XML prolog decides the encoding
+     */
+    static Model read(InputStream content) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(content);
+        try {
+            reader.nextTag();
+            if (!"project".equals(reader.getLocalName())) {
+                throw new XMLStreamException("Expected root element 'project' but found '"
+                    + reader.getLocalName() + "'", reader.getLocation());
+            }
+            Model model = new Model();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "groupId":
+                        model.setGroupId(text(reader));
+                        break;
+                    case "artifactId":
+                        model.setArtifactId(text(reader));
+                        break;
+                    case "version":
+                        model.setVersion(text(reader));
+                        break;
+                    case "packaging":
+                        model.setPackaging(text(reader));
+                        break;
+                    case "parent":
+                        model.setParent(readParent(reader));
+                        break;
+                    case "properties":
+                        readProperties(reader, model);
+                        break;
+                    case "dependencies":
+                        readDependencies(reader, model.getDependencies());
+                        break;
+                    case "dependencyManagement":
+                        model.setDependencyManagement(readDependencyManagement(reader));
+                        break;
+                    default:
+                        skip(reader);
+                }
+            }
+            return model;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads only the coordinates and the parent, e.g. to index POMs by GAV without keeping their models
+     */
+    static Model readCoordinates(InputStream content) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(content);
+        try {
+            reader.nextTag();
+            if (!"project".equals(reader.getLocalName())) {
+                throw new XMLStreamException("Expected root element 'project' but found '"
+                    + reader.getLocalName() + "'", reader.getLocation());
+            }
+            Model model = new Model();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "groupId":
+                        model.setGroupId(text(reader));
+                        break;
+                    case "artifactId":
+                        model.setArtifactId(text(reader));
+                        break;
+                    case "version":
+                        model.setVersion(text(reader));
+                        break;
+                    case "parent":
+                        model.setParent(readParent(reader));
+                        break;
+                    default:
+                        skip(reader);
+                }
+            }
+            return model;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static Parent readParent(XMLStreamReader reader) throws XMLStreamException {
+        Parent parent = new Parent();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "groupId":
+                    parent.setGroupId(text(reader));
+                    break;
+                case "artifactId":
+                    parent.setArtifactId(text(reader));
+                    break;
+                case "version":
+                    parent.setVersion(text(reader));
+                    break;
+                case "relativePath":
+                    parent.setRelativePath(text(reader));
+                    break;
+                default:
+                    skip(reader);
+            }
+        }
+        return parent;
+    }
+
+    private static void readProperties(XMLStreamReader reader, Model model) throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String key = reader.getLocalName();
+            model.addProperty(key, text(reader));
+        }
+    }
+
+    private static DependencyManagement readDependencyManagement(XMLStreamReader reader) throws XMLStreamException {
+        DependencyManagement management = new DependencyManagement();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("dependencies".equals(reader.getLocalName())) {
+                readDependencies(reader, management.getDependencies());
+            } else {
+                skip(reader);
+            }
+        }
+        return management;
+    }
+
+    private static void readDependencies(XMLStreamReader reader, List<Dependency> dependencies) throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("dependency".equals(reader.getLocalName())) {
+                dependencies.add(readDependency(reader));
+            } else {
+                skip(reader);
+            }
+        }
+    }
+
+    private static Dependency readDependency(XMLStreamReader reader) throws XMLStreamException {
+        Dependency dependency = new Dependency();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "groupId":
+                    dependency.setGroupId(text(reader));
+                    break;
+                case "artifactId":
+                    dependency.setArtifactId(text(reader));
+                    break;
+                case "version":
+                    dependency.setVersion(text(reader));
+                    break;
+                case "type":
+                    dependency.setType(text(reader));
+                    break;
+                case "classifier":
+                    dependency.setClassifier(text(reader));
+                    break;
+                case "scope":
+                    dependency.setScope(text(reader));
+                    break;
+                case "optional":
+                    dependency.setOptional(text(reader));
+                    break;
+                default:
+                    // exclusions and anything unknown
+                    skip(reader);
+            }
+        }
+        return dependency;
+    }
+
+    private static String text(XMLStreamReader reader) throws XMLStreamException {
+        return reader.getElementText().trim();
+    }
+
+    /**
+     * Moves past the end of the current element, ignoring its content
+     */
+    private static void skip(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // POMs never need a DTD; refusing them also rules out external entity expansion
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.dependencies.analyzer.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The libraries and bundles of a Gradle version catalog (libs.versions.toml), keyed by the accessor
+ * a build script uses: "spring-boot-starter" is reached as libs.spring.boot.starter, so aliases are
+ * stored with '-' and '_' replaced by '.'. Version references are resolved when the catalog is read.
+ */
+public final class VersionCatalog {
+    static final VersionCatalog EMPTY = new VersionCatalog(Map.of(), Map.of());
+
+    // Accessor path -> group:artifact[:version]
+    private final Map<String, String> libraries;
+    // Accessor path below "bundles." -> notations of its libraries
+    private final Map<String, List<String>> bundles;
+
+    private VersionCatalog(Map<String, String> libraries, Map<String, List<String>> bundles) {
+        this.libraries = libraries;
+        this.bundles = bundles;
+    }
+
+    /**
+     * Reads a catalog. Entries that name no module are skipped.
+     *
+     * @throws IllegalArgumentException when the content is not valid TOML
+     */
+    public static VersionCatalog parse(String toml) {
+        Map<String, Object> document = new TomlReader(toml).read();
+
+        Map<String, String> versions = new HashMap<>();
+        table(document, "versions").forEach((alias, value) -> {
+            String version = version(value, Map.of());
+            if (version != null) {
+                versions.put(alias, version);
+            }
+        });
+
+        Map<String, String> libraries = new LinkedHashMap<>();
+        Map<String, String> byAlias = new HashMap<>();
+        table(document, "libraries").forEach((alias, value) -> {
+            String notation = library(value, versions);
+            if (notation != null) {
+                libraries.put(accessor(alias), notation);
+                byAlias.put(alias, notation);
+            }
+        });
+
+        Map<String, List<String>> bundles = new LinkedHashMap<>();
+        table(document, "bundles").forEach((alias, value) -> {
+            if (value instanceof List) {
+                List<String> notations = new ArrayList<>();
+                for (Object member : (List<?>) value) {
+                    String notation = byAlias.get(String.valueOf(member));
+                    if (notation != null) {
+                        notations.add(notation);
+                    }
+                }
+                bundles.put(accessor(alias), Collections.unmodifiableList(notations));
+            }
+        });
+        return new VersionCatalog(Collections.unmodifiableMap(libraries), Collections.unmodifiableMap(bundles));
+    }
+
+    /**
+     * Dependency notations an accessor below the catalog name refers to, such as "spring.boot.starter"
+     * or "bundles.spring"; empty for plugins, versions and unknown aliases
+     */
+    public List<String> resolve(String accessor) {
+        if (accessor.startsWith("bundles.")) {
+            return bundles.getOrDefault(accessor.substring("bundles.".length()), List.of());
+        }
+        String notation = libraries.get(accessor);
+        return notation != null ? List.of(notation) : List.of();
+    }
+
+    /**
+     * group:artifact[:version] of a library entry, written as a string or as a table with module or
+     * group and name, and a version string, version.ref or rich version
+     */
+    private static String library(Object value, Map<String, String> versions) {
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> entry = (Map<?, ?>) value;
+        String module = entry.get("module") instanceof String ? (String) entry.get("module") : null;
+        if (module == null && entry.get("group") instanceof String && entry.get("name") instanceof String) {
+            module = entry.get("group") + ":" + entry.get("name");
+        }
+        if (module == null) {
+            return null;
+        }
+        String version = version(entry.get("version"), versions);
+        return version != null ? module + ":" + version : module;
+    }
+
+    /**
+     * A version string, a { ref = ... } reference into the versions table, or the strictest part of a rich version
+     */
+    private static String version(Object value, Map<String, String> versions) {
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> rich = (Map<?, ?>) value;
+        if (rich.get("ref") instanceof String) {
+            return versions.get(rich.get("ref"));
+        }
+        for (String key : new String[] {"strictly", "require", "prefer"}) {
+            if (rich.get(key) instanceof String) {
+                return (String) rich.get(key);
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> table(Map<String, Object> document, String name) {
+        Object table = document.get(name);
+        return table instanceof Map ? (Map<String, Object>) table : Map.of();
+    }
+
+    private static String accessor(String alias) {
+        return alias.replace('-', '.').replace('_', '.');
+    }
+
+    /**
+     * Reads the subset of TOML that version catalogs use: tables, dotted and quoted keys, strings,
+     * arrays and inline tables. Numbers, booleans and dates are kept as their literal text.
+     */
+    private static final class TomlReader {
+        private final String text;
+        private int pos;
+
+        TomlReader(String text) {
+            this.text = text;
+        }
+
+        Map<String, Object> read() {
+            Map<String, Object> root = new LinkedHashMap<>();
+            Map<String, Object> table = root;
+            while (skipBlankLines()) {
+                if (text.charAt(pos) == '[') {
+                    boolean arrayTable = text.startsWith("[[", pos);
+                    pos += arrayTable ? 2 : 1;
+                    List<String> key = key();
+                    expect(']');
+                    if (arrayTable) {
+                        expect(']');
+                    }
+                    // Catalogs have no arrays of tables; their entries are read and dropped
+                    table = arrayTable ? new LinkedHashMap<>() : subTable(root, key, key.size());
+                } else {
+                    List<String> key = key();
+                    expect('=');
+                    subTable(table, key, key.size() - 1).put(key.get(key.size() - 1), value());
+                }
+                skipSpaces();
+                if (pos < text.length() && text.charAt(pos) != '\n' && text.charAt(pos) != '\r') {
+                    throw error("Expected end of line");
+                }
+            }
+            return root;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> subTable(Map<String, Object> table, List<String> key, int segments) {
+            Map<String, Object> current = table;
+            for (int i = 0; i < segments; i++) {
+                Object next = current.computeIfAbsent(key.get(i), k -> new LinkedHashMap<String, Object>());
+                if (!(next instanceof Map)) {
+                    throw error("Key " + String.join(".", key) + " is already defined as a value");
+                }
+                current = (Map<String, Object>) next;
+            }
+            return current;
+        }
+
+        private List<String> key() {
+            List<String> segments = new ArrayList<>();
+            do {
+                skipSpaces();
+                char c = peek();
+                if (c == '"' || c == '\'') {
+                    segments.add(string());
+                } else {
+                    int start = pos;
+                    while (pos < text.length() && isBareKeyChar(text.charAt(pos))) {
+                        pos++;
+                    }
+                    if (start == pos) {
+                        throw error("Expected a key");
+                    }
+                    segments.add(text.substring(start, pos));
+                }
+                skipSpaces();
+            } while (consume('.'));
+            return segments;
+        }
+
+        private Object value() {
+            skipSpaces();
+            char c = peek();
+            if (c == '"' || c == '\'') {
+                return string();
+            }
+            if (c == '[') {
+                pos++;
+                List<Object> array = new ArrayList<>();
+                while (true) {
+                    skipBlankLines();
+                    if (consume(']')) {
+                        return array;
+                    }
+                    array.add(value());
+                    skipBlankLines();
+                    if (!consume(',')) {
+                        skipBlankLines();
+                        expect(']');
+                        return array;
+                    }
+                }
+            }
+            if (c == '{') {
+                pos++;
+                Map<String, Object> inline = new LinkedHashMap<>();
+                skipSpaces();
+                if (consume('}')) {
+                    return inline;
+                }
+                do {
+                    List<String> key = key();
+                    expect('=');
+                    subTable(inline, key, key.size() - 1).put(key.get(key.size() - 1), value());
+                    skipSpaces();
+                } while (consume(','));
+                expect('}');
+                return inline;
+            }
+            int start = pos;
+            while (pos < text.length() && ",]}#\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos).trim();
+            if (literal.isEmpty()) {
+                throw error("Expected a value");
+            }
+            return literal;
+        }
+
+        private String string() {
+            char quote = text.charAt(pos);
+            boolean multiLine = text.startsWith(String.valueOf(quote).repeat(3), pos);
+            pos += multiLine ? 3 : 1;
+            if (multiLine && text.startsWith("\n", pos)) {
+                pos++;
+            }
+            StringBuilder value = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (multiLine ? text.startsWith(String.valueOf(quote).repeat(3), pos) : c == quote) {
+                    pos += multiLine ? 3 : 1;
+                    return value.toString();
+                }
+                if (c == '\n' && !multiLine) {
+                    break;
+                }
+                if (c == '\\' && quote == '"' && pos + 1 < text.length()) {
+                    char escaped = text.charAt(++pos);
+                    switch (escaped) {
+                        case 'n': value.append('\n'); break;
+                        case 't': value.append('\t'); break;
+                        case 'r': value.append('\r'); break;
+                        case 'u':
+                            if (pos + 4 >= text.length()) {
+                                throw error("Truncated unicode escape");
+                            }
+                            value.append((char) Integer.parseInt(text.substring(pos + 1, pos + 5), 16));
+                            pos += 4;
+                            break;
+                        default: value.append(escaped); break;
+                    }
+                } else {
+                    value.append(c);
+                }
+                pos++;
+            }
+            throw error("Unterminated string");
+        }
+
+        /**
+         * Skips whitespace, line breaks and comments; returns whether any content is left
+         */
+        private boolean skipBlankLines() {
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c == '#') {
+                    while (pos < text.length() && text.charAt(pos) != '\n') {
+                        pos++;
+                    }
+                } else if (Character.isWhitespace(c)) {
+                    pos++;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && (text.charAt(pos) == ' ' || text.charAt(pos) == '\t')) {
+                pos++;
+            }
+            if (pos < text.length() && text.charAt(pos) == '#') {
+                while (pos < text.length() && text.charAt(pos) != '\n') {
+                    pos++;
+                }
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw error("Unexpected end of file");
+            }
+            return text.charAt(pos);
+        }
+
+        private boolean consume(char c) {
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            skipSpaces();
+            if (!consume(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        private static boolean isBareKeyChar(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+        }
+
+        private IllegalArgumentException error(String message) {
+            int line = 1;
+            for (int i = 0; i < Math.min(pos, text.length()); i++) {
+                if (text.charAt(i) == '\n') {
+                    line++;
+                }
+            }
+            return new IllegalArgumentException(message + " at line " + line);
+        }
+    }
+}
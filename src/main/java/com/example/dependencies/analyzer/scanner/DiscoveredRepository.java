@@ -0,0 +1,87 @@
+package com.example.dependencies.analyzer.scanner;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A repository root found by the crawler together with the build files that belong to it.
+ * Bare repositories have no working tree, so their build files are listed from the object database
+ * at parse time instead.
+ */
+public class DiscoveredRepository {
+    private final Path root;
+    private final boolean bare;
+    private final List<Path> pomFiles = new ArrayList<>();
+    private final List<Path> gradleFiles = new ArrayList<>();
+    private final List<Path> settingsFiles = new ArrayList<>();
+
+    public DiscoveredRepository(Path root) {
+        this(root, false);
+    }
+
+    public DiscoveredRepository(Path root, boolean bare) {
+        this.root = root;
+        this.bare = bare;
+    }
+
+    void addPomFile(Path pomFile) {
+        pomFiles.add(pomFile);
+    }
+
+    void addGradleFile(Path gradleFile) {
+        gradleFiles.add(gradleFile);
+    }
+
+    void addSettingsFile(Path settingsFile) {
+        settingsFiles.add(settingsFile);
+    }
+
+    void addAll(DiscoveredRepository other) {
+        pomFiles.addAll(other.pomFiles);
+        gradleFiles.addAll(other.gradleFiles);
+        settingsFiles.addAll(other.settingsFiles);
+    }
+
+    void sortFiles() {
+        Collections.sort(pomFiles);
+        Collections.sort(gradleFiles);
+        Collections.sort(settingsFiles);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public boolean isBare() {
+        return bare;
+    }
+
+    public List<Path> getPomFiles() {
+        return Collections.unmodifiableList(pomFiles);
+    }
+
+    public List<Path> getGradleFiles() {
+        return Collections.unmodifiableList(gradleFiles);
+    }
+
+    public List<Path> getSettingsFiles() {
+        return Collections.unmodifiableList(settingsFiles);
+    }
+
+    public int getBuildFileCount() {
+        return pomFiles.size() + gradleFiles.size();
+    }
+
+    @Override
+    public String toString() {
+        return "DiscoveredRepository{" +
+                "root=" + root +
+                ", bare=" + bare +
+                ", pomFiles=" + pomFiles.size() +
+                ", gradleFiles=" + gradleFiles.size() +
+                ", settingsFiles=" + settingsFiles.size() +
+                '}';
+    }
+}
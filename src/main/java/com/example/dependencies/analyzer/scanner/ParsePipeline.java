@@ -0,0 +1,351 @@
+package com.example.dependencies.analyzer.scanner;
+
+import com.example.dependencies.analyzer.cache.ParseCache;
+import com.example.dependencies.analyzer.git.GitTreeSource;
+import com.example.dependencies.analyzer.git.RepositoryChanges;
+import com.example.dependencies.analyzer.metrics.AnalysisMetrics;
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.model.ProjectType;
+import com.example.dependencies.analyzer.parser.BuildFileSource;
+import com.example.dependencies.analyzer.parser.GradleBuildParser;
+import com.example.dependencies.analyzer.parser.GradleScripts;
+import com.example.dependencies.analyzer.parser.PomModels;
+import com.example.dependencies.analyzer.parser.MavenPomParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses the build files of discovered repositories on a bounded executor.
+ * Files are submitted in repository order (Maven before Gradle, sorted by path) and the
+ * aggregation stage collects results in submission order, so the resulting project list is
+ * identical to a sequential run regardless of the number of workers.
+ * Bare repositories, and every repository when a Git ref is configured, are read from the object
+ * database at that ref instead of the working tree; those files bypass the parse cache.
+ */
+public class ParsePipeline {
+    private static final Logger logger = LoggerFactory.getLogger(ParsePipeline.class);
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    public enum ExecutorKind {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    private final MavenPomParser mavenParser = MavenPomParser.fromSystemProperties();
+    private final GradleBuildParser gradleParser = new GradleBuildParser();
+    private final ExecutorKind executorKind;
+    private final int threads;
+    private final int queueCapacity;
+    private final String gitRef;
+
+    public ParsePipeline() {
+        this(ExecutorKind.PLATFORM, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ParsePipeline(ExecutorKind executorKind, int threads, int queueCapacity) {
+        this(executorKind, threads, queueCapacity, null);
+    }
+
+    /**
+     * @param gitRef branch, tag or commit to read all repositories at, or null to read working trees
+     *               (bare repositories are then read at HEAD)
+     */
+    public ParsePipeline(ExecutorKind executorKind, int threads, int queueCapacity, String gitRef) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Parser thread count must be positive: " + threads);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Parser queue capacity must be positive: " + queueCapacity);
+        }
+        this.executorKind = executorKind;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.gitRef = gitRef;
+    }
+
+    /**
+     * Creates a pipeline configured through analyzer.parse.* and analyzer.git.ref system properties
+     */
+    public static ParsePipeline fromSystemProperties() {
+        String kind = System.getProperty("analyzer.parse.executor", "platform");
+        int threads = Integer.getInteger("analyzer.parse.threads", Runtime.getRuntime().availableProcessors());
+        int queueCapacity = Integer.getInteger("analyzer.parse.queue-capacity", DEFAULT_QUEUE_CAPACITY);
+        String gitRef = System.getProperty("analyzer.git.ref");
+        return new ParsePipeline(ExecutorKind.valueOf(kind.toUpperCase(Locale.ROOT)), threads, queueCapacity, gitRef);
+    }
+
+    public List<Project> parse(List<DiscoveredRepository> repositories) {
+        return parse(repositories, null);
+    }
+
+    /**
+     * Parses all build files, serving unchanged ones from the cache when one is given
+     */
+    public List<Project> parse(List<DiscoveredRepository> repositories, ParseCache cache) {
+        return parse(repositories, cache, Map.of());
+    }
+
+    /**
+     * Parses all build files, letting the cache skip verification of inputs that Git reports as
+     * unchanged in their repository; repositories without an entry are verified as usual
+     */
+    public List<Project> parse(List<DiscoveredRepository> repositories, ParseCache cache,
+                               Map<Path, RepositoryChanges> changes) {
+        return parse(repositories, cache, changes, null);
+    }
+
+    /**
+     * Parses all build files as above, recording the time, size and allocation of each one in
+     * metrics when given
+     */
+    public List<Project> parse(List<DiscoveredRepository> repositories, ParseCache cache,
+                               Map<Path, RepositoryChanges> changes, AnalysisMetrics metrics) {
+        ExecutorService executor = createExecutor();
+        // Bounds the number of files that are queued or being parsed at any time
+        Semaphore inFlight = new Semaphore(maxInFlight());
+        List<Future<Project>> pending = new ArrayList<>();
+        List<GitTreeSource> treeSources = new ArrayList<>();
+        // Parent POMs and scripts are read once per run and shared by all modules
+        List<Path> workingTreePoms = new ArrayList<>();
+        repositories.forEach(repository -> workingTreePoms.addAll(repository.getPomFiles()));
+        SourceModels workingTree = new SourceModels(BuildFileSource.FILE_SYSTEM, workingTreePoms);
+        if (cache != null) {
+            cache.setWorkspacePoms(workingTreePoms);
+        }
+
+        try {
+            // Parsing stage
+            for (DiscoveredRepository repository : repositories) {
+                logger.info("Analyzing repository: {}", repository.getRoot());
+                GitTreeSource tree = openTree(repository);
+                if (tree != null) {
+                    treeSources.add(tree);
+                    SourceModels treeModels = new SourceModels(tree, tree.getPomFiles());
+                    for (Path pomFile : tree.getPomFiles()) {
+                        pending.add(submit(executor, inFlight, pomFile, ProjectType.MAVEN, treeModels, null, RepositoryChanges.UNKNOWN, metrics));
+                    }
+                    for (Path gradleFile : tree.getGradleFiles()) {
+                        pending.add(submit(executor, inFlight, gradleFile, ProjectType.GRADLE, treeModels, null, RepositoryChanges.UNKNOWN, metrics));
+                    }
+                    logger.info("  Found {} Maven projects at {}", tree.getPomFiles().size(), tree.getCommitId());
+                    logger.info("  Found {} Gradle projects at {}", tree.getGradleFiles().size(), tree.getCommitId());
+                    continue;
+                }
+                RepositoryChanges repositoryChanges = changes.getOrDefault(
+                    repository.getRoot().toAbsolutePath().normalize(), RepositoryChanges.UNKNOWN);
+                for (Path pomFile : repository.getPomFiles()) {
+                    pending.add(submit(executor, inFlight, pomFile, ProjectType.MAVEN,
+                        workingTree, cache, repositoryChanges, metrics));
+                }
+                for (Path gradleFile : repository.getGradleFiles()) {
+                    pending.add(submit(executor, inFlight, gradleFile, ProjectType.GRADLE,
+                        workingTree, cache, repositoryChanges, metrics));
+                }
+                logger.info("  Found {} Maven projects", repository.getPomFiles().size());
+                logger.info("  Found {} Gradle projects", repository.getGradleFiles().size());
+            }
+
+            // Aggregation stage, in submission order
+            List<Project> projects = new ArrayList<>(pending.size());
+            for (Future<Project> future : pending) {
+                projects.add(await(future));
+            }
+            return projects;
+        } finally {
+            executor.shutdownNow();
+            treeSources.forEach(GitTreeSource::close);
+        }
+    }
+
+    /**
+     * Opens the commit to read for a repository, or null to read its working tree
+     */
+    private GitTreeSource openTree(DiscoveredRepository repository) {
+        if (!repository.isBare() && gitRef == null) {
+            return null;
+        }
+        String ref = gitRef != null ? gitRef : GitTreeSource.DEFAULT_REF;
+        try {
+            return GitTreeSource.open(repository.getRoot(), repository.isBare(), ref,
+                WorkspaceCrawler.DEFAULT_IGNORED_DIRECTORIES);
+        } catch (IOException | RuntimeException e) {
+            if (repository.isBare()) {
+                logger.warn("Could not read {} from bare repository {}, skipping it", ref, repository.getRoot(), e);
+            } else {
+                logger.warn("Could not read {} from {}, using the working tree", ref, repository.getRoot(), e);
+            }
+            return null;
+        }
+    }
+
+    private Future<Project> submit(ExecutorService executor, Semaphore inFlight, Path buildFile, ProjectType type,
+                                   SourceModels models, ParseCache cache, RepositoryChanges changes,
+                                   AnalysisMetrics metrics) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing build file: " + buildFile, e);
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return parseBuildFile(buildFile, type, models, cache, changes, metrics);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private Project await(Future<Project> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parse results", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Unexpected parse failure", cause);
+        }
+    }
+
+    private Project parseBuildFile(Path buildFile, ProjectType type, SourceModels models, ParseCache cache,
+                                   RepositoryChanges changes, AnalysisMetrics metrics) {
+        long start = System.nanoTime();
+        long startAllocated = metrics != null ? AnalysisMetrics.currentThreadAllocatedBytes() : -1;
+        Project project = cache != null ? cache.lookup(buildFile, type, changes::isKnownUnchanged) : null;
+        boolean cached = project != null;
+        if (!cached) {
+            project = parseBuildFile(buildFile, type, models, cache);
+        }
+        if (metrics != null) {
+            long endAllocated = AnalysisMetrics.currentThreadAllocatedBytes();
+            metrics.recordFile(buildFile, System.nanoTime() - start, cached ? 0 : sizeOf(buildFile, models),
+                startAllocated < 0 || endAllocated < 0 ? -1 : endAllocated - startAllocated, cached);
+        }
+        return project;
+    }
+
+    private Project parseBuildFile(Path buildFile, ProjectType type, SourceModels models, ParseCache cache) {
+        try {
+            Project project;
+            if (type == ProjectType.MAVEN) {
+                project = mavenParser.parse(buildFile, models.poms);
+                if (cache != null) {
+                    cache.store(buildFile, mavenParser.getInputFiles(buildFile, models.poms),
+                        mavenParser.getUnresolvedReferences(buildFile, models.poms), project);
+                }
+            } else {
+                project = gradleParser.parse(buildFile, models.scripts);
+                if (cache != null) {
+                    cache.store(buildFile, gradleParser.getInputFiles(buildFile, models.scripts), project);
+                }
+            }
+            return project;
+        } catch (Exception e) {
+            logger.warn("Failed to parse " + type.getDisplayName() + " build file: " + buildFile + ", creating placeholder", e);
+            // Create a placeholder project for failed parsing
+            return createPlaceholderProject(buildFile, type);
+        }
+    }
+
+    /**
+     * Size of a build file read from the working tree; files read from Git are not counted
+     */
+    private static long sizeOf(Path buildFile, SourceModels models) {
+        if (models.source != BuildFileSource.FILE_SYSTEM) {
+            return 0;
+        }
+        try {
+            return Files.size(buildFile);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static Project createPlaceholderProject(Path buildFile, ProjectType type) {
+        Path projectDir = buildFile.getParent();
+        String artifactId = projectDir.getFileName().toString();
+
+        // Try to guess group ID from parent directories
+        String groupId = "unknown.group";
+        if (projectDir.getParent() != null) {
+            String parentName = projectDir.getParent().getFileName().toString();
+            groupId = "com.example." + parentName;
+        }
+
+        Project project = new Project(groupId, artifactId, "unknown", buildFile, type);
+        project.setPackaging("jar"); // Default for both Maven and Gradle
+
+        logger.warn("Created placeholder project for: {} - {}", buildFile, project.getFullName());
+        return project;
+    }
+
+    private ExecutorService createExecutor() {
+        if (executorKind == ExecutorKind.VIRTUAL) {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            if (virtual != null) {
+                return virtual;
+            }
+            logger.warn("Virtual threads are not available on this JVM, using {} platform threads", threads);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "parse-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxInFlight()), threadFactory);
+    }
+
+    private int maxInFlight() {
+        // Queued tasks always hold a permit, so a queue of this size can never overflow
+        return queueCapacity + threads;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        // Compiled for Java 11, so the Java 21 factory is looked up at runtime
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Memoized POM models and Gradle scripts of one build file source for the duration of a run
+     */
+    private final class SourceModels {
+        private final BuildFileSource source;
+        private final PomModels poms;
+        private final GradleScripts scripts;
+
+        SourceModels(BuildFileSource source, List<Path> pomFiles) {
+            this.source = source;
+            this.poms = mavenParser.newModels(source, pomFiles);
+            this.scripts = new GradleScripts(source);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.dependencies.analyzer.scanner;
+
+import com.example.dependencies.analyzer.git.GitTreeSource;
+import com.example.dependencies.analyzer.model.Project;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Path-prefix trie of known Git repository roots. Finding the repository of a path walks the trie
+ * by path name instead of probing the filesystem for .git at every ancestor. Paths outside all
+ * known roots fall back to a filesystem walk whose results are memoized per directory for as long
+ * as this index, normally a single scan, is in use.
+ */
+public final class RepositoryRoots {
+    private final Node trie = new Node();
+    private final Map<Path, Optional<Path>> walkCache = new ConcurrentHashMap<>();
+
+    private RepositoryRoots() {
+    }
+
+    public static RepositoryRoots of(Collection<Path> roots) {
+        RepositoryRoots index = new RepositoryRoots();
+        for (Path root : roots) {
+            Node node = index.trie;
+            for (String name : names(root)) {
+                node = node.children.computeIfAbsent(name, k -> new Node());
+            }
+            node.root = root;
+        }
+        return index;
+    }
+
+    /**
+     * The innermost known root that contains path or is path itself, or null
+     */
+    public Path find(Path path) {
+        Node node = trie;
+        Path found = null;
+        for (String name : names(path)) {
+            node = node.children.get(name);
+            if (node == null) {
+                break;
+            }
+            if (node.root != null) {
+                found = node.root;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Attaches each project's repository root and name, walking the filesystem only for projects outside the known roots
+     */
+    public void attach(Collection<Project> projects) {
+        for (Project project : projects) {
+            if (project.getProjectPath() == null) {
+                continue;
+            }
+            Path root = find(project.getProjectPath());
+            if (root == null) {
+                root = locate(project.getProjectPath());
+            }
+            project.setRepository(root, root != null ? GitTreeSource.repositoryName(root) : null);
+        }
+    }
+
+    /**
+     * The nearest directory at or above path that holds .git or is a bare repository, or null.
+     * Results are remembered by this index for every directory passed on the way up.
+     */
+    public Path locate(Path path) {
+        List<Path> walked = new ArrayList<>();
+        Optional<Path> result = null;
+        Path current = path;
+        while (current != null) {
+            Optional<Path> cached = walkCache.get(current);
+            if (cached != null) {
+                result = cached;
+                break;
+            }
+            walked.add(current);
+            if (Files.exists(current.resolve(".git")) || GitTreeSource.isBareRepository(current)) {
+                result = Optional.of(current);
+                break;
+            }
+            current = current.getParent();
+        }
+        if (result == null) {
+            result = Optional.empty();
+        }
+        for (Path directory : walked) {
+            walkCache.put(directory, result);
+        }
+        return result.orElse(null);
+    }
+
+    private static List<String> names(Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        List<String> names = new ArrayList<>(absolute.getNameCount() + 1);
+        names.add(String.valueOf(absolute.getRoot()));
+        for (Path name : absolute) {
+            names.add(name.toString());
+        }
+        return names;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Path root;
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.dependencies.analyzer.scanner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Walks a workspace once and classifies Git roots, Maven and Gradle build files in the same visit.
+ * Each directory is listed exactly once by a fork/join task; ignored trees such as build output,
+ * node_modules and .git internals are pruned before they are entered. Bare repositories are
+ * recognised by their HEAD, objects and refs entries and are not entered either; their build
+ * files are read from the object database when parsing. Each crawl runs on a fork/join pool of
+ * its own that is shut down when the crawl ends, so blocking directory reads never occupy the
+ * common pool.
+ */
+public class WorkspaceCrawler {
+    private static final Logger logger = LoggerFactory.getLogger(WorkspaceCrawler.class);
+
+    public static final Set<String> DEFAULT_IGNORED_DIRECTORIES = Set.of(
+        "target", "build", "node_modules", ".git", ".gradle", ".idea"
+    );
+
+    private static final String GIT_DIR = ".git";
+    private static final String BARE_HEAD_FILE = "HEAD";
+    private static final Set<String> BARE_DIRECTORIES = Set.of("objects", "refs");
+    private static final String POM_FILE = "pom.xml";
+    private static final Set<String> GRADLE_BUILD_FILES = Set.of("build.gradle", "build.gradle.kts");
+    private static final Set<String> GRADLE_SETTINGS_FILES = Set.of("settings.gradle", "settings.gradle.kts");
+
+    private static final ForkJoinPool.ForkJoinWorkerThreadFactory CRAWLER_THREADS = pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("workspace-crawler-" + thread.getPoolIndex());
+        return thread;
+    };
+
+    private final int parallelism;
+    private final Set<String> ignoredDirectories;
+
+    public WorkspaceCrawler() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_IGNORED_DIRECTORIES);
+    }
+
+    /**
+     * @param parallelism number of threads listing directories during a crawl
+     */
+    public WorkspaceCrawler(int parallelism, Set<String> ignoredDirectories) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Crawler parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.ignoredDirectories = Set.copyOf(ignoredDirectories);
+    }
+
+    public WorkspaceScan crawl(Path rootPath) throws IOException {
+        return crawl(rootPath, Map.of());
+    }
+
+    /**
+     * Crawls the workspace without entering the given repositories, whose build files are taken from
+     * {@code knownRepositories} instead: repository-relative paths keyed by absolute, normalized root
+     */
+    public WorkspaceScan crawl(Path rootPath, Map<Path, List<String>> knownRepositories) throws IOException {
+        DirectoryNode rootNode;
+        ForkJoinPool pool = new ForkJoinPool(parallelism, CRAWLER_THREADS, null, false);
+        try {
+            rootNode = pool.invoke(new DirectoryTask(rootPath, true, knownRepositories));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+
+        List<DiscoveredRepository> repositories = new ArrayList<>();
+        DiscoveredRepository unassigned = new DiscoveredRepository(rootPath);
+
+        // Assign every build file to its innermost enclosing repository
+        Deque<Map.Entry<DirectoryNode, DiscoveredRepository>> pending = new ArrayDeque<>();
+        pending.push(new AbstractMap.SimpleEntry<>(rootNode, unassigned));
+        while (!pending.isEmpty()) {
+            Map.Entry<DirectoryNode, DiscoveredRepository> current = pending.pop();
+            DirectoryNode node = current.getKey();
+            DiscoveredRepository repository = current.getValue();
+
+            if (node.gitRoot || node.bareRepository) {
+                repository = new DiscoveredRepository(node.directory, node.bareRepository);
+                repositories.add(repository);
+            }
+            node.pomFiles.forEach(repository::addPomFile);
+            node.gradleFiles.forEach(repository::addGradleFile);
+            node.settingsFiles.forEach(repository::addSettingsFile);
+
+            for (DirectoryNode child : node.children) {
+                pending.push(new AbstractMap.SimpleEntry<>(child, repository));
+            }
+        }
+
+        repositories.sort(Comparator.comparing(DiscoveredRepository::getRoot));
+        repositories.forEach(DiscoveredRepository::sortFiles);
+        unassigned.sortFiles();
+
+        logger.debug("Crawled {}: {} repositories, {} unassigned build files",
+            rootPath, repositories.size(), unassigned.getBuildFileCount());
+        return new WorkspaceScan(rootPath, repositories, unassigned);
+    }
+
+    /**
+     * True for the file names discovery collects: POMs and Gradle build and settings scripts
+     */
+    public static boolean isBuildFile(String fileName) {
+        return POM_FILE.equals(fileName) || GRADLE_BUILD_FILES.contains(fileName) || GRADLE_SETTINGS_FILES.contains(fileName);
+    }
+
+    private boolean isIgnored(String directoryName) {
+        return ignoredDirectories.contains(directoryName);
+    }
+
+    private static void classify(DirectoryNode node, Path file) {
+        String name = file.getFileName().toString();
+        if (POM_FILE.equals(name)) {
+            node.pomFiles.add(file);
+        } else if (GRADLE_BUILD_FILES.contains(name)) {
+            node.gradleFiles.add(file);
+        } else if (GRADLE_SETTINGS_FILES.contains(name)) {
+            node.settingsFiles.add(file);
+        }
+    }
+
+    /**
+     * Contents of one directory as seen by the crawler
+     */
+    private static class DirectoryNode {
+        private final Path directory;
+        private boolean gitRoot;
+        private boolean bareRepository;
+        private final List<Path> pomFiles = new ArrayList<>();
+        private final List<Path> gradleFiles = new ArrayList<>();
+        private final List<Path> settingsFiles = new ArrayList<>();
+        private final List<DirectoryNode> children = new ArrayList<>();
+
+        private DirectoryNode(Path directory) {
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * Lists a single directory and forks one subtask per non-ignored subdirectory
+     */
+    @SuppressWarnings("serial") // Only ever run in memory by the crawl's own pool
+    private class DirectoryTask extends RecursiveTask<DirectoryNode> {
+        private final Path directory;
+        private final boolean root;
+        private final Map<Path, List<String>> knownRepositories;
+
+        private DirectoryTask(Path directory, boolean root, Map<Path, List<String>> knownRepositories) {
+            this.directory = directory;
+            this.root = root;
+            this.knownRepositories = knownRepositories;
+        }
+
+        @Override
+        protected DirectoryNode compute() {
+            DirectoryNode node = new DirectoryNode(directory);
+            List<String> knownBuildFiles = knownRepositories.isEmpty()
+                ? null : knownRepositories.get(directory.toAbsolutePath().normalize());
+            if (knownBuildFiles != null) {
+                node.gitRoot = true;
+                for (String buildFile : knownBuildFiles) {
+                    classify(node, directory.resolve(buildFile));
+                }
+                return node;
+            }
+            List<Path> subdirectories = new ArrayList<>();
+            Set<String> bareLayout = new HashSet<>();
+
+            try {
+                Files.walkFileTree(directory, EnumSet.noneOf(FileVisitOption.class), 1, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        String name = file.getFileName().toString();
+                        if (GIT_DIR.equals(name)) {
+                            // .git is a directory in clones and a file in worktrees and submodules
+                            node.gitRoot = true;
+                        } else if (attrs.isDirectory()) {
+                            if (BARE_DIRECTORIES.contains(name)) {
+                                bareLayout.add(name);
+                            }
+                            if (!isIgnored(name)) {
+                                subdirectories.add(file);
+                            }
+                        } else if (attrs.isRegularFile()) {
+                            if (BARE_HEAD_FILE.equals(name)) {
+                                bareLayout.add(name);
+                            } else {
+                                classify(node, file);
+                            }
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                        if (file.equals(directory)) {
+                            throw exc;
+                        }
+                        logger.debug("Skipping unreadable path: {}", file);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                if (root) {
+                    throw new UncheckedIOException(e);
+                }
+                logger.warn("Could not read directory: {}", directory, e);
+                return node;
+            }
+
+            if (!node.gitRoot && bareLayout.size() == BARE_DIRECTORIES.size() + 1) {
+                // Everything below a bare repository is Git internals
+                node.bareRepository = true;
+                node.pomFiles.clear();
+                node.gradleFiles.clear();
+                node.settingsFiles.clear();
+                return node;
+            }
+
+            List<DirectoryTask> subtasks = new ArrayList<>(subdirectories.size());
+            for (Path subdirectory : subdirectories) {
+                subtasks.add(new DirectoryTask(subdirectory, false, knownRepositories));
+            }
+            for (DirectoryTask subtask : invokeAll(subtasks)) {
+                node.children.add(subtask.join());
+            }
+            return node;
+        }
+    }
+}
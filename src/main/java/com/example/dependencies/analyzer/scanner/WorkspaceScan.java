@@ -0,0 +1,69 @@
+package com.example.dependencies.analyzer.scanner;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a single crawl over a workspace.
+ * Every build file is assigned to its innermost enclosing Git repository; files that are not
+ * inside any repository are kept in a separate bucket rooted at the scanned directory.
+ */
+public class WorkspaceScan {
+    private final Path rootPath;
+    private final List<DiscoveredRepository> repositories;
+    private final DiscoveredRepository unassigned;
+    private final RepositoryRoots repositoryRoots;
+
+    WorkspaceScan(Path rootPath, List<DiscoveredRepository> repositories, DiscoveredRepository unassigned) {
+        this.rootPath = rootPath;
+        this.repositories = Collections.unmodifiableList(repositories);
+        this.unassigned = unassigned;
+        this.repositoryRoots = RepositoryRoots.of(getRepositoryRoots());
+    }
+
+    public Path getRootPath() {
+        return rootPath;
+    }
+
+    /**
+     * Git repositories found below the root, ordered by path
+     */
+    public List<DiscoveredRepository> getRepositories() {
+        return repositories;
+    }
+
+    public List<Path> getRepositoryRoots() {
+        return repositories.stream()
+            .map(DiscoveredRepository::getRoot)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Index of the repository roots found, for attaching repository identity to parsed projects
+     */
+    public RepositoryRoots getRepositoryIndex() {
+        return repositoryRoots;
+    }
+
+    /**
+     * Build files that are not located inside any Git repository
+     */
+    public DiscoveredRepository getUnassigned() {
+        return unassigned;
+    }
+
+    /**
+     * Treats the whole root as one repository, regardless of nested Git roots
+     */
+    public DiscoveredRepository asSingleRepository() {
+        DiscoveredRepository merged = new DiscoveredRepository(rootPath);
+        merged.addAll(unassigned);
+        for (DiscoveredRepository repository : repositories) {
+            merged.addAll(repository);
+        }
+        merged.sortFiles();
+        return merged;
+    }
+}
@@ -0,0 +1,689 @@
+package com.example.dependencies.analyzer.synthetic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Writes a workspace of Git repositories whose Maven and Gradle modules depend on each other, for
+ * measuring the analyzer at sizes the sample projects cannot reach. The whole workspace is planned
+ * from the seed before anything is written, so the same options always give the same files, and
+ * repositories are then written in parallel.
+ * <p>
+ * Modules depend on the previous module of their repository and on modules of earlier repositories,
+ * so the graph has no cycles other than the injected ones. A duplicate module reuses the
+ * groupId:artifactId of a module in an earlier repository under its own repository's version.
+ * Maven repositories are a root aggregator with nested aggregators down to the modules; managed ones
+ * publish a BOM of their modules, which Maven consumers import instead of declaring versions. Managed
+ * Gradle repositories declare their in-house dependencies through gradle/libs.versions.toml.
+ * <p>
+ * From the command line:
+ * {@code java -cp dependencies-analyzer.jar com.example.dependencies.analyzer.synthetic.SyntheticWorkspaceGenerator <directory>}
+ * with the analyzer.synthetic.* properties read by {@link Options#fromSystemProperties()}.
+ */
+public class SyntheticWorkspaceGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticWorkspaceGenerator.class);
+
+    // groupId, artifactId, version
+    private static final String[][] EXTERNAL_DEPENDENCIES = {
+        {"org.slf4j", "slf4j-api", "2.0.9"},
+        {"com.fasterxml.jackson.core", "jackson-databind", "2.15.2"},
+        {"com.google.guava", "guava", "32.1.2-jre"},
+        {"org.apache.commons", "commons-lang3", "3.13.0"},
+        {"io.micrometer", "micrometer-core", "1.11.4"}
+    };
+    private static final String[] TEST_DEPENDENCY = {"org.junit.jupiter", "junit-jupiter", "5.10.0"};
+    // Hops followed from a module before pointing an injected edge back at it
+    private static final int MAX_CYCLE_HOPS = 3;
+    // GradleBuildParser looks this many directories up for an inherited group and version
+    private static final int GRADLE_PARENT_SEARCH_DEPTH = 3;
+
+    private final Options options;
+    private final int modules;
+    // Plan, indexed by repository
+    private final boolean[] maven;
+    private final boolean[] managed;
+    // Plan, indexed by module: repository * modulesPerRepository + module
+    private final int[] copyOf;
+    private final boolean[] copied;
+    private final int[][] dependencies;
+
+    private int duplicateModules;
+    private int injectedCycles;
+    private long plannedDependencies;
+
+    public SyntheticWorkspaceGenerator(Options options) {
+        this.options = options;
+        this.modules = options.getRepositories() * options.getModulesPerRepository();
+        this.maven = new boolean[options.getRepositories()];
+        this.managed = new boolean[options.getRepositories()];
+        this.copyOf = new int[modules];
+        this.copied = new boolean[modules];
+        this.dependencies = new int[modules][];
+        plan(new Random(options.getSeed()));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: java -cp dependencies-analyzer.jar " + SyntheticWorkspaceGenerator.class.getName() + " <directory>");
+            System.err.println("Options:");
+            System.err.println("  directory                                 Empty or missing directory to write the workspace to");
+            System.err.println("  -Danalyzer.synthetic.repositories=N       Number of Git repositories (default: 100)");
+            System.err.println("  -Danalyzer.synthetic.modules=N            Modules per repository (default: 10)");
+            System.err.println("  -Danalyzer.synthetic.maven-ratio=R        Share of Maven repositories, the rest Gradle (default: 0.5)");
+            System.err.println("  -Danalyzer.synthetic.edge-density=D       Dependencies per module on other repositories (default: 3)");
+            System.err.println("  -Danalyzer.synthetic.duplicate-rate=R     Share of modules reusing an earlier groupId:artifactId (default: 0.01)");
+            System.err.println("  -Danalyzer.synthetic.cycle-rate=R         Share of repositories closing a dependency cycle (default: 0.02)");
+            System.err.println("  -Danalyzer.synthetic.bom-rate=R           Share of repositories with BOM or version catalog managed versions (default: 0.2)");
+            System.err.println("  -Danalyzer.synthetic.nesting-depth=N      Directory levels from repository root to module (default: 1)");
+            System.err.println("  -Danalyzer.synthetic.seed=N               Random seed (default: 42)");
+            System.exit(1);
+        }
+        Summary summary = new SyntheticWorkspaceGenerator(Options.fromSystemProperties()).generate(Paths.get(args[0]));
+        System.out.println(summary);
+    }
+
+    /**
+     * Writes the workspace into root, which is created if missing
+     *
+     * @throws IllegalArgumentException if root exists and is not an empty directory
+     */
+    public Summary generate(Path root) throws IOException {
+        if (Files.exists(root)) {
+            try (Stream<Path> entries = Files.list(root)) {
+                if (entries.findAny().isPresent()) {
+                    throw new IllegalArgumentException("Not an empty directory: " + root);
+                }
+            }
+        }
+        Files.createDirectories(root);
+
+        long start = System.currentTimeMillis();
+        Output output = new Output();
+        try {
+            IntStream.range(0, options.getRepositories()).parallel().forEach(r -> {
+                try {
+                    writeRepository(root.resolve(repositoryName(r)), r, output);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        int mavenRepositories = 0;
+        int managedRepositories = 0;
+        for (int r = 0; r < options.getRepositories(); r++) {
+            mavenRepositories += maven[r] ? 1 : 0;
+            managedRepositories += managed[r] ? 1 : 0;
+        }
+        Summary summary = new Summary(root, options.getRepositories(), mavenRepositories, modules,
+            plannedDependencies, duplicateModules, injectedCycles, managedRepositories,
+            output.files.sum(), output.bytes.sum());
+        logger.info("Generated {} in {} ms", summary, System.currentTimeMillis() - start);
+        return summary;
+    }
+
+    private void plan(Random random) {
+        int perRepository = options.getModulesPerRepository();
+        double density = options.getEdgeDensity();
+        for (int r = 0; r < options.getRepositories(); r++) {
+            maven[r] = random.nextDouble() < options.getMavenRatio();
+            managed[r] = random.nextDouble() < options.getBomRate();
+            Set<Integer> reusedArtifacts = new HashSet<>();
+            int earlierModules = r * perRepository;
+            for (int m = 0; m < perRepository; m++) {
+                int id = earlierModules + m;
+                copyOf[id] = -1;
+                if (r > 0 && random.nextDouble() < options.getDuplicateRate()) {
+                    int original = owner(random.nextInt(earlierModules));
+                    // Two modules of one repository cannot share a directory name
+                    if (reusedArtifacts.add(original)) {
+                        copyOf[id] = original;
+                        copied[original] = true;
+                        duplicateModules++;
+                    }
+                }
+
+                int count = r == 0 ? 0 : (int) density + (random.nextDouble() < density - (int) density ? 1 : 0);
+                int[] targets = new int[count];
+                int found = 0;
+                for (int i = 0; i < count; i++) {
+                    int target = random.nextInt(earlierModules);
+                    if (!dependsOnArtifact(targets, found, target)) {
+                        targets[found++] = target;
+                    }
+                }
+                dependencies[id] = Arrays.copyOf(targets, found);
+                plannedDependencies += found + (m > 0 ? 1 : 0);
+            }
+        }
+
+        for (int r = 1; r < options.getRepositories(); r++) {
+            if (random.nextDouble() < options.getCycleRate()) {
+                injectCycle(r, random);
+            }
+        }
+    }
+
+    /**
+     * Follows dependencies from a module of repository r into earlier repositories and adds an edge
+     * from where the walk stops back to the module
+     */
+    private void injectCycle(int r, Random random) {
+        int start = r * options.getModulesPerRepository() + random.nextInt(options.getModulesPerRepository());
+        int current = start;
+        int hops = 1 + random.nextInt(MAX_CYCLE_HOPS);
+        for (int i = 0; i < hops && dependencies[current].length > 0; i++) {
+            current = dependencies[current][random.nextInt(dependencies[current].length)];
+        }
+        int[] targets = dependencies[current];
+        if (current != start && repositoryOf(current) != r && !dependsOnArtifact(targets, targets.length, start)) {
+            int[] extended = Arrays.copyOf(targets, targets.length + 1);
+            extended[targets.length] = start;
+            dependencies[current] = extended;
+            plannedDependencies++;
+            injectedCycles++;
+        }
+    }
+
+    private boolean dependsOnArtifact(int[] targets, int count, int module) {
+        for (int i = 0; i < count; i++) {
+            if (owner(targets[i]) == owner(module)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeRepository(Path repository, int r, Output output) throws IOException {
+        Files.createDirectories(repository.resolve(".git"));
+        if (maven[r]) {
+            writeMavenRepository(repository, r, output);
+        } else {
+            writeGradleRepository(repository, r, output);
+        }
+    }
+
+    private void writeMavenRepository(Path repository, int r, Output output) throws IOException {
+        int first = r * options.getModulesPerRepository();
+        int last = first + options.getModulesPerRepository();
+
+        // Child directories of every aggregator, keyed by path relative to the repository
+        Map<String, Set<String>> aggregators = new TreeMap<>();
+        aggregators.put("", new TreeSet<>());
+        String bom = repositoryName(r) + "-bom";
+        if (managed[r]) {
+            aggregators.get("").add(bom);
+        }
+        Set<Integer> importedBoms = new TreeSet<>();
+        for (int id = first; id < last; id++) {
+            String parent = "";
+            for (String segment : directoryOf(id)) {
+                aggregators.computeIfAbsent(parent, key -> new TreeSet<>()).add(segment);
+                parent = parent.isEmpty() ? segment : parent + "/" + segment;
+            }
+            for (int target : dependencies[id]) {
+                if (isBomManaged(target)) {
+                    importedBoms.add(repositoryOf(target));
+                }
+            }
+        }
+
+        for (Map.Entry<String, Set<String>> aggregator : aggregators.entrySet()) {
+            String key = aggregator.getKey();
+            StringBuilder pom = pomHeader();
+            if (key.isEmpty()) {
+                pom.append("    <groupId>").append(groupId(r)).append("</groupId>\n")
+                    .append("    <artifactId>").append(aggregatorName(r, key)).append("</artifactId>\n")
+                    .append("    <version>").append(version(r)).append("</version>\n");
+            } else {
+                appendParent(pom, r, parentKey(key));
+                pom.append("    <artifactId>").append(aggregatorName(r, key)).append("</artifactId>\n");
+            }
+            pom.append("    <packaging>pom</packaging>\n")
+                .append("    <modules>\n");
+            for (String child : aggregator.getValue()) {
+                pom.append("        <module>").append(child).append("</module>\n");
+            }
+            pom.append("    </modules>\n");
+            if (key.isEmpty()) {
+                pom.append("    <properties>\n");
+                for (String[] external : EXTERNAL_DEPENDENCIES) {
+                    pom.append("        <").append(external[1]).append(".version>").append(external[2])
+                        .append("</").append(external[1]).append(".version>\n");
+                }
+                pom.append("    </properties>\n");
+                if (!importedBoms.isEmpty()) {
+                    pom.append("    <dependencyManagement>\n        <dependencies>\n");
+                    for (int imported : importedBoms) {
+                        appendDependency(pom, "            ", groupId(imported), repositoryName(imported) + "-bom",
+                            version(imported), "import", "pom");
+                    }
+                    pom.append("        </dependencies>\n    </dependencyManagement>\n");
+                }
+            }
+            pom.append("</project>\n");
+            output.write(repository.resolve(key).resolve("pom.xml"), pom);
+        }
+
+        if (managed[r]) {
+            StringBuilder pom = pomHeader();
+            appendParent(pom, r, "");
+            pom.append("    <artifactId>").append(bom).append("</artifactId>\n")
+                .append("    <packaging>pom</packaging>\n")
+                .append("    <dependencyManagement>\n        <dependencies>\n");
+            for (int id = first; id < last; id++) {
+                appendDependency(pom, "            ", groupOf(id), artifactOf(id), "${project.version}", null, null);
+            }
+            pom.append("        </dependencies>\n    </dependencyManagement>\n</project>\n");
+            output.write(repository.resolve(bom).resolve("pom.xml"), pom);
+        }
+
+        for (int id = first; id < last; id++) {
+            String path = String.join("/", directoryOf(id));
+            StringBuilder pom = pomHeader();
+            appendParent(pom, r, parentKey(path));
+            if (copyOf[id] >= 0) {
+                pom.append("    <groupId>").append(groupOf(id)).append("</groupId>\n");
+            }
+            pom.append("    <artifactId>").append(artifactOf(id)).append("</artifactId>\n")
+                .append("    <dependencies>\n");
+            if (id > first) {
+                appendDependency(pom, "        ", groupOf(id - 1), artifactOf(id - 1), "${project.version}", null, null);
+            }
+            for (int target : dependencies[id]) {
+                String version = isBomManaged(target) ? null : version(repositoryOf(target));
+                appendDependency(pom, "        ", groupOf(target), artifactOf(target), version, null, null);
+            }
+            String[] external = external(id);
+            appendDependency(pom, "        ", external[0], external[1], "${" + external[1] + ".version}", null, null);
+            appendDependency(pom, "        ", TEST_DEPENDENCY[0], TEST_DEPENDENCY[1], TEST_DEPENDENCY[2], "test", null);
+            pom.append("    </dependencies>\n</project>\n");
+            output.write(repository.resolve(path).resolve("pom.xml"), pom);
+        }
+    }
+
+    private void writeGradleRepository(Path repository, int r, Output output) throws IOException {
+        int first = r * options.getModulesPerRepository();
+        int last = first + options.getModulesPerRepository();
+
+        StringBuilder settings = new StringBuilder("rootProject.name = '").append(repositoryName(r)).append("'\n\n");
+        Set<Integer> catalogEntries = new TreeSet<>();
+        for (int id = first; id < last; id++) {
+            settings.append("include '").append(projectPath(id)).append("'\n");
+            for (int target : dependencies[id]) {
+                catalogEntries.add(target);
+            }
+        }
+        output.write(repository.resolve("settings.gradle"), settings);
+        output.write(repository.resolve("build.gradle"), new StringBuilder("allprojects {\n")
+            .append("    group = '").append(groupId(r)).append("'\n")
+            .append("    version = '").append(version(r)).append("'\n}\n"));
+
+        if (managed[r] && !catalogEntries.isEmpty()) {
+            StringBuilder catalog = new StringBuilder("[libraries]\n");
+            for (int target : catalogEntries) {
+                catalog.append(catalogAlias(target)).append(" = { module = \"").append(groupOf(target)).append(':')
+                    .append(artifactOf(target)).append("\", version = \"").append(version(repositoryOf(target))).append("\" }\n");
+            }
+            output.write(repository.resolve("gradle").resolve("libs.versions.toml"), catalog);
+        }
+
+        for (int id = first; id < last; id++) {
+            List<String> directory = directoryOf(id);
+            StringBuilder build = new StringBuilder("plugins {\n    id 'java-library'\n}\n\n");
+            if (copyOf[id] >= 0 || directory.size() > GRADLE_PARENT_SEARCH_DEPTH) {
+                build.append("group = '").append(groupOf(id)).append("'\n");
+            }
+            if (directory.size() > GRADLE_PARENT_SEARCH_DEPTH) {
+                build.append("version = '").append(version(r)).append("'\n");
+            }
+            build.append("\ndependencies {\n");
+            if (id > first) {
+                build.append("    api project('").append(projectPath(id - 1)).append("')\n");
+            }
+            for (int target : dependencies[id]) {
+                if (managed[r]) {
+                    build.append("    implementation libs.").append(catalogAlias(target).replace('-', '.')).append('\n');
+                } else {
+                    build.append("    implementation '").append(groupOf(target)).append(':').append(artifactOf(target))
+                        .append(':').append(version(repositoryOf(target))).append("'\n");
+                }
+            }
+            String[] external = external(id);
+            build.append("    implementation '").append(String.join(":", external)).append("'\n")
+                .append("    testImplementation '").append(String.join(":", TEST_DEPENDENCY)).append("'\n}\n");
+            output.write(repository.resolve(String.join("/", directory)).resolve("build.gradle"), build);
+        }
+    }
+
+    /**
+     * A Maven dependency left to the BOM of its repository: only for targets whose groupId:artifactId
+     * is unique, since a consumer importing two BOMs gets the first one's version
+     */
+    private boolean isBomManaged(int target) {
+        int repository = repositoryOf(target);
+        return maven[repository] && managed[repository] && copyOf[target] < 0 && !copied[target];
+    }
+
+    /**
+     * Directories from the repository root to the module: nesting depth - 1 group directories,
+     * splitting modules by the bits of their index, then the artifactId
+     */
+    private List<String> directoryOf(int id) {
+        int m = id % options.getModulesPerRepository();
+        int depth = options.getNestingDepth();
+        List<String> directory = new ArrayList<>(depth);
+        for (int level = 1; level < depth; level++) {
+            directory.add("group-" + ((m >> (depth - 1 - level)) & 1));
+        }
+        directory.add(artifactOf(id));
+        return directory;
+    }
+
+    private String projectPath(int id) {
+        return ":" + String.join(":", directoryOf(id));
+    }
+
+    private static String parentKey(String key) {
+        int slash = key.lastIndexOf('/');
+        return slash < 0 ? "" : key.substring(0, slash);
+    }
+
+    private static void appendParent(StringBuilder pom, int r, String parentKey) {
+        pom.append("    <parent>\n")
+            .append("        <groupId>").append(groupId(r)).append("</groupId>\n")
+            .append("        <artifactId>").append(aggregatorName(r, parentKey)).append("</artifactId>\n")
+            .append("        <version>").append(version(r)).append("</version>\n")
+            .append("    </parent>\n");
+    }
+
+    private static void appendDependency(StringBuilder pom, String indent, String groupId, String artifactId,
+                                         String version, String scope, String type) {
+        pom.append(indent).append("<dependency>\n")
+            .append(indent).append("    <groupId>").append(groupId).append("</groupId>\n")
+            .append(indent).append("    <artifactId>").append(artifactId).append("</artifactId>\n");
+        if (version != null) {
+            pom.append(indent).append("    <version>").append(version).append("</version>\n");
+        }
+        if (type != null) {
+            pom.append(indent).append("    <type>").append(type).append("</type>\n");
+        }
+        if (scope != null) {
+            pom.append(indent).append("    <scope>").append(scope).append("</scope>\n");
+        }
+        pom.append(indent).append("</dependency>\n");
+    }
+
+    private static StringBuilder pomHeader() {
+        return new StringBuilder(2048)
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+            .append("    <modelVersion>4.0.0</modelVersion>\n");
+    }
+
+    private int repositoryOf(int id) {
+        return id / options.getModulesPerRepository();
+    }
+
+    /**
+     * The module whose groupId:artifactId this one carries: itself unless it is a duplicate
+     */
+    private int owner(int id) {
+        return copyOf[id] >= 0 ? copyOf[id] : id;
+    }
+
+    private String groupOf(int id) {
+        return groupId(repositoryOf(owner(id)));
+    }
+
+    private String artifactOf(int id) {
+        int owner = owner(id);
+        return artifactId(repositoryOf(owner), owner % options.getModulesPerRepository());
+    }
+
+    /**
+     * Catalog alias from the module's own position, unique even for duplicates
+     */
+    private String catalogAlias(int id) {
+        return artifactId(repositoryOf(id), id % options.getModulesPerRepository());
+    }
+
+    private static String[] external(int id) {
+        return EXTERNAL_DEPENDENCIES[id % EXTERNAL_DEPENDENCIES.length];
+    }
+
+    private static String repositoryName(int r) {
+        return String.format("repo-%05d", r);
+    }
+
+    private static String aggregatorName(int r, String key) {
+        return key.isEmpty() ? repositoryName(r) : repositoryName(r) + "-" + key.replace('/', '-');
+    }
+
+    private static String groupId(int r) {
+        return String.format("com.example.synthetic.r%05d", r);
+    }
+
+    private static String artifactId(int r, int m) {
+        return String.format("r%05d-m%03d", r, m);
+    }
+
+    private static String version(int r) {
+        return "1.0." + r;
+    }
+
+    public static class Options {
+        private final int repositories;
+        private final int modulesPerRepository;
+        private final double mavenRatio;
+        private final double edgeDensity;
+        private final double duplicateRate;
+        private final double cycleRate;
+        private final double bomRate;
+        private final int nestingDepth;
+        private final long seed;
+
+        /**
+         * @param mavenRatio    share of Maven repositories, the rest are Gradle
+         * @param edgeDensity   mean dependencies per module on modules of other repositories
+         * @param duplicateRate share of modules reusing the groupId:artifactId of an earlier module
+         * @param cycleRate     share of repositories with a module closing a dependency cycle
+         * @param bomRate       share of repositories managing in-house versions with a BOM (Maven)
+         *                      or version catalog (Gradle)
+         * @param nestingDepth  directory levels from repository root to module, at least 1
+         */
+        public Options(int repositories, int modulesPerRepository, double mavenRatio, double edgeDensity,
+                       double duplicateRate, double cycleRate, double bomRate, int nestingDepth, long seed) {
+            if (repositories < 1 || modulesPerRepository < 1 || nestingDepth < 1 || edgeDensity < 0) {
+                throw new IllegalArgumentException("Workspace sizes must be positive");
+            }
+            if (!isRate(mavenRatio) || !isRate(duplicateRate) || !isRate(cycleRate) || !isRate(bomRate)) {
+                throw new IllegalArgumentException("Ratios and rates must be between 0 and 1");
+            }
+            this.repositories = repositories;
+            this.modulesPerRepository = modulesPerRepository;
+            this.mavenRatio = mavenRatio;
+            this.edgeDensity = edgeDensity;
+            this.duplicateRate = duplicateRate;
+            this.cycleRate = cycleRate;
+            this.bomRate = bomRate;
+            this.nestingDepth = nestingDepth;
+            this.seed = seed;
+        }
+
+        /**
+         * Reads analyzer.synthetic.repositories, .modules, .maven-ratio, .edge-density,
+         * .duplicate-rate, .cycle-rate, .bom-rate, .nesting-depth and .seed
+         */
+        public static Options fromSystemProperties() {
+            return new Options(
+                Integer.getInteger("analyzer.synthetic.repositories", 100),
+                Integer.getInteger("analyzer.synthetic.modules", 10),
+                Double.parseDouble(System.getProperty("analyzer.synthetic.maven-ratio", "0.5")),
+                Double.parseDouble(System.getProperty("analyzer.synthetic.edge-density", "3")),
+                Double.parseDouble(System.getProperty("analyzer.synthetic.duplicate-rate", "0.01")),
+                Double.parseDouble(System.getProperty("analyzer.synthetic.cycle-rate", "0.02")),
+                Double.parseDouble(System.getProperty("analyzer.synthetic.bom-rate", "0.2")),
+                Integer.getInteger("analyzer.synthetic.nesting-depth", 1),
+                Long.getLong("analyzer.synthetic.seed", 42L));
+        }
+
+        private static boolean isRate(double value) {
+            return value >= 0 && value <= 1;
+        }
+
+        public int getRepositories() {
+            return repositories;
+        }
+
+        public int getModulesPerRepository() {
+            return modulesPerRepository;
+        }
+
+        public double getMavenRatio() {
+            return mavenRatio;
+        }
+
+        public double getEdgeDensity() {
+            return edgeDensity;
+        }
+
+        public double getDuplicateRate() {
+            return duplicateRate;
+        }
+
+        public double getCycleRate() {
+            return cycleRate;
+        }
+
+        public double getBomRate() {
+            return bomRate;
+        }
+
+        public int getNestingDepth() {
+            return nestingDepth;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+    }
+
+    /**
+     * What was written. Modules exclude the aggregator and BOM POMs of Maven repositories.
+     */
+    public static class Summary {
+        private final Path root;
+        private final int repositories;
+        private final int mavenRepositories;
+        private final int modules;
+        private final long dependencies;
+        private final int duplicateModules;
+        private final int injectedCycles;
+        private final int managedRepositories;
+        private final long files;
+        private final long bytes;
+
+        Summary(Path root, int repositories, int mavenRepositories, int modules, long dependencies,
+                int duplicateModules, int injectedCycles, int managedRepositories, long files, long bytes) {
+            this.root = root;
+            this.repositories = repositories;
+            this.mavenRepositories = mavenRepositories;
+            this.modules = modules;
+            this.dependencies = dependencies;
+            this.duplicateModules = duplicateModules;
+            this.injectedCycles = injectedCycles;
+            this.managedRepositories = managedRepositories;
+            this.files = files;
+            this.bytes = bytes;
+        }
+
+        public Path getRoot() {
+            return root;
+        }
+
+        public int getRepositories() {
+            return repositories;
+        }
+
+        public int getMavenRepositories() {
+            return mavenRepositories;
+        }
+
+        public int getModules() {
+            return modules;
+        }
+
+        /**
+         * In-house dependencies declared by modules, within and across repositories
+         */
+        public long getDependencies() {
+            return dependencies;
+        }
+
+        public int getDuplicateModules() {
+            return duplicateModules;
+        }
+
+        public int getInjectedCycles() {
+            return injectedCycles;
+        }
+
+        public int getManagedRepositories() {
+            return managedRepositories;
+        }
+
+        public long getFiles() {
+            return files;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d repositories (%d Maven, %d managed), %d modules, %d in-house dependencies, "
+                    + "%d duplicate modules, %d injected cycles, %d files (%d bytes) in %s",
+                repositories, mavenRepositories, managedRepositories, modules, dependencies,
+                duplicateModules, injectedCycles, files, bytes, root);
+        }
+    }
+
+    /**
+     * Counts files written from the parallel repository writers
+     */
+    private static final class Output {
+        private final LongAdder files = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        void write(Path file, CharSequence content) throws IOException {
+            byte[] data = content.toString().getBytes(StandardCharsets.UTF_8);
+            Files.createDirectories(file.getParent());
+            Files.write(file, data);
+            files.increment();
+            bytes.add(data.length);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.dependencies.analyzer.visualizer;
 
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.model.Coordinate;
 import com.example.dependencies.analyzer.model.Dependency;
 import com.example.dependencies.analyzer.model.Project;
 
@@ -33,7 +35,7 @@ public class DependencyGraphVisualizer {
         
         // Print dependency tree
         pw.println("\n=== Dependency Tree ===\n");
-        printDependencyTree(pw, dependencyMap);
+        printDependencyTree(pw, dependencyMap, buildDependentsGraph(dependencyMap));
         
         return sw.toString();
     }
@@ -89,7 +91,26 @@ public class DependencyGraphVisualizer {
             });
     }
     
-    private void printDependencyTree(PrintWriter pw, Map<Project, List<Dependency>> dependencyMap) {
+    /**
+     * Graph in which every project depending on a groupId:artifactId points at each project with that key once
+     */
+    private DependencyGraph buildDependentsGraph(Map<Project, List<Dependency>> dependencyMap) {
+        Map<Coordinate, List<Project>> projectsByKey = new HashMap<>();
+        for (Project project : dependencyMap.keySet()) {
+            projectsByKey.computeIfAbsent(project.getArtifactCoordinate(), k -> new ArrayList<>()).add(project);
+        }
+        return DependencyGraph.build(new ArrayList<>(dependencyMap.keySet()), dependencyMap::get,
+            (source, dep, targets) -> {
+                // Coordinates without a groupId or artifactId never match
+                if (dep.getGroupId() != null && dep.getArtifactId() != null) {
+                    projectsByKey.getOrDefault(dep.getArtifactCoordinate(), List.of()).forEach(targets);
+                }
+            })
+            .withoutParallelEdges();
+    }
+    
+    private void printDependencyTree(PrintWriter pw, Map<Project, List<Dependency>> dependencyMap,
+                                     DependencyGraph graph) {
         Set<Project> roots = findRootProjects(dependencyMap);
         
         pw.println("Root projects (no in-house dependencies):");
@@ -101,7 +122,7 @@ public class DependencyGraphVisualizer {
         Set<Project> visited = new HashSet<>();
         
         for (Project root : roots) {
-            printProjectTree(pw, root, dependencyMap, "", visited);
+            printProjectTree(pw, root, graph, "", visited);
         }
     }
     
@@ -119,8 +140,7 @@ public class DependencyGraphVisualizer {
         return hasNoDependencies.isEmpty() ? allProjects : hasNoDependencies;
     }
     
-    private void printProjectTree(PrintWriter pw, Project project, 
-                                  Map<Project, List<Dependency>> dependencyMap,
+    private void printProjectTree(PrintWriter pw, Project project, DependencyGraph graph,
                                   String indent, Set<Project> visited) {
         if (visited.contains(project)) {
             pw.println(indent + project.getArtifactId() + " [circular reference]");
@@ -131,32 +151,25 @@ public class DependencyGraphVisualizer {
         pw.println(indent + project.getArtifactId() + " (" + project.getVersion() + ")");
         
         // Find projects that depend on this project
-        List<Project> dependents = findDependents(project, dependencyMap);
+        List<Project> dependents = findDependents(project, graph);
         
         for (int i = 0; i < dependents.size(); i++) {
             boolean isLast = (i == dependents.size() - 1);
             String newIndent = indent + (isLast ? "  └─ " : "  ├─ ");
             String continueIndent = indent + (isLast ? "     " : "  │  ");
             
-            printProjectTree(pw, dependents.get(i), dependencyMap, continueIndent, visited);
+            printProjectTree(pw, dependents.get(i), graph, continueIndent, visited);
         }
         
         visited.remove(project);
     }
     
-    private List<Project> findDependents(Project project, Map<Project, List<Dependency>> dependencyMap) {
+    private List<Project> findDependents(Project project, DependencyGraph graph) {
         List<Project> dependents = new ArrayList<>();
+        int v = graph.indexOf(project);
         
-        for (Map.Entry<Project, List<Dependency>> entry : dependencyMap.entrySet()) {
-            for (Dependency dep : entry.getValue()) {
-                if (dep.getGroupId() != null && project.getGroupId() != null && 
-                    dep.getGroupId().equals(project.getGroupId()) && 
-                    dep.getArtifactId() != null && project.getArtifactId() != null &&
-                    dep.getArtifactId().equals(project.getArtifactId())) {
-                    dependents.add(entry.getKey());
-                    break;
-                }
-            }
+        for (int i = 0; v >= 0 && i < graph.inDegree(v); i++) {
+            dependents.add(graph.node(graph.predecessor(v, i)));
         }
         
         return dependents;
@@ -1,5 +1,7 @@
 package com.example.dependencies.analyzer.visualizer;
 
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.model.Coordinate;
 import com.example.dependencies.analyzer.model.Dependency;
 import com.example.dependencies.analyzer.model.Project;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -35,27 +37,20 @@ public class HtmlGraphVisualizer {
         ArrayNode nodes = mapper.createArrayNode();
         ArrayNode links = mapper.createArrayNode();
         
-        // Create a map to track node indices - now supports multiple indices per key
-        Map<String, List<Integer>> nodeIndicesMap = new HashMap<>();
+        // Track the nodes of each key - supports multiple nodes with same groupId:artifactId
+        Map<Coordinate, List<Project>> nodesByKey = new HashMap<>();
         List<Project> allProjects = new ArrayList<>();
         
         // First, collect all projects
         for (Project project : dependencyMap.keySet()) {
             allProjects.add(project);
+            nodesByKey.computeIfAbsent(project.getArtifactCoordinate(), k -> new ArrayList<>()).add(project);
         }
         
         // Add all dependent projects that might not be in the keySet
         for (List<Dependency> deps : dependencyMap.values()) {
             for (Dependency dep : deps) {
-                String depKey = dep.getGroupId() + ":" + dep.getArtifactId();
-                boolean found = false;
-                for (Project p : allProjects) {
-                    if ((p.getGroupId() + ":" + p.getArtifactId()).equals(depKey)) {
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found) {
+                if (!nodesByKey.containsKey(dep.getArtifactCoordinate())) {
                     // Create a placeholder project for dependencies not in our scan
                     Project placeholder = new Project(
                         dep.getGroupId(), 
@@ -65,20 +60,21 @@ public class HtmlGraphVisualizer {
                         null
                     );
                     allProjects.add(placeholder);
+                    nodesByKey.put(placeholder.getArtifactCoordinate(), List.of(placeholder));
                 }
             }
         }
         
+        // Links go to ALL nodes with matching groupId:artifactId, placeholders included
+        DependencyGraph graph = DependencyGraph.build(allProjects, dependencyMap::get,
+            (source, dep, targets) -> nodesByKey.getOrDefault(dep.getArtifactCoordinate(), List.of()).forEach(targets));
+        
         // Create nodes
-        for (int i = 0; i < allProjects.size(); i++) {
-            Project project = allProjects.get(i);
-            String key = project.getGroupId() + ":" + project.getArtifactId();
-            
-            // Support multiple nodes with same groupId:artifactId
-            nodeIndicesMap.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        for (int i = 0; i < graph.nodeCount(); i++) {
+            Project project = graph.node(i);
             
             ObjectNode node = mapper.createObjectNode();
-            node.put("id", key);
+            node.put("id", project.getArtifactCoordinate().getKey());
             node.put("name", project.getArtifactId());
             node.put("version", project.getVersion());
             node.put("group", project.getGroupId());
@@ -96,35 +92,13 @@ public class HtmlGraphVisualizer {
         }
         
         // Create links
-        for (Map.Entry<Project, List<Dependency>> entry : dependencyMap.entrySet()) {
-            Project source = entry.getKey();
-            String sourceKey = source.getGroupId() + ":" + source.getArtifactId();
-            
-            // Find the correct source index by matching the full project
-            Integer sourceIndex = null;
-            for (int i = 0; i < allProjects.size(); i++) {
-                if (allProjects.get(i) == source) {
-                    sourceIndex = i;
-                    break;
-                }
-            }
-            
-            if (sourceIndex == null) continue;
-            
-            for (Dependency dep : entry.getValue()) {
-                String targetKey = dep.getGroupId() + ":" + dep.getArtifactId();
-                List<Integer> targetIndices = nodeIndicesMap.get(targetKey);
-                
-                if (targetIndices != null) {
-                    // Create links to ALL nodes with matching groupId:artifactId
-                    for (Integer targetIndex : targetIndices) {
-                        ObjectNode link = mapper.createObjectNode();
-                        link.put("source", sourceIndex);
-                        link.put("target", targetIndex);
-                        link.put("value", 1);
-                        links.add(link);
-                    }
-                }
+        for (int source = 0; source < graph.nodeCount(); source++) {
+            for (int i = 0; i < graph.outDegree(source); i++) {
+                ObjectNode link = mapper.createObjectNode();
+                link.put("source", source);
+                link.put("target", graph.successor(source, i));
+                link.put("value", 1);
+                links.add(link);
             }
         }
         
@@ -0,0 +1,141 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.analyzer.DuplicateProjectHandler.ResolutionMetrics;
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.model.ProjectType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateProjectHandlerTest {
+
+    @Test
+    void testResolutionsAreServedFromPrecomputedTable() {
+        Project shared1 = project("shared-library-v1", "shared-library", "1.0.0");
+        Project shared2 = project("shared-library-v2", "shared-library", "2.0.0");
+        Project inRepo = project("shared-library-v2", "shared-client", "2.0.0");
+        Project byVersion = project("billing-service", "billing", "1.0.0");
+        Project unique = project("user-service", "user-api", "1.0.0");
+
+        inRepo.addDependency(dependency("shared-library", "1.0.0"));
+        byVersion.addDependency(dependency("shared-library", "1.0.0"));
+        byVersion.addDependency(dependency("user-api", "1.0.0"));
+
+        DuplicateProjectHandler handler = new DuplicateProjectHandler();
+        handler.processDuplicates(Arrays.asList(shared1, shared2, inRepo, byVersion, unique));
+
+        assertSame(shared2, handler.resolveDependency(dependency("shared-library", "1.0.0"), inRepo));
+        assertSame(shared1, handler.resolveDependency(dependency("shared-library", "1.0.0"), byVersion));
+        assertSame(unique, handler.resolveDependency(dependency("user-api", "1.0.0"), byVersion));
+        assertNull(handler.resolveDependency(dependency("unknown", "1.0.0"), byVersion));
+        // Not declared by any project, so resolved on the spot and added to the table
+        assertSame(shared2, handler.resolveDependency(dependency("shared-library", "2.0.0"), unique));
+        assertSame(shared2, handler.resolveDependency(dependency("shared-library", "2.0.0"), unique));
+
+        ResolutionMetrics metrics = handler.getResolutionMetrics();
+        assertEquals(1L, metrics.getReasonCounts().get(DuplicateResolutionStrategies.SAME_REPOSITORY));
+        assertEquals(3L, metrics.getReasonCounts().get(DuplicateResolutionStrategies.EXACT_VERSION));
+        assertEquals(1L, metrics.getReasonCounts().get(DuplicateProjectHandler.ONLY_CANDIDATE));
+        assertEquals(1L, metrics.getReasonCounts().get(DuplicateProjectHandler.NOT_FOUND));
+        assertEquals(0L, metrics.getReasonCounts().get(DuplicateResolutionStrategies.REPOSITORY_NAME));
+        assertEquals(3, metrics.getTableEntries());
+        assertEquals(3L, metrics.getTableHits());
+        assertEquals(1L, metrics.getTableMisses());
+    }
+
+    @Test
+    void testSemverNearestAndPathPrefixStrategies() throws IOException {
+        Project lib10 = project("libs/shared-library-a", "shared-library", "1.0.0");
+        Project lib14 = project("libs/shared-library-b", "shared-library", "1.4.2");
+        Project lib20 = project("apps/shared-library-c", "shared-library", "2.0.0");
+        Project app = project("apps/web", "web", "1.0.0");
+        Dependency dependency = dependency("shared-library", "1.3.0");
+        app.addDependency(dependency);
+        List<Project> projects = Arrays.asList(lib10, lib14, lib20, app);
+
+        DuplicateProjectHandler bySemver = new DuplicateProjectHandler(
+            DuplicateResolutionStrategies.chain("exact-version,semver-nearest", null));
+        bySemver.processDuplicates(projects);
+        DuplicateProjectHandler byPath = new DuplicateProjectHandler(
+            DuplicateResolutionStrategies.chain("path-prefix,semver-nearest", null));
+        byPath.processDuplicates(projects);
+
+        assertSame(lib14, bySemver.resolveDependency(dependency, app));
+        assertEquals(1L, bySemver.getResolutionMetrics().getReasonCounts().get(DuplicateResolutionStrategies.SEMVER_NEAREST));
+        assertSame(lib20, byPath.resolveDependency(dependency, app));
+        assertEquals(1L, byPath.getResolutionMetrics().getReasonCounts().get(DuplicateResolutionStrategies.PATH_PREFIX));
+    }
+
+    @Test
+    void testPathPrefixResolvesPerDependingProject() throws IOException {
+        Path monorepo = Paths.get("monorepo");
+        Project frontendLibrary = projectAt(monorepo, "frontend/shared-library", "shared-library");
+        Project backendLibrary = projectAt(monorepo, "backend/shared-library", "shared-library");
+        Project deepWeb = projectAt(monorepo, "frontend/web/ui", "web-ui");
+        Project api = projectAt(monorepo, "backend/api", "api");
+        Dependency dependency = dependency("shared-library", "1.0.0");
+        deepWeb.addDependency(dependency);
+        api.addDependency(dependency);
+
+        DuplicateProjectHandler handler = new DuplicateProjectHandler(
+            DuplicateResolutionStrategies.chain("path-prefix", null));
+        handler.processDuplicates(Arrays.asList(frontendLibrary, backendLibrary, deepWeb, api));
+
+        // Same repository, so a table keyed by repository would hand the API the frontend's choice
+        assertSame(frontendLibrary, handler.resolveDependency(dependency, deepWeb));
+        assertSame(backendLibrary, handler.resolveDependency(dependency, api));
+        assertEquals(2, handler.getResolutionMetrics().getTableEntries());
+        assertEquals(2L, handler.getResolutionMetrics().getTableHits());
+    }
+
+    @Test
+    void testMappingFileRoutesPerDependingRepository(@TempDir Path tempDir) throws IOException {
+        Project config1 = project("config-service-repo1", "config-service", "1.0.0");
+        Project config2 = project("config-service-repo2", "config-service", "1.0.0");
+        Project mobile = project("mobile-backend", "mobile-api", "1.0.0");
+        Project orders = project("order-service", "order-api", "1.0.0");
+        Dependency dependency = dependency("config-service", "1.0.0");
+        mobile.addDependency(dependency);
+        orders.addDependency(dependency);
+        Path mappingFile = tempDir.resolve("duplicates.txt");
+        Files.writeString(mappingFile, "# mobile clients use the second deployment\n"
+            + "com.example:config-service  mobile-backend  config-service-repo2\n"
+            + "com.example:config-service  *               config-service-repo1\n");
+
+        DuplicateProjectHandler handler = new DuplicateProjectHandler(
+            DuplicateResolutionStrategies.chain(DuplicateResolutionStrategies.DEFAULT_CHAIN, mappingFile));
+        handler.processDuplicates(Arrays.asList(config1, config2, mobile, orders));
+
+        assertSame(config2, handler.resolveDependency(dependency, mobile));
+        assertSame(config1, handler.resolveDependency(dependency, orders));
+        assertEquals(2L, handler.getResolutionMetrics().getReasonCounts().get(DuplicateResolutionStrategies.MAPPING));
+        assertThrows(IllegalArgumentException.class,
+            () -> DuplicateResolutionStrategies.chain("same-repository,no-such-strategy", null));
+    }
+
+    private static Project project(String repository, String artifactId, String version) {
+        Path root = Paths.get(repository);
+        Project project = new Project("com.example", artifactId, version, root.resolve(artifactId), ProjectType.MAVEN);
+        project.setRepository(root, root.getFileName().toString());
+        return project;
+    }
+
+    private static Project projectAt(Path root, String path, String artifactId) {
+        Project project = new Project("com.example", artifactId, "1.0.0", root.resolve(path), ProjectType.MAVEN);
+        project.setRepository(root, root.getFileName().toString());
+        return project;
+    }
+
+    private static Dependency dependency(String artifactId, String version) {
+        return new Dependency("com.example", artifactId, version, "compile");
+    }
+}
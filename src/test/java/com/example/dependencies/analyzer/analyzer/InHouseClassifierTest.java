@@ -0,0 +1,88 @@
+package com.example.dependencies.analyzer.analyzer;
+
+import com.example.dependencies.analyzer.analyzer.InHouseClassifier.Classification;
+import com.example.dependencies.analyzer.model.CoordinateTable;
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.model.ProjectType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InHouseClassifierTest {
+
+    private final Project billing = new Project("com.example.billing", "billing-core", "1.0.0",
+        Paths.get("billing-core"), ProjectType.MAVEN);
+    private final Project legacy = new Project("org.legacy", "legacy-api", "2.0.0",
+        Paths.get("legacy-api"), ProjectType.GRADLE);
+
+    @Test
+    void testProjectGroupsWithoutConfiguredPrefixes() {
+        billing.addDependency(dependency("org.legacy", "legacy-api"));
+        billing.addDependency(dependency("com.example.billing", "billing-model"));
+        billing.addDependency(dependency("com.example", "shared"));
+        billing.addDependency(dependency("org.legacy.tools", "tool"));
+
+        InHouseClassifier classifier = InHouseClassifier.build(Arrays.asList(billing, legacy), Collections.emptyList());
+
+        assertEquals(Classification.ARTIFACT, classifier.classify(dependency("org.legacy", "legacy-api")));
+        assertEquals(Classification.GROUP, classifier.classify(dependency("com.example.billing", "billing-model")));
+        assertEquals(Classification.EXTERNAL, classifier.classify(dependency("com.example", "shared")));
+        assertEquals(Classification.EXTERNAL, classifier.classify(dependency("org.legacy.tools", "tool")));
+        // Not seen while building
+        assertEquals(Classification.GROUP, classifier.classify(dependency("org.legacy", "legacy-impl")));
+    }
+
+    @Test
+    void testConfiguredPrefixesMatchWholeSegments() {
+        List<String> prefixes = InHouseClassifier.parseGroupPrefixes(" com.example , ,org.acme.platform");
+        InHouseClassifier classifier = InHouseClassifier.build(Arrays.asList(billing, legacy), prefixes);
+
+        assertEquals(Arrays.asList("com.example", "org.acme.platform"), prefixes);
+        assertEquals(Classification.GROUP, classifier.classify(dependency("com.example", "shared")));
+        assertEquals(Classification.GROUP, classifier.classify(dependency("com.example.billing.model", "model")));
+        assertEquals(Classification.GROUP, classifier.classify(dependency("org.acme.platform", "bom")));
+        assertEquals(Classification.EXTERNAL, classifier.classify(dependency("com.examples", "other")));
+        assertEquals(Classification.EXTERNAL, classifier.classify(dependency("org.acme", "other")));
+        // The legacy group is no longer in-house, but the project itself still is
+        assertEquals(Classification.EXTERNAL, classifier.classify(dependency("org.legacy", "legacy-impl")));
+        assertEquals(Classification.ARTIFACT, classifier.classify(dependency("org.legacy", "legacy-api")));
+    }
+
+    @Test
+    void testClassifiesProjectsAndDependenciesFromEarlierAnalyses() {
+        // billing and legacy were created before this reset, the new project after it
+        CoordinateTable.resetShared();
+        Project current = new Project("org.other", "other-app", "1.0.0", Paths.get("other-app"), ProjectType.MAVEN);
+        current.addDependency(dependency("org.unrelated", "unrelated"));
+        InHouseClassifier classifier = InHouseClassifier.build(Arrays.asList(current, billing), Collections.emptyList());
+        CoordinateTable.resetShared();
+
+        assertEquals(Classification.ARTIFACT, classifier.classify(dependency("com.example.billing", "billing-core")));
+        assertEquals(Classification.ARTIFACT, classifier.classify(dependency("org.other", "other-app")));
+        assertEquals(Classification.EXTERNAL, classifier.classify(dependency("org.legacy", "legacy-api")));
+    }
+
+    @Test
+    void testDependencyMapListsEveryProject() {
+        billing.addDependency(dependency("org.legacy", "legacy-api"));
+        billing.addDependency(dependency("org.slf4j", "slf4j-api"));
+
+        InHouseProjectDetector detector = new InHouseProjectDetector(Arrays.asList(billing, legacy));
+        Map<Project, List<Dependency>> dependencyMap = detector.buildInHouseDependencyMap();
+
+        assertEquals(2, dependencyMap.size());
+        assertEquals(1, dependencyMap.get(billing).size());
+        assertTrue(dependencyMap.get(legacy).isEmpty());
+    }
+
+    private static Dependency dependency(String groupId, String artifactId) {
+        return new Dependency(groupId, artifactId, "1.0.0", "compile");
+    }
+}
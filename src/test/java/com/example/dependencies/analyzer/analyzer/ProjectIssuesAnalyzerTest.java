@@ -1,5 +1,9 @@
 package com.example.dependencies.analyzer.analyzer;
 
+import com.example.dependencies.analyzer.graph.CycleDetector;
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.graph.EdgeResolver;
+import com.example.dependencies.analyzer.metrics.AnalysisMetrics;
 import com.example.dependencies.analyzer.model.Dependency;
 import com.example.dependencies.analyzer.model.Project;
 import com.example.dependencies.analyzer.model.ProjectType;
@@ -7,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -110,4 +115,189 @@ class ProjectIssuesAnalyzerTest {
         assertEquals(3, report.getUnreferencedProjects().size(), "Should find 3 unreferenced projects (app, common1, common2)");
         assertEquals(1, report.getDuplicateArtifactIds().size(), "Should find 1 duplicate artifact ID");
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testDetectorsReportTimingsPerDetector() {
+        Project app = new Project("com.example", "app", "1.0.0", Paths.get("app"), ProjectType.MAVEN);
+        Project lib = new Project("com.example", "lib", "1.0.0", Paths.get("lib"), ProjectType.MAVEN);
+        Project libCopy = new Project("com.example", "lib", "1.0.0", Paths.get("copy/lib"), ProjectType.MAVEN);
+        app.addDependency(new Dependency("com.example", "lib", "1.0.0", "compile"));
+        lib.addDependency(new Dependency("com.example", "app", "1.0.0", "compile"));
+        
+        List<Project> projects = Arrays.asList(app, libCopy, lib);
+        DependencyGraph graph = DependencyGraph.build(projects, Project::getDependencies, EdgeResolver.byArtifact(projects));
+        AtomicInteger projectsSeen = new AtomicInteger();
+        List<IssueDetector> detectors = new ArrayList<>(IssueDetectors.defaults(CycleDetector.Options.fromSystemProperties()));
+        detectors.add(new IssueDetector() {
+            @Override
+            public String getName() {
+                return "counting";
+            }
+            
+            @Override
+            public void detect(IssueContext context, ProjectIssuesAnalyzer.IssuesReport report) {
+                projectsSeen.set(context.getProjects().size());
+            }
+        });
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        
+        ProjectIssuesAnalyzer.IssuesReport report =
+            new ProjectIssuesAnalyzer(graph, CycleDetector.Options.fromSystemProperties(), detectors).analyzeAll(metrics);
+        
+        assertEquals(1, report.getCircularReferences().size());
+        assertTrue(report.getUnreferencedProjects().isEmpty(), "A reference to lib also counts for its copy");
+        assertEquals(Collections.singleton("lib"), report.getDuplicateArtifactIds().keySet());
+        assertEquals(Collections.singleton("com.example:lib:1.0.0"), report.getDuplicateGAVs().keySet());
+        assertEquals(3, projectsSeen.get());
+        assertNotNull(metrics.getPhase("issueAnalysis." + IssueDetectors.CIRCULAR_REFERENCES));
+        assertNotNull(metrics.getPhase("issueAnalysis." + IssueDetectors.PROJECT_GROUPS));
+        assertNotNull(metrics.getPhase("issueAnalysis.counting"));
+    }
+    
+    @Test
+    void testServiceLoadedDetectorsAddTheirCategories() {
+        // Repositories are told apart by directory name when there is no git root
+        Project web = new Project("com.example", "shop-web", "1.0.0", Paths.get("shop-web"), ProjectType.MAVEN);
+        Project service = new Project("com.example", "shop-service", "1.0.0", Paths.get("shop-service"), ProjectType.MAVEN);
+        Project common = new Project("com.example", "common", "2.0.0-SNAPSHOT", Paths.get("common"), ProjectType.MAVEN);
+        web.addDependency(new Dependency("com.example", "shop-service", "1.0.0", "compile"));
+        web.addDependency(new Dependency("com.example", "common", "1.0.0", "compile"));
+        service.addDependency(new Dependency("com.example", "common", "2.0.0-SNAPSHOT", "compile"));
+        service.addDependency(new Dependency("com.example", "shop-web", "1.0.0", "compile"));
+        
+        List<Project> projects = Arrays.asList(web, service, common);
+        DependencyGraph graph = DependencyGraph.build(projects, Project::getDependencies, EdgeResolver.byArtifact(projects));
+        List<IssueDetector> detectors = new ArrayList<>(IssueDetectors.fromSystemProperties(CycleDetector.Options.fromSystemProperties()));
+        detectors.removeIf(detector -> detector instanceof LayeringViolationDetector || detector instanceof HotspotDetector);
+        detectors.add(new LayeringViolationDetector(LayeringViolationDetector.parse("web=.*-web; service=.*-service")));
+        detectors.add(new HotspotDetector(2, 2));
+        
+        ProjectIssuesAnalyzer.IssuesReport report =
+            new ProjectIssuesAnalyzer(graph, CycleDetector.Options.fromSystemProperties(), detectors).analyzeAll();
+        Map<String, List<Issue>> issues = report.getIssues();
+        
+        assertEquals(Arrays.asList("crossRepositorySnapshots", "hotspots", "layeringViolations", "versionSkew"),
+            new ArrayList<>(issues.keySet()));
+        assertEquals("com.example:common", issues.get("versionSkew").get(0).getSubject());
+        assertEquals(Arrays.asList(web, service), issues.get("versionSkew").get(0).getProjects());
+        assertEquals(Arrays.asList(service, common), issues.get("crossRepositorySnapshots").get(0).getProjects());
+        assertEquals(1, issues.get("layeringViolations").size());
+        assertEquals("service", issues.get("layeringViolations").get(0).getDetails().get("fromLayer"));
+        assertEquals(Arrays.asList(common), issues.get("hotspots").get(0).getProjects());
+        assertEquals(2, issues.get("hotspots").get(0).getDetails().get("fanIn"));
+    }
+    
+    @Test
+    void testVersionSkewIgnoresUnresolvedVersions() {
+        Project library = new Project("com.example", "library", "2.0.0", Paths.get("library"), ProjectType.MAVEN);
+        Project unversioned = new Project("com.example", "unversioned", "1.0.0", Paths.get("unversioned"), ProjectType.GRADLE);
+        Project unresolved = new Project("com.example", "unresolved", "1.0.0", Paths.get("unresolved"), ProjectType.MAVEN);
+        Project current = new Project("com.example", "current", "1.0.0", Paths.get("current"), ProjectType.MAVEN);
+        unversioned.addDependency(new Dependency("com.example", "library", "unknown", "compile"));
+        unresolved.addDependency(new Dependency("com.example", "library", "${library.version}", "compile"));
+        current.addDependency(new Dependency("com.example", "library", "2.0.0", "compile"));
+        Project outdated = new Project("com.example", "outdated", "1.0.0", Paths.get("outdated"), ProjectType.MAVEN);
+        outdated.addDependency(new Dependency("com.example", "library", "1.0.0", "compile"));
+        
+        List<Issue> placeholdersOnly = detect(new VersionSkewDetector(), library, unversioned, unresolved, current)
+            .get(VersionSkewDetector.CATEGORY);
+        List<Issue> skewed = detect(new VersionSkewDetector(), library, unversioned, unresolved, current, outdated)
+            .get(VersionSkewDetector.CATEGORY);
+        
+        assertTrue(placeholdersOnly.isEmpty(), "Placeholder versions are not a second version");
+        assertEquals(1, skewed.size());
+        assertEquals(Arrays.asList("2.0.0", "1.0.0"),
+            new ArrayList<>(((Map<?, ?>) skewed.get(0).getDetails().get("versions")).keySet()));
+        assertEquals(Arrays.asList(current, outdated), skewed.get(0).getProjects());
+    }
+    
+    @Test
+    void testCrossRepositorySnapshotsSkipTheirOwnRepository() {
+        Project library = new Project("com.example", "library", "1.1.0-SNAPSHOT", Paths.get("platform/library"), ProjectType.MAVEN);
+        Project sibling = new Project("com.example", "sibling", "1.0.0", Paths.get("platform/sibling"), ProjectType.MAVEN);
+        Project consumer = new Project("com.example", "consumer", "1.0.0", Paths.get("shop/consumer"), ProjectType.MAVEN);
+        library.setRepository(Paths.get("platform"), "platform");
+        sibling.setRepository(Paths.get("platform"), "platform");
+        consumer.setRepository(Paths.get("shop"), "shop");
+        sibling.addDependency(new Dependency("com.example", "library", "1.1.0-SNAPSHOT", "compile"));
+        consumer.addDependency(new Dependency("com.example", "library", "1.1.0-SNAPSHOT", "compile"));
+        consumer.addDependency(new Dependency("com.example", "sibling", "1.0.0", "compile"));
+        
+        List<Issue> issues = detect(new SnapshotDependencyDetector(), library, sibling, consumer)
+            .get(SnapshotDependencyDetector.CATEGORY);
+        
+        assertEquals(1, issues.size(), "Only the consumer in another repository is reported");
+        assertEquals(Arrays.asList(consumer, library), issues.get(0).getProjects());
+        assertEquals("shop", issues.get(0).getDetails().get("repository"));
+        assertEquals(Arrays.asList("platform"), issues.get(0).getDetails().get("targetRepositories"));
+    }
+    
+    @Test
+    void testHotspotsAreReportedFromTheirThresholdsByFanIn() {
+        Project core = new Project("com.example", "core", "1.0.0", Paths.get("core"), ProjectType.MAVEN);
+        Project util = new Project("com.example", "util", "1.0.0", Paths.get("util"), ProjectType.MAVEN);
+        Project app = new Project("com.example", "app", "1.0.0", Paths.get("app"), ProjectType.MAVEN);
+        Project batch = new Project("com.example", "batch", "1.0.0", Paths.get("batch"), ProjectType.MAVEN);
+        Project web = new Project("com.example", "web", "1.0.0", Paths.get("web"), ProjectType.MAVEN);
+        for (Project consumer : Arrays.asList(app, batch, web)) {
+            consumer.addDependency(new Dependency("com.example", "core", "1.0.0", "compile"));
+        }
+        app.addDependency(new Dependency("com.example", "util", "1.0.0", "compile"));
+        batch.addDependency(new Dependency("com.example", "util", "1.0.0", "compile"));
+        
+        List<Issue> issues = detect(new HotspotDetector(2, 3), core, util, app, batch, web)
+            .get(HotspotDetector.CATEGORY);
+        
+        assertEquals(Arrays.asList("com.example:core:1.0.0", "com.example:util:1.0.0"),
+            Arrays.asList(issues.get(0).getSubject(), issues.get(1).getSubject()));
+        assertEquals(2, issues.size(), "Fan-out 2 stays below the fan-out threshold of 3");
+        assertEquals(3, issues.get(0).getDetails().get("fanIn"));
+        assertThrows(IllegalArgumentException.class, () -> new HotspotDetector(0, 20));
+    }
+    
+    @Test
+    void testLayerSpecificationParsing() {
+        List<LayeringViolationDetector.Layer> layers =
+            LayeringViolationDetector.parse(" web = .*-(web|ui) ;; service=.*:.*-service;");
+        
+        assertEquals(Arrays.asList("web", "service"), Arrays.asList(layers.get(0).getName(), layers.get(1).getName()));
+        assertEquals(".*-(web|ui)", layers.get(0).getPattern().pattern());
+        assertTrue(layers.get(1).getPattern().matcher("com.example:order-service").matches());
+        assertTrue(LayeringViolationDetector.parse("").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> LayeringViolationDetector.parse("web"));
+        assertThrows(IllegalArgumentException.class, () -> LayeringViolationDetector.parse("=.*-web"));
+        assertThrows(IllegalArgumentException.class, () -> LayeringViolationDetector.parse("web=.*-(web"));
+    }
+    
+    @Test
+    void testLayeringViolationsOnlyPointUpwards() {
+        Project web = new Project("com.example", "shop-web", "1.0.0", Paths.get("shop-web"), ProjectType.MAVEN);
+        Project service = new Project("com.example", "order-service", "1.0.0", Paths.get("order-service"), ProjectType.MAVEN);
+        Project common = new Project("com.example", "shop-common", "1.0.0", Paths.get("shop-common"), ProjectType.MAVEN);
+        Project tools = new Project("com.example", "tools", "1.0.0", Paths.get("tools"), ProjectType.MAVEN);
+        web.addDependency(new Dependency("com.example", "order-service", "1.0.0", "compile"));
+        service.addDependency(new Dependency("com.example", "shop-common", "1.0.0", "compile"));
+        common.addDependency(new Dependency("com.example", "shop-web", "1.0.0", "compile"));
+        common.addDependency(new Dependency("com.example", "tools", "1.0.0", "compile"));
+        tools.addDependency(new Dependency("com.example", "shop-web", "1.0.0", "compile"));
+        LayeringViolationDetector detector = new LayeringViolationDetector(
+            LayeringViolationDetector.parse("web=.*-web;service=.*-service;common=.*-common"));
+        
+        List<Issue> issues = detect(detector, web, service, common, tools).get(LayeringViolationDetector.CATEGORY);
+        
+        // tools is in no layer, so neither of its edges is checked
+        assertEquals(1, issues.size());
+        assertEquals("com.example:shop-common:1.0.0 -> com.example:shop-web:1.0.0", issues.get(0).getSubject());
+        assertEquals("common", issues.get(0).getDetails().get("fromLayer"));
+        assertEquals("web", issues.get(0).getDetails().get("toLayer"));
+        assertTrue(detect(new LayeringViolationDetector(Collections.emptyList()), web, service, common, tools)
+            .get(LayeringViolationDetector.CATEGORY).isEmpty());
+    }
+    
+    private static Map<String, List<Issue>> detect(IssueDetector detector, Project... projects) {
+        List<Project> projectList = Arrays.asList(projects);
+        DependencyGraph graph = DependencyGraph.build(projectList, Project::getDependencies, EdgeResolver.byArtifact(projectList));
+        return new ProjectIssuesAnalyzer(graph, CycleDetector.Options.fromSystemProperties(), List.of(detector))
+            .analyzeAll().getIssues();
+    }
+}
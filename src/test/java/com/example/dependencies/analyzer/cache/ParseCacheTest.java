@@ -0,0 +1,207 @@
+package com.example.dependencies.analyzer.cache;
+
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.model.ProjectType;
+import com.example.dependencies.analyzer.scanner.DiscoveredRepository;
+import com.example.dependencies.analyzer.scanner.ParsePipeline;
+import com.example.dependencies.analyzer.scanner.WorkspaceCrawler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+class ParseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldServeUnchangedFilesFromCache() throws IOException {
+        Path repo = createRepository();
+        Path cacheFile = tempDir.resolve("out/dependencies-analysis.parse-cache.json");
+
+        List<Project> firstRun = parse(repo, ParseCache.load(cacheFile));
+        ParseCache cache = ParseCache.load(cacheFile);
+        List<Project> secondRun = parse(repo, cache);
+
+        assertThat(cache.getHits()).isEqualTo(2);
+        assertThat(cache.getMisses()).isZero();
+        assertThat(secondRun).hasSize(2);
+        for (int i = 0; i < firstRun.size(); i++) {
+            assertThat(secondRun.get(i).getFullName()).isEqualTo(firstRun.get(i).getFullName());
+            assertThat(secondRun.get(i).getProjectPath()).isEqualTo(firstRun.get(i).getProjectPath());
+            assertThat(secondRun.get(i).getPackaging()).isEqualTo(firstRun.get(i).getPackaging());
+            assertThat(secondRun.get(i).getDependencies()).isEqualTo(firstRun.get(i).getDependencies());
+        }
+        assertThat(secondRun.get(0).getDependencies().get(0).getVersion()).isEqualTo("2.1");
+    }
+
+    @Test
+    void shouldSaveWithDefaultFilePermissions() throws IOException {
+        assumeThat(FileSystems.getDefault().supportedFileAttributeViews()).contains("posix");
+        Path cacheFile = tempDir.resolve("cache.json");
+        Path reference = Files.writeString(tempDir.resolve("reference.json"), "");
+
+        parse(createRepository(), ParseCache.load(cacheFile));
+
+        assertThat(Files.getPosixFilePermissions(cacheFile)).isEqualTo(Files.getPosixFilePermissions(reference));
+    }
+
+    @Test
+    void shouldReparseChangedFiles() throws IOException {
+        Path repo = createRepository();
+        Path cacheFile = tempDir.resolve("cache.json");
+        parse(repo, ParseCache.load(cacheFile));
+
+        Files.writeString(repo.resolve("pom.xml"), pom("maven-app", "3.0"));
+        ParseCache cache = ParseCache.load(cacheFile);
+        List<Project> projects = parse(repo, cache);
+
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(projects.get(0).getVersion()).isEqualTo("3.0");
+    }
+
+    @Test
+    void shouldReuseEntryWhenOnlyTimestampChanged() throws IOException {
+        Path repo = createRepository();
+        Path cacheFile = tempDir.resolve("cache.json");
+        parse(repo, ParseCache.load(cacheFile));
+
+        Files.setLastModifiedTime(repo.resolve("pom.xml"), FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        ParseCache cache = ParseCache.load(cacheFile);
+        parse(repo, cache);
+
+        assertThat(cache.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldInvalidateGradleEntryWhenSettingsFileAppears() throws IOException {
+        Path repo = createRepository();
+        Path cacheFile = tempDir.resolve("cache.json");
+        parse(repo, ParseCache.load(cacheFile));
+
+        Files.writeString(repo.resolve("gradle-lib/settings.gradle"), "rootProject.name = 'renamed-lib'\n");
+        ParseCache cache = ParseCache.load(cacheFile);
+        List<Project> projects = parse(repo, cache);
+
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(projects.get(1).getArtifactId()).isEqualTo("renamed-lib");
+    }
+
+    @Test
+    void shouldReparseImporterWhenImportedBomAppears() throws IOException {
+        Path workspace = tempDir.resolve("workspace");
+        Path app = workspace.resolve("app");
+        Files.createDirectories(app.resolve(".git"));
+        Files.writeString(app.resolve("pom.xml"), "<project><modelVersion>4.0.0</modelVersion>" +
+            "<groupId>com.example</groupId><artifactId>app</artifactId><version>1.0</version>" +
+            "<dependencyManagement><dependencies><dependency><groupId>com.example</groupId>" +
+            "<artifactId>bom</artifactId><version>1.0</version><type>pom</type><scope>import</scope>" +
+            "</dependency></dependencies></dependencyManagement>" +
+            "<dependencies><dependency><groupId>com.example</groupId><artifactId>lib</artifactId>" +
+            "</dependency></dependencies></project>");
+        Path cacheFile = tempDir.resolve("cache.json");
+        assertThat(parse(workspace, ParseCache.load(cacheFile)).get(0).getDependencies().get(0).getVersion())
+            .isEqualTo("unknown");
+
+        Path bom = workspace.resolve("bom");
+        Files.createDirectories(bom.resolve(".git"));
+        Files.writeString(bom.resolve("pom.xml"), "<project><modelVersion>4.0.0</modelVersion>" +
+            "<groupId>com.example</groupId><artifactId>bom</artifactId><version>1.0</version><packaging>pom</packaging>" +
+            "<dependencyManagement><dependencies><dependency><groupId>com.example</groupId>" +
+            "<artifactId>lib</artifactId><version>3.3</version></dependency></dependencies></dependencyManagement></project>");
+        ParseCache cache = ParseCache.load(cacheFile);
+        List<Project> projects = parse(workspace, cache);
+
+        assertThat(cache.getHits()).isZero();
+        assertThat(projects.get(0).getArtifactId()).isEqualTo("app");
+        assertThat(projects.get(0).getDependencies().get(0).getVersion()).isEqualTo("3.3");
+
+        // Once the BOM resolves, the entry no longer depends on the rest of the workspace
+        cache = ParseCache.load(cacheFile);
+        parse(workspace, cache);
+        assertThat(cache.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReparseChildWhenParentAppearsElsewhere() throws IOException {
+        Path workspace = tempDir.resolve("workspace");
+        Path app = workspace.resolve("app");
+        Files.createDirectories(app.resolve(".git"));
+        Files.writeString(app.resolve("pom.xml"), "<project><modelVersion>4.0.0</modelVersion>" +
+            "<parent><groupId>com.example</groupId><artifactId>parent</artifactId><version>1.0</version></parent>" +
+            "<artifactId>app</artifactId>" +
+            "<dependencies><dependency><groupId>com.example</groupId><artifactId>lib</artifactId>" +
+            "<version>${lib.version}</version></dependency></dependencies></project>");
+        Path cacheFile = tempDir.resolve("cache.json");
+        assertThat(parse(workspace, ParseCache.load(cacheFile)).get(0).getDependencies().get(0).getVersion())
+            .isNotEqualTo("2.0");
+
+        // Not at the default relativePath, so only the lookup by GAV finds it
+        Path parent = workspace.resolve("platform/parent");
+        Files.createDirectories(workspace.resolve("platform/.git"));
+        Files.createDirectories(parent);
+        Files.writeString(parent.resolve("pom.xml"), "<project><modelVersion>4.0.0</modelVersion>" +
+            "<groupId>com.example</groupId><artifactId>parent</artifactId><version>1.0</version><packaging>pom</packaging>" +
+            "<properties><lib.version>2.0</lib.version></properties></project>");
+        ParseCache cache = ParseCache.load(cacheFile);
+        List<Project> projects = parse(workspace, cache);
+
+        assertThat(cache.getHits()).isZero();
+        assertThat(projects.get(0).getArtifactId()).isEqualTo("app");
+        assertThat(projects.get(0).getDependencies().get(0).getVersion()).isEqualTo("2.0");
+    }
+
+    @Test
+    void shouldIgnoreCacheWithUnknownFormatVersion() throws IOException {
+        Path cacheFile = tempDir.resolve("cache.json");
+        Files.writeString(cacheFile, "{\"formatVersion\": 999, \"entries\": {}}");
+
+        ParseCache cache = ParseCache.load(cacheFile);
+
+        assertThat(cache.lookup(tempDir.resolve("pom.xml"), ProjectType.MAVEN)).isNull();
+    }
+
+    @Test
+    void shouldPlaceCacheNextToOutput() {
+        Path output = tempDir.resolve("frontend/public/dependencies-analysis.json");
+
+        assertThat(ParseCache.cacheFileFor(output))
+            .isEqualTo(tempDir.resolve("frontend/public/dependencies-analysis.parse-cache.json"));
+    }
+
+    private List<Project> parse(Path repo, ParseCache cache) throws IOException {
+        List<DiscoveredRepository> repositories = new WorkspaceCrawler().crawl(repo).getRepositories();
+        List<Project> projects = new ParsePipeline().parse(repositories, cache);
+        cache.save();
+        return projects;
+    }
+
+    private Path createRepository() throws IOException {
+        Path repo = tempDir.resolve("repo");
+        Files.createDirectories(repo.resolve(".git"));
+        Files.writeString(repo.resolve("pom.xml"), pom("maven-app", "1.0"));
+        Files.createDirectories(repo.resolve("gradle-lib"));
+        Files.writeString(repo.resolve("gradle-lib/build.gradle"),
+            "group = 'com.example'\nversion = '1.0'\ndependencies {\n    implementation 'com.example:maven-app:1.0'\n}\n");
+        return repo;
+    }
+
+    private String pom(String artifactId, String version) {
+        return "<project><modelVersion>4.0.0</modelVersion>" +
+            "<groupId>com.example</groupId><artifactId>" + artifactId + "</artifactId>" +
+            "<version>" + version + "</version>" +
+            "<properties><lib.version>2.1</lib.version></properties>" +
+            "<dependencies><dependency><groupId>com.example</groupId><artifactId>lib</artifactId>" +
+            "<version>${lib.version}</version></dependency></dependencies></project>";
+    }
+}
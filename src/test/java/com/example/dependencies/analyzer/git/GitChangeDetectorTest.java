@@ -0,0 +1,205 @@
+package com.example.dependencies.analyzer.git;
+
+import com.example.dependencies.analyzer.scanner.DiscoveredRepository;
+import com.example.dependencies.analyzer.scanner.WorkspaceCrawler;
+import com.example.dependencies.analyzer.scanner.WorkspaceScan;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitChangeDetectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final GitChangeDetector detector = new GitChangeDetector();
+
+    @Test
+    void shouldReportUntouchedRepositoryAsUnchanged() throws Exception {
+        Path repo = tempDir.resolve("repo");
+        try (Git git = initRepository(repo)) {
+            RepositoryState previous = detector.readState(repo);
+            RepositoryState current = detector.readState(repo);
+
+            RepositoryChanges changes = detector.detectChanges(repo, previous, current);
+
+            assertThat(previous.isClean()).isTrue();
+            assertThat(changes.isUnchanged()).isTrue();
+            assertThat(changes.isKnownUnchanged(repo.resolve("module/pom.xml"))).isTrue();
+            assertThat(changes.isKnownUnchanged(tempDir.resolve("other/pom.xml"))).isFalse();
+        }
+    }
+
+    @Test
+    void shouldReportFilesChangedByNewCommits() throws Exception {
+        Path repo = tempDir.resolve("repo");
+        try (Git git = initRepository(repo)) {
+            RepositoryState previous = detector.readState(repo);
+
+            Files.writeString(repo.resolve("module/pom.xml"), "<project><artifactId>module</artifactId></project>");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Change module").setAuthor("test", "test@example.com")
+                .setCommitter("test", "test@example.com").setSign(false).call();
+            RepositoryChanges changes = detector.detectChanges(repo, previous, detector.readState(repo));
+
+            assertThat(changes.isUnchanged()).isFalse();
+            assertThat(changes.getChangedPaths()).containsExactly("module/pom.xml");
+            assertThat(changes.isKnownUnchanged(repo.resolve("pom.xml"))).isTrue();
+            assertThat(changes.isKnownUnchanged(repo.resolve("module/pom.xml"))).isFalse();
+        }
+    }
+
+    @Test
+    void shouldTreatDirtyFilesAsChangedUntilTheyAreCleanInBothRuns() throws Exception {
+        Path repo = tempDir.resolve("repo");
+        try (Git git = initRepository(repo)) {
+            String original = Files.readString(repo.resolve("module/pom.xml"));
+            Files.writeString(repo.resolve("module/pom.xml"), "<project><artifactId>edited</artifactId></project>");
+            RepositoryState dirty = detector.readState(repo);
+            assertThat(dirty.isClean()).isFalse();
+            assertThat(dirty.getDirtyPaths()).containsExactly("module/pom.xml");
+
+            Files.writeString(repo.resolve("module/pom.xml"), original);
+            RepositoryChanges changes = detector.detectChanges(repo, dirty, detector.readState(repo));
+
+            // Clean now, but the cache entry was written from the dirty file
+            assertThat(changes.isUnchanged()).isFalse();
+            assertThat(changes.isKnownUnchanged(repo.resolve("module/pom.xml"))).isFalse();
+            assertThat(changes.isKnownUnchanged(repo.resolve("pom.xml"))).isTrue();
+        }
+    }
+
+    @Test
+    void shouldReportStagedBuildFilesAsDirty() throws Exception {
+        Path repo = tempDir.resolve("repo");
+        try (Git git = initRepository(repo)) {
+            Files.writeString(repo.resolve("build.gradle"), "group = 'com.example'\n");
+            git.add().addFilepattern("build.gradle").call();
+
+            RepositoryState state = detector.readState(repo);
+
+            assertThat(state.isClean()).isFalse();
+            assertThat(state.getDirtyPaths()).containsExactly("build.gradle");
+            assertThat(state.getTrackedBuildFiles()).containsExactly("build.gradle", "module/pom.xml", "pom.xml");
+        }
+    }
+
+    @Test
+    void shouldNotTrustUntrackedOrIgnoredBuildFiles() throws Exception {
+        Path repo = tempDir.resolve("repo");
+        try (Git git = initRepository(repo)) {
+            Files.writeString(repo.resolve(".gitignore"), "generated/\n");
+            git.add().addFilepattern(".gitignore").call();
+            git.commit().setMessage("Ignore generated").setAuthor("test", "test@example.com")
+                .setCommitter("test", "test@example.com").setSign(false).call();
+            Files.createDirectories(repo.resolve("generated"));
+            Files.writeString(repo.resolve("generated/pom.xml"), "<project/>");
+            Files.writeString(repo.resolve("build.gradle"), "group = 'com.example'\n");
+
+            RepositoryChanges changes = detector.detectChanges(repo, detector.readState(repo), detector.readState(repo));
+
+            // Neither file is in the index, so Git cannot vouch for them
+            assertThat(changes.isUnchanged()).isTrue();
+            assertThat(changes.isKnownUnchanged(repo.resolve("generated/pom.xml"))).isFalse();
+            assertThat(changes.isKnownUnchanged(repo.resolve("build.gradle"))).isFalse();
+            assertThat(changes.isKnownUnchanged(repo.resolve("pom.xml"))).isTrue();
+        }
+    }
+
+    @Test
+    void shouldReuseBuildFilesOfUnchangedRepositoriesInsteadOfCrawlingThem() throws Exception {
+        Path stable = tempDir.resolve("workspace/stable");
+        Path edited = tempDir.resolve("workspace/edited");
+        Path stateFile = tempDir.resolve("out/dependencies-analysis.git-state.json");
+        WorkspaceCrawler crawler = new WorkspaceCrawler();
+        try (Git stableGit = initRepository(stable); Git editedGit = initRepository(edited)) {
+            Files.writeString(stable.resolve("build.gradle"), "group = 'com.example'\n");
+            WorkspaceScan first = crawler.crawl(tempDir.resolve("workspace"));
+            detector.recordState(first.getRepositories(), null, stateFile).save();
+
+            Files.writeString(edited.resolve("module/pom.xml"), "<project><artifactId>edited</artifactId></project>");
+            RepositoryStateStore previous = RepositoryStateStore.load(stateFile);
+            Map<Path, RepositoryChanges> changes = detector.detectChanges(
+                previous.getRepositoryRoots(), previous, RepositoryStateStore.empty(stateFile));
+            Map<Path, List<String>> reusable = detector.reusableRepositories(changes, previous);
+            WorkspaceScan second = crawler.crawl(tempDir.resolve("workspace"), reusable);
+
+            assertThat(reusable).containsOnlyKeys(stable.toAbsolutePath().normalize());
+            assertThat(reusable.get(stable.toAbsolutePath().normalize()))
+                .containsExactlyInAnyOrder("pom.xml", "module/pom.xml", "build.gradle");
+            assertThat(second.getRepositories()).extracting(DiscoveredRepository::getBuildFileCount)
+                .containsExactly(2, 3);
+        }
+    }
+
+    @Test
+    void shouldCrawlRepositoriesWithNewUntrackedBuildFilesOrNestedRepositories() throws Exception {
+        Path workspace = tempDir.resolve("workspace");
+        Path extended = workspace.resolve("extended");
+        Path host = workspace.resolve("host");
+        Path stateFile = tempDir.resolve("out/dependencies-analysis.git-state.json");
+        WorkspaceCrawler crawler = new WorkspaceCrawler();
+        try (Git extendedGit = initRepository(extended); Git hostGit = initRepository(host)) {
+            detector.recordState(crawler.crawl(workspace).getRepositories(), null, stateFile).save();
+
+            Files.createDirectories(extended.resolve("extra"));
+            Files.writeString(extended.resolve("extra/pom.xml"), "<project/>");
+            initRepository(host.resolve("vendor/lib")).close();
+            RepositoryStateStore previous = RepositoryStateStore.load(stateFile);
+            Map<Path, RepositoryChanges> changes = detector.detectChanges(
+                previous.getRepositoryRoots(), previous, RepositoryStateStore.empty(stateFile));
+            WorkspaceScan second = crawler.crawl(workspace, detector.reusableRepositories(changes, previous));
+
+            assertThat(changes.values()).noneMatch(RepositoryChanges::isUnchanged);
+            assertThat(second.getRepositoryRoots()).containsExactly(extended, host, host.resolve("vendor/lib"));
+            assertThat(second.getRepositories().get(0).getPomFiles()).contains(extended.resolve("extra/pom.xml"));
+        }
+    }
+
+    @Test
+    void shouldFallBackToUnknownWithoutUsableGitState() throws Exception {
+        Path notARepository = tempDir.resolve("plain");
+        Files.createDirectories(notARepository.resolve(".git"));
+
+        RepositoryState state = detector.readState(notARepository);
+
+        assertThat(state).isNull();
+        assertThat(detector.detectChanges(notARepository, null, state)).isSameAs(RepositoryChanges.UNKNOWN);
+        assertThat(RepositoryChanges.UNKNOWN.isKnownUnchanged(notARepository.resolve("pom.xml"))).isFalse();
+    }
+
+    @Test
+    void shouldRoundTripStateFile() throws Exception {
+        Path repo = tempDir.resolve("repo");
+        Path stateFile = RepositoryStateStore.stateFileFor(tempDir.resolve("out/dependencies-analysis.json"));
+        try (Git git = initRepository(repo)) {
+            RepositoryStateStore store = RepositoryStateStore.empty(stateFile);
+            store.put(repo, detector.readState(repo));
+            store.save();
+
+            RepositoryState loaded = RepositoryStateStore.load(stateFile).get(repo);
+
+            assertThat(stateFile.getFileName().toString()).isEqualTo("dependencies-analysis.git-state.json");
+            assertThat(loaded.getHead()).isEqualTo(git.getRepository().resolve("HEAD").name());
+            assertThat(detector.detectChanges(repo, loaded, detector.readState(repo)).isUnchanged()).isTrue();
+        }
+    }
+
+    private Git initRepository(Path repo) throws Exception {
+        Files.createDirectories(repo.resolve("module"));
+        Files.writeString(repo.resolve("pom.xml"), "<project><artifactId>root</artifactId></project>");
+        Files.writeString(repo.resolve("module/pom.xml"), "<project><artifactId>old</artifactId></project>");
+        Git git = Git.init().setDirectory(repo.toFile()).call();
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("Initial commit").setAuthor("test", "test@example.com")
+            .setCommitter("test", "test@example.com").setSign(false).call();
+        return git;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.dependencies.analyzer.git;
+
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.scanner.DiscoveredRepository;
+import com.example.dependencies.analyzer.scanner.ParsePipeline;
+import com.example.dependencies.analyzer.scanner.WorkspaceCrawler;
+import com.example.dependencies.analyzer.scanner.WorkspaceScan;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitTreeSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldListBuildFilesOfBareRepository() throws Exception {
+        Path mirror = createMirror();
+
+        try (GitTreeSource tree = GitTreeSource.open(mirror, true, GitTreeSource.DEFAULT_REF,
+                WorkspaceCrawler.DEFAULT_IGNORED_DIRECTORIES)) {
+            assertThat(tree.getPomFiles()).containsExactly(mirror.resolve("pom.xml"));
+            assertThat(tree.getGradleFiles()).containsExactly(mirror.resolve("lib/build.gradle"));
+            assertThat(tree.getSettingsFiles()).containsExactly(mirror.resolve("lib/settings.gradle"));
+            assertThat(tree.exists(mirror.resolve("build/pom.xml"))).isFalse();
+            assertThat(tree.exists(mirror.resolve("mypom.xml"))).isFalse();
+            assertThat(tree.readString(mirror.resolve("lib/settings.gradle"))).contains("gradle-lib");
+        }
+    }
+
+    @Test
+    void shouldParseBareRepositoryFoundByCrawler() throws Exception {
+        Path mirror = createMirror();
+
+        WorkspaceScan scan = new WorkspaceCrawler().crawl(tempDir.resolve("mirrors"));
+        List<DiscoveredRepository> repositories = scan.getRepositories();
+        List<Project> projects = new ParsePipeline().parse(repositories);
+        scan.getRepositoryIndex().attach(projects);
+
+        assertThat(repositories).hasSize(1);
+        assertThat(repositories.get(0).isBare()).isTrue();
+        assertThat(projects).extracting(Project::getFullName)
+            .containsExactly("com.example:app:2.0", "com.example:gradle-lib:1.0");
+        assertThat(projects.get(0).getProjectPath()).isEqualTo(mirror);
+        assertThat(projects.get(0).getDependencies().get(0).getVersion()).isEqualTo("2.1");
+        assertThat(projects.get(1).getRepository()).isEqualTo("app");
+    }
+
+    @Test
+    void shouldReadConfiguredRef() throws Exception {
+        Path mirror = createMirror();
+
+        List<DiscoveredRepository> repositories = new WorkspaceCrawler().crawl(mirror).getRepositories();
+        ParsePipeline pipeline = new ParsePipeline(ParsePipeline.ExecutorKind.PLATFORM, 2, 4, "v1");
+        List<Project> projects = pipeline.parse(repositories);
+
+        assertThat(projects).extracting(Project::getFullName).containsExactly("com.example:app:1.0");
+    }
+
+    @Test
+    void shouldResolveVersionCatalogAliasesOfBareRepository() throws Exception {
+        Path work = tempDir.resolve("catalog-work");
+        Files.createDirectories(work.resolve("gradle"));
+        Files.createDirectories(work.resolve("catalogs"));
+        Files.createDirectories(work.resolve("app"));
+        Files.createDirectories(work.resolve("lib"));
+        try (Git git = Git.init().setDirectory(work.toFile()).call()) {
+            Files.writeString(work.resolve("settings.gradle.kts"),
+                "rootProject.name = \"shop\"\n"
+                + "include(\"app\", \"lib\")\n"
+                + "dependencyResolutionManagement {\n"
+                + "    versionCatalogs {\n"
+                + "        create(\"shared\") {\n"
+                + "            from(files(\"catalogs/shared.toml\"))\n"
+                + "        }\n"
+                + "    }\n"
+                + "}\n");
+            Files.writeString(work.resolve("gradle/libs.versions.toml"),
+                "[libraries]\nlib = \"com.example:lib:1.0\"\n");
+            Files.writeString(work.resolve("catalogs/shared.toml"),
+                "[libraries]\nauth-client = \"com.example:auth-client:1.4\"\n");
+            Files.writeString(work.resolve("build.gradle.kts"), "group = \"com.example\"\nversion = \"1.0\"\n");
+            Files.writeString(work.resolve("app/build.gradle.kts"),
+                "dependencies {\n    implementation(libs.lib)\n    implementation(shared.auth.client)\n}\n");
+            Files.writeString(work.resolve("lib/build.gradle.kts"), "group = \"com.example\"\n");
+            commit(git, "Catalog build");
+        }
+        Path mirror = tempDir.resolve("mirrors/shop.git");
+        Git.cloneRepository().setURI(work.toUri().toString()).setDirectory(mirror.toFile()).setBare(true).call().close();
+
+        List<Project> projects = new ParsePipeline().parse(new WorkspaceCrawler().crawl(mirror).getRepositories());
+
+        Project app = projects.stream().filter(project -> project.getArtifactId().equals("app")).findFirst().orElseThrow();
+        assertThat(app.getDependencies()).extracting(Dependency::getFullName)
+            .containsExactlyInAnyOrder("com.example:lib:1.0", "com.example:auth-client:1.4");
+    }
+
+    private Path createMirror() throws Exception {
+        Path work = tempDir.resolve("work");
+        Files.createDirectories(work);
+        try (Git git = Git.init().setDirectory(work.toFile()).call()) {
+            Files.writeString(work.resolve("pom.xml"), pom("1.0"));
+            commit(git, "Initial commit");
+            git.tag().setName("v1").setAnnotated(false).call();
+
+            Files.writeString(work.resolve("pom.xml"), pom("2.0"));
+            Files.writeString(work.resolve("mypom.xml"), pom("9.9"));
+            Files.createDirectories(work.resolve("build"));
+            Files.writeString(work.resolve("build/pom.xml"), pom("9.9"));
+            Files.createDirectories(work.resolve("lib"));
+            Files.writeString(work.resolve("lib/build.gradle"),
+                "group = 'com.example'\nversion = '1.0'\ndependencies {\n    implementation 'com.example:app:2.0'\n}\n");
+            Files.writeString(work.resolve("lib/settings.gradle"), "rootProject.name = 'gradle-lib'\n");
+            commit(git, "Add library");
+        }
+
+        Path mirror = tempDir.resolve("mirrors/app.git");
+        Git.cloneRepository().setURI(work.toUri().toString()).setDirectory(mirror.toFile()).setBare(true).call().close();
+        return mirror;
+    }
+
+    private void commit(Git git, String message) throws Exception {
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage(message).setAuthor("test", "test@example.com")
+            .setCommitter("test", "test@example.com").setSign(false).call();
+    }
+
+    private String pom(String version) {
+        return "<project><modelVersion>4.0.0</modelVersion>" +
+            "<groupId>com.example</groupId><artifactId>app</artifactId><version>" + version + "</version>" +
+            "<properties><lib.version>2.1</lib.version></properties>" +
+            "<dependencies><dependency><groupId>com.example</groupId><artifactId>lib</artifactId>" +
+            "<version>${lib.version}</version></dependency></dependencies></project>";
+    }
+}
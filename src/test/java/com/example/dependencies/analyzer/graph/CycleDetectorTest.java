@@ -0,0 +1,100 @@
+package com.example.dependencies.analyzer.graph;
+
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.model.ProjectType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CycleDetectorTest {
+
+    @Test
+    void shouldReportBackEdgeCyclesAndComponents() {
+        // a -> b -> c -> a, c -> d, d -> d
+        List<Project> projects = List.of(
+            project("a", "b"), project("b", "c"), project("c", "a", "d"), project("d", "d"));
+        DependencyGraph graph = DependencyGraph.build(projects, Project::getDependencies, EdgeResolver.byArtifact(projects));
+
+        assertThat(CycleDetector.findCycles(graph)).containsExactly(new int[]{0, 1, 2, 0}, new int[]{3, 3});
+
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(graph);
+        assertThat(components.componentCount()).isEqualTo(2);
+        assertThat(components.size(components.componentOf(0))).isEqualTo(3);
+        assertThat(components.componentOf(1)).isEqualTo(components.componentOf(2));
+        // Tarjan completes the component of d before the one containing the root
+        assertThat(components.componentOf(3)).isZero();
+    }
+
+    @Test
+    void shouldEnumerateElementaryCyclesThatBackEdgesMiss() {
+        // a -> b -> c -> a and a -> c -> a; c is already visited when the DFS returns to a
+        List<Project> projects = List.of(project("a", "b", "c"), project("b", "c"), project("c", "a"));
+        DependencyGraph graph = DependencyGraph.build(projects, Project::getDependencies, EdgeResolver.byArtifact(projects));
+
+        assertThat(CycleDetector.findCycles(graph)).hasSize(1);
+        CycleDetector.Cycles cycles = CycleDetector.findElementaryCycles(graph, options(100, 50));
+        assertThat(cycles.getCycles()).containsExactly(new int[]{0, 1, 2, 0}, new int[]{0, 2, 0});
+        assertThat(cycles.isTruncated()).isFalse();
+
+        CycleDetector.Cycles short2 = CycleDetector.findElementaryCycles(graph, options(100, 2));
+        assertThat(short2.getCycles()).containsExactly(new int[]{0, 2, 0});
+        assertThat(short2.isTruncated()).isTrue();
+
+        CycleDetector.Cycles capped = CycleDetector.findElementaryCycles(graph, options(1, 50));
+        assertThat(capped.getCycles()).hasSize(1);
+        assertThat(capped.isTruncated()).isTrue();
+    }
+
+    @Test
+    void shouldCountEveryCycleOfDenseComponent() {
+        String[] names = {"k0", "k1", "k2", "k3", "k4"};
+        List<Project> projects = new ArrayList<>();
+        for (String name : names) {
+            projects.add(project(name, names));
+        }
+        DependencyGraph graph = DependencyGraph.build(projects, Project::getDependencies, EdgeResolver.byArtifact(projects));
+
+        // 5 self-loops plus 10 + 20 + 30 + 24 cycles through 2..5 nodes
+        assertThat(CycleDetector.findElementaryCycles(graph, options(1000, 50)).getCycles()).hasSize(89);
+        assertThat(CycleDetector.findElementaryCycles(graph, options(1000, 3)).getCycles()).hasSize(35);
+    }
+
+    @Test
+    void shouldHandleChainsDeeperThanTheThreadStack() {
+        int length = 100_000;
+        List<Project> projects = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            projects.add(project("chain-" + i, "chain-" + ((i + 1) % length)));
+        }
+        DependencyGraph graph = DependencyGraph.build(projects, Project::getDependencies, EdgeResolver.byArtifact(projects));
+
+        List<int[]> cycles = CycleDetector.findCycles(graph);
+        assertThat(cycles).hasSize(1);
+        assertThat(cycles.get(0)).hasSize(length + 1);
+
+        CycleDetector.Cycles elementary = CycleDetector.findElementaryCycles(graph, options(10, length));
+        assertThat(elementary.getCycles()).hasSize(1);
+        assertThat(elementary.isTruncated()).isFalse();
+
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(graph);
+        assertThat(components.componentCount()).isEqualTo(1);
+        assertThat(components.size(0)).isEqualTo(length);
+    }
+
+    private CycleDetector.Options options(int maxCycles, int maxLength) {
+        return new CycleDetector.Options(CycleDetector.Mode.ELEMENTARY, maxCycles, maxLength, 60_000);
+    }
+
+    private Project project(String artifactId, String... dependencies) {
+        Project project = new Project("com.example.cycles", artifactId, "1.0", Paths.get(artifactId), ProjectType.MAVEN);
+        for (String dependency : dependencies) {
+            project.addDependency(new Dependency("com.example.cycles", dependency, "1.0", "compile"));
+        }
+        return project;
+    }
+}
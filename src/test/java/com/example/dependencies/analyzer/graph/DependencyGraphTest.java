@@ -0,0 +1,80 @@
+package com.example.dependencies.analyzer.graph;
+
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.model.ProjectType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyGraphTest {
+
+    @Test
+    void shouldStoreForwardAndReverseAdjacency() {
+        Project app = project("app", "lib", "util", "lib", "external");
+        Project lib = project("lib", "util");
+        Project util = project("util");
+        List<Project> projects = List.of(app, lib, util);
+
+        DependencyGraph graph = DependencyGraph.build(projects, Project::getDependencies, EdgeResolver.byArtifact(projects));
+
+        assertThat(graph.nodeCount()).isEqualTo(3);
+        assertThat(graph.edgeCount()).isEqualTo(4);
+        assertThat(successors(graph, 0)).containsExactly(1, 2, 1);
+        assertThat(predecessors(graph, 2)).containsExactly(0, 1);
+        assertThat(graph.inDegree(0)).isZero();
+        assertThat(graph.indexOf(util)).isEqualTo(2);
+        assertThat(graph.indexOf(project("util"))).isEqualTo(-1);
+
+        DependencyGraph distinct = graph.withoutParallelEdges();
+        assertThat(successors(distinct, 0)).containsExactly(1, 2);
+        assertThat(predecessors(distinct, 1)).containsExactly(0);
+        assertThat(distinct.edgeCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepDuplicateProjectsAsSeparateNodes() {
+        Project first = project("lib");
+        Project second = project("lib");
+        Project app = project("app", "lib");
+        List<Project> projects = List.of(first, second, app);
+
+        DependencyGraph graph = DependencyGraph.build(projects, Project::getDependencies,
+            (source, dep, targets) -> projects.stream()
+                .filter(p -> p.getArtifactCoordinate() == dep.getArtifactCoordinate())
+                .forEach(targets));
+
+        assertThat(graph.indexOf(second)).isEqualTo(1);
+        assertThat(successors(graph, 2)).containsExactly(0, 1);
+        assertThat(graph.inDegree(0)).isEqualTo(1);
+        assertThat(graph.inDegree(1)).isEqualTo(1);
+    }
+
+    private Project project(String artifactId, String... dependencies) {
+        Project project = new Project("com.example", artifactId, "1.0", Paths.get(artifactId), ProjectType.MAVEN);
+        for (String dependency : dependencies) {
+            project.addDependency(new Dependency("com.example", dependency, "1.0", "compile"));
+        }
+        return project;
+    }
+
+    private List<Integer> successors(DependencyGraph graph, int v) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < graph.outDegree(v); i++) {
+            result.add(graph.successor(v, i));
+        }
+        return result;
+    }
+
+    private List<Integer> predecessors(DependencyGraph graph, int v) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < graph.inDegree(v); i++) {
+            result.add(graph.predecessor(v, i));
+        }
+        return result;
+    }
+}
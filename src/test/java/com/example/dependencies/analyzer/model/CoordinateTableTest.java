@@ -0,0 +1,89 @@
+package com.example.dependencies.analyzer.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoordinateTableTest {
+
+    @Test
+    void shouldInternCoordinatesWithDenseIds() {
+        CoordinateTable table = new CoordinateTable();
+
+        Coordinate app = table.artifact("com.example", "app");
+        Coordinate lib = table.artifact("com.example", "lib");
+        Coordinate app10 = table.version(app, "1.0");
+
+        assertThat(table.artifact("com.example", "app")).isSameAs(app);
+        assertThat(table.version(table.artifact("com.example", "app"), "1.0")).isSameAs(app10);
+        assertThat(List.of(app.getId(), lib.getId())).containsExactly(0, 1);
+        assertThat(table.artifactCount()).isEqualTo(2);
+        assertThat(table.versionCount()).isEqualTo(1);
+        assertThat(app10.getKey()).isEqualTo("com.example:app:1.0");
+        assertThat(table.artifact(null, "no-group").getKey()).isEqualTo("null:no-group");
+    }
+
+    @Test
+    void shouldAssignOneIdPerCoordinateAcrossThreads() {
+        CoordinateTable table = new CoordinateTable();
+        Set<Coordinate> seen = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 10_000).parallel()
+            .forEach(i -> seen.add(table.artifact("com.example", "module-" + (i % 500))));
+
+        assertThat(seen).hasSize(500);
+        assertThat(seen.stream().map(Coordinate::getId).collect(Collectors.toSet()))
+            .isEqualTo(IntStream.range(0, 500).boxed().collect(Collectors.toSet()));
+    }
+
+    @Test
+    void shouldRestartIdsForEachAnalysis() {
+        CoordinateTable.resetShared();
+        new Project("com.example", "first-run", "1.0", null, ProjectType.MAVEN);
+        CoordinateTable.resetShared();
+
+        Project project = new Project("com.example", "second-run", "1.0", null, ProjectType.MAVEN);
+
+        assertThat(project.getArtifactCoordinate().getId()).isZero();
+        assertThat(CoordinateTable.shared().artifactCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepModelEqualityAcrossResets() {
+        Project before = new Project("com.example", "app", "1.0", null, ProjectType.MAVEN);
+        Dependency dependencyBefore = new Dependency("com.example", "lib", "2.0", null);
+        CoordinateTable.resetShared();
+
+        Project after = new Project("com.example", "app", "1.0", null, ProjectType.MAVEN);
+
+        assertThat(after).isEqualTo(before).hasSameHashCodeAs(before);
+        assertThat(new Dependency("com.example", "lib", "3.0", null)).isEqualTo(dependencyBefore);
+        assertThat(Set.of(before)).contains(after);
+        assertThat(after.getVersionCoordinate()).isEqualTo(before.getVersionCoordinate())
+            .isNotEqualTo(new Project("com.example", "app", "1.1", null, ProjectType.MAVEN).getVersionCoordinate());
+        assertThat(CoordinateTable.shared().artifactId(before)).isEqualTo(after.getArtifactCoordinate().getId());
+    }
+
+    @Test
+    void shouldExposeReadOnlyDependenciesAndKeepEquality() {
+        Project project = new Project("com.example", "app", "1.0", Paths.get("app"), ProjectType.MAVEN);
+        project.addDependency(new Dependency("com.example", "lib", "2.0", "compile"));
+
+        assertThat(project.getDependencies()).hasSize(1);
+        assertThatThrownBy(() -> project.getDependencies().add(new Dependency("x", "y", "1", null)))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(project.getFullName()).isEqualTo("com.example:app:1.0");
+        assertThat(project).isEqualTo(new Project("com.example", "app", "1.0", null, ProjectType.GRADLE));
+        assertThat(project.getDependencies().get(0)).isEqualTo(new Dependency("com.example", "lib", "3.0", null));
+        assertThat(project.getArtifactCoordinate())
+            .isSameAs(new Dependency("com.example", "app", "9.9", null).getArtifactCoordinate());
+    }
+}
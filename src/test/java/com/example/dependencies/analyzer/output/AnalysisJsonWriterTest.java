@@ -0,0 +1,185 @@
+package com.example.dependencies.analyzer.output;
+
+import com.example.dependencies.analyzer.analyzer.Issue;
+import com.example.dependencies.analyzer.analyzer.ProjectIssuesAnalyzer;
+import com.example.dependencies.analyzer.metrics.AnalysisMetrics;
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.model.ProjectType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+class AnalysisJsonWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldMatchTreeSerializationInPrettyMode() throws IOException {
+        Path target = tempDir.resolve("dependencies-analysis.json");
+
+        writeSample(target, new AnalysisJsonWriter.Options(true, false), new GraphValidator());
+
+        JsonNode written = mapper.readTree(target.toFile());
+        String expected = mapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(written);
+        assertThat(Files.readString(target)).isEqualTo(expected);
+        assertThat(written.get("nodes")).hasSize(2);
+        assertThat(written.get("links").get(0).get("target").asText()).isEqualTo("com.example:lib");
+        assertThat(written.get("stats").get("totalDependencies").asInt()).isEqualTo(1);
+        assertThat(written.get("issues").get("unreferencedProjects").get(0).asText()).isEqualTo("com.example:app");
+        assertThat(written.get("issues").get("duplicateArtifactIds").get("lib")).hasSize(2);
+        assertThat(written.get("version").asText()).isEqualTo("1.0");
+    }
+
+    @Test
+    void shouldWriteCompactGzipOutput() throws IOException {
+        Path requested = tempDir.resolve("dependencies-analysis.json");
+        AnalysisJsonWriter.Options options = new AnalysisJsonWriter.Options(false, true);
+        Path target = options.resolveTarget(requested);
+
+        writeSample(target, options, null);
+
+        assertThat(target.getFileName().toString()).isEqualTo("dependencies-analysis.json.gz");
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(target))) {
+            String json = new String(in.readAllBytes());
+            assertThat(json).doesNotContain("\n").startsWith("{\"nodes\":[{\"id\":\"com.example:app\"");
+            assertThat(mapper.readTree(json).get("stats").get("totalProjects").asInt()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldKeepPreviousFileWhenValidationFails() throws IOException {
+        Path target = tempDir.resolve("dependencies-analysis.json");
+        Files.writeString(target, "previous");
+
+        assertThatThrownBy(() -> {
+            try (AnalysisJsonWriter writer = AnalysisJsonWriter.open(target,
+                    new AnalysisJsonWriter.Options(true, false), new GraphValidator())) {
+                writer.startNodes();
+                writer.writeNode("com.example:app", "app", "1.0", "com.example", "Maven", "jar", "app");
+                writer.endNodes();
+                writer.startLinks();
+                writer.writeLink("com.example:app", "com.example:missing", 1);
+                writer.endLinks();
+                writer.commit();
+            }
+        }).isInstanceOf(IllegalStateException.class);
+
+        assertThat(Files.readString(target)).isEqualTo("previous");
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(target);
+        }
+    }
+
+    @Test
+    void shouldPublishWithDefaultFilePermissions() throws IOException {
+        assumeThat(FileSystems.getDefault().supportedFileAttributeViews()).contains("posix");
+        Path target = tempDir.resolve("dependencies-analysis.json");
+        Path reference = Files.writeString(tempDir.resolve("reference.json"), "");
+
+        writeSample(target, new AnalysisJsonWriter.Options(true, false), null);
+
+        assertThat(Files.getPosixFilePermissions(target)).isEqualTo(Files.getPosixFilePermissions(reference));
+        assertThat(tempDir.resolve("dependencies-analysis.json.tmp")).doesNotExist();
+    }
+
+    @Test
+    void shouldEndWithMetricsSectionAndFile() throws IOException {
+        Path target = tempDir.resolve("dependencies-analysis.json");
+        Path metricsFile = tempDir.resolve("metrics/run.json");
+        AnalysisMetrics metrics = new AnalysisMetrics(1);
+        try (AnalysisMetrics.Phase phase = metrics.start(AnalysisMetrics.DISCOVERY)) {
+            phase.addFiles(2);
+        }
+        metrics.recordFile(tempDir.resolve("fast/pom.xml"), 1_000, 100, -1, false);
+        metrics.recordFile(tempDir.resolve("slow/pom.xml"), 5_000_000, 200, -1, false);
+        metrics.setCounter("projects", 2);
+
+        try (AnalysisJsonWriter writer = AnalysisJsonWriter.open(target, new AnalysisJsonWriter.Options(true, false), null)) {
+            writer.writeMetadata("Thu Jan 01 00:00:00 UTC 2026", "1.0");
+            writer.writeMetrics(metrics);
+            writer.commit();
+        }
+        metrics.save(metricsFile);
+
+        JsonNode written = mapper.readTree(target.toFile()).get("metrics");
+        assertThat(written.get("phases").get(0).get("name").asText()).isEqualTo("discovery");
+        assertThat(written.get("phases").get(0).get("files").asInt()).isEqualTo(2);
+        assertThat(written.get("buildFiles").get("bytesRead").asLong()).isEqualTo(300);
+        assertThat(written.get("slowestFiles")).hasSize(1);
+        assertThat(written.get("slowestFiles").get(0).get("millis").asDouble()).isEqualTo(5.0);
+        assertThat(written.get("counters").get("projects").asInt()).isEqualTo(2);
+        assertThat(mapper.readTree(metricsFile.toFile()).get("phases")).isEqualTo(written.get("phases"));
+    }
+
+    @Test
+    void shouldWriteDetectorCategoriesAfterFixedIssues() throws IOException {
+        Path target = tempDir.resolve("dependencies-analysis.json");
+        Project app = project("app");
+        Project lib = project("lib");
+        ProjectIssuesAnalyzer.IssuesReport issues = new ProjectIssuesAnalyzer.IssuesReport();
+        issues.addIssues("versionSkew", List.of(new Issue("com.example:lib", "Consumed at 2 versions", List.of(app),
+            Map.of("versions", Map.of("1.0", List.of(app))))));
+        issues.addIssues("hotspots", List.of());
+
+        try (AnalysisJsonWriter writer = AnalysisJsonWriter.open(target, new AnalysisJsonWriter.Options(true, false), null)) {
+            writer.writeIssues(issues, p -> p.getGroupId() + ":" + p.getArtifactId());
+            writer.commit();
+        }
+
+        JsonNode written = mapper.readTree(target.toFile()).get("issues");
+        assertThat(written.fieldNames()).toIterable()
+            .containsExactly("circularReferences", "unreferencedProjects", "duplicateArtifactIds", "duplicateGAVs",
+                "hotspots", "versionSkew");
+        JsonNode skew = written.get("versionSkew").get(0);
+        assertThat(skew.get("subject").asText()).isEqualTo("com.example:lib");
+        assertThat(skew.get("projects").get(0).asText()).isEqualTo("com.example:app");
+        assertThat(skew.get("details").get("versions").get("1.0").get(0).asText()).isEqualTo("com.example:app");
+        assertThatThrownBy(() -> issues.addIssues("duplicateGAVs", List.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void writeSample(Path target, AnalysisJsonWriter.Options options, GraphValidator validator) throws IOException {
+        Project app = project("app");
+        Project lib = project("lib");
+        ProjectIssuesAnalyzer.IssuesReport issues = new ProjectIssuesAnalyzer.IssuesReport();
+        issues.setUnreferencedProjects(List.of(app));
+        issues.setDuplicateArtifactIds(Map.of("lib", List.of(lib, lib)));
+
+        try (AnalysisJsonWriter writer = AnalysisJsonWriter.open(target, options, validator)) {
+            writer.startNodes();
+            writer.writeNode("com.example:app", "app", "1.0", "com.example", "Maven", "jar", "app");
+            writer.writeNode("com.example:lib", "lib", "1.0", "com.example", "Maven", "jar", "lib");
+            writer.endNodes();
+            writer.startLinks();
+            writer.writeLink("com.example:app", "com.example:lib", 1);
+            writer.endLinks();
+            writer.writeStats(2, writer.getLinkCount());
+            writer.writeIssues(issues, p -> p.getGroupId() + ":" + p.getArtifactId());
+            writer.writeMetadata("Thu Jan 01 00:00:00 UTC 2026", "1.0");
+            writer.commit();
+        }
+    }
+
+    private Project project(String artifactId) {
+        return new Project("com.example", artifactId, "1.0", tempDir.resolve(artifactId), ProjectType.MAVEN);
+    }
+}
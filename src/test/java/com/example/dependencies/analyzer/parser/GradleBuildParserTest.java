@@ -0,0 +1,214 @@
+package com.example.dependencies.analyzer.parser;
+
+import com.example.dependencies.analyzer.model.Project;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradleBuildParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final GradleBuildParser parser = new GradleBuildParser();
+
+    @Test
+    void shouldIgnoreCommentsAndUnrelatedStrings() throws IOException {
+        Path build = write("app/build.gradle",
+            "// group = 'commented.out'\n"
+            + "/* implementation 'com.example:commented:1.0'\n"
+            + "   apply plugin: 'war' */\n"
+            + "def kotlinVersion = '1.9.0'\n"
+            + "def banner = \"implementation 'com.example:in-string:1.0' ${version == '1' ? \"}\" : ''}\"\n"
+            + "group = 'com.example'\n"
+            + "version = '2.0'\n"
+            + "description = 'software that is toward the warehouse'\n"
+            + "dependencies {\n"
+            + "    implementation 'com.example:lib:1.0' // trailing comment\n"
+            + "    testImplementation(\"com.example:test-support:$version\")\n"
+            + "    implementation \"org.jetbrains.kotlin:kotlin-stdlib:$kotlinVersion\"\n"
+            + "    compileOnly 'com.example:annotations'\n"
+            + "}\n");
+
+        Project project = parser.parse(build);
+
+        assertThat(project.getFullName()).isEqualTo("com.example:app:2.0");
+        assertThat(project.getPackaging()).isEqualTo("jar");
+        assertThat(project.getDependencies().stream().map(d -> d.getFullName()).collect(Collectors.toList()))
+            .containsExactly("com.example:lib:1.0", "com.example:test-support:$version", "com.example:annotations:unknown");
+    }
+
+    @Test
+    void shouldReadKotlinDslPluginsAndSettings() throws IOException {
+        write("web/settings.gradle.kts", "rootProject.name = \"web-frontend\"\n");
+        Path build = write("web/build.gradle.kts",
+            "plugins {\n"
+            + "    java\n"
+            + "    war\n"
+            + "    kotlin(\"jvm\") version \"1.9.0\"\n"
+            + "    id(\"org.springframework.boot\") version \"3.1.0\" apply false\n"
+            + "}\n"
+            + "project.group = \"com.example.web\"\n"
+            + "version = \"1.1\"\n"
+            + "dependencies {\n"
+            + "    api(\"com.example:core:1.0\")\n"
+            + "}\n");
+
+        GradleScript script = GradleScript.scan(Files.readString(build));
+        Project project = parser.parse(build);
+
+        assertThat(script.getPluginIds())
+            .containsExactly("java", "war", "org.jetbrains.kotlin.jvm", "org.springframework.boot");
+        assertThat(project.getFullName()).isEqualTo("com.example.web:web-frontend:1.1");
+        assertThat(project.getPackaging()).isEqualTo("war");
+        assertThat(project.getDependencies()).hasSize(1);
+    }
+
+    @Test
+    void shouldReadSharedParentScriptsOnce() throws IOException {
+        write("build.gradle", "allprojects {\n    group = 'com.example.multi'\n    version = '3.0'\n}\n");
+        Path moduleA = write("module-a/build.gradle", "apply plugin: 'war'\n");
+        Path moduleB = write("module-b/build.gradle", "dependencies { api project(':module-a') }\n");
+
+        CountingSource source = new CountingSource();
+        GradleScripts scripts = new GradleScripts(source);
+        Project a = parser.parse(moduleA, scripts);
+        Project b = parser.parse(moduleB, scripts);
+
+        assertThat(a.getFullName()).isEqualTo("com.example.multi:module-a:3.0");
+        assertThat(a.getPackaging()).isEqualTo("war");
+        assertThat(b.getFullName()).isEqualTo("com.example.multi:module-b:3.0");
+        assertThat(source.reads.get(tempDir.resolve("build.gradle")).get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNameProjectsAndResolveProjectDependenciesFromSettings() throws IOException {
+        write("settings.gradle",
+            "rootProject.name = 'shop'\n"
+            + "include 'services:orders', 'legacy'\n"
+            + "include(\n    'web'\n)\n"
+            + "project(':legacy').projectDir = file('modules/old-billing')\n"
+            + "includeBuild '../tools'\n");
+        write("build.gradle", "allprojects {\n    group = 'com.example.shop'\n    version = '1.2'\n}\n");
+        write("modules/old-billing/build.gradle", "version = '0.9'\n");
+        Path orders = write("services/orders/build.gradle",
+            "dependencies {\n"
+            + "    implementation project(':legacy')\n"
+            + "    testImplementation(project(\":web\"))\n"
+            + "    implementation project(':missing')\n"
+            + "}\n");
+        write("web/build.gradle", "group = 'com.example.web'\n");
+
+        GradleBuild build = new GradleScripts(BuildFileSource.FILE_SYSTEM).build(tempDir.resolve("settings.gradle"));
+        Project legacy = parser.parse(tempDir.resolve("modules/old-billing/build.gradle"));
+        Project project = parser.parse(orders);
+
+        assertThat(build.getProjectPaths()).containsExactly(":", ":services", ":services:orders", ":legacy", ":web");
+        assertThat(build.getIncludedBuilds()).containsExactly(tempDir.getParent().resolve("tools"));
+        assertThat(legacy.getFullName()).isEqualTo("com.example.shop:legacy:0.9");
+        assertThat(project.getFullName()).isEqualTo("com.example.shop:orders:1.2");
+        assertThat(project.getDependencies().stream().map(d -> d.getFullName()).collect(Collectors.toList()))
+            .containsExactly("com.example.shop:legacy:0.9", "com.example.web:web:1.2");
+        assertThat(parser.getInputFiles(orders, new GradleScripts(BuildFileSource.FILE_SYSTEM)))
+            .contains(tempDir.resolve("settings.gradle"), tempDir.resolve("modules/old-billing/build.gradle"));
+    }
+
+    @Test
+    void shouldKeepIncludedBuildsSeparate() {
+        Path composite = Path.of("test-projects/composite-builds").toAbsolutePath();
+        GradleScripts scripts = new GradleScripts(BuildFileSource.FILE_SYSTEM);
+
+        Project root = parser.parse(composite.resolve("build.gradle"), scripts);
+        Project included = parser.parse(composite.resolve("included-build-a/build.gradle"), scripts);
+
+        assertThat(root.getArtifactId()).isEqualTo("composite-builds-example");
+        assertThat(included.getFullName()).isEqualTo("com.example.included:module-a:1.0.0");
+        assertThat(included.getDependencies().stream().map(d -> d.getFullName()))
+            .contains("com.example.included:module-b:1.0.0");
+    }
+
+    @Test
+    void shouldResolveVersionCatalogAliasesAndBundles() throws IOException {
+        write("shop/settings.gradle.kts",
+            "rootProject.name = \"shop\"\n"
+            + "include(\"api\", \"web\")\n"
+            + "dependencyResolutionManagement {\n"
+            + "    versionCatalogs {\n"
+            + "        create(\"shared\") {\n"
+            + "            from(files(\"../catalogs/shared.versions.toml\"))\n"
+            + "        }\n"
+            + "    }\n"
+            + "}\n");
+        write("shop/gradle/libs.versions.toml",
+            "[versions]\n"
+            + "core = \"2.1\"  # in-house\n"
+            + "jackson = { strictly = \"2.15.2\" }\n"
+            + "\n"
+            + "[libraries]\n"
+            + "core-api = { module = \"com.example:core-api\", version.ref = \"core\" }\n"
+            + "core_model = { group = \"com.example\", name = \"core-model\", version = { ref = \"core\" } }\n"
+            + "jackson-databind = { module = \"com.fasterxml.jackson.core:jackson-databind\", version.ref = \"jackson\" }\n"
+            + "guava = \"com.google.guava:guava:32.1.2-jre\"\n"
+            + "\n"
+            + "[bundles]\n"
+            + "core = [\n    \"core-api\",\n    \"core_model\",\n]\n"
+            + "\n"
+            + "[plugins]\n"
+            + "boot = { id = \"org.springframework.boot\", version = \"3.1.0\" }\n");
+        write("catalogs/shared.versions.toml", "[libraries]\nauth-client = \"com.example:auth-client:1.4\"\n");
+        String script = "dependencies {\n"
+            + "    implementation(libs.bundles.core)\n"
+            + "    implementation(libs.jackson.databind)\n"
+            + "    testImplementation(libs.guava.get())\n"
+            + "    implementation(shared.auth.client)\n"
+            + "    implementation(libs.missing)\n"
+            + "}\n";
+        Path api = write("shop/api/build.gradle.kts", script);
+        Path web = write("shop/web/build.gradle.kts", script);
+
+        CountingSource source = new CountingSource();
+        GradleScripts scripts = new GradleScripts(source);
+        Project project = parser.parse(api, scripts);
+        parser.parse(web, scripts);
+
+        assertThat(project.getDependencies().stream().map(d -> d.getFullName()).collect(Collectors.toList()))
+            .containsExactly("com.example:core-api:2.1", "com.example:core-model:2.1",
+                "com.fasterxml.jackson.core:jackson-databind:2.15.2", "com.google.guava:guava:32.1.2-jre",
+                "com.example:auth-client:1.4");
+        assertThat(source.reads.get(tempDir.resolve("shop/gradle/libs.versions.toml")).get()).isEqualTo(1);
+        assertThat(parser.getInputFiles(api, scripts))
+            .contains(tempDir.resolve("shop/gradle/libs.versions.toml"), tempDir.resolve("catalogs/shared.versions.toml"));
+    }
+
+    private Path write(String relative, String content) throws IOException {
+        Path file = tempDir.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static class CountingSource implements BuildFileSource {
+        private final Map<Path, AtomicInteger> reads = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean exists(Path file) {
+            return FILE_SYSTEM.exists(file);
+        }
+
+        @Override
+        public InputStream open(Path file) throws IOException {
+            reads.computeIfAbsent(file, k -> new AtomicInteger()).incrementAndGet();
+            return FILE_SYSTEM.open(file);
+        }
+    }
+}
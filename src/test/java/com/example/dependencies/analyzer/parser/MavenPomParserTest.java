@@ -0,0 +1,286 @@
+package com.example.dependencies.analyzer.parser;
+
+import com.example.dependencies.analyzer.model.Project;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MavenPomParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final MavenPomParser fullParser = new MavenPomParser(MavenPomParser.PomReader.FULL);
+    private final MavenPomParser streamingParser = new MavenPomParser(MavenPomParser.PomReader.STREAMING);
+
+    @Test
+    void shouldMatchFullReaderOnlyReadingUsedElements() {
+        Path pom = write("app/pom.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<!-- leading comment -->\n"
+            + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n"
+            + "  <modelVersion>4.0.0</modelVersion>\n"
+            + "  <parent>\n"
+            + "    <groupId> com.example </groupId>\n"
+            + "    <artifactId>parent</artifactId>\n"
+            + "    <version>2.0</version>\n"
+            + "    <relativePath>../pom.xml</relativePath>\n"
+            + "  </parent>\n"
+            + "  <artifactId>app</artifactId>\n"
+            + "  <packaging>war</packaging>\n"
+            + "  <properties>\n"
+            + "    <lib.version><![CDATA[1.5]]></lib.version>\n"
+            + "  </properties>\n"
+            + "  <dependencyManagement><dependencies><dependency>\n"
+            + "    <groupId>com.example</groupId><artifactId>managed</artifactId><version>9</version>\n"
+            + "  </dependency></dependencies></dependencyManagement>\n"
+            + "  <dependencies>\n"
+            + "    <dependency>\n"
+            + "      <groupId>com.example</groupId>\n"
+            + "      <artifactId>lib</artifactId>\n"
+            + "      <version>${lib.version}</version>\n"
+            + "      <exclusions><exclusion><groupId>x</groupId><artifactId>y</artifactId></exclusion></exclusions>\n"
+            + "    </dependency>\n"
+            + "    <dependency>\n"
+            + "      <groupId>com.example</groupId>\n"
+            + "      <artifactId>core</artifactId>\n"
+            + "      <version>${project.version}</version>\n"
+            + "      <scope>test</scope>\n"
+            + "    </dependency>\n"
+            + "    <dependency><groupId>org.other</groupId><artifactId>unversioned</artifactId></dependency>\n"
+            + "  </dependencies>\n"
+            + "  <build><plugins><plugin><artifactId>p</artifactId><dependencies><dependency>\n"
+            + "    <groupId>com.example</groupId><artifactId>plugin-dep</artifactId><version>1</version>\n"
+            + "  </dependency></dependencies></plugin></plugins></build>\n"
+            + "  <profiles><profile><id>extra</id><dependencies><dependency>\n"
+            + "    <groupId>com.example</groupId><artifactId>profile-dep</artifactId><version>1</version>\n"
+            + "  </dependency></dependencies></profile></profiles>\n"
+            + "</project>\n");
+
+        Project streamed = streamingParser.parse(pom);
+
+        assertSameProject(streamed, fullParser.parse(pom));
+        assertThat(streamed.getFullName()).isEqualTo("com.example:app:2.0");
+        assertThat(streamed.getPackaging()).isEqualTo("war");
+        assertThat(describe(streamed)).containsExactly(
+            "com.example:lib:1.5:compile", "com.example:core:2.0:test", "org.other:unversioned:unknown:compile");
+    }
+
+    @Test
+    void shouldDetectEncodingFromPrologAndByteOrderMark() throws IOException {
+        String body = "<project><groupId>com.example</groupId><artifactId>café</artifactId>"
+            + "<version>1.0</version></project>";
+        Path latin1 = tempDir.resolve("latin1/pom.xml");
+        Files.createDirectories(latin1.getParent());
+        Files.write(latin1, ("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" + body).getBytes(StandardCharsets.ISO_8859_1));
+        Path bom = tempDir.resolve("bom/pom.xml");
+        Files.createDirectories(bom.getParent());
+        byte[] utf8 = body.getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[utf8.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(utf8, 0, withBom, 3, utf8.length);
+        Files.write(bom, withBom);
+
+        for (Path pom : List.of(latin1, bom)) {
+            Project streamed = streamingParser.parse(pom);
+            assertSameProject(streamed, fullParser.parse(pom));
+            assertThat(streamed.getArtifactId()).isEqualTo("café");
+            assertThat(streamed.getPackaging()).isEqualTo("jar");
+        }
+    }
+
+    @Test
+    void shouldRejectMalformedPom() {
+        Path pom = write("broken/pom.xml", "<project><artifactId>broken</artifactId>");
+
+        assertThatThrownBy(() -> streamingParser.parse(pom))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Failed to parse POM file");
+    }
+
+    @Test
+    void shouldInheritPropertiesAndManagedVersionsFromParents() {
+        write("pom.xml", "<project><groupId>com.example</groupId><artifactId>corporate-parent</artifactId>"
+            + "<version>7</version><packaging>pom</packaging>"
+            + "<properties><lib.version>1.${lib.minor}</lib.version><lib.minor>4</lib.minor></properties>"
+            + "<dependencyManagement><dependencies>"
+            + "<dependency><groupId>com.example</groupId><artifactId>managed</artifactId><version>${lib.version}</version></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>overridden</artifactId><version>1.0</version></dependency>"
+            + "</dependencies></dependencyManagement></project>");
+        write("services/pom.xml", "<project><parent><groupId>com.example</groupId><artifactId>corporate-parent</artifactId>"
+            + "<version>7</version></parent><artifactId>services</artifactId><version>${revision}</version>"
+            + "<properties><lib.minor>5</lib.minor><revision>3.0</revision></properties>"
+            + "<dependencyManagement><dependencies>"
+            + "<dependency><groupId>com.example</groupId><artifactId>overridden</artifactId><version>2.0</version></dependency>"
+            + "</dependencies></dependencyManagement></project>");
+        Path pom = write("services/orders/pom.xml", "<project><parent><groupId>com.example</groupId>"
+            + "<artifactId>services</artifactId><version>${revision}</version></parent>"
+            + "<artifactId>orders</artifactId><dependencies>"
+            + "<dependency><groupId>${project.groupId}</groupId><artifactId>managed</artifactId></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>overridden</artifactId></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>lib</artifactId><version>${lib.version}</version></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>external</artifactId><version>${missing}</version></dependency>"
+            + "</dependencies></project>");
+
+        for (MavenPomParser parser : List.of(fullParser, streamingParser)) {
+            Project project = parser.parse(pom);
+
+            assertThat(project.getFullName()).isEqualTo("com.example:orders:3.0");
+            assertThat(describe(project)).containsExactly("com.example:managed:1.5:compile",
+                "com.example:overridden:2.0:compile", "com.example:lib:1.5:compile", "com.example:external:${missing}:compile");
+        }
+        PomModels models = streamingParser.newModels(BuildFileSource.FILE_SYSTEM, List.of());
+        assertThat(streamingParser.getInputFiles(pom, models))
+            .containsExactly(pom, tempDir.resolve("services/pom.xml"), tempDir.resolve("pom.xml"));
+    }
+
+    @Test
+    void shouldFindParentsByGavAndReadSharedParentsOnce() throws IOException {
+        Path parent = write("platform/parent/pom.xml", "<project><groupId>com.example</groupId>"
+            + "<artifactId>platform-parent</artifactId><version>2.0</version><packaging>pom</packaging>"
+            + "<properties><core.version>9.1</core.version></properties></project>");
+        String child = "<project><parent><groupId>com.example</groupId><artifactId>platform-parent</artifactId>"
+            + "<version>2.0</version><relativePath/></parent><artifactId>%s</artifactId><dependencies>"
+            + "<dependency><groupId>com.example</groupId><artifactId>core</artifactId><version>${core.version}</version></dependency>"
+            + "</dependencies></project>";
+        Path first = write("apps/first/pom.xml", String.format(child, "first"));
+        Path second = write("apps/second/pom.xml", String.format(child, "second"));
+
+        Map<Path, Integer> reads = new ConcurrentHashMap<>();
+        BuildFileSource countingSource = new BuildFileSource() {
+            @Override
+            public boolean exists(Path file) {
+                return Files.exists(file);
+            }
+
+            @Override
+            public InputStream open(Path file) throws IOException {
+                reads.merge(file, 1, Integer::sum);
+                return Files.newInputStream(file);
+            }
+        };
+        PomModels models = fullParser.newModels(countingSource, List.of(first, second, parent));
+
+        assertThat(describe(fullParser.parse(first, models))).containsExactly("com.example:core:9.1:compile");
+        assertThat(describe(fullParser.parse(second, models))).containsExactly("com.example:core:9.1:compile");
+        assertThat(fullParser.parse(second, models).getVersion()).isEqualTo("2.0");
+        // The GAV index reads the coordinates of files whose model is not loaded yet; models are read once
+        assertThat(reads).containsOnlyKeys(first, second, parent)
+            .containsEntry(first, 1).containsEntry(second, 2).containsEntry(parent, 2);
+    }
+
+    @Test
+    void shouldIndexPomsByGavFromConcurrentParses() {
+        write("platform/parent/pom.xml", "<project><groupId>com.example</groupId>"
+            + "<artifactId>platform-parent</artifactId><version>3</version><packaging>pom</packaging>"
+            + "<properties><core.version>7.0</core.version></properties></project>");
+        String module = "<project><parent><groupId>com.example</groupId><artifactId>platform-parent</artifactId>"
+            + "<version>3</version></parent><artifactId>%s</artifactId><dependencies>"
+            + "<dependency><groupId>com.example</groupId><artifactId>core</artifactId><version>${core.version}</version></dependency>"
+            + "</dependencies></project>";
+        String external = "<project><parent><groupId>org.springframework.boot</groupId>"
+            + "<artifactId>spring-boot-starter-parent</artifactId><version>3.1.0</version></parent>"
+            + "<groupId>com.example</groupId><artifactId>%s</artifactId><version>1.0</version></project>";
+        List<Path> pomFiles = IntStream.range(0, 40)
+            .mapToObj(i -> write("apps/m" + i + "/pom.xml", String.format(i % 2 == 0 ? module : external, "m" + i)))
+            .collect(Collectors.toList());
+        List<Path> allPoms = new ArrayList<>(pomFiles);
+        allPoms.add(tempDir.resolve("platform/parent/pom.xml"));
+        PomModels models = streamingParser.newModels(BuildFileSource.FILE_SYSTEM, allPoms);
+
+        List<Project> projects = pomFiles.parallelStream()
+            .map(pom -> streamingParser.parse(pom, models))
+            .collect(Collectors.toList());
+
+        for (int i = 0; i < projects.size(); i++) {
+            if (i % 2 == 0) {
+                assertThat(describe(projects.get(i))).containsExactly("com.example:core:7.0:compile");
+            } else {
+                assertThat(streamingParser.getUnresolvedReferences(pomFiles.get(i), models))
+                    .containsExactly("org.springframework.boot:spring-boot-starter-parent:3.1.0");
+            }
+        }
+    }
+
+    @Test
+    void shouldImportManagedVersionsFromWorkspaceBoms() {
+        Path platformBom = write("boms/platform/pom.xml", "<project><groupId>com.example</groupId>"
+            + "<artifactId>platform-bom</artifactId><version>5</version><packaging>pom</packaging>"
+            + "<properties><core.version>5.2</core.version></properties>"
+            + "<dependencyManagement><dependencies>"
+            + "<dependency><groupId>com.example</groupId><artifactId>core</artifactId><version>${core.version}</version></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>web</artifactId><version>5.0</version></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>jobs</artifactId><version>5.0</version></dependency>"
+            + "</dependencies></dependencyManagement></project>");
+        Path servicesBom = write("boms/services/pom.xml", "<project><groupId>com.example</groupId>"
+            + "<artifactId>services-bom</artifactId><version>1</version><packaging>pom</packaging>"
+            + "<dependencyManagement><dependencies>"
+            + "<dependency><groupId>com.example</groupId><artifactId>web</artifactId><version>1.1</version></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>platform-bom</artifactId><version>5</version>"
+            + "<type>pom</type><scope>import</scope></dependency>"
+            + "</dependencies></dependencyManagement></project>");
+        Path pom = write("app/pom.xml", "<project><groupId>com.example</groupId><artifactId>app</artifactId>"
+            + "<version>1.0</version><properties><core.version>9.9</core.version></properties>"
+            + "<dependencyManagement><dependencies>"
+            + "<dependency><groupId>com.example</groupId><artifactId>services-bom</artifactId><version>1</version>"
+            + "<type>pom</type><scope>import</scope></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>jobs</artifactId><version>2.0</version></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>missing-bom</artifactId><version>1</version>"
+            + "<type>pom</type><scope>import</scope></dependency>"
+            + "</dependencies></dependencyManagement><dependencies>"
+            + "<dependency><groupId>com.example</groupId><artifactId>core</artifactId></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>web</artifactId></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>jobs</artifactId></dependency>"
+            + "<dependency><groupId>com.example</groupId><artifactId>unmanaged</artifactId></dependency>"
+            + "</dependencies></project>");
+
+        for (MavenPomParser parser : List.of(fullParser, streamingParser)) {
+            PomModels models = parser.newModels(BuildFileSource.FILE_SYSTEM, List.of(platformBom, servicesBom, pom));
+
+            // BOM properties are resolved in the BOM; declared entries and earlier imports take precedence
+            assertThat(describe(parser.parse(pom, models))).containsExactly("com.example:core:5.2:compile",
+                "com.example:web:1.1:compile", "com.example:jobs:2.0:compile", "com.example:unmanaged:unknown:compile");
+            assertThat(parser.getInputFiles(pom, models)).containsExactly(pom, servicesBom, platformBom);
+        }
+    }
+
+    private void assertSameProject(Project actual, Project expected) {
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.getPackaging()).isEqualTo(expected.getPackaging());
+        assertThat(actual.getProjectPath()).isEqualTo(expected.getProjectPath());
+        assertThat(describe(actual)).isEqualTo(describe(expected));
+    }
+
+    private List<String> describe(Project project) {
+        return project.getDependencies().stream()
+            .map(d -> d.getFullName() + ":" + d.getScope())
+            .collect(Collectors.toList());
+    }
+
+    private Path write(String relative, String content) {
+        try {
+            Path file = tempDir.resolve(relative);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, content);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.dependencies.analyzer.scanner;
+
+import com.example.dependencies.analyzer.git.RepositoryChanges;
+import com.example.dependencies.analyzer.metrics.AnalysisMetrics;
+import com.example.dependencies.analyzer.model.Project;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParsePipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldKeepSequentialOrderWithManyWorkers() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            Path repo = tempDir.resolve(String.format("repo-%02d", i));
+            Files.createDirectories(repo.resolve(".git"));
+            writePom(repo.resolve("pom.xml"), "module-" + i);
+            Files.createDirectories(repo.resolve("gradle-module"));
+            Files.writeString(repo.resolve("gradle-module/build.gradle"), "group = 'com.example'\nversion = '1.0'\n");
+        }
+        List<DiscoveredRepository> repositories = new WorkspaceCrawler().crawl(tempDir).getRepositories();
+
+        List<String> sequential = names(new ParsePipeline(ParsePipeline.ExecutorKind.PLATFORM, 1, 1).parse(repositories));
+        List<String> parallel = names(new ParsePipeline(ParsePipeline.ExecutorKind.PLATFORM, 8, 2).parse(repositories));
+        List<String> virtual = names(new ParsePipeline(ParsePipeline.ExecutorKind.VIRTUAL, 8, 2).parse(repositories));
+
+        assertThat(sequential).hasSize(80);
+        assertThat(sequential.get(0)).isEqualTo("module-0");
+        assertThat(sequential.get(1)).isEqualTo("gradle-module");
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(virtual).isEqualTo(sequential);
+    }
+
+    @Test
+    void shouldRecordEveryBuildFileInMetrics() throws IOException {
+        long bytes = 0;
+        for (int i = 0; i < 3; i++) {
+            Path repo = tempDir.resolve("repo-" + i);
+            Files.createDirectories(repo.resolve(".git"));
+            writePom(repo.resolve("pom.xml"), "module-" + i);
+            Files.writeString(repo.resolve("build.gradle"), "group = 'com.example'\nversion = '1.0'\n");
+            bytes += Files.size(repo.resolve("pom.xml")) + Files.size(repo.resolve("build.gradle"));
+        }
+        List<DiscoveredRepository> repositories = new WorkspaceCrawler().crawl(tempDir).getRepositories();
+        AnalysisMetrics metrics = new AnalysisMetrics(2);
+
+        metrics.time(AnalysisMetrics.PARSE, () -> new ParsePipeline(ParsePipeline.ExecutorKind.PLATFORM, 4, 2)
+            .parse(repositories, null, Map.<Path, RepositoryChanges>of(), metrics));
+
+        AnalysisMetrics.PhaseResult parse = metrics.getPhase(AnalysisMetrics.PARSE);
+        assertThat(parse.getFiles()).isEqualTo(6);
+        assertThat(parse.getBytesRead()).isEqualTo(bytes);
+        assertThat(metrics.getCachedFiles()).isZero();
+        assertThat(metrics.getSlowestFiles()).hasSize(2);
+        assertThat(metrics.getSlowestFiles().get(0).getNanos())
+            .isGreaterThanOrEqualTo(metrics.getSlowestFiles().get(1).getNanos());
+    }
+
+    @Test
+    void shouldCreatePlaceholderForUnparsableFile() throws IOException {
+        Path repo = tempDir.resolve("broken-repo");
+        Files.createDirectories(repo.resolve(".git"));
+        Files.createDirectories(repo.resolve("broken"));
+        Files.writeString(repo.resolve("broken/pom.xml"), "<project><artifactId>");
+
+        List<DiscoveredRepository> repositories = new WorkspaceCrawler().crawl(tempDir).getRepositories();
+        List<Project> projects = new ParsePipeline().parse(repositories);
+
+        assertThat(projects).hasSize(1);
+        assertThat(projects.get(0).getArtifactId()).isEqualTo("broken");
+        assertThat(projects.get(0).getGroupId()).isEqualTo("com.example.broken-repo");
+        assertThat(projects.get(0).getVersion()).isEqualTo("unknown");
+    }
+
+    @Test
+    void shouldResolveVersionsFromWorkspaceBoms() throws IOException {
+        WorkspaceScan scan = new WorkspaceCrawler().crawl(Paths.get("test-projects"));
+        List<Project> projects = new ParsePipeline().parse(List.of(scan.asSingleRepository()));
+
+        Project payment = projects.stream()
+            .filter(p -> p.getArtifactId().equals("payment-service"))
+            .findFirst().orElseThrow();
+        assertThat(payment.getDependencies().stream().map(d -> d.getFullName()))
+            .contains("com.example:user-service:1.0.0", "com.example:shared-utils:1.0.0");
+    }
+
+    private void writePom(Path pomFile, String artifactId) throws IOException {
+        Files.writeString(pomFile,
+            "<project><modelVersion>4.0.0</modelVersion>" +
+            "<groupId>com.example</groupId><artifactId>" + artifactId + "</artifactId>" +
+            "<version>1.0</version></project>");
+    }
+
+    private List<String> names(List<Project> projects) {
+        return projects.stream().map(Project::getArtifactId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.dependencies.analyzer.scanner;
+
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.model.ProjectType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryRootsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldFindInnermostKnownRoot() {
+        Path outer = tempDir.resolve("outer");
+        Path inner = outer.resolve("vendor/inner");
+        RepositoryRoots roots = RepositoryRoots.of(List.of(outer, inner));
+
+        assertThat(roots.find(outer.resolve("module-a"))).isEqualTo(outer);
+        assertThat(roots.find(inner.resolve("sub/module"))).isEqualTo(inner);
+        assertThat(roots.find(inner)).isEqualTo(inner);
+        assertThat(roots.find(tempDir.resolve("outer-sibling"))).isNull();
+        assertThat(roots.find(tempDir)).isNull();
+    }
+
+    @Test
+    void shouldAttachRepositoryWithoutProbingKnownRoots() throws IOException {
+        // Known roots are trusted without a .git directory on disk
+        Path known = tempDir.resolve("known");
+        Path unlisted = Files.createDirectories(tempDir.resolve("unlisted/.git")).getParent();
+        Files.createDirectories(unlisted.resolve("module"));
+
+        Project inKnown = project("a", known.resolve("module"));
+        Project inUnlisted = project("b", unlisted.resolve("module"));
+        Project outside = project("c", tempDir.resolve("loose"));
+        RepositoryRoots.of(List.of(known)).attach(List.of(inKnown, inUnlisted, outside));
+
+        assertThat(inKnown.getRepositoryRoot()).isEqualTo(known);
+        assertThat(inKnown.getRepository()).isEqualTo("known");
+        assertThat(inUnlisted.getRepositoryRoot()).isEqualTo(unlisted);
+        assertThat(outside.getRepositoryRoot()).isNull();
+        assertThat(outside.getRepository()).isEqualTo("loose");
+    }
+
+    @Test
+    void shouldNotRememberWalksAcrossScans() throws IOException {
+        Path module = Files.createDirectories(tempDir.resolve("later/module"));
+
+        assertThat(RepositoryRoots.of(List.of()).locate(module)).isNull();
+        Files.createDirectories(tempDir.resolve("later/.git"));
+
+        assertThat(RepositoryRoots.of(List.of()).locate(module)).isEqualTo(tempDir.resolve("later"));
+    }
+
+    private Project project(String artifactId, Path path) {
+        return new Project("com.example", artifactId, "1.0", path, ProjectType.MAVEN);
+    }
+}
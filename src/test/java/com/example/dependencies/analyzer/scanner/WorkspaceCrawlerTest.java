@@ -0,0 +1,118 @@
+package com.example.dependencies.analyzer.scanner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkspaceCrawlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldAssignBuildFilesToInnermostRepository() throws IOException {
+        Path outer = createRepository("outer");
+        touch(outer.resolve("pom.xml"));
+        touch(outer.resolve("module-a/pom.xml"));
+
+        // Nested repository inside the outer one
+        Path inner = createRepository("outer/vendor/inner");
+        touch(inner.resolve("build.gradle"));
+        touch(inner.resolve("settings.gradle"));
+
+        Path gradleRepo = createRepository("gradle-repo");
+        touch(gradleRepo.resolve("build.gradle.kts"));
+        touch(gradleRepo.resolve("sub/build.gradle"));
+
+        WorkspaceScan scan = new WorkspaceCrawler().crawl(tempDir);
+
+        assertThat(scan.getRepositoryRoots()).containsExactly(gradleRepo, outer, inner);
+
+        DiscoveredRepository outerRepo = scan.getRepositories().get(1);
+        assertThat(outerRepo.getPomFiles())
+            .containsExactly(outer.resolve("module-a/pom.xml"), outer.resolve("pom.xml"));
+        assertThat(outerRepo.getGradleFiles()).isEmpty();
+
+        DiscoveredRepository innerRepo = scan.getRepositories().get(2);
+        assertThat(innerRepo.getGradleFiles()).containsExactly(inner.resolve("build.gradle"));
+        assertThat(innerRepo.getSettingsFiles()).containsExactly(inner.resolve("settings.gradle"));
+
+        assertThat(scan.getRepositories().get(0).getGradleFiles())
+            .containsExactly(gradleRepo.resolve("build.gradle.kts"), gradleRepo.resolve("sub/build.gradle"));
+    }
+
+    @Test
+    void shouldPruneIgnoredDirectories() throws IOException {
+        Path repo = createRepository("repo");
+        touch(repo.resolve("pom.xml"));
+        touch(repo.resolve("target/classes/META-INF/maven/com.example/repo/pom.xml"));
+        touch(repo.resolve("node_modules/some-package/pom.xml"));
+        touch(repo.resolve("build/tmp/build.gradle"));
+        touch(repo.resolve(".git/objects/pom.xml"));
+
+        WorkspaceScan scan = new WorkspaceCrawler().crawl(tempDir);
+
+        assertThat(scan.getRepositories()).hasSize(1);
+        assertThat(scan.getRepositories().get(0).getPomFiles()).containsExactly(repo.resolve("pom.xml"));
+        assertThat(scan.getRepositories().get(0).getGradleFiles()).isEmpty();
+    }
+
+    @Test
+    void shouldTreatGitFileAsRepositoryRoot() throws IOException {
+        // Worktrees and submodules use a .git file instead of a directory
+        Path worktree = tempDir.resolve("worktree");
+        touch(worktree.resolve(".git"));
+        touch(worktree.resolve("pom.xml"));
+
+        WorkspaceScan scan = new WorkspaceCrawler().crawl(tempDir);
+
+        assertThat(scan.getRepositoryRoots()).containsExactly(worktree);
+    }
+
+    @Test
+    void shouldKeepFilesOutsideRepositoriesUnassigned() throws IOException {
+        touch(tempDir.resolve("standalone/pom.xml"));
+        Path repo = createRepository("repo");
+        touch(repo.resolve("pom.xml"));
+
+        WorkspaceScan scan = new WorkspaceCrawler().crawl(tempDir);
+
+        assertThat(scan.getUnassigned().getPomFiles()).containsExactly(tempDir.resolve("standalone/pom.xml"));
+        List<Path> allPoms = scan.asSingleRepository().getPomFiles();
+        assertThat(allPoms).containsExactly(repo.resolve("pom.xml"), tempDir.resolve("standalone/pom.xml"));
+    }
+
+    @Test
+    void shouldCrawlOnASingleThreadAndRejectNoThreads() throws IOException {
+        Path repo = createRepository("repo");
+        touch(repo.resolve("pom.xml"));
+        touch(repo.resolve("a/b/c/pom.xml"));
+
+        WorkspaceCrawler crawler = new WorkspaceCrawler(1, WorkspaceCrawler.DEFAULT_IGNORED_DIRECTORIES);
+
+        // Each crawl gets a fresh pool, so the same crawler can run twice
+        assertThat(crawler.crawl(tempDir).getRepositories().get(0).getPomFiles())
+            .containsExactly(repo.resolve("a/b/c/pom.xml"), repo.resolve("pom.xml"));
+        assertThat(crawler.crawl(tempDir).getRepositoryRoots()).containsExactly(repo);
+        assertThatThrownBy(() -> new WorkspaceCrawler(0, WorkspaceCrawler.DEFAULT_IGNORED_DIRECTORIES))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path createRepository(String relativePath) throws IOException {
+        Path repo = tempDir.resolve(relativePath);
+        Files.createDirectories(repo.resolve(".git"));
+        return repo;
+    }
+
+    private void touch(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.createFile(file);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.dependencies.analyzer.synthetic;
+
+import com.example.dependencies.analyzer.DependencyAnalyzer;
+import com.example.dependencies.analyzer.analyzer.DuplicateProjectHandler;
+import com.example.dependencies.analyzer.analyzer.InHouseProjectDetector;
+import com.example.dependencies.analyzer.graph.DependencyGraph;
+import com.example.dependencies.analyzer.graph.EdgeResolver;
+import com.example.dependencies.analyzer.migration.MigrationAnalyzer;
+import com.example.dependencies.analyzer.model.Dependency;
+import com.example.dependencies.analyzer.model.Project;
+import com.example.dependencies.analyzer.synthetic.SyntheticWorkspaceGenerator.Options;
+import com.example.dependencies.analyzer.synthetic.SyntheticWorkspaceGenerator.Summary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticWorkspaceGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSameSeedWritesSameFiles() throws IOException {
+        Options options = new Options(8, 4, 0.5, 2.5, 0.1, 0.5, 0.5, 2, 7L);
+
+        Summary first = new SyntheticWorkspaceGenerator(options).generate(tempDir.resolve("first"));
+        Summary second = new SyntheticWorkspaceGenerator(options).generate(tempDir.resolve("second"));
+
+        assertEquals(contents(first.getRoot()), contents(second.getRoot()));
+        assertEquals(first.getFiles(), contents(first.getRoot()).size());
+        assertThrows(IllegalArgumentException.class,
+            () -> new SyntheticWorkspaceGenerator(options).generate(tempDir.resolve("first")));
+    }
+
+    @Test
+    void testAnalyzerResolvesEveryPlannedDependency() throws IOException {
+        Summary summary = new SyntheticWorkspaceGenerator(new Options(16, 5, 0.5, 3, 0.05, 0, 0.5, 3, 11L))
+            .generate(tempDir);
+
+        List<Project> projects = new DependencyAnalyzer().analyzeRepository(tempDir);
+        DependencyGraph graph = buildGraph(projects);
+
+        assertTrue(summary.getDuplicateModules() > 0);
+        assertEquals(summary.getDependencies(), graph.edgeCount());
+        assertEquals(summary.getDuplicateModules(), projects.size() - projects.stream()
+            .map(project -> project.getGroupId() + ":" + project.getArtifactId()).distinct().count());
+        assertTrue(projects.stream().noneMatch(project -> project.getVersion().contains("${")));
+        assertTrue(new MigrationAnalyzer(projects).findCircularDependencies().isEmpty());
+    }
+
+    @Test
+    void testInjectedCyclesAreFound() throws IOException {
+        Summary summary = new SyntheticWorkspaceGenerator(new Options(10, 3, 0.5, 2, 0, 1, 0, 1, 3L))
+            .generate(tempDir);
+
+        List<Project> projects = new DependencyAnalyzer().analyzeRepository(tempDir);
+
+        assertTrue(summary.getInjectedCycles() > 0);
+        assertEquals(summary.getDependencies(), buildGraph(projects).edgeCount());
+        assertFalse(new MigrationAnalyzer(projects).findCircularDependencies().isEmpty());
+    }
+
+    private static DependencyGraph buildGraph(List<Project> projects) {
+        Map<Project, List<Dependency>> dependencyMap = new InHouseProjectDetector(projects).buildInHouseDependencyMap();
+        DuplicateProjectHandler duplicateHandler = new DuplicateProjectHandler();
+        duplicateHandler.processDuplicates(projects);
+        return DependencyGraph.build(projects, dependencyMap::get,
+            EdgeResolver.single((source, dep) -> duplicateHandler.resolveDependency(dep, source)));
+    }
+
+    private static Map<Path, String> contents(Path root) throws IOException {
+        Map<Path, String> contents = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                contents.put(root.relativize(file), Files.readString(file));
+            }
+        }
+        return contents;
+    }
+}